@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * A log-linear histogram of durations, recorded with microsecond resolution.
+ * <p/>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub buckets, so reported percentiles are within
+ * 12.5% of the recorded values. Recording does not allocate and does not lock, the bucket counters are striped by
+ * thread to limit contention between the threads that record concurrently.
+ */
+public final class LatencyHistogram {
+
+    public static final String COUNT = "count";
+    public static final String MEAN = "mean";
+    public static final String P50 = "p50";
+    public static final String P90 = "p90";
+    public static final String P99 = "p99";
+    public static final String MAX = "max";
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // about 12 days expressed in microseconds, larger values are recorded in the last bucket
+    private static final int MAX_MAGNITUDE = 40;
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int STRIPES = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1), 8);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS * STRIPES);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * BUCKETS + bucketIndex(micros));
+        count.increment();
+        total.add(micros);
+        if (micros > max.get()) {
+            max.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns a snapshot of the histogram. The values are expressed in microseconds.
+     *
+     * @return a {@link org.jboss.dmr.ModelType#OBJECT} node
+     */
+    public ModelNode toModelNode() {
+        long[] buckets = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            buckets[i % BUCKETS] += c;
+            recorded += c;
+        }
+        ModelNode node = new ModelNode();
+        node.get(COUNT).set(recorded);
+        node.get(MEAN).set(recorded == 0 ? 0 : total.sum() / recorded);
+        node.get(P50).set(percentile(buckets, recorded, 0.5));
+        node.get(P90).set(percentile(buckets, recorded, 0.9));
+        node.get(P99).set(percentile(buckets, recorded, 0.99));
+        node.get(MAX).set(max.get());
+        return node;
+    }
+
+    private static long percentile(long[] buckets, long recorded, double percentile) {
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(recorded * percentile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(buckets.length - 1);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long lowest = (long) (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+        return lowest + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Creates a runtime attribute holding a snapshot of a histogram, as returned by {@link #toModelNode()}.
+     *
+     * @param name the name of the attribute
+     * @return the attribute definition
+     */
+    public static ObjectTypeAttributeDefinition createAttributeDefinition(String name) {
+        return ObjectTypeAttributeDefinition.Builder.of(name,
+                createField(COUNT, null),
+                createField(MEAN, MeasurementUnit.MICROSECONDS),
+                createField(P50, MeasurementUnit.MICROSECONDS),
+                createField(P90, MeasurementUnit.MICROSECONDS),
+                createField(P99, MeasurementUnit.MICROSECONDS),
+                createField(MAX, MeasurementUnit.MICROSECONDS))
+                .setRequired(false)
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static SimpleAttributeDefinition createField(String name, MeasurementUnit unit) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG, true)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+}
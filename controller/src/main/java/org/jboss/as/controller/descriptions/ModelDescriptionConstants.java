@@ -311,6 +311,8 @@ public class ModelDescriptionConstants {
     public static final String MASTER = "master";
     public static final String MAX = "max";
     public static final String MAX_BACKUP_INDEX = "max-backup-index";
+    public static final String MAX_CONCURRENT_HOSTS = "max-concurrent-hosts";
+    public static final String MAX_CONCURRENT_SERVERS = "max-concurrent-servers";
     public static final String MAX_FAILED_SERVERS = "max-failed-servers";
     public static final String MAX_FAILURE_COUNT = "max-failure-count";
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
@@ -392,6 +394,7 @@ public class ModelDescriptionConstants {
     public static final String PROBLEM = "problem";
     public static final String PROCESS_TYPE = "process-type";
     public static final String PROCESS_STATE = "process-state";
+    public static final String PROCESSOR_STATISTICS = "processor-statistics";
     public static final String PRODUCT_NAME = "product-name";
     public static final String PRODUCT_VERSION = "product-version";
     public static final String PROFILE = "profile";
@@ -413,6 +416,7 @@ public class ModelDescriptionConstants {
     public static final String READ_CONFIG_AS_FEATURES_OPERATION = "read-config-as-features";
     public static final String READ_CONFIG_AS_XML_OPERATION = "read-config-as-xml";
     public static final String READ_CONTENT = "read-content";
+    public static final String READ_DEPLOYMENT_PROCESSOR_REPORT = "read-deployment-processor-report";
     public static final String READ_FEATURE_DESCRIPTION_OPERATION = "read-feature-description";
     public static final String READ_ONLY = "read-only";
     public static final String READ_OPERATION_DESCRIPTION_OPERATION = "read-operation-description";
@@ -540,6 +544,7 @@ public class ModelDescriptionConstants {
     public static final String STANDARD_ROLE_NAMES = "standard-role-names";
     public static final String START = "start";
     public static final String START_MODE = "start-mode";
+    public static final String START_ORDER = "start-order";
     public static final String START_SERVERS = "start-servers";
     public static final String STATIC_DISCOVERY = "static-discovery";
     public static final String STATISTICS_ENABLED = "statistics-enabled";
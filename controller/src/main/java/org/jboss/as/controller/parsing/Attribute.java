@@ -191,6 +191,7 @@ public enum Attribute {
     SOURCE_PORT("source-port"),
     SSL_CONTEXT("ssl-context"),
     SSL_PROTOCOL("ssl-protocol"),
+    START_ORDER("start-order"),
     SUFFIX("suffix"),
     SYSLOG_FORMAT ("syslog-format"),
     TRUNCATE("truncate"),
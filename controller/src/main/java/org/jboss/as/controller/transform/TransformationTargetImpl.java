@@ -127,6 +127,21 @@ public class TransformationTargetImpl implements TransformationTarget {
         return subsystemVersions.get(subsystemName);
     }
 
+    /**
+     * Gets a snapshot of the subsystem versions of this target.
+     *
+     * @return the subsystem versions, keyed by subsystem name
+     */
+    Map<String, ModelVersion> getSubsystemVersions() {
+        synchronized (subsystemVersions) {
+            return new HashMap<>(subsystemVersions);
+        }
+    }
+
+    TransformerRegistry getTransformerRegistry() {
+        return transformerRegistry;
+    }
+
     @Override
     public ResourceTransformer resolveTransformer(ResourceTransformationContext context, final PathAddress address ) {
         if (ignoreResourceTransformation(context, address)) {
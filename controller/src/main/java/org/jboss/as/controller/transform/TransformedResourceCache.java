@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.transform;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Cache of transformed root resources, shared by the transformation targets running the same model versions.
+ * <p>
+ * A domain controller transforms its complete model for every slave host it registers, although many slaves typically
+ * run the same legacy version with the same ignored resources configuration. Entries are keyed by the model and
+ * subsystem versions of the target, a key describing the {@link Transformers.ResourceIgnoredTransformationRegistry}
+ * used and the revision of the model being transformed. Caching an entry for a new revision drops the entries of the
+ * previous one, so the cache is invalidated as soon as a committed change is transformed. Entries are softly referenced
+ * and are therefore discarded under memory pressure.
+ * <p>
+ * The transformed resources are shared, and must not be modified by the callers. Since the transformation only runs
+ * once per key, warnings about discarded resources are only logged for the first target of a given version.
+ */
+public final class TransformedResourceCache {
+
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // Guarded by this
+    private final Map<Key, SoftReference<Resource>> entries;
+    // Guarded by this
+    private Object revision;
+
+    /**
+     * @param maxEntries the maximum number of distinct targets and ignored resources configurations to retain
+     */
+    public TransformedResourceCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, SoftReference<Resource>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, SoftReference<Resource>> eldest) {
+                return size() > TransformedResourceCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Transforms a root resource, or returns the result of a previous transformation of the same revision of the model
+     * for an equivalent target.
+     *
+     * @param transformers the transformers of the target
+     * @param transformationInputs the transformation inputs
+     * @param resource the root resource to transform
+     * @param ignoredTransformationRegistry registry of the resources ignored by the target
+     * @param ignoredTransformationKey a key with value equality describing {@code ignoredTransformationRegistry},
+     *                                 or {@code null} if the transformation should not be cached
+     * @param revision a key with value equality identifying the revision of {@code resource}, or {@code null} if the
+     *                 transformation should not be cached
+     * @return the transformed resource, which must not be modified
+     * @throws OperationFailedException if the transformation fails
+     */
+    public Resource transformRootResource(final Transformers transformers, final Transformers.TransformationInputs transformationInputs,
+                                          final Resource resource,
+                                          final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry,
+                                          final Object ignoredTransformationKey, final Object revision) throws OperationFailedException {
+        final Key key = Key.create(transformers.getTarget(), ignoredTransformationKey, revision);
+        if (key == null) {
+            return transformers.transformRootResource(transformationInputs, resource, ignoredTransformationRegistry);
+        }
+        Resource transformed = get(key);
+        if (transformed != null) {
+            hits.increment();
+            ControllerLogger.ROOT_LOGGER.tracef("Reusing the transformed model for %s", transformers.getTarget().getHostName());
+            return transformed;
+        }
+        misses.increment();
+        transformed = transformers.transformRootResource(transformationInputs, resource, ignoredTransformationRegistry);
+        put(key, transformed);
+        return transformed;
+    }
+
+    /**
+     * Drops all the cached resources.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        revision = null;
+    }
+
+    /**
+     * Gets the number of transformations served from the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of transformations which were not cached.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private synchronized Resource get(final Key key) {
+        final SoftReference<Resource> reference = entries.get(key);
+        if (reference == null) {
+            return null;
+        }
+        final Resource resource = reference.get();
+        if (resource == null) {
+            entries.remove(key);
+        }
+        return resource;
+    }
+
+    private synchronized void put(final Key key, final Resource transformed) {
+        if (!key.revision.equals(revision)) {
+            // the model changed, nothing cached so far can be used anymore
+            entries.clear();
+            revision = key.revision;
+        }
+        // drop the entries whose resource was already collected
+        for (Iterator<SoftReference<Resource>> i = entries.values().iterator(); i.hasNext(); ) {
+            if (i.next().get() == null) {
+                i.remove();
+            }
+        }
+        entries.put(key, new SoftReference<>(transformed));
+    }
+
+    private static final class Key {
+        private final TransformerRegistry registry;
+        private final TransformationTarget.TransformationTargetType type;
+        private final ModelVersion version;
+        private final Map<String, ModelVersion> subsystemVersions;
+        private final Object ignoredTransformationKey;
+        private final Object revision;
+        private final int hashCode;
+
+        private Key(final TransformationTargetImpl target, final Object ignoredTransformationKey, final Object revision) {
+            this.registry = target.getTransformerRegistry();
+            this.type = target.getTargetType();
+            this.version = target.getVersion();
+            this.subsystemVersions = target.getSubsystemVersions();
+            this.ignoredTransformationKey = ignoredTransformationKey;
+            this.revision = revision;
+            this.hashCode = Objects.hash(System.identityHashCode(registry), type, version, subsystemVersions, ignoredTransformationKey, revision);
+        }
+
+        static Key create(final TransformationTarget target, final Object ignoredTransformationKey, final Object revision) {
+            // Only the default targets expose everything the transformation depends on
+            if (!(target instanceof TransformationTargetImpl) || ignoredTransformationKey == null || revision == null) {
+                return null;
+            }
+            return new Key((TransformationTargetImpl) target, ignoredTransformationKey, revision);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return registry == other.registry && type == other.type && version.equals(other.version)
+                    && subsystemVersions.equals(other.subsystemVersions)
+                    && ignoredTransformationKey.equals(other.ignoredTransformationKey) && revision.equals(other.revision);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 1L << 36; value = value * 3 / 2 + 1) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(value));
+            Assert.assertTrue(highest >= value);
+            Assert.assertTrue(highest - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.toModelNode().get(LatencyHistogram.P99).asLong());
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        ModelNode snapshot = histogram.toModelNode();
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(100, snapshot.get(LatencyHistogram.COUNT).asLong());
+        Assert.assertEquals(100000, snapshot.get(LatencyHistogram.MAX).asLong());
+        Assert.assertEquals(50500, snapshot.get(LatencyHistogram.MEAN).asLong());
+        long p50 = snapshot.get(LatencyHistogram.P50).asLong();
+        Assert.assertTrue(String.valueOf(p50), p50 >= 50000 && p50 <= 50000 * 9 / 8);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.transform;
+
+import java.util.Collections;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link TransformedResourceCache}.
+ */
+public class TransformedResourceCacheTestCase {
+
+    private final TransformerRegistry registry = TransformerRegistry.Factory.create();
+
+    @Test
+    public void testSharedByEquivalentTargets() throws Exception {
+        final TransformedResourceCache cache = new TransformedResourceCache(4);
+        final Resource root = Resource.Factory.create();
+        final CountingTransformers first = new CountingTransformers(createTarget("first", ModelVersion.create(1, 8)));
+        final CountingTransformers second = new CountingTransformers(createTarget("second", ModelVersion.create(1, 8)));
+        final CountingTransformers legacy = new CountingTransformers(createTarget("legacy", ModelVersion.create(1, 7)));
+
+        final Resource transformed = cache.transformRootResource(first, null, root, Transformers.DEFAULT, new ModelNode("none"), "1");
+        Assert.assertSame(transformed, cache.transformRootResource(second, null, root, Transformers.DEFAULT, new ModelNode("none"), "1"));
+        Assert.assertEquals(1, first.count + second.count);
+
+        // a different version, ignored resources configuration or subsystem version is transformed again
+        Assert.assertNotSame(transformed, cache.transformRootResource(legacy, null, root, Transformers.DEFAULT, new ModelNode("none"), "1"));
+        Assert.assertNotSame(transformed, cache.transformRootResource(second, null, root, Transformers.DEFAULT, new ModelNode("profiles"), "1"));
+        second.getTarget().addSubsystemVersion("test", ModelVersion.create(2));
+        Assert.assertNotSame(transformed, cache.transformRootResource(second, null, root, Transformers.DEFAULT, new ModelNode("none"), "1"));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testInvalidatedByRevision() throws Exception {
+        final TransformedResourceCache cache = new TransformedResourceCache(4);
+        final Resource root = Resource.Factory.create();
+        final CountingTransformers transformers = new CountingTransformers(createTarget("host", ModelVersion.create(1, 8)));
+
+        final Resource transformed = cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), "1");
+        final Resource changed = cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), "2");
+        Assert.assertNotSame(transformed, changed);
+        Assert.assertSame(changed, cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), "2"));
+        // the previous revision was dropped
+        Assert.assertNotSame(transformed, cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), "1"));
+
+        // not cached without a revision
+        cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), null);
+        cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), null);
+        Assert.assertEquals(5, transformers.count);
+
+        cache.invalidate();
+        cache.transformRootResource(transformers, null, root, Transformers.DEFAULT, new ModelNode("none"), "1");
+        Assert.assertEquals(6, transformers.count);
+    }
+
+    private TransformationTarget createTarget(final String hostName, final ModelVersion version) {
+        return TransformationTargetImpl.create(hostName, registry, version, Collections.<PathAddress, ModelVersion>emptyMap(),
+                TransformationTarget.TransformationTargetType.HOST);
+    }
+
+    private static final class CountingTransformers implements Transformers {
+        private final TransformationTarget target;
+        private int count;
+
+        CountingTransformers(final TransformationTarget target) {
+            this.target = target;
+        }
+
+        @Override
+        public TransformationTarget getTarget() {
+            return target;
+        }
+
+        @Override
+        public OperationTransformer.TransformedOperation transformOperation(final TransformationContext context, final ModelNode operation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationTransformer.TransformedOperation transformOperation(final TransformationInputs transformationInputs, final ModelNode operation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Resource transformResource(final ResourceTransformationContext context, final Resource resource) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Resource transformRootResource(final TransformationInputs transformationInputs, final Resource resource) throws OperationFailedException {
+            return transformRootResource(transformationInputs, resource, Transformers.DEFAULT);
+        }
+
+        @Override
+        public Resource transformRootResource(final TransformationInputs transformationInputs, final Resource resource,
+                                              final ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) {
+            count++;
+            return resource.clone();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Transfers deployment content between repositories as its content-defined chunks rather than as a single stream.
+ * <p>
+ * The receiving repository assembles the content from its chunks, copying the chunks it already holds as part of other
+ * content items, so that only the chunks of the content that changed are transferred. The missing chunks are fetched
+ * as ranges of consecutive chunks, several ranges at a time, into a staging directory next to the final location of
+ * the content. The staging directory is kept if the transfer fails, so that a later attempt only fetches the chunks
+ * that are missing from it.
+ *
+ * @see ContentChunker
+ * @see ContentRepository#addContent(List, ContentChunk.Source)
+ */
+public final class ChunkedContentTransfer {
+
+    /**
+     * The name of the file a range of content, or the chunk manifest, is transferred as.
+     */
+    public static final String CHUNK_FILE_NAME = "chunk";
+
+    /**
+     * The maximum length of a range of content fetched by a single request.
+     */
+    public static final int MAX_RANGE_LENGTH = 8 * 1024 * 1024;
+
+    static final String STAGING_SUFFIX = ".part";
+
+    private ChunkedContentTransfer() {
+    }
+
+    /**
+     * Fetches ranges of a content item from a remote repository.
+     */
+    @FunctionalInterface
+    public interface RangeFetcher {
+
+        /**
+         * Starts fetching a range of the content.
+         *
+         * @param offset the offset of the range in the content.
+         * @param length the length of the range.
+         * @param directory the directory where the range must be written, as a file named {@link #CHUNK_FILE_NAME}.
+         * @return a future completing once the range is written.
+         * @throws IOException
+         */
+        Future<?> fetchRange(long offset, long length, File directory) throws IOException;
+    }
+
+    /**
+     * Gets the path identifying a range of a content item in a range request.
+     *
+     * @param hexHash the hash of the content.
+     * @param offset the offset of the range in the content.
+     * @param length the length of the range.
+     * @return the path, parsed back by {@link #getRange(DeploymentFileRepository, String)}.
+     */
+    public static String getRangePath(String hexHash, long offset, long length) {
+        return hexHash + '/' + offset + '/' + length;
+    }
+
+    /**
+     * Gets the range of the chunk manifest of a content item to send in response to a manifest request. The manifest
+     * is not computed here, so that the request is not held while the content is read, see
+     * {@link #computeChunkManifest(DeploymentFileRepository, String)}.
+     *
+     * @param repository the repository holding the content.
+     * @param hexHash the hash of the content.
+     * @return the range covering the manifest, or {@code null} if the repository does not have the content, if the
+     * content is exploded or if its manifest was not computed yet.
+     */
+    public static RemoteFileRequestAndHandler.FileRange getChunkManifestRange(DeploymentFileRepository repository, String hexHash) {
+        if (!isContentHash(hexHash)) {
+            return null;
+        }
+        final File manifest = getContentFile(repository, hexHash).toPath().resolveSibling(ContentRepositoryImpl.CHUNKS).toFile();
+        return manifest.isFile() ? new RemoteFileRequestAndHandler.FileRange(manifest, CHUNK_FILE_NAME, 0, manifest.length()) : null;
+    }
+
+    /**
+     * Computes the chunk manifest of a content item if it was not computed yet.
+     *
+     * @param repository the repository holding the content.
+     * @param hexHash the hash of the content.
+     * @throws IOException
+     */
+    public static void computeChunkManifest(DeploymentFileRepository repository, String hexHash) throws IOException {
+        if (isContentHash(hexHash)) {
+            getChunkManifest(getContentFile(repository, hexHash));
+        }
+    }
+
+    /**
+     * Gets the range of a content file to send in response to a range request.
+     *
+     * @param repository the repository holding the content.
+     * @param rangePath the path of the range, as returned by {@link #getRangePath(String, long, long)}.
+     * @return the range, or {@code null} if the path is invalid or the repository does not have the content.
+     */
+    public static RemoteFileRequestAndHandler.FileRange getRange(DeploymentFileRepository repository, String rangePath) {
+        final String[] elements = rangePath.split("/");
+        if (elements.length != 3 || !isContentHash(elements[0])) {
+            return null;
+        }
+        final long offset;
+        final long length;
+        try {
+            offset = Long.parseLong(elements[1]);
+            length = Long.parseLong(elements[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        final File contentFile = getContentFile(repository, elements[0]);
+        if (offset < 0 || length <= 0 || length > MAX_RANGE_LENGTH || !contentFile.isFile() || offset + length > contentFile.length()) {
+            return null;
+        }
+        return new RemoteFileRequestAndHandler.FileRange(contentFile, CHUNK_FILE_NAME, offset, length);
+    }
+
+    /**
+     * Gets the file listing the chunks of a content file, computing it if the content repository has not done it yet.
+     *
+     * @param contentFile the content file of a deployment.
+     * @return the chunk manifest, in the format of {@link ContentChunker#writeChunks(List, OutputStream)}, or
+     * {@code null} if the content is not a regular file.
+     * @throws IOException
+     */
+    public static File getChunkManifest(File contentFile) throws IOException {
+        final Path contentPath = contentFile.toPath();
+        if (!Files.isRegularFile(contentPath)) {
+            return null;
+        }
+        final Path chunksPath = contentPath.resolveSibling(ContentRepositoryImpl.CHUNKS);
+        if (!Files.exists(chunksPath)) {
+            final List<ContentChunk> chunks;
+            try (InputStream in = Files.newInputStream(contentPath)) {
+                chunks = ContentChunker.chunk(in);
+            }
+            final Path tmp = Files.createTempFile(chunksPath.getParent(), ContentRepositoryImpl.CHUNKS, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                ContentChunker.writeChunks(chunks, out);
+            }
+            Files.move(tmp, chunksPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return chunksPath.toFile();
+    }
+
+    /**
+     * Reads a chunk manifest.
+     *
+     * @param manifest the manifest file.
+     * @return the chunks, in order, or an empty list if the manifest does not exist.
+     * @throws IOException
+     */
+    public static List<ContentChunk> readChunkManifest(File manifest) throws IOException {
+        if (!manifest.isFile()) {
+            return Collections.emptyList();
+        }
+        try (InputStream in = Files.newInputStream(manifest.toPath())) {
+            return ContentChunker.readChunks(in);
+        }
+    }
+
+    /**
+     * Gets the directory the missing chunks of a content item are fetched to before the content is assembled.
+     *
+     * @param deploymentRoot the final location of the content item.
+     * @return the staging directory.
+     */
+    public static File getStagingDirectory(File deploymentRoot) {
+        return new File(deploymentRoot.getParentFile(), deploymentRoot.getName() + STAGING_SUFFIX);
+    }
+
+    /**
+     * Adds a content item to a repository by assembling it from its chunks, copying the chunks the repository already
+     * holds and the chunks left in the staging directory by a previous attempt, and fetching the others.
+     *
+     * @param repository the repository the content is added to.
+     * @param staging the staging directory of the content, see {@link #getStagingDirectory(File)}.
+     * @param hash the hash of the content.
+     * @param chunks the chunks of the content, in order.
+     * @param fetcher fetches the ranges of the content that are not available locally.
+     * @param maxConcurrentFetches the maximum number of ranges fetched concurrently.
+     * @throws IOException if a range cannot be fetched or the assembled content does not match its hash.
+     */
+    public static void transfer(ContentRepository repository, File staging, byte[] hash, List<ContentChunk> chunks,
+                                RangeFetcher fetcher, int maxConcurrentFetches) throws IOException {
+        transfer(repository, staging, hash, chunks, fetcher, maxConcurrentFetches, MAX_RANGE_LENGTH);
+    }
+
+    static void transfer(ContentRepository repository, File staging, byte[] hash, List<ContentChunk> chunks,
+                         RangeFetcher fetcher, int maxConcurrentFetches, int maxRangeLength) throws IOException {
+        if (!staging.isDirectory() && !staging.mkdirs()) {
+            throw new IOException(staging.getAbsolutePath());
+        }
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        final Path stagedContent = new File(staging, ContentRepositoryImpl.CONTENT).toPath();
+        final StagedSource source;
+        final byte[] assembled;
+        try (FileChannel channel = FileChannel.open(stagedContent, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            source = new StagedSource(hexHash, channel, staging, fetcher, Math.max(1, maxConcurrentFetches), maxRangeLength);
+            assembled = repository.addContent(chunks, source);
+        }
+        PathUtil.deleteRecursively(staging.toPath());
+        if (!Arrays.equals(hash, assembled)) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidAssembledContent(hexHash);
+        }
+        DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content %s assembled from %d chunks, %d of them fetched in %d requests and %d of them left by a previous transfer",
+                hexHash, chunks.size(), source.fetched, source.requests, source.staged);
+    }
+
+    private static boolean isContentHash(String hexHash) {
+        return hexHash.length() == 40 && HashUtil.isEachHexHashInTable(hexHash);
+    }
+
+    private static File getContentFile(DeploymentFileRepository repository, String hexHash) {
+        final File root = repository.getDeploymentRoot(new ContentReference(hexHash, HashUtil.hexStringToByteArray(hexHash)));
+        return new File(root, ContentRepositoryImpl.CONTENT);
+    }
+
+    private static byte[] read(FileChannel channel, long offset, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                return null;
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    private static boolean matches(ContentChunk chunk, byte[] bytes) {
+        if (bytes == null) {
+            return false;
+        }
+        final MessageDigest messageDigest = HashUtil.sha1();
+        return Arrays.equals(chunk.getHash(), messageDigest.digest(bytes));
+    }
+
+    /**
+     * Provides the chunks missing from the repository from the staged content, fetching the ranges that are not
+     * staged yet. The staged content is a sparse copy of the content, each chunk being written at its offset.
+     */
+    private static final class StagedSource implements ContentChunk.Source {
+        private final String hexHash;
+        private final FileChannel channel;
+        private final File staging;
+        private final RangeFetcher fetcher;
+        private final int maxConcurrentFetches;
+        private final int maxRangeLength;
+        private int staged;
+        private int fetched;
+        private int requests;
+
+        StagedSource(String hexHash, FileChannel channel, File staging, RangeFetcher fetcher, int maxConcurrentFetches, int maxRangeLength) {
+            this.hexHash = hexHash;
+            this.channel = channel;
+            this.staging = staging;
+            this.fetcher = fetcher;
+            this.maxConcurrentFetches = maxConcurrentFetches;
+            this.maxRangeLength = maxRangeLength;
+        }
+
+        @Override
+        public void prefetch(List<ContentChunk> chunks) throws IOException {
+            // consecutive missing chunks are fetched as a single range
+            final Deque<Range> ranges = new ArrayDeque<>();
+            Range range = null;
+            for (ContentChunk chunk : chunks) {
+                if (matches(chunk, read(channel, chunk.getOffset(), chunk.getLength()))) {
+                    staged++;
+                    continue;
+                }
+                fetched++;
+                if (range != null && range.offset + range.length == chunk.getOffset() && range.length + chunk.getLength() <= maxRangeLength) {
+                    range.length += chunk.getLength();
+                } else {
+                    range = new Range(chunk.getOffset(), chunk.getLength());
+                    ranges.add(range);
+                }
+            }
+            fetchRanges(ranges);
+        }
+
+        @Override
+        public InputStream openChunk(ContentChunk chunk) throws IOException {
+            byte[] bytes = read(channel, chunk.getOffset(), chunk.getLength());
+            if (!matches(chunk, bytes)) {
+                // a chunk the repository could not read locally after all
+                fetched++;
+                fetchRanges(new ArrayDeque<>(Collections.singletonList(new Range(chunk.getOffset(), chunk.getLength()))));
+                bytes = read(channel, chunk.getOffset(), chunk.getLength());
+                if (bytes == null) {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunk(chunk.getHexHash());
+                }
+            }
+            // the repository verifies the chunk against its hash
+            return new ByteArrayInputStream(bytes);
+        }
+
+        private void fetchRanges(Deque<Range> ranges) throws IOException {
+            final Deque<Range> pending = new ArrayDeque<>();
+            try {
+                while (!ranges.isEmpty() || !pending.isEmpty()) {
+                    while (!ranges.isEmpty() && pending.size() < maxConcurrentFetches) {
+                        final Range range = ranges.poll();
+                        range.directory = new File(staging, Long.toString(range.offset));
+                        range.future = fetcher.fetchRange(range.offset, range.length, range.directory);
+                        requests++;
+                        pending.add(range);
+                    }
+                    final Range next = pending.poll();
+                    try {
+                        next.future.get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    } catch (ExecutionException e) {
+                        throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+                    }
+                    final Path rangeFile = new File(next.directory, CHUNK_FILE_NAME).toPath();
+                    try (FileChannel in = FileChannel.open(rangeFile, StandardOpenOption.READ)) {
+                        if (in.size() != next.length) {
+                            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentRange(next.length, hexHash, next.offset, in.size());
+                        }
+                        // written at its offset, the staged content being sparse until every chunk is fetched
+                        final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                        long position = next.offset;
+                        while (in.read(buffer) > 0) {
+                            buffer.flip();
+                            while (buffer.hasRemaining()) {
+                                position += channel.write(buffer, position);
+                            }
+                            buffer.clear();
+                        }
+                    }
+                    PathUtil.deleteRecursively(next.directory.toPath());
+                }
+            } finally {
+                for (Range remaining : pending) {
+                    remaining.future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class Range {
+        private final long offset;
+        private long length;
+        private File directory;
+        private Future<?> future;
+
+        Range(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
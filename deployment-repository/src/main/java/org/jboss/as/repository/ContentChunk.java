@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 JBoss by Red Hat.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.as.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A content-defined chunk of a content item of the repository.
+ *
+ * @see ContentChunker
+ */
+public final class ContentChunk {
+
+    private final byte[] hash;
+    private final long offset;
+    private final int length;
+
+    public ContentChunk(byte[] hash, long offset, int length) {
+        this.hash = hash;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Gets the SHA-1 hash of the bytes of the chunk.
+     *
+     * @return the hash.
+     */
+    public byte[] getHash() {
+        return hash;
+    }
+
+    public String getHexHash() {
+        return HashUtil.bytesToHexString(hash);
+    }
+
+    /**
+     * Gets the offset of the chunk in the content it belongs to.
+     *
+     * @return the offset.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ContentChunk)) {
+            return false;
+        }
+        final ContentChunk other = (ContentChunk) obj;
+        return offset == other.offset && length == other.length && Arrays.equals(hash, other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "ContentChunk{" + "hash=" + getHexHash() + ", offset=" + offset + ", length=" + length + '}';
+    }
+
+    /**
+     * Provides the bytes of the chunks that are not available locally, typically by fetching them from a remote host.
+     */
+    @FunctionalInterface
+    public interface Source {
+
+        /**
+         * Opens a stream on the bytes of a chunk.
+         *
+         * @param chunk the chunk.
+         * @return a stream providing exactly {@link ContentChunk#getLength()} bytes.
+         * @throws IOException
+         */
+        InputStream openChunk(ContentChunk chunk) throws IOException;
+
+        /**
+         * Called once, before any chunk is opened, with the chunks that are not available locally, so that they can
+         * be fetched in bulk rather than one at a time.
+         *
+         * @param chunks the chunks that will be opened, in order.
+         * @throws IOException
+         */
+        default void prefetch(List<ContentChunk> chunks) throws IOException {
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 JBoss by Red Hat.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.as.repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits content into content-defined chunks, using a gear rolling hash.
+ * <p>
+ * Chunk boundaries depend only on the bytes preceding them, so inserting or removing bytes in a content only changes the
+ * chunks around the modification. Since the entries of a zip archive are compressed independently, two versions of the
+ * same archive share the chunks of their unchanged entries, which lets a host rebuild a new version of a deployment from
+ * the chunks of the versions it already has and only transfer the missing ones.
+ */
+public final class ContentChunker {
+
+    /** No chunk is shorter than this, except the last one. */
+    static final int MIN_CHUNK_SIZE = 16 * 1024;
+    /** Boundaries are found with a probability of 1/65536 past the minimum size, giving ~64KB chunks on average. */
+    private static final long BOUNDARY_MASK = 0xFFFF000000000000L;
+    /** No chunk is longer than this. */
+    static final int MAX_CHUNK_SIZE = 256 * 1024;
+
+    private static final long[] GEAR = new long[256];
+
+    static {
+        // deterministic pseudo random table (splitmix64), chunk boundaries must be identical on every host
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < GEAR.length; i++) {
+            long z = (seed += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private ContentChunker() {
+    }
+
+    /**
+     * Splits the content of a stream into chunks.
+     *
+     * @param stream the content, it is not closed by this method.
+     * @return the chunks, in order.
+     * @throws IOException
+     */
+    public static List<ContentChunk> chunk(InputStream stream) throws IOException {
+        final List<ContentChunk> chunks = new ArrayList<>();
+        final MessageDigest messageDigest = HashUtil.sha1();
+        final byte[] buffer = new byte[64 * 1024];
+        long offset = 0;
+        int length = 0;
+        long fingerprint = 0;
+        int read;
+        while ((read = stream.read(buffer)) > -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                fingerprint = (fingerprint << 1) + GEAR[buffer[i] & 0xFF];
+                length++;
+                if ((length >= MIN_CHUNK_SIZE && (fingerprint & BOUNDARY_MASK) == 0) || length >= MAX_CHUNK_SIZE) {
+                    messageDigest.update(buffer, start, i + 1 - start);
+                    chunks.add(new ContentChunk(messageDigest.digest(), offset, length));
+                    offset += length;
+                    start = i + 1;
+                    length = 0;
+                    fingerprint = 0;
+                }
+            }
+            messageDigest.update(buffer, start, read - start);
+        }
+        if (length > 0) {
+            chunks.add(new ContentChunk(messageDigest.digest(), offset, length));
+        }
+        return chunks;
+    }
+
+    /**
+     * Writes chunks in a compact binary form: the count of chunks followed by the hash and length of every chunk.
+     *
+     * @param chunks the chunks, in order.
+     * @param out the stream to write to, it is not closed by this method.
+     * @throws IOException
+     */
+    public static void writeChunks(List<ContentChunk> chunks, OutputStream out) throws IOException {
+        final DataOutputStream dos = new DataOutputStream(out);
+        dos.writeInt(chunks.size());
+        for (ContentChunk chunk : chunks) {
+            dos.write(chunk.getHash());
+            dos.writeInt(chunk.getLength());
+        }
+        dos.flush();
+    }
+
+    /**
+     * Reads chunks written by {@link #writeChunks(List, OutputStream)}.
+     *
+     * @param in the stream to read from, it is not closed by this method.
+     * @return the chunks, in order.
+     * @throws IOException
+     */
+    public static List<ContentChunk> readChunks(InputStream in) throws IOException {
+        final DataInputStream dis = new DataInputStream(in);
+        final int count = dis.readInt();
+        final List<ContentChunk> chunks = new ArrayList<>(count);
+        long offset = 0;
+        for (int i = 0; i < count; i++) {
+            final byte[] hash = new byte[20];
+            dis.readFully(hash);
+            final int length = dis.readInt();
+            chunks.add(new ContentChunk(hash, offset, length));
+            offset += length;
+        }
+        return chunks;
+    }
+}
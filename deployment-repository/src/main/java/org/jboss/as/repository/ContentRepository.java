@@ -26,6 +26,8 @@ import static java.lang.System.getSecurityManager;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.security.PrivilegedAction;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
@@ -36,6 +38,8 @@ import static java.security.AccessController.doPrivileged;
 
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -123,6 +127,58 @@ public interface ContentRepository {
      */
     void removeContent(ContentReference reference);
 
+    /**
+     * Gets the content-defined chunks of a content item of the repository.
+     *
+     * @param hash the hash of the content.
+     * @return the chunks of the content, in order, or an empty list if the content is exploded.
+     * @throws IOException
+     * @see ContentChunker
+     */
+    default List<ContentChunk> getContentChunks(byte[] hash) throws IOException {
+        final VirtualFile content = getContent(hash);
+        if (content.isDirectory()) {
+            return Collections.emptyList();
+        }
+        try (InputStream in = content.openStream()) {
+            return ContentChunker.chunk(in);
+        }
+    }
+
+    /**
+     * Add content to the repository by assembling its chunks. Chunks that are already part of content available in the
+     * repository are copied from it, the others are read from {@code source}.
+     *
+     * @param chunks the chunks of the content, in order.
+     * @param source provides the chunks that are not available locally.
+     * @return the hash of the assembled content.
+     * @throws IOException
+     */
+    default byte[] addContent(List<ContentChunk> chunks, ContentChunk.Source source) throws IOException {
+        source.prefetch(chunks);
+        final Iterator<ContentChunk> iterator = chunks.iterator();
+        try {
+            return addContent(new SequenceInputStream(new Enumeration<InputStream>() {
+                @Override
+                public boolean hasMoreElements() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public InputStream nextElement() {
+                    try {
+                        return source.openChunk(iterator.next());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            // SequenceInputStream can only report the failure to open a chunk unchecked
+            throw e.getCause();
+        }
+    }
+
     default byte[] explodeContent(byte[] deploymentHash) throws ExplodedContentException {
         return deploymentHash;
     }
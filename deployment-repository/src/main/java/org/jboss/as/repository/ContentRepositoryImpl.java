@@ -30,17 +30,21 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -55,6 +59,7 @@ import static org.jboss.as.repository.PathUtil.unzip;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import org.wildfly.common.Assert;
@@ -67,8 +72,14 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    static final String CHUNKS = "chunks";
     private final File repoRoot;
     private final File tmpRoot;
+    /**
+     * @deprecated the repository no longer hashes content with a single shared digest, each thread uses its own, see
+     * {@link HashUtil#sha1()}. This digest is not used by the repository and is only kept for subclasses.
+     */
+    @Deprecated
     protected final MessageDigest messageDigest;
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
     private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
@@ -76,6 +87,8 @@ public class ContentRepositoryImpl implements ContentRepository {
     private final long obsolescenceTimeout;
     private final long lockTimeout;
     private volatile boolean readWrite = false;
+    private final Map<String, LocalChunk> chunkIndex = new ConcurrentHashMap<>();
+    private final Set<String> indexedContents = ConcurrentHashMap.newKeySet();
 
     protected ContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout) {
         Assert.checkNotNullParam("repoRoot", repoRoot);
@@ -86,11 +99,7 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.tmpRoot = tmpRoot;
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
-        try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
-        } catch (NoSuchAlgorithmException e) {
-            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
-        }
+        this.messageDigest = HashUtil.newSha1();
     }
 
     private void checkDirectory(final File directory) {
@@ -120,28 +129,198 @@ public class ContentRepositoryImpl implements ContentRepository {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
+            // the content is hashed while it is written, so it is read only once
+            final MessageDigest digest = HashUtil.sha1();
             try (OutputStream fos = Files.newOutputStream(tmp)) {
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                    BufferedInputStream bis = new BufferedInputStream(stream);
-                    byte[] bytes = new byte[8192];
-                    int read;
-                    while ((read = bis.read(bytes)) > -1) {
-                        dos.write(bytes, 0, read);
-                    }
-                    fos.flush();
+                DigestOutputStream dos = new DigestOutputStream(fos, digest);
+                byte[] bytes = new byte[64 * 1024];
+                int read;
+                while ((read = stream.read(bytes)) > -1) {
+                    dos.write(bytes, 0, read);
                 }
-                sha1Bytes = messageDigest.digest();
+                fos.flush();
             }
+            sha1Bytes = digest.digest();
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
+            sha1Bytes = HashUtil.hashPath(tmp);
+        }
+        storeContent(tmp, sha1Bytes);
+        return sha1Bytes;
+    }
+
+    @Override
+    public byte[] addContent(List<ContentChunk> chunks, ContentChunk.Source source) throws IOException {
+        final Map<String, LocalChunk> index = getChunkIndex();
+        final List<ContentChunk> missing = new ArrayList<>();
+        for (ContentChunk chunk : chunks) {
+            if (!index.containsKey(chunk.getHexHash())) {
+                missing.add(chunk);
+            }
+        }
+        source.prefetch(missing);
+        final Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
+        final MessageDigest digest = HashUtil.newSha1();
+        long reused = 0;
+        long total = 0;
+        try {
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                for (ContentChunk chunk : chunks) {
+                    byte[] bytes = readLocalChunk(index.get(chunk.getHexHash()));
+                    if (bytes != null) {
+                        reused += bytes.length;
+                    } else {
+                        bytes = new byte[chunk.getLength()];
+                        try (InputStream in = source.openChunk(chunk)) {
+                            readFully(in, bytes);
+                        }
+                        if (!Arrays.equals(chunk.getHash(), HashUtil.sha1().digest(bytes))) {
+                            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunk(chunk.getHexHash());
+                        }
+                    }
+                    out.write(bytes);
+                    total += bytes.length;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteSilentlyRecursively(tmp);
+            throw e;
+        }
+        final byte[] sha1Bytes = digest.digest();
+        storeContent(tmp, sha1Bytes);
+        writeChunks(sha1Bytes, chunks);
+        DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content %s assembled from %d bytes of local chunks and %d bytes of fetched chunks",
+                HashUtil.bytesToHexString(sha1Bytes), reused, total - reused);
+        return sha1Bytes;
+    }
+
+    @Override
+    public List<ContentChunk> getContentChunks(byte[] hash) throws IOException {
+        final Path contentPath = getDeploymentContentFile(hash);
+        if (!Files.isRegularFile(contentPath)) {
+            return Collections.emptyList();
+        }
+        final Path chunksPath = contentPath.resolveSibling(CHUNKS);
+        if (Files.exists(chunksPath)) {
+            try (InputStream in = Files.newInputStream(chunksPath)) {
+                return ContentChunker.readChunks(in);
+            } catch (IOException ioex) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Cannot read chunks of %s, computing them again", contentPath);
+            }
+        }
+        final List<ContentChunk> chunks;
+        try (InputStream in = Files.newInputStream(contentPath)) {
+            chunks = ContentChunker.chunk(in);
+        }
+        writeChunks(hash, chunks);
+        return chunks;
+    }
+
+    /**
+     * Persists the chunks of a content item, so that they are not computed again, and adds them to the chunk index.
+     */
+    private void writeChunks(byte[] hash, List<ContentChunk> chunks) {
+        final Path chunksPath = getDeploymentContentFile(hash).resolveSibling(CHUNKS);
+        try {
+            final Path tmp = Files.createTempFile(chunksPath.getParent(), CHUNKS, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                ContentChunker.writeChunks(chunks, out);
+            }
+            Files.move(tmp, chunksPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ioex) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Cannot persist chunks of %s", chunksPath.getParent());
+        }
+        indexChunks(hash, chunks);
+    }
+
+    /**
+     * Gets the index of the chunks of the local content items, first indexing the content items that were not indexed
+     * yet. Only the chunk lists already persisted next to the content are read, content is never chunked here: a
+     * content item is indexed once its chunks are computed by {@link #getContentChunks(byte[])} or it is assembled from
+     * chunks. Each content item is claimed by the caller indexing it, so concurrent callers do not wait for each other.
+     */
+    private Map<String, LocalChunk> getChunkIndex() {
+        for (ContentReference reference : listLocalContents()) {
+            final String hexHash = reference.getHexHash();
+            if (hexHash.length() == 40 && HashUtil.isEachHexHashInTable(hexHash) && !indexedContents.contains(hexHash)) {
+                final Path chunksPath = getDeploymentContentFile(reference.getHash()).resolveSibling(CHUNKS);
+                if (Files.exists(chunksPath) && indexedContents.add(hexHash)) {
+                    try (InputStream in = Files.newInputStream(chunksPath)) {
+                        indexChunks(reference.getHash(), ContentChunker.readChunks(in));
+                    } catch (IOException ioex) {
+                        indexedContents.remove(hexHash);
+                        DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Cannot read chunks of %s", chunksPath.getParent());
+                    }
+                }
             }
         }
+        return chunkIndex;
+    }
+
+    /**
+     * Removes the chunks of a deleted content item from the chunk index. A chunk shared with other content items is
+     * only indexed at one of its locations, so the other content items are indexed again the next time the index is
+     * used, restoring the locations of their chunks.
+     */
+    private void unindexChunks(byte[] hash) {
+        if (chunkIndex.values().removeIf(localChunk -> Arrays.equals(localChunk.contentHash, hash))) {
+            indexedContents.clear();
+        } else {
+            indexedContents.remove(HashUtil.bytesToHexString(hash));
+        }
+    }
+
+    private void indexChunks(byte[] hash, List<ContentChunk> chunks) {
+        for (ContentChunk chunk : chunks) {
+            chunkIndex.putIfAbsent(chunk.getHexHash(), new LocalChunk(hash, chunk));
+        }
+        indexedContents.add(HashUtil.bytesToHexString(hash));
+    }
+
+    /**
+     * Reads a chunk of a local content item.
+     *
+     * @return the bytes of the chunk, or {@code null} if the content item is gone or no longer matches the chunk.
+     */
+    private byte[] readLocalChunk(LocalChunk localChunk) {
+        if (localChunk == null) {
+            return null;
+        }
+        final Path contentPath = getDeploymentContentFile(localChunk.contentHash);
+        final byte[] bytes = new byte[localChunk.chunk.getLength()];
+        try (FileChannel channel = FileChannel.open(contentPath, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long position = localChunk.chunk.getOffset();
+            while (buffer.hasRemaining()) {
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    return null;
+                }
+                position += read;
+            }
+        } catch (IOException ioex) {
+            return null;
+        }
+        return Arrays.equals(localChunk.chunk.getHash(), HashUtil.sha1().digest(bytes)) ? bytes : null;
+    }
+
+    private static void readFully(InputStream in, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            final int read = in.read(bytes, offset, bytes.length - offset);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Moves a temporary file holding content to its permanent location in the repository, unless the repository
+     * already has that content.
+     */
+    private void storeContent(Path tmp, byte[] sha1Bytes) throws IOException {
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
             // we've already got this content
@@ -156,7 +335,6 @@ public class ContentRepositoryImpl implements ContentRepository {
             moveTempToPermanent(tmp, realFile);
             DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
         }
-        return sha1Bytes;
     }
 
     @Override
@@ -300,6 +478,10 @@ public class ContentRepositoryImpl implements ContentRepository {
                 }
             }
             deleteRecursively(contentPath);
+            if (HashUtil.isEachHexHashInTable(reference.getHexHash())) {
+                Files.deleteIfExists(contentPath.resolveSibling(CHUNKS));
+                unindexChunks(reference.getHash());
+            }
         } catch (IOException ex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
         } catch (InterruptedException ex) {
@@ -395,6 +577,10 @@ public class ContentRepositoryImpl implements ContentRepository {
                         localReferences.add(reference);
                     } else {
                         for (File complementaryHash : complementaryHashes) {
+                            if (complementaryHash.getName().endsWith(ChunkedContentTransfer.STAGING_SUFFIX)) {
+                                // content being transferred as chunks is not part of the repository yet
+                                continue;
+                            }
                             String hash = rootHash.getName() + complementaryHash.getName();
                             ContentReference reference = new ContentReference(complementaryHash.getAbsolutePath(), hash);
                             localReferences.add(reference);
@@ -421,7 +607,7 @@ public class ContentRepositoryImpl implements ContentRepository {
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
             unzip(contentPath, contentDir);
-            byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+            byte[] sha1Bytes = HashUtil.hashPath(contentDir);
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
                 // we've already got this content
@@ -464,7 +650,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     deleteRecursively(targetPath);
                 }
                 unzip(sourcePath, targetPath);
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -630,7 +816,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                         }
                     }
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -667,7 +853,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     Path targetFile = resolveSecurely(contentDir, path);
                     deleteFileWithEmptyAncestorDirectories(targetFile);
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -691,4 +877,17 @@ public class ContentRepositoryImpl implements ContentRepository {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorUpdatingDeployment(ex);
         }
     }
+
+    /**
+     * Location of a chunk in a local content item.
+     */
+    private static final class LocalChunk {
+        private final byte[] contentHash;
+        private final ContentChunk chunk;
+
+        LocalChunk(byte[] contentHash, ContentChunk chunk) {
+            this.contentHash = contentHash;
+            this.chunk = chunk;
+        }
+    }
 }
@@ -18,17 +18,16 @@
  */
 package org.jboss.as.repository;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.Vector;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
@@ -91,49 +90,105 @@ class HashUtil {
         return true;
     }
 
+    /**
+     * Size of the buffers used to feed the digests, large enough to limit the number of read calls on big archives.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * SHA-1 digests are not thread safe, each thread gets its own instance so that concurrent uploads do not contend.
+     */
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(HashUtil::newSha1);
+
+    /**
+     * Creates a new SHA-1 digest, for the cases where the digest of the current thread is already in use.
+     *
+     * @return the digest.
+     */
+    public static MessageDigest newSha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+
+    /**
+     * Gets the SHA-1 digest of the current thread, reset and ready to be used.
+     *
+     * @return the digest.
+     */
+    public static MessageDigest sha1() {
+        final MessageDigest messageDigest = SHA1.get();
+        messageDigest.reset();
+        return messageDigest;
+    }
+
     public static byte[] hashContent(MessageDigest messageDigest, InputStream stream) throws IOException {
         messageDigest.reset();
         try (DigestInputStream dis = new DigestInputStream(stream, messageDigest)) {
-            byte[] bytes = new byte[8192];
+            byte[] bytes = new byte[BUFFER_SIZE];
             while (dis.read(bytes) > -1) {
             }
         }
         return messageDigest.digest();
     }
 
+    /**
+     * Hashes a path with the SHA-1 digest of the current thread, if the path points to a directory then hashes the
+     * contents recursively.
+     * @param path the file/directory we want to hash.
+     * @return the resulting hash.
+     * @throws IOException
+     */
+    public static byte[] hashPath(Path path) throws IOException {
+        return hashPath(sha1(), path);
+    }
+
     /**
      * Hashes a path, if the path points to a directory then hashes the contents recursively.
+     * The hash is computed over the name of the path followed by its content, or by the recursive hash input of its
+     * children sorted by name if it is a directory. Files are only opened once the digest reaches them.
      * @param messageDigest the digest used to hash.
      * @param path the file/directory we want to hash.
      * @return the resulting hash.
      * @throws IOException
      */
     public static byte[] hashPath(MessageDigest messageDigest, Path path) throws IOException {
-        try (InputStream in = getRecursiveContentStream(path)) {
-            return hashContent(messageDigest, in);
-        }
+        messageDigest.reset();
+        updateDigest(messageDigest, path, new byte[BUFFER_SIZE]);
+        return messageDigest.digest();
     }
 
-    private static InputStream getRecursiveContentStream(Path path) {
+    private static void updateDigest(MessageDigest messageDigest, Path path, byte[] buffer) throws IOException {
         if (Files.isRegularFile(path)) {
+            final InputStream in;
             try {
-                return new SequenceInputStream(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)), Files.newInputStream(path));
+                in = Files.newInputStream(path);
             } catch (IOException ex) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
             }
-        } else if (Files.isDirectory(path)) {
+            messageDigest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
             try {
-                Vector<InputStream> v = new Vector<>();
-                v.add(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)));
-                try(Stream<Path> paths = Files.list(path)) {
-                    v.addAll(paths.sorted((Path path1, Path path2) -> path1.compareTo(path2)).map(p -> getRecursiveContentStream(p)).collect(Collectors.toList()));
+                int read;
+                while ((read = in.read(buffer)) > -1) {
+                    messageDigest.update(buffer, 0, read);
                 }
-                return new SequenceInputStream(v.elements());
+            } finally {
+                in.close();
+            }
+        } else if (Files.isDirectory(path)) {
+            final List<Path> children;
+            try (Stream<Path> paths = Files.list(path)) {
+                children = paths.sorted().collect(Collectors.toList());
             } catch (IOException ex) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
             }
+            messageDigest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            for (Path child : children) {
+                updateDigest(messageDigest, child, buffer);
+            }
         }
-        return emptyStream();
     }
 
     /**
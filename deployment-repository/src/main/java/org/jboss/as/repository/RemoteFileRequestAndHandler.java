@@ -25,12 +25,14 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -133,10 +135,15 @@ public abstract class RemoteFileRequestAndHandler {
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
             public void execute(ManagementRequestContext<Void> context) throws RequestProcessingException, IOException {
-                final File localPath = reader.readRootFile(rootId, filePath);
+                final FileRange range = reader.readRootFileRange(rootId, filePath);
+                final File localPath = range == null ? reader.readRootFile(rootId, filePath) : null;
                 FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
+                    if (range != null) {
+                        writeRangeResponse(range, output);
+                    } else {
+                        writeResponse(localPath, output);
+                    }
                     output.close();
                     resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
                 } finally {
@@ -168,6 +175,30 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
+    private void writeRangeResponse(final FileRange range, final FlushableDataOutput output) throws IOException {
+        output.writeByte(protocol.paramNumFiles());
+        output.writeInt(1);
+        output.writeByte(protocol.fileStart());
+        output.writeByte(protocol.paramFilePath());
+        output.writeUTF(range.getName());
+        output.writeByte(protocol.paramFileSize());
+        output.writeLong(range.getLength());
+        try (RandomAccessFile file = new RandomAccessFile(range.getFile(), "r")) {
+            file.seek(range.getOffset());
+            final byte[] buffer = new byte[8192];
+            long remaining = range.getLength();
+            while (remaining > 0) {
+                final int len = file.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+                if (len == -1) {
+                    throw new EOFException();
+                }
+                output.write(buffer, 0, len);
+                remaining -= len;
+            }
+        }
+        output.writeByte(protocol.fileEnd());
+    }
+
     private List<File> getChildFiles(final File base) {
         final List<File> childFiles = new ArrayList<>();
         getChildFiles(base, childFiles);
@@ -241,6 +272,50 @@ public abstract class RemoteFileRequestAndHandler {
      */
     public interface RootFileReader {
         File readRootFile(byte rootId, String filePath) throws RequestProcessingException;
+
+        /**
+         * Reads the part of a root file being got, for the root ids addressing a part of a file rather than whole files.
+         *
+         * @param rootId the root id
+         * @param filePath the file path
+         * @return the part of the file to send, or {@code null} to send the files returned by {@link #readRootFile(byte, String)}
+         */
+        default FileRange readRootFileRange(byte rootId, String filePath) throws RequestProcessingException {
+            return null;
+        }
+    }
+
+    /**
+     * A part of a file, sent as a single file with the given name.
+     */
+    public static final class FileRange {
+        private final File file;
+        private final String name;
+        private final long offset;
+        private final long length;
+
+        public FileRange(File file, String name, long offset, long length) {
+            this.file = file;
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
     }
 
     /**
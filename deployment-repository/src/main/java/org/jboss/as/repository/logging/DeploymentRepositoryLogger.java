@@ -26,6 +26,7 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import org.jboss.as.repository.ExplodedContentException;
 import org.jboss.logging.BasicLogger;
@@ -162,4 +163,13 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 24, value = "Error copying file %s")
     void cannotCopyFile(@Cause Exception ex, Path path);
+
+    @Message(id = 25, value = "Content chunk %s does not match its hash")
+    IOException invalidChunk(String hash);
+
+    @Message(id = 26, value = "Content assembled from chunks does not match its hash %s")
+    IOException invalidAssembledContent(String hash);
+
+    @Message(id = 27, value = "Expected %d bytes of content %s at offset %d but received %d")
+    IOException invalidContentRange(long expected, String hash, long offset, long received);
 }
@@ -35,20 +35,28 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -125,6 +133,213 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of concurrent calls to the addContent method, of class ContentRepository.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final int count = 8;
+        final byte[][] contents = new byte[count][];
+        final String[] expResults = new String[count];
+        for (int i = 0; i < count; i++) {
+            contents[i] = new byte[256 * 1024 + i];
+            new Random(i).nextBytes(contents[i]);
+            try (InputStream in = new ByteArrayInputStream(contents[i])) {
+                expResults[i] = HashUtil.bytesToHexString(HashUtil.hashContent(MessageDigest.getInstance("SHA-1"), in));
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final byte[] content = contents[i];
+                results.add(executor.submit(() -> repository.addContent(new ByteArrayInputStream(content))));
+            }
+            for (int i = 0; i < count; i++) {
+                assertThat(HashUtil.bytesToHexString(results.get(i).get()), is(expResults[i]));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAddContentFromChunks() throws Exception {
+        final byte[] original = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(original);
+        // the same content with a single byte inserted in the middle
+        final byte[] modified = new byte[original.length + 1];
+        System.arraycopy(original, 0, modified, 0, original.length / 2);
+        modified[original.length / 2] = 42;
+        System.arraycopy(original, original.length / 2, modified, original.length / 2 + 1, original.length / 2);
+
+        final byte[] originalHash = repository.addContent(new ByteArrayInputStream(original));
+        final List<ContentChunk> originalChunks = repository.getContentChunks(originalHash);
+        assertThat(originalChunks, is(ContentChunker.chunk(new ByteArrayInputStream(original))));
+        final List<ContentChunk> modifiedChunks = ContentChunker.chunk(new ByteArrayInputStream(modified));
+        final List<ContentChunk> fetched = new ArrayList<>();
+        final byte[] modifiedHash = repository.addContent(modifiedChunks, chunk -> {
+            fetched.add(chunk);
+            return new ByteArrayInputStream(modified, (int) chunk.getOffset(), chunk.getLength());
+        });
+        try (InputStream in = new ByteArrayInputStream(modified)) {
+            assertThat(HashUtil.bytesToHexString(modifiedHash), is(HashUtil.bytesToHexString(HashUtil.hashContent(MessageDigest.getInstance("SHA-1"), in))));
+        }
+        assertTrue(Arrays.equals(modified, Files.readAllBytes(repository.getContent(modifiedHash).getPhysicalFile().toPath())));
+        // only the chunks around the inserted byte have to be fetched
+        assertTrue(fetched.size() <= 2);
+        assertTrue(fetched.size() < modifiedChunks.size());
+        assertThat(repository.getContentChunks(modifiedHash), is(modifiedChunks));
+    }
+
+    @Test
+    public void testChunkIndexIsIncremental() throws Exception {
+        final Random random = new Random(42);
+        final byte[] first = new byte[1024 * 1024];
+        random.nextBytes(first);
+        repository.addContent(ContentChunker.chunk(new ByteArrayInputStream(first)),
+                chunk -> new ByteArrayInputStream(first, (int) chunk.getOffset(), chunk.getLength()));
+
+        // content is not chunked to be indexed, it is indexed once its chunks are known
+        final byte[] second = new byte[1024 * 1024];
+        random.nextBytes(second);
+        repository.addContent(new ByteArrayInputStream(second));
+        final List<ContentChunk> secondChunks = ContentChunker.chunk(new ByteArrayInputStream(second));
+        final List<ContentChunk> fetched = new ArrayList<>();
+        final ContentChunk.Source source = chunk -> {
+            fetched.add(chunk);
+            return new ByteArrayInputStream(second, (int) chunk.getOffset(), chunk.getLength());
+        };
+        repository.addContent(secondChunks, source);
+        assertThat(fetched, is(secondChunks));
+        fetched.clear();
+        repository.addContent(secondChunks, source);
+        assertTrue(fetched.isEmpty());
+    }
+
+    @Test
+    public void testRemovedContentIsRemovedFromChunkIndex() throws Exception {
+        final byte[] content = new byte[1024 * 1024];
+        new Random(42).nextBytes(content);
+        // the same content followed by other bytes, sharing all but its last chunks
+        final byte[] extended = Arrays.copyOf(content, content.length + 1024);
+        final List<ContentChunk> chunks = ContentChunker.chunk(new ByteArrayInputStream(content));
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+        repository.getContentChunks(hash);
+        final byte[] extendedHash = repository.addContent(new ByteArrayInputStream(extended));
+        repository.getContentChunks(extendedHash);
+
+        // the shared chunks are now read from the remaining content item
+        repository.removeContent(new ContentReference(HashUtil.bytesToHexString(hash), hash));
+        final List<ContentChunk> fetched = new ArrayList<>();
+        final ContentChunk.Source source = chunk -> {
+            fetched.add(chunk);
+            return new ByteArrayInputStream(content, (int) chunk.getOffset(), chunk.getLength());
+        };
+        assertThat(repository.addContent(chunks, source), is(hash));
+        assertTrue(fetched.size() <= 1);
+
+        // none of them is available once both are removed
+        repository.removeContent(new ContentReference(HashUtil.bytesToHexString(hash), hash));
+        repository.removeContent(new ContentReference(HashUtil.bytesToHexString(extendedHash), extendedHash));
+        fetched.clear();
+        assertThat(repository.addContent(chunks, source), is(hash));
+        assertThat(fetched, is(chunks));
+    }
+
+    @Test
+    public void testChunkedContentTransfer() throws Exception {
+        final byte[] original = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(original);
+        // the same content with a single byte inserted in the middle
+        final byte[] modified = new byte[original.length + 1];
+        System.arraycopy(original, 0, modified, 0, original.length / 2);
+        modified[original.length / 2] = 42;
+        System.arraycopy(original, original.length / 2, modified, original.length / 2 + 1, original.length / 2);
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(modified));
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        final DeploymentFileRepository source = new LocalDeploymentFileRepository(rootDir);
+        // the manifest is only provided once it is computed
+        assertThat(ChunkedContentTransfer.getChunkManifestRange(source, hexHash), is(CoreMatchers.nullValue()));
+        ChunkedContentTransfer.computeChunkManifest(source, hexHash);
+        final List<ContentChunk> chunks = ChunkedContentTransfer.readChunkManifest(
+                ChunkedContentTransfer.getChunkManifestRange(source, hexHash).getFile());
+        assertThat(chunks, is(ContentChunker.chunk(new ByteArrayInputStream(modified))));
+
+        // the target repository holds the original content, so only the chunks around the inserted byte are fetched
+        final File targetRoot = new File(tmpRootDir, "transfer");
+        final ContentRepository target = ContentRepository.Factory.create(targetRoot, tmpRootDir, 0L);
+        target.getContentChunks(target.addContent(new ByteArrayInputStream(original)));
+        final File staging = ChunkedContentTransfer.getStagingDirectory(
+                new LocalDeploymentFileRepository(targetRoot).getDeploymentRoot(new ContentReference(hexHash, hash)));
+        final List<Long> fetched = new ArrayList<>();
+        ChunkedContentTransfer.transfer(target, staging, hash, chunks, (offset, length, directory) -> {
+            fetched.add(length);
+            return fetchRange(source, hexHash, offset, length, directory);
+        }, 4);
+        assertThat(fetched.size(), is(1));
+        assertTrue(fetched.get(0) <= 2 * ContentChunker.MAX_CHUNK_SIZE);
+        assertTrue(Arrays.equals(modified, Files.readAllBytes(target.getContent(hash).getPhysicalFile().toPath())));
+        assertFalse(staging.exists());
+    }
+
+    @Test
+    public void testChunkedContentTransferResumes() throws Exception {
+        final byte[] content = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        final DeploymentFileRepository source = new LocalDeploymentFileRepository(rootDir);
+        final List<ContentChunk> chunks = repository.getContentChunks(hash);
+
+        final File targetRoot = new File(tmpRootDir, "transfer");
+        final ContentRepository target = ContentRepository.Factory.create(targetRoot, tmpRootDir, 0L);
+        target.readWrite();
+        final File staging = ChunkedContentTransfer.getStagingDirectory(
+                new LocalDeploymentFileRepository(targetRoot).getDeploymentRoot(new ContentReference(hexHash, hash)));
+        final int maxRangeLength = 1024 * 1024;
+        final List<Long> fetched = new ArrayList<>();
+        // the first transfer is interrupted after two ranges
+        try {
+            ChunkedContentTransfer.transfer(target, staging, hash, chunks, (offset, length, directory) -> {
+                if (fetched.size() == 2) {
+                    throw new IOException("interrupted");
+                }
+                assertTrue(length <= maxRangeLength);
+                fetched.add(length);
+                return fetchRange(source, hexHash, offset, length, directory);
+            }, 1, maxRangeLength);
+            fail("Transfer should have been interrupted");
+        } catch (IOException expected) {
+        }
+        assertFalse(target.hasContent(hash));
+        // the staging directory is not content of the repository
+        assertTrue(staging.isDirectory());
+        assertTrue(target.cleanObsoleteContent().get(ContentRepository.MARKED_CONTENT).isEmpty());
+        // the second one resumes with the missing ranges
+        final long staged = fetched.get(0) + fetched.get(1);
+        fetched.clear();
+        ChunkedContentTransfer.transfer(target, staging, hash, chunks, (offset, length, directory) -> {
+            fetched.add(length);
+            return fetchRange(source, hexHash, offset, length, directory);
+        }, 4, maxRangeLength);
+        assertThat(fetched.stream().mapToLong(Long::longValue).sum(), is(content.length - staged));
+        assertTrue(Arrays.equals(content, Files.readAllBytes(target.getContent(hash).getPhysicalFile().toPath())));
+        assertFalse(staging.exists());
+    }
+
+    private static Future<?> fetchRange(DeploymentFileRepository source, String hexHash, long offset, long length, File directory) throws IOException {
+        final RemoteFileRequestAndHandler.FileRange range = ChunkedContentTransfer.getRange(source, ChunkedContentTransfer.getRangePath(hexHash, offset, length));
+        final byte[] bytes = new byte[(int) range.getLength()];
+        try (RandomAccessFile file = new RandomAccessFile(range.getFile(), "r")) {
+            file.seek(range.getOffset());
+            file.readFully(bytes);
+        }
+        directory.mkdirs();
+        Files.write(new File(directory, ChunkedContentTransfer.CHUNK_FILE_NAME).toPath(), bytes);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
@@ -39,5 +39,6 @@ interface CommonAttributes {
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
+    String WATCH_ENABLED = "watch-enabled";
 
 }
@@ -32,9 +32,13 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OWN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UPLOAD_DEPLOYMENT_URL;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.URL;
 import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.HashMap;
@@ -73,6 +77,17 @@ final class DefaultDeploymentOperations implements DeploymentOperations {
         return privilegedExecution().execute(controllerClient::executeAsync, operation);
     }
 
+    @Override
+    public ModelNode uploadContent(final File content) {
+        final ModelNode operation = Util.getEmptyOperation(UPLOAD_DEPLOYMENT_URL, new ModelNode());
+        try {
+            operation.get(URL).set(content.toURI().toURL().toString());
+        } catch (MalformedURLException e) {
+            return null;
+        }
+        return privilegedExecution().execute(controllerClient::execute, operation);
+    }
+
     @Override
     public Map<String, Boolean> getDeploymentsStatus() {
         final ModelNode op = Util.getEmptyOperation(READ_CHILDREN_RESOURCES_OPERATION, new ModelNode());
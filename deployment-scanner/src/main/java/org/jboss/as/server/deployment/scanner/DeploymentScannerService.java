@@ -75,6 +75,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final String relativeTo;
     private final String path;
     private final boolean rollbackOnRuntimeFailure;
+    private final boolean watchEnabled;
     private static final NotificationFilter DEPLOYMENT_FILTER = (Notification notification) -> {
         if (DEPLOYMENT_UNDEPLOYED_NOTIFICATION.equals(notification.getType()) || DEPLOYMENT_DEPLOYED_NOTIFICATION.equals(notification.getType())) {
             ModelNode notificationData = notification.getData();
@@ -125,6 +126,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param scanEnabled       scan enabled
      * @param deploymentTimeout the deployment timeout
      * @param rollbackOnRuntimeFailure rollback on runtime failures
+     * @param watchEnabled      whether the file system should be watched for changes
      * @param bootTimeService   the deployment scanner used in the boot time scan
      * @param scheduledExecutorService executor to use for asynchronous tasks
      * @return the controller for the deployment scanner service
@@ -132,7 +134,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     public static void addService(final OperationContext context, final PathAddress resourceAddress, final String relativeTo, final String path,
                                                                   final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
                                                                   final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
-                                                                  final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
+                                                                  final boolean watchEnabled, final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
         final RuntimeCapability<Void> capName =  SCANNER_CAPABILITY.fromBaseCapability(resourceAddress.getLastElement().getValue());
         final CapabilityServiceBuilder<?> sb = context.getCapabilityServiceTarget().addCapability(capName);
         final Consumer<DeploymentScanner> serviceConsumer = sb.provides(capName);
@@ -144,7 +146,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         final DeploymentScannerService service = new DeploymentScannerService(
                 serviceConsumer, pathManager, notificationRegistry, clientFactory, processStateNotifier, scheduledExecutorService,
                 resourceAddress, relativeTo, path, scanInterval, unit, autoDeployZip,
-                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService);
+                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, watchEnabled, bootTimeService);
         sb.setInstance(service);
         sb.install();
     }
@@ -154,7 +156,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                                      final Supplier<ProcessStateNotifier> processStateNotifier, final ScheduledExecutorService scheduledExecutor,
                                      final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final boolean autoDeployZipped,
                                      final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout,
-                                     final boolean rollbackOnRuntimeFailure, final FileSystemDeploymentService bootTimeService) {
+                                     final boolean rollbackOnRuntimeFailure, final boolean watchEnabled, final FileSystemDeploymentService bootTimeService) {
         this.serviceConsumer = serviceConsumer;
         this.pathManager = pathManager;
         this.notificationRegistry = notificationRegistry;
@@ -171,6 +173,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.autoDeployXml = autoDeployXml;
         this.enabled = enabled;
         this.rollbackOnRuntimeFailure = rollbackOnRuntimeFailure;
+        this.watchEnabled = watchEnabled;
         this.deploymentTimeout = deploymentTimeout;
         this.scanner = bootTimeService;
     }
@@ -209,6 +212,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                 scanner.setAutoDeployXMLContent(autoDeployXml);
                 scanner.setRuntimeFailureCausesRollback(rollbackOnRuntimeFailure);
                 scanner.setDeploymentTimeout(deploymentTimeout);
+                scanner.setWatchEnabled(watchEnabled);
                 this.scanner = scanner;
             } else {
                 // The boot-time scanner should use our DeploymentOperations.Factory
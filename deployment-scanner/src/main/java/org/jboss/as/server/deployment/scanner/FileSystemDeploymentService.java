@@ -31,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEP
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ENABLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
@@ -44,6 +45,10 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.URL;
 import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -57,12 +62,17 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -123,6 +133,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Period in ms at which the pending file system events are processed when watching the deployment directory
+     */
+    static final long WATCH_POLL_INTERVAL = 100;
+
+    /**
+     * Period in ms without any file system event after which a scan is triggered when watching the deployment directory,
+     * so that content still being copied does not trigger a scan for every write
+     */
+    static final long WATCH_QUIET_PERIOD = 500;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -131,6 +152,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
     private ScheduledFuture<?> rescanUndeployTask;
+    private ScheduledFuture<?> watchTask;
+    private WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+    private volatile boolean watchEnabled;
+    private volatile boolean watchScanPending;
+    private volatile long lastWatchEvent;
     private final Lock scanLock = new ReentrantLock();
 
     private final Map<String, DeploymentMarker> deployed = new HashMap<String, DeploymentMarker>();
@@ -159,6 +186,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private final String relativePath;
     private volatile PropertyChangeListener propertyChangeListener;
     private Future<?> undeployScanTask;
+    private ExecutorService uploadExecutor;
 
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
@@ -262,6 +290,32 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private final DeploymentScanRunnable scanRunnable = new DeploymentScanRunnable();
 
+    /**
+     * Processes the file system events of the watched directories and scans once they stop coming in.
+     */
+    private class DeploymentWatchRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                final long now = System.nanoTime();
+                if (pollWatchEvents()) {
+                    lastWatchEvent = now;
+                    watchScanPending = true;
+                } else if (watchScanPending && now - lastWatchEvent >= TimeUnit.MILLISECONDS.toNanos(WATCH_QUIET_PERIOD)) {
+                    watchScanPending = false;
+                    scan();
+                }
+            } catch (RejectedExecutionException e) {
+                //Do nothing as this happens if a scan occurs during a reload of shutdown of a server.
+            } catch (Exception e) {
+                ROOT_LOGGER.scanException(e, deploymentDir.getAbsolutePath());
+            }
+        }
+    }
+
+    private final DeploymentWatchRunnable watchRunnable = new DeploymentWatchRunnable();
+
     FileSystemDeploymentService(final PathAddress resourceAddress, final String relativeTo, final File deploymentDir, final File relativeToDir,
                                 final DeploymentOperations.Factory deploymentOperationsFactory,
                                 final ScheduledExecutorService scheduledExecutor) {
@@ -342,6 +396,20 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         startScan();
     }
 
+    @Override
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        if (watchEnabled != this.watchEnabled) {
+            cancelScan();
+            this.watchEnabled = watchEnabled;
+            startScan();
+        }
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -386,6 +454,10 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             undeployScanTask.cancel(true);
         }
         this.undeployScanTask = null;
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdownNow();
+            uploadExecutor = null;
+        }
     }
 
     /** Allow DeploymentScannerService to set the factory on the boot-time scanner */
@@ -669,6 +741,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                                      boolean oneOffScan) throws InterruptedException {
         // Process the tasks
         if (scannerTasks.size() > 0) {
+            uploadContent(scannerTasks, deploymentOperations);
+
             List<ModelNode> updates = new ArrayList<ModelNode>(scannerTasks.size());
 
             for (ScannerTask task : scannerTasks) {
@@ -685,9 +759,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 first = false;
                 final ModelNode results;
                 try {
+                    final long start = System.nanoTime();
                     final Future<ModelNode> futureResults = deploymentOperations.deploy(getCompositeUpdate(updates), scheduledExecutor);
                     try {
                         results = futureResults.get(deploymentTimeout, TimeUnit.SECONDS);
+                        final long operationTime = System.nanoTime() - start;
+                        for (ScannerTask task : scannerTasks) {
+                            task.operationCompleted(operationTime, scannerTasks.size());
+                        }
                     } catch (TimeoutException e) {
                         futureResults.cancel(true);
                         final ModelNode failure = new ModelNode();
@@ -749,6 +828,51 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Uploads the content of the archives to deploy concurrently, so that the deployment operation does not hash and
+     * copy them into the content repository one after the other. Archives whose content could not be uploaded are
+     * passed to the deployment operation as before.
+     */
+    private void uploadContent(final List<ScannerTask> scannerTasks, final DeploymentOperations deploymentOperations) throws InterruptedException {
+        final List<ContentAddingTask> contentTasks = new ArrayList<ContentAddingTask>();
+        for (ScannerTask task : scannerTasks) {
+            if (task instanceof ContentAddingTask && ((ContentAddingTask) task).archive) {
+                contentTasks.add((ContentAddingTask) task);
+            }
+        }
+        if (contentTasks.size() < 2) {
+            // nothing to gain over uploading the content as part of the deployment operation
+            return;
+        }
+        final List<Future<?>> uploads = new ArrayList<Future<?>>(contentTasks.size());
+        try {
+            final ExecutorService executor = getUploadExecutor();
+            for (ContentAddingTask task : contentTasks) {
+                uploads.add(executor.submit(() -> task.upload(deploymentOperations)));
+            }
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(deploymentTimeout);
+            for (Future<?> upload : uploads) {
+                upload.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (RejectedExecutionException | ExecutionException | TimeoutException e) {
+            ROOT_LOGGER.debugf(e, "Uploading the content of deployments from %s failed", deploymentDir);
+        } finally {
+            for (Future<?> upload : uploads) {
+                upload.cancel(true);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getUploadExecutor() {
+        if (uploadExecutor == null) {
+            if (!scanEnabled) {
+                throw new RejectedExecutionException();
+            }
+            uploadExecutor = DeploymentScannerAdd.createUploadExecutorService();
+        }
+        return uploadExecutor;
+    }
+
     private class ManualScanCallable implements Runnable {
         @Override
         public void run() {
@@ -1253,6 +1377,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private synchronized void startScan() {
         if (scanEnabled) {
+            if (watchEnabled) {
+                startWatch();
+            }
             if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
@@ -1277,6 +1404,135 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             scanTask.cancel(true);
             scanTask = null;
         }
+        stopWatch();
+    }
+
+    /**
+     * Starts watching the deployment directory for changes. Invoke with the object monitor held
+     */
+    private void startWatch() {
+        if (watchService != null) {
+            return;
+        }
+        try {
+            watchService = deploymentDir.toPath().getFileSystem().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            ROOT_LOGGER.cannotWatchDeploymentDirectory(e, deploymentDir.getAbsolutePath());
+            return;
+        }
+        if (deploymentDir.isDirectory()) {
+            registerWatchedDirectory(deploymentDir.toPath(), true);
+        }
+        watchScanPending = false;
+        watchTask = scheduledExecutor.scheduleWithFixedDelay(watchRunnable, WATCH_POLL_INTERVAL, WATCH_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Invoke with the object monitor held
+     */
+    private void stopWatch() {
+        if (watchTask != null) {
+            watchTask.cancel(true);
+            watchTask = null;
+        }
+        if (watchService != null) {
+            safeClose(watchService);
+            watchService = null;
+            watchedDirectories.clear();
+        }
+    }
+
+    /**
+     * Registers a directory with the watch service, along with the sub-directories {@link #scanDirectory} would scan if
+     * {@code recursive} is {@code true}. Invoke with the object monitor held
+     */
+    private void registerWatchedDirectory(final Path directory, final boolean recursive) {
+        try {
+            watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+        } catch (IOException e) {
+            // changes in this directory are only picked up by the periodic scans
+            ROOT_LOGGER.debugf(e, "Cannot watch directory %s", directory);
+            return;
+        }
+        if (recursive) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, Files::isDirectory)) {
+                for (Path child : stream) {
+                    // the content of exploded deployments is not scanned, so only watch for changes to their top level
+                    registerWatchedDirectory(child, !isEEArchive(child.getFileName().toString()));
+                }
+            } catch (IOException e) {
+                ROOT_LOGGER.debugf(e, "Cannot watch sub-directories of %s", directory);
+            }
+        }
+    }
+
+    /**
+     * Processes the pending file system events of the watched directories.
+     * This method isn't private solely to allow a unit test in the same package to call it.
+     *
+     * @return {@code true} if any of the events may require a scan
+     */
+    synchronized boolean pollWatchEvents() {
+        if (watchService == null) {
+            return false;
+        }
+        boolean changed = false;
+        if (watchedDirectories.isEmpty() && deploymentDir.isDirectory()) {
+            // the deployment directory was not available when the watch started
+            registerWatchedDirectory(deploymentDir.toPath(), true);
+            changed = true;
+        }
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            final Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    changed = true;
+                } else if (directory != null) {
+                    final Path child = directory.resolve((Path) event.context());
+                    final String fileName = child.getFileName().toString();
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(child) && !isEEArchive(directory.getFileName().toString())) {
+                        registerWatchedDirectory(child, !isEEArchive(fileName));
+                    }
+                    changed |= requiresScan(event.kind(), directory, fileName);
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean requiresScan(final WatchEvent.Kind<?> kind, final Path directory, final String fileName) {
+        if (fileName.endsWith(DEPLOYING) || fileName.endsWith(UNDEPLOYING) || fileName.endsWith(PENDING)) {
+            // in progress markers are only written by the scanner
+            return false;
+        }
+        if (fileName.endsWith(DEPLOYED) || fileName.endsWith(FAILED_DEPLOY) || fileName.endsWith(UNDEPLOYED)) {
+            // status markers are written by the scanner, but a user removing them is significant
+            return kind == ENTRY_DELETE && !hasMarker(directory, fileName);
+        }
+        if (fileName.endsWith(DO_DEPLOY)) {
+            // the scanner removes the .dodeploy marker once it replaced it with a status marker
+            return kind != ENTRY_DELETE || !hasMarker(directory, fileName);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the deployment of a removed marker still has a marker. The scanner always replaces the markers it
+     * removes while processing a deployment, so the removal of the last marker of a deployment is what tells a user
+     * removing a marker apart from the scanner's own changes.
+     */
+    private static boolean hasMarker(final Path directory, final String markerName) {
+        final String deploymentName = markerName.substring(0, markerName.lastIndexOf('.'));
+        for (String marker : new String[] {DO_DEPLOY, DEPLOYING, DEPLOYED, FAILED_DEPLOY, UNDEPLOYING, UNDEPLOYED, PENDING}) {
+            if (Files.exists(directory.resolve(deploymentName + marker))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
@@ -1376,6 +1632,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         protected final String deploymentName;
         protected final String parent;
         private final String inProgressMarkerSuffix;
+        private long operationTime = -1;
+        private int operationTasks;
 
         private ScannerTask(final String deploymentName, final File parent, final String inProgressMarkerSuffix) {
             this.deploymentName = deploymentName;
@@ -1396,6 +1654,28 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
         protected abstract ModelNode getUpdate();
 
+        /**
+         * Records the time taken by the deployment operation including this task.
+         *
+         * @param operationTime the time taken by the operation, in nanoseconds
+         * @param operationTasks the number of tasks included in the operation
+         */
+        protected void operationCompleted(final long operationTime, final int operationTasks) {
+            this.operationTime = operationTime;
+            this.operationTasks = operationTasks;
+        }
+
+        /**
+         * Gets the timing of this task, appended to the markers written once it completes.
+         */
+        protected String getTimingReport() {
+            if (operationTime < 0) {
+                return "";
+            }
+            return "\noperation-time-ms=" + TimeUnit.NANOSECONDS.toMillis(operationTime)
+                    + "\noperation-deployments=" + operationTasks;
+        }
+
         protected abstract void handleSuccessResult();
 
         protected abstract void handleFailureResult(final ModelNode result);
@@ -1434,6 +1714,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         private final boolean archive;
         protected final File deploymentFile;
         protected final long doDeployTimestamp;
+        private volatile byte[] hash;
+        private volatile long uploadTime = -1;
 
         protected ContentAddingTask(final String path, final boolean archive, final String deploymentName,
                                     final File deploymentFile, long markerTimestamp) {
@@ -1444,9 +1726,36 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             this.doDeployTimestamp = markerTimestamp;
         }
 
+        /**
+         * Uploads the content ahead of the deployment operation, which then only needs to refer to its hash.
+         */
+        private void upload(final DeploymentOperations deploymentOperations) {
+            final long start = System.nanoTime();
+            final ModelNode response = deploymentOperations.uploadContent(deploymentFile);
+            if (response != null) {
+                if (SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    hash = response.get(RESULT).asBytes();
+                    uploadTime = System.nanoTime() - start;
+                } else {
+                    ROOT_LOGGER.debugf("Uploading the content of %s failed: %s", deploymentFile, response.get(FAILURE_DESCRIPTION));
+                }
+            }
+        }
+
+        @Override
+        protected String getTimingReport() {
+            final String report = super.getTimingReport();
+            return uploadTime < 0 ? report : "\nupload-time-ms=" + TimeUnit.NANOSECONDS.toMillis(uploadTime) + report;
+        }
+
         protected ModelNode createContent() {
             final ModelNode content = new ModelNode();
             final ModelNode contentItem = content.get(0);
+            final byte[] hash = this.hash;
+            if (hash != null) {
+                contentItem.get(HASH).set(hash);
+                return content;
+            }
             if (archive) {
                 try {
                     contentItem.get(URL).set(deploymentFile.toURI().toURL().toString());
@@ -1478,7 +1787,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             final File deployedMarker = new File(parent, deploymentFile.getName() + DEPLOYED);
-            createMarkerFile(deployedMarker, deploymentName);
+            createMarkerFile(deployedMarker, deploymentName + getTimingReport());
             deployedMarker.setLastModified(doDeployTimestamp);
             if (deployed.containsKey(deploymentName)) {
                 deployed.remove(deploymentName);
@@ -1512,7 +1821,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         protected void handleFailureResult(final ModelNode result) {
             // Remove the in-progress marker
             removeInProgressMarker();
-            writeFailedMarker(deploymentFile, result.get(FAILURE_DESCRIPTION).toString(), doDeployTimestamp);
+            writeFailedMarker(deploymentFile, result.get(FAILURE_DESCRIPTION).toString() + getTimingReport(), doDeployTimestamp);
         }
     }
 
@@ -1539,7 +1848,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             // Remove the in-progress marker
             removeInProgressMarker();
 
-            writeFailedMarker(deploymentFile, result.get(FAILURE_DESCRIPTION).toString(), doDeployTimestamp);
+            writeFailedMarker(deploymentFile, result.get(FAILURE_DESCRIPTION).toString() + getTimingReport(), doDeployTimestamp);
         }
     }
 
@@ -1578,7 +1887,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             // Remove the in-progress marker
             removeInProgressMarker();
 
-            writeFailedMarker(new File(parent, deploymentName), result.get(FAILURE_DESCRIPTION).toString(), markerLastModified);
+            writeFailedMarker(new File(parent, deploymentName), result.get(FAILURE_DESCRIPTION).toString() + getTimingReport(), markerLastModified);
         }
     }
 
@@ -29,6 +29,7 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.WATCH_ENABLED;
 
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -47,7 +48,7 @@ final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHan
 
     UpdateScannerWriteAttributeHandler() {
         super(AUTO_DEPLOY_EXPLODED, AUTO_DEPLOY_XML, AUTO_DEPLOY_ZIPPED, DEPLOYMENT_TIMEOUT,
-                RUNTIME_FAILURE_CAUSES_ROLLBACK, SCAN_ENABLED, SCAN_INTERVAL);
+                RUNTIME_FAILURE_CAUSES_ROLLBACK, SCAN_ENABLED, SCAN_INTERVAL, WATCH_ENABLED);
     }
 
     @Override
@@ -88,6 +89,8 @@ final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHan
             scanner.setRuntimeFailureCausesRollback(resolvedNewValue.asBoolean());
         } else if (ad == SCAN_INTERVAL) {
             scanner.setScanInterval(resolvedNewValue.asInt());
+        } else if (ad == WATCH_ENABLED) {
+            scanner.setWatchEnabled(resolvedNewValue.asBoolean());
         } else if (ad == SCAN_ENABLED) {
             boolean enable = resolvedNewValue.asBoolean();
             if (enable) {
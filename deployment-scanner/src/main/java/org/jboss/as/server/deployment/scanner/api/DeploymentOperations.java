@@ -23,6 +23,7 @@
 package org.jboss.as.server.deployment.scanner.api;
 
 import java.io.Closeable;
+import java.io.File;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -49,6 +50,19 @@ public interface DeploymentOperations extends Closeable {
      */
     Future<ModelNode> deploy(final ModelNode operation, final ExecutorService executorService);
 
+    /**
+     * Execute an operation to upload deployment content to the content repository ahead of the operation deploying it,
+     * so that the content of several deployments can be uploaded concurrently. This method blocks until the upload
+     * completes and may be invoked by several threads at once.
+     *
+     * @param content the deployment content to upload. Cannot be {@code null}
+     * @return the operation response, whose result is the hash of the uploaded content, or {@code null} if content
+     *         cannot be uploaded ahead of the deployment operation
+     */
+    default ModelNode uploadContent(final File content) {
+        return null;
+    }
+
     /**
      * Gets the enabled status of the deployments currently in the configuration model.
      *
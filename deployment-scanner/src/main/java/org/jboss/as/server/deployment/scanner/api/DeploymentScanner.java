@@ -54,6 +54,25 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Gets whether the scanner watches the file system for changes, in addition to its periodic scans.
+     *
+     * @return true if the scanner watches the file system
+     */
+    default boolean isWatchEnabled() {
+        return false;
+    }
+
+    /**
+     * Sets whether the scanner watches the file system for changes, scanning as soon as changes stop coming in, in
+     * which case the periodic scans are only needed to reconcile changes the file system did not report. Scanners that
+     * cannot watch the file system ignore this setting.
+     *
+     * @param watchEnabled true if the scanner should watch the file system
+     */
+    default void setWatchEnabled(boolean watchEnabled) {
+    }
+
     /**
      * Start the scanner, if not already started, using a default {@link DeploymentOperations}.
      *
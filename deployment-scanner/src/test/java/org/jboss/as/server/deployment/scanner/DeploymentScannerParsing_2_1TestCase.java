@@ -0,0 +1,41 @@
+package org.jboss.as.server.deployment.scanner;
+
+
+import java.io.IOException;
+
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+
+/**
+ * Parsing test of the 2.1 version of the subsystem schema, which adds the {@code watch-enabled} attribute.
+ */
+
+public class DeploymentScannerParsing_2_1TestCase extends AbstractSubsystemBaseTest {
+    private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+            "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
+                   "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"60\" " +
+                    "runtime-failure-causes-rollback=\"${runtime-failure-causes-rollback:false}\" watch-enabled=\"true\"/>\n" +
+            "    <deployment-scanner path=\"deployments\"  relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"30\"/>\n" +
+            "</subsystem>";
+
+
+    public DeploymentScannerParsing_2_1TestCase() {
+        super(DeploymentScannerExtension.SUBSYSTEM_NAME, new DeploymentScannerExtension());
+        System.setProperty("custom.system.property","prop");
+    }
+
+    /**
+     * Get the subsystem xml as string.
+     *
+     * @return the subsystem xml
+     * @throws java.io.IOException
+     */
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return SUBSYSTEM_XML;
+    }
+}
+
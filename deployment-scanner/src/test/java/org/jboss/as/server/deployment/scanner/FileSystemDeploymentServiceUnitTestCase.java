@@ -26,11 +26,13 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ENABLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FULL_REPLACE_DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -46,6 +48,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UNDEPLOY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UPLOAD_DEPLOYMENT_URL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -234,6 +237,73 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertFalse(deployed.exists());
     }
 
+    @Test
+    public void testWatchEvents() throws Exception {
+        TesteeSet ts = createTestee();
+        ts.testee.setWatchEnabled(true);
+        assertFalse(ts.testee.pollWatchEvents());
+
+        createFile("foo.war");
+        assertTrue(waitForWatchEvents(ts.testee, 15000));
+
+        File nestedDir = new File(tmpDir, "nested");
+        assertTrue(nestedDir.mkdir());
+        assertTrue(waitForWatchEvents(ts.testee, 15000));
+        createFile(nestedDir, "bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+        assertTrue(waitForWatchEvents(ts.testee, 15000));
+
+        File doDeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        assertTrue(waitForWatchEvents(ts.testee, 15000));
+
+        // markers written or replaced by the scanner do not trigger a scan
+        File deploying = createFile("foo.war" + FileSystemDeploymentService.DEPLOYING);
+        File deployed = createFile("foo.war" + FileSystemDeploymentService.DEPLOYED);
+        assertTrue(doDeploy.delete());
+        assertFalse(waitForWatchEvents(ts.testee, 1000));
+        assertTrue(deploying.delete());
+        assertFalse(waitForWatchEvents(ts.testee, 1000));
+        File undeployed = createFile("foo.war" + FileSystemDeploymentService.UNDEPLOYED);
+        assertTrue(deployed.delete());
+        assertFalse(waitForWatchEvents(ts.testee, 1000));
+        deployed = createFile("foo.war" + FileSystemDeploymentService.DEPLOYED);
+        assertTrue(undeployed.delete());
+        assertFalse(waitForWatchEvents(ts.testee, 1000));
+        // but removing the .deployed marker does
+        assertTrue(deployed.delete());
+        assertTrue(waitForWatchEvents(ts.testee, 15000));
+
+        ts.testee.setWatchEnabled(false);
+        createFile("baz.war");
+        assertFalse(ts.testee.pollWatchEvents());
+    }
+
+    @Test
+    public void testUploadContentConcurrently() throws Exception {
+        final String[] names = {"foo.war", "bar.war", "baz.war"};
+        for (String name : names) {
+            createFile(name);
+            createFile(name + FileSystemDeploymentService.DO_DEPLOY);
+        }
+        TesteeSet ts = createTestee();
+        ts.controller.addCompositeSuccessResponse(names.length);
+        ts.testee.scan();
+
+        assertEquals(names.length, ts.controller.uploads);
+        final ModelNode composite = ts.controller.requests.get(ts.controller.requests.size() - 1);
+        for (ModelNode step : composite.require(STEPS).asList()) {
+            final ModelNode add = step.require(STEPS).get(0);
+            assertTrue(add.require(CONTENT).get(0).hasDefined(HASH));
+        }
+        for (String name : names) {
+            final File deployed = new File(tmpDir, name + FileSystemDeploymentService.DEPLOYED);
+            assertTrue(deployed.exists());
+            final String marker = new String(Files.readAllBytes(deployed.toPath()), StandardCharsets.UTF_8);
+            assertTrue(marker, marker.startsWith(name));
+            assertTrue(marker, marker.contains("upload-time-ms="));
+            assertTrue(marker, marker.contains("operation-deployments=" + names.length));
+        }
+    }
+
     @Test
     public void testNestedDeploy() throws Exception {
         TesteeSet ts = createTestee();
@@ -1972,6 +2042,18 @@ public class FileSystemDeploymentServiceUnitTestCase {
     }
 
 
+    private static boolean waitForWatchEvents(FileSystemDeploymentService testee, long timeout) throws InterruptedException {
+        // some watch service implementations poll the file system, so give them time to report the events
+        final long deadline = System.currentTimeMillis() + timeout;
+        while (System.currentTimeMillis() < deadline) {
+            if (testee.pollWatchEvents()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
     private File createFile(String fileName) throws IOException {
         return createFile(tmpDir, fileName);
     }
@@ -2028,9 +2110,10 @@ public class FileSystemDeploymentServiceUnitTestCase {
         private final Map<String, byte[]> added = new HashMap<String, byte[]>();
         private final Map<String, byte[]> deployed = new HashMap<String, byte[]>();
         private final Map<String, ExternalDeployment> externallyDeployed = new HashMap<String, ExternalDeployment>();
+        private int uploads;
 
         @Override
-        public OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) {
+        public synchronized OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) {
             ModelNode rawOp = operation.getOperation();
             requests.add(rawOp);
             return OperationResponse.Factory.createSimple(processOp(rawOp));
@@ -2233,6 +2316,12 @@ public class FileSystemDeploymentServiceUnitTestCase {
             String opName = op.require(OP).asString();
             if (READ_CHILDREN_RESOURCES_OPERATION.equals(opName)) {
                 return getDeploymentNamesResponse();
+            } else if (UPLOAD_DEPLOYMENT_URL.equals(opName)) {
+                uploads++;
+                ModelNode rsp = new ModelNode();
+                rsp.get(OUTCOME).set(SUCCESS);
+                rsp.get(RESULT).set(randomHash());
+                return rsp;
             } else if (COMPOSITE.equals(opName)) {
                 for (ModelNode child : op.require(STEPS).asList()) {
                     opName = child.require(OP).asString();
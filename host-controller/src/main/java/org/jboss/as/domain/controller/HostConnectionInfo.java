@@ -34,6 +34,7 @@ public interface HostConnectionInfo {
     String ADDRESS = "address";
     String CONNECTED = "connected";
     String EVENTS = "events";
+    String PING_STATISTICS = "ping-statistics";
     String TIMESTAMP = "timestamp";
     String TYPE = "type";
 
@@ -58,6 +59,13 @@ public interface HostConnectionInfo {
      */
     List<Event> getEvents();
 
+    /**
+     * Get the round trip times observed for the pings of the host.
+     *
+     * @return the statistics, undefined if the host is not connected
+     */
+    ModelNode getPingStatistics();
+
     public interface Event {
 
         /**
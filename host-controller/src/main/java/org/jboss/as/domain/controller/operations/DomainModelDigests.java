@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+
+/**
+ * Digests of the resources of a domain model, used to only send the resources which changed when a slave host
+ * controller reconnects to the domain controller.
+ * <p>
+ * The slave sends the digest of every domain resource it has as part of its registration data. While describing the
+ * transformed domain model for the slave, the master replaces the model of every resource whose digest matches with a
+ * {@link ReadMasterDomainModelUtil#DOMAIN_RESOURCE_UNCHANGED} marker, which the slave resolves against its local
+ * model before synchronizing it. The digest does not depend on the order of the attributes of a model.
+ */
+public final class DomainModelDigests {
+
+    private static final String ALGORITHM = "SHA-1";
+
+    private DomainModelDigests() {
+    }
+
+    /**
+     * Computes the digests of the domain resources, excluding the hosts, runtime resources and proxies.
+     *
+     * @param domainRoot the root resource of the domain model
+     * @return the digests, keyed by the CLI style address of the resources
+     */
+    public static ModelNode describe(final Resource domainRoot) {
+        final ModelNode digests = new ModelNode().setEmptyObject();
+        final MessageDigest digest = createDigest();
+        if (digest != null) {
+            describe(PathAddress.EMPTY_ADDRESS, domainRoot, digest, digests);
+        }
+        return digests;
+    }
+
+    /**
+     * Computes a single digest of the domain resources, excluding the hosts, runtime resources and proxies, which
+     * identifies the revision of the domain model.
+     *
+     * @param domainRoot the root resource of the domain model
+     * @return the digest, or {@code null} if the digest algorithm is not available
+     */
+    public static String revision(final Resource domainRoot) {
+        final MessageDigest digest = createDigest();
+        if (digest == null) {
+            return null;
+        }
+        update(PathAddress.EMPTY_ADDRESS, domainRoot, digest);
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+
+    private static void update(final PathAddress address, final Resource resource, final MessageDigest digest) {
+        if (resource.isProxy() || resource.isRuntime()) {
+            return;
+        } else if (address.size() >= 1 && address.getElement(0).getKey().equals(ModelDescriptionConstants.HOST)) {
+            return;
+        }
+        updateString(digest, address.toCLIStyleString());
+        update(digest, resource.getModel());
+        for (final String childType : resource.getChildTypes()) {
+            for (final Resource.ResourceEntry entry : resource.getChildren(childType)) {
+                update(address.append(entry.getPathElement()), entry, digest);
+            }
+        }
+    }
+
+    private static void describe(final PathAddress address, final Resource resource, final MessageDigest digest, final ModelNode digests) {
+        if (resource.isProxy() || resource.isRuntime()) {
+            return;
+        } else if (address.size() >= 1 && address.getElement(0).getKey().equals(ModelDescriptionConstants.HOST)) {
+            return;
+        }
+        digests.get(address.toCLIStyleString()).set(digest(digest, resource.getModel()));
+        for (final String childType : resource.getChildTypes()) {
+            for (final Resource.ResourceEntry entry : resource.getChildren(childType)) {
+                describe(address.append(entry.getPathElement()), entry, digest, digests);
+            }
+        }
+    }
+
+    /**
+     * Reads the digests sent by a slave host controller.
+     *
+     * @param digests the digests as created by {@link #describe(Resource)}, may be undefined
+     * @return the digests keyed by the CLI style address of the resources
+     */
+    public static Map<String, String> fromModelNode(final ModelNode digests) {
+        if (!digests.isDefined()) {
+            return Collections.emptyMap();
+        }
+        final List<Property> properties = digests.asPropertyList();
+        final Map<String, String> result = new HashMap<>(properties.size() * 4 / 3 + 1);
+        for (final Property property : properties) {
+            result.put(property.getName(), property.getValue().asString());
+        }
+        return result;
+    }
+
+    /**
+     * Computes the digest of a resource model.
+     *
+     * @param digest the message digest to use, as created by {@link #createDigest()}
+     * @param model the model
+     * @return the digest
+     */
+    static String digest(final MessageDigest digest, final ModelNode model) {
+        digest.reset();
+        update(digest, model);
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+
+    private static void update(final MessageDigest digest, final ModelNode node) {
+        final ModelType type = node.getType();
+        digest.update((byte) type.ordinal());
+        switch (type) {
+            case UNDEFINED:
+                break;
+            case OBJECT: {
+                final List<String> keys = new ArrayList<>(node.keys());
+                Collections.sort(keys);
+                updateInt(digest, keys.size());
+                for (final String key : keys) {
+                    updateString(digest, key);
+                    update(digest, node.get(key));
+                }
+                break;
+            }
+            case LIST: {
+                final List<ModelNode> elements = node.asList();
+                updateInt(digest, elements.size());
+                for (final ModelNode element : elements) {
+                    update(digest, element);
+                }
+                break;
+            }
+            case PROPERTY: {
+                final Property property = node.asProperty();
+                updateString(digest, property.getName());
+                update(digest, property.getValue());
+                break;
+            }
+            default:
+                updateString(digest, node.asString());
+        }
+    }
+
+    private static void updateString(final MessageDigest digest, final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateInt(final MessageDigest digest, final int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    /**
+     * Creates the message digest used for the resource digests.
+     *
+     * @return the message digest, or {@code null} if the algorithm is not available
+     */
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+}
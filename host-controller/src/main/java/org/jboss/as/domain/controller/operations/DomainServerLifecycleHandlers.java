@@ -34,6 +34,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STOP_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUSPEND_SERVERS;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -323,7 +324,7 @@ public class DomainServerLifecycleHandlers {
                     final String hostName = model.get(HOST).keys().iterator().next();
                     final ModelNode serverConfig = model.get(HOST, hostName).get(SERVER_CONFIG);
                     final Set<String> serversInGroup = getServersForGroup(model, group);
-                    final Set<String> waitForServers = new HashSet<String>();
+                    final List<String> serversToStart = new ArrayList<String>();
                     if (serverConfig.isDefined()) {
                         // Even though we don't read from the service registry, we are modifying a service
                         context.getServiceRegistry(true);
@@ -334,14 +335,11 @@ public class DomainServerLifecycleHandlers {
                                     if (status != ServerStatus.STOPPED) {
                                         serverInventory.stopServer(config.getName(), 0);
                                     }
-                                    serverInventory.startServer(config.getName(), model, false, suspend);
-                                    waitForServers.add(config.getName());
+                                    serversToStart.add(config.getName());
                                 }
                             }
                         }
-                        if (blocking) {
-                            serverInventory.awaitServersState(waitForServers, true);
-                        }
+                        serverInventory.startServers(serversToStart, model, blocking, suspend);
                     }
                     context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
                 }
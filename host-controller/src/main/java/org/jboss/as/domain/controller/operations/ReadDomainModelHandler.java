@@ -22,9 +22,13 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.transform.TransformedResourceCache;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.dmr.ModelNode;
 
@@ -38,11 +42,30 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final Map<String, String> knownDigests;
+    private final TransformedResourceCache cache;
+    private final ModelNode ignoredTransformationKey;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, Collections.<String, String>emptyMap(), null, null);
+    }
+
+    /**
+     * @param knownDigests the digests of the domain resources the reading host already has, whose model does not need
+     *                     to be described again
+     * @param cache the cache of transformed models shared by the hosts, or {@code null}
+     * @param ignoredTransformationKey key describing {@code ignoredTransformationRegistry}, or {@code null} if the
+     *                                 transformed model should not be cached
+     */
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers,
+                           final boolean lock, final Map<String, String> knownDigests, final TransformedResourceCache cache,
+                           final ModelNode ignoredTransformationKey) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.knownDigests = knownDigests;
+        this.cache = cache;
+        this.ignoredTransformationKey = ignoredTransformationKey;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -54,7 +77,7 @@ class ReadDomainModelHandler implements OperationStepHandler {
 
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
-                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
+                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource(), knownDigests, cache, ignoredTransformationKey);
         context.getResult().set(readUtil.getDescribedResources());
     }
 
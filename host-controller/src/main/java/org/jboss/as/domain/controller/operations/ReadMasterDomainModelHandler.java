@@ -22,12 +22,16 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformedResourceCache;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.dmr.ModelNode;
@@ -49,12 +53,22 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final TransformedResourceCache cache;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null);
+    }
+
+    /**
+     * @param cache the cache of transformed domain models shared by all the hosts, or {@code null}
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock,
+                                        final TransformedResourceCache cache) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.cache = cache;
     }
 
     @Override
@@ -65,16 +79,24 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
+        final Map<String, String> knownDigests;
+        final ModelNode ignoredTransformationKey;
         final Resource resource = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS);
         // The host info is only null in the tests
         if (hostInfo == null) {
             ignoredTransformationRegistry = Transformers.DEFAULT;
+            knownDigests = Collections.emptyMap();
+            ignoredTransformationKey = null;
         } else {
             final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc = hostInfo.populateRequiredConfigurationHolder(resource, extensionRegistry);
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
+            ignoredTransformationKey = cache == null ? null : ReadMasterDomainModelUtil.createHostIgnoredRegistryKey(hostInfo, rc);
+            // only describe the resources the slave does not already have
+            knownDigests = hostInfo.takeDomainModelDigests();
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, knownDigests,
+                cache, ignoredTransformationKey);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
@@ -23,6 +23,7 @@ package org.jboss.as.domain.controller.operations;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORED_RESOURCES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
@@ -30,11 +31,15 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SER
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
@@ -43,6 +48,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformedResourceCache;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.IgnoredNonAffectedServerGroupsUtil;
 import org.jboss.as.host.controller.mgmt.HostInfo;
@@ -65,11 +71,27 @@ public class ReadMasterDomainModelUtil {
 
     public static final String ORDERED_CHILD_TYPES_PROPERTY = "ordered-child-types";
 
+    /**
+     * Key of the digests of the domain resources a slave host sends when registering, see {@link DomainModelDigests}.
+     */
+    public static final String DOMAIN_MODEL_DIGESTS = "domain-model-digests";
+
+    /**
+     * Key replacing {@link #DOMAIN_RESOURCE_MODEL} for a resource the slave already has, with the digest of its model
+     * as value.
+     */
+    public static final String DOMAIN_RESOURCE_UNCHANGED = "domain-resource-unchanged";
+
     private final Set<PathElement> newRootResources = new HashSet<>();
+    private final Map<String, String> knownDigests;
+    private final MessageDigest digest;
 
     private volatile List<ModelNode> describedResources;
+    private int unchangedResources;
 
-    private ReadMasterDomainModelUtil() {
+    private ReadMasterDomainModelUtil(final Map<String, String> knownDigests) {
+        this.knownDigests = knownDigests;
+        this.digest = knownDigests.isEmpty() ? null : DomainModelDigests.createDigest();
     }
 
     /**
@@ -85,10 +107,64 @@ public class ReadMasterDomainModelUtil {
                                                                                 final Transformers.TransformationInputs transformationInputs,
                                                                                 final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry,
                                                                                 final Resource domainRoot) throws OperationFailedException {
+        return readMasterDomainResourcesForInitialConnect(transformers, transformationInputs, ignoredTransformationRegistry, domainRoot,
+                Collections.<String, String>emptyMap());
+    }
 
-        Resource transformedResource = transformers.transformRootResource(transformationInputs, domainRoot, ignoredTransformationRegistry);
-        ReadMasterDomainModelUtil util = new ReadMasterDomainModelUtil();
+    /**
+     * Used to read the domain model when a slave host connects to the DC, only describing the model of the
+     * resources which differ from the ones the slave already has.
+     *
+     *  @param transformers the transformers for the host
+     *  @param transformationInputs parameters for the transformation
+     *  @param ignoredTransformationRegistry registry of resources ignored by the transformation target
+     *  @param domainRoot the root resource for the domain resource tree
+     *  @param knownDigests the digests of the resources the slave already has, see {@link DomainModelDigests}
+     * @return a read master domain model util instance
+     */
+    static ReadMasterDomainModelUtil readMasterDomainResourcesForInitialConnect(final Transformers transformers,
+                                                                                final Transformers.TransformationInputs transformationInputs,
+                                                                                final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry,
+                                                                                final Resource domainRoot,
+                                                                                final Map<String, String> knownDigests) throws OperationFailedException {
+        return readMasterDomainResourcesForInitialConnect(transformers, transformationInputs, ignoredTransformationRegistry, domainRoot,
+                knownDigests, null, null);
+    }
+
+    /**
+     * Used to read the domain model when a slave host connects to the DC, reusing the transformed model of the hosts
+     * running the same versions with the same ignored resources.
+     *
+     *  @param transformers the transformers for the host
+     *  @param transformationInputs parameters for the transformation
+     *  @param ignoredTransformationRegistry registry of resources ignored by the transformation target
+     *  @param domainRoot the root resource for the domain resource tree
+     *  @param knownDigests the digests of the resources the slave already has, see {@link DomainModelDigests}
+     *  @param cache the cache of transformed models, or {@code null} if the transformed model should not be cached
+     *  @param ignoredTransformationKey key describing {@code ignoredTransformationRegistry}, see {@link #createHostIgnoredRegistryKey}
+     * @return a read master domain model util instance
+     */
+    static ReadMasterDomainModelUtil readMasterDomainResourcesForInitialConnect(final Transformers transformers,
+                                                                                final Transformers.TransformationInputs transformationInputs,
+                                                                                final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry,
+                                                                                final Resource domainRoot,
+                                                                                final Map<String, String> knownDigests,
+                                                                                final TransformedResourceCache cache,
+                                                                                final ModelNode ignoredTransformationKey) throws OperationFailedException {
+
+        final Resource transformedResource;
+        if (cache == null || ignoredTransformationKey == null) {
+            transformedResource = transformers.transformRootResource(transformationInputs, domainRoot, ignoredTransformationRegistry);
+        } else {
+            // The hosts are not described, so they do not need to be part of the revision
+            transformedResource = cache.transformRootResource(transformers, transformationInputs, domainRoot, ignoredTransformationRegistry,
+                    ignoredTransformationKey, DomainModelDigests.revision(domainRoot));
+        }
+        ReadMasterDomainModelUtil util = new ReadMasterDomainModelUtil(knownDigests);
         util.describedResources = util.describeAsNodeList(PathAddress.EMPTY_ADDRESS, transformedResource, false);
+        if (!knownDigests.isEmpty()) {
+            ControllerLogger.ROOT_LOGGER.debugf("Described %d domain resources, %d of them unchanged", util.describedResources.size(), util.unchangedResources);
+        }
         return util;
     }
 
@@ -131,7 +207,14 @@ public class ReadMasterDomainModelUtil {
         }
         final ModelNode description = new ModelNode();
         description.get(DOMAIN_RESOURCE_ADDRESS).set(base.toModelNode());
-        description.get(DOMAIN_RESOURCE_MODEL).set(resource.getModel());
+        final ModelNode model = resource.getModel();
+        final String knownDigest = digest == null ? null : knownDigests.get(base.toCLIStyleString());
+        if (knownDigest != null && knownDigest.equals(DomainModelDigests.digest(digest, model))) {
+            description.get(DOMAIN_RESOURCE_UNCHANGED).set(knownDigest);
+            unchangedResources++;
+        } else {
+            description.get(DOMAIN_RESOURCE_MODEL).set(model);
+        }
         Set<String> orderedChildren = resource.getOrderedChildTypes();
         if (orderedChildren.size() > 0) {
             ModelNode orderedChildTypes = description.get(DOMAIN_RESOURCE_PROPERTIES, ORDERED_CHILD_TYPES_PROPERTY);
@@ -148,6 +231,77 @@ public class ReadMasterDomainModelUtil {
     }
 
 
+    /**
+     * Checks whether a domain model read by the {@code ReadMasterDomainModelHandler} consists of exactly the resources
+     * the slave sent digests for, all of them reported as unchanged.
+     *
+     * @param describedResources the described resources
+     * @param digestedAddresses the CLI style addresses of the resources the slave sent digests for
+     * @return {@code true} if the domain model of the slave is up to date
+     */
+    public static boolean isUnchanged(final List<ModelNode> describedResources, final Set<String> digestedAddresses) {
+        if (describedResources.size() != digestedAddresses.size()) {
+            return false;
+        }
+        for (final ModelNode description : describedResources) {
+            if (!description.hasDefined(DOMAIN_RESOURCE_UNCHANGED)) {
+                return false;
+            }
+            final PathAddress address = PathAddress.pathAddress(description.require(DOMAIN_RESOURCE_ADDRESS));
+            if (!digestedAddresses.contains(address.toCLIStyleString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the {@link #DOMAIN_RESOURCE_UNCHANGED} markers of a domain model read by the
+     * {@code ReadMasterDomainModelHandler} with the model of the resources the slave already has.
+     *
+     * @param describedResources the described resources, which are updated in place
+     * @param localRoot the root resource of the local domain model, {@code null} if no digests were sent
+     * @return {@code true} if every unchanged resource could be resolved, {@code false} if the local model differs from
+     * the one the digests were computed from, in which case the complete model needs to be read
+     */
+    public static boolean resolveUnchangedResources(final List<ModelNode> describedResources, final Resource localRoot) {
+        MessageDigest digest = null;
+        for (final ModelNode description : describedResources) {
+            if (!description.hasDefined(DOMAIN_RESOURCE_UNCHANGED)) {
+                continue;
+            }
+            if (digest == null) {
+                digest = localRoot == null ? null : DomainModelDigests.createDigest();
+                if (digest == null) {
+                    return false;
+                }
+            }
+            final PathAddress address = PathAddress.pathAddress(description.require(DOMAIN_RESOURCE_ADDRESS));
+            final Resource resource = navigate(localRoot, address);
+            if (resource == null) {
+                return false;
+            }
+            final ModelNode model = resource.getModel();
+            if (!description.get(DOMAIN_RESOURCE_UNCHANGED).asString().equals(DomainModelDigests.digest(digest, model))) {
+                return false;
+            }
+            description.remove(DOMAIN_RESOURCE_UNCHANGED);
+            description.get(DOMAIN_RESOURCE_MODEL).set(model);
+        }
+        return true;
+    }
+
+    private static Resource navigate(final Resource root, final PathAddress address) {
+        Resource resource = root;
+        for (final PathElement element : address) {
+            resource = resource.getChild(element);
+            if (resource == null) {
+                return null;
+            }
+        }
+        return resource;
+    }
+
     /**
      * Create a resource based on the result of the {@code ReadMasterDomainModelHandler}.
      *
@@ -411,6 +565,32 @@ public class ReadMasterDomainModelUtil {
         };
     }
 
+    /**
+     * Create a key describing the registry created by {@link #createHostIgnoredRegistry(HostInfo, RequiredConfigurationHolder)},
+     * which is equal for all the hosts ignoring the same resources.
+     *
+     * @param hostInfo the host info
+     * @param rc       the resolution context
+     * @return the key
+     */
+    public static ModelNode createHostIgnoredRegistryKey(final HostInfo hostInfo, final RequiredConfigurationHolder rc) {
+        final ModelNode key = new ModelNode();
+        key.get(IGNORED_RESOURCES).set(hostInfo.getIgnoredResourcesKey());
+        if (hostInfo.isIgnoreUnaffectedConfig()) {
+            addSorted(key.get(PROFILE), rc.getProfiles());
+            addSorted(key.get(SERVER_GROUP), rc.getServerGroups());
+            addSorted(key.get(SOCKET_BINDING_GROUP), rc.getSocketBindings());
+        }
+        return key;
+    }
+
+    private static void addSorted(final ModelNode list, final Set<String> names) {
+        list.setEmptyList();
+        for (final String name : new TreeSet<>(names)) {
+            list.add(name);
+        }
+    }
+
     /**
      * Create the ResourceIgnoredTransformationRegistry when fetching missing content, only including relevant pieces
      * to a server-config.
@@ -47,6 +47,7 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.TransformingProxyController;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.OperationAttachments;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
@@ -54,6 +55,7 @@ import org.jboss.as.controller.transform.Transformers;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.as.controller.operations.DomainOperationTransmuter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Executes the first phase of a two phase operation on one or more remote, slave host controllers.
@@ -62,13 +64,28 @@ import org.jboss.as.controller.operations.DomainOperationTransmuter;
  */
 public class DomainSlaveHandler implements OperationStepHandler {
 
+    /**
+     * System property providing the default number of slave hosts the operation is concurrently sent to, when the
+     * rollout plan doesn't set {@code max-concurrent-hosts}. Further hosts are sent the operation as the prepared
+     * results of the previous ones come in. Unlimited by default.
+     */
+    public static final String MAX_CONCURRENT_HOSTS = "jboss.domain.rollout.max-concurrent-hosts";
+
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
+    private final int maxConcurrentHosts;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
                               final MultiphaseOverallContext domainOperationContext) {
+        this(hostProxies, domainOperationContext, getMaxConcurrentHosts(new ModelNode()));
+    }
+
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final MultiphaseOverallContext domainOperationContext,
+                              final int maxConcurrentHosts) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.maxConcurrentHosts = maxConcurrentHosts;
     }
 
     @Override
@@ -87,6 +104,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransmuter> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSMUTERS);
+        final List<HostControllerUpdateTask> tasks = new ArrayList<HostControllerUpdateTask>();
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
             // Create the proxy task
             final String host = entry.getKey();
@@ -101,12 +119,13 @@ public class DomainSlaveHandler implements OperationStepHandler {
             // Set the flags for host controller operations
             clonedOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
             clonedOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
-            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs);
-            // Execute the operation on the remote host
-            final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
-            multiphaseContext.recordHostRequest(host, finalResult);
-            finalResults.put(host, finalResult);
+            tasks.add(new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs));
         }
+        // Execute the operation on as many remote hosts as the fan-out allows; the others are
+        // executed as prepared results come in
+        final HostRequestScheduler<HostControllerUpdateTask> scheduler = new HostRequestScheduler<HostControllerUpdateTask>(tasks, maxConcurrentHosts,
+                task -> executeHostRequest(task, listener, finalResults));
+        scheduler.executePending();
 
         // Wait for all hosts to reach the prepared state
         boolean interrupted = false;
@@ -146,8 +165,15 @@ public class DomainSlaveHandler implements OperationStepHandler {
                         multiphaseContext.addHostControllerPreparedResult(hostName, preparedResult);
                     }
                     results.add(prepared);
+                    // If the operation is going to be rolled back on all hosts, don't bother the remaining ones
+                    final List<HostControllerUpdateTask> skipped = scheduler.prepared(multiphaseContext.hasHostLevelFailures());
+                    if (!skipped.isEmpty()) {
+                        HOST_CONTROLLER_LOGGER.debugf("Not executing the operation on %d remaining remote hosts following a host level failure", skipped.size());
+                        skipHosts(skipped, outstanding);
+                    }
                 } else {
                     // Either interrupted or timed out.
+                    skipHosts(scheduler.skipPending(), outstanding);
                     handleMissingHostResponses(finalResults, outstanding, !interrupted, timeout);
                     break;
                 }
@@ -178,6 +204,20 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    private void executeHostRequest(final HostControllerUpdateTask task, final HostControllerUpdateTask.ProxyOperationListener listener,
+                                    final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults) {
+        // Execute the operation on the remote host
+        final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
+        multiphaseContext.recordHostRequest(task.getName(), finalResult);
+        finalResults.put(task.getName(), finalResult);
+    }
+
+    private static void skipHosts(final List<HostControllerUpdateTask> skipped, final Set<String> outstanding) {
+        for (HostControllerUpdateTask task : skipped) {
+            outstanding.remove(task.getName());
+        }
+    }
+
     private void handleMissingHostResponses(Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
                                             Set<String> outstanding, boolean timedOut, long timeout) {
 
@@ -235,6 +275,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
                 if (prepared.isDone()) {
                     continue;
                 }
+                prepared.getOperation().getPhaseTimes().finalized(!rollback);
                 if (!rollback) {
                     prepared.commit();
                 } else {
@@ -290,6 +331,23 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Gets the number of slave hosts the operation is concurrently sent to.
+     *
+     * @param rolloutPlan the rollout plan of the operation
+     * @return the limit, {@code 0} or less meaning unlimited
+     */
+    static int getMaxConcurrentHosts(final ModelNode rolloutPlan) {
+        if (rolloutPlan.hasDefined(ModelDescriptionConstants.MAX_CONCURRENT_HOSTS)) {
+            return rolloutPlan.get(ModelDescriptionConstants.MAX_CONCURRENT_HOSTS).asInt();
+        }
+        try {
+            return Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_CONCURRENT_HOSTS, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     private static ModelNode getTimeoutResponse(long timeout, String hostName) {
         String msg = HOST_CONTROLLER_LOGGER.timedOutAwaitingHostPreparedResponse(timeout, hostName);
         final ModelNode response = new ModelNode();
@@ -86,6 +86,10 @@ class HostControllerUpdateTask {
         this.transformationInputs = transformationInputs;
     }
 
+    String getName() {
+        return name;
+    }
+
     public ExecutedHostRequest execute(final ProxyOperationListener listener) {
 
         final TransactionalProtocolClient client = proxyController.getProtocolClient();
@@ -133,6 +137,7 @@ class HostControllerUpdateTask {
     static class ProxyOperation extends TransactionalOperationImpl {
 
         private final String name;
+        private final OperationPhaseTimes phaseTimes = new OperationPhaseTimes(OperationPhaseStatistics.HOSTS);
         protected ProxyOperation(final String name, final ModelNode operation, final OperationMessageHandler messageHandler, final OperationAttachments attachments) {
             super(operation, messageHandler, attachments);
             this.name = name;
@@ -141,6 +146,10 @@ class HostControllerUpdateTask {
         public String getName() {
             return name;
         }
+
+        OperationPhaseTimes getPhaseTimes() {
+            return phaseTimes;
+        }
     }
 
     static class ExecutedHostRequest implements OperationResultTransformer, OperationRejectionPolicy {
@@ -230,6 +239,7 @@ class HostControllerUpdateTask {
 
         @Override
         public void operationPrepared(final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared) {
+            prepared.getOperation().getPhaseTimes().prepared();
             try {
                 super.operationPrepared(prepared);
             } finally {
@@ -243,6 +253,7 @@ class HostControllerUpdateTask {
 
         @Override
         public void operationComplete(final ProxyOperation operation, final OperationResponse result) {
+            operation.getPhaseTimes().completed();
             try {
                 super.operationComplete(operation, result);
             } finally {
@@ -250,6 +261,7 @@ class HostControllerUpdateTask {
                     final String hostName = operation.getName();
                     HOST_CONTROLLER_LOGGER.tracef("Received final result %s from %s", result, hostName);
                 }
+                HOST_CONTROLLER_LOGGER.debugf("Operation phase times for remote host %s: %s", operation.getName(), operation.getPhaseTimes());
             }
         }
     }
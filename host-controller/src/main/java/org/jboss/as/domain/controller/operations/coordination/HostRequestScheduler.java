@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sends the first phase of a domain operation to the slave hosts, keeping at most a given number of them waiting
+ * for their prepared result. The other hosts are sent the operation, in order, as prepared results come in, unless
+ * one of the results was a failure in which case they are skipped.
+ *
+ * @param <T> the type of the host tasks
+ */
+final class HostRequestScheduler<T> {
+
+    private final Deque<T> pending;
+    private final int maxConcurrentHosts;
+    private final Consumer<T> executor;
+    private int executing;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param tasks the tasks sending the operation to each host, in the order they should be executed
+     * @param maxConcurrentHosts the number of hosts concurrently waited for, {@code 0} or less meaning unlimited
+     * @param executor executes a task
+     */
+    HostRequestScheduler(final Collection<T> tasks, final int maxConcurrentHosts, final Consumer<T> executor) {
+        this.pending = new ArrayDeque<>(tasks);
+        this.maxConcurrentHosts = maxConcurrentHosts > 0 ? maxConcurrentHosts : Integer.MAX_VALUE;
+        this.executor = executor;
+    }
+
+    /**
+     * Executes the pending tasks, up to the concurrency limit.
+     */
+    void executePending() {
+        while (!pending.isEmpty() && executing < maxConcurrentHosts) {
+            executing++;
+            executor.accept(pending.poll());
+        }
+    }
+
+    /**
+     * Records that a host sent its prepared result, and executes the next pending task unless the result was a
+     * failure.
+     *
+     * @param failed whether the operation is going to be rolled back
+     * @return the tasks that were skipped because of the failure
+     */
+    List<T> prepared(final boolean failed) {
+        executing--;
+        if (failed) {
+            return skipPending();
+        }
+        executePending();
+        return Collections.emptyList();
+    }
+
+    /**
+     * Removes the tasks which were not executed yet.
+     *
+     * @return the skipped tasks
+     */
+    List<T> skipPending() {
+        final List<T> skipped = new ArrayList<>(pending);
+        pending.clear();
+        return skipped;
+    }
+}
@@ -209,7 +209,7 @@ public class OperationCoordinatorStepHandler {
                     }
                 }
 
-                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext), OperationContext.Stage.DOMAIN);
+                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext, DomainSlaveHandler.getMaxConcurrentHosts(rolloutPlan)), OperationContext.Stage.DOMAIN);
             }
         }
 
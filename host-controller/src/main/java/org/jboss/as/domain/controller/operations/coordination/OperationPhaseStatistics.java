@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Accumulates the {@link OperationPhaseTimes} of the operations executed on remote host controllers or servers since
+ * the host controller was started.
+ */
+public final class OperationPhaseStatistics {
+
+    /** The statistics of the operations sent by the master to the slave host controllers. */
+    public static final OperationPhaseStatistics HOSTS = new OperationPhaseStatistics();
+    /** The statistics of the operations sent to the servers. */
+    public static final OperationPhaseStatistics SERVERS = new OperationPhaseStatistics();
+
+    private final LatencyHistogram prepareTime = new LatencyHistogram();
+    private final LatencyHistogram completionTime = new LatencyHistogram();
+
+    OperationPhaseStatistics() {
+    }
+
+    void recordPrepareTime(final long nanos) {
+        prepareTime.record(nanos);
+    }
+
+    void recordCompletionTime(final long nanos) {
+        completionTime.record(nanos);
+    }
+
+    /**
+     * Gets the times taken to receive the prepared response after sending the operation.
+     *
+     * @return a snapshot of the histogram, as returned by {@link LatencyHistogram#toModelNode()}
+     */
+    public ModelNode getPrepareTime() {
+        return prepareTime.toModelNode();
+    }
+
+    /**
+     * Gets the times taken to receive the final response after sending the commit or rollback request.
+     *
+     * @return a snapshot of the histogram, as returned by {@link LatencyHistogram#toModelNode()}
+     */
+    public ModelNode getCompletionTime() {
+        return completionTime.toModelNode();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the duration of the two phases of an operation executed on a remote host controller or server: the time
+ * taken to receive the prepared response after sending the operation, and the time taken to receive the final
+ * response after sending the commit or rollback request. Both are also recorded in the given
+ * {@link OperationPhaseStatistics}.
+ */
+public final class OperationPhaseTimes {
+
+    private final OperationPhaseStatistics statistics;
+    private final long sent = System.nanoTime();
+    private volatile long prepared;
+    private volatile long finalized;
+    private volatile long completed;
+    private volatile boolean commit = true;
+
+    public OperationPhaseTimes(final OperationPhaseStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Records that the prepared response was received.
+     */
+    public void prepared() {
+        prepared = System.nanoTime();
+        statistics.recordPrepareTime(prepared - sent);
+    }
+
+    /**
+     * Records that the commit or rollback request is being sent.
+     *
+     * @param commit {@code true} if the operation is committed, {@code false} if it is rolled back
+     */
+    public void finalized(final boolean commit) {
+        this.commit = commit;
+        finalized = System.nanoTime();
+    }
+
+    /**
+     * Records that the final response was received.
+     */
+    public void completed() {
+        completed = System.nanoTime();
+        if (finalized != 0) {
+            statistics.recordCompletionTime(completed - finalized);
+        }
+    }
+
+    /**
+     * Gets the time in ms between sending the operation and receiving the prepared response.
+     *
+     * @return the prepare time, or {@code -1} if no prepared response was received
+     */
+    public long getPrepareTime() {
+        return elapsed(sent, prepared);
+    }
+
+    /**
+     * Gets the time in ms between sending the commit or rollback request and receiving the final response.
+     *
+     * @return the finalize time, or {@code -1} if the operation was not finalized or no final response was received
+     */
+    public long getFinalizeTime() {
+        return elapsed(finalized, completed);
+    }
+
+    @Override
+    public String toString() {
+        return "prepare=" + getPrepareTime() + "ms, " + (commit ? "commit=" : "rollback=") + getFinalizeTime() + "ms";
+    }
+
+    private static long elapsed(final long start, final long end) {
+        return start == 0 || end == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(end - start);
+    }
+}
@@ -23,53 +23,82 @@
 package org.jboss.as.domain.controller.plan;
 
 import java.net.InetAddress;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.ServerIdentity;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.dmr.ModelNode;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author Emanuel Muckenhuber
  */
 class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
 
+    /**
+     * System property providing the default number of servers of a server group the operation is concurrently sent
+     * to, when the server group's rollout plan doesn't set {@code max-concurrent-servers}. Further servers are sent the
+     * operation as the prepared results of the previous ones come in. Unlimited by default.
+     */
+    static final String MAX_CONCURRENT_SERVERS = "jboss.domain.rollout.max-concurrent-servers";
+
+    private final int maxConcurrentServers;
+
     public ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
                                            ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout) {
+        this(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout, getMaxConcurrentServers(new ModelNode()));
+    }
+
+    ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
+                                    ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                    int maxConcurrentServers) {
         super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout);
+        this.maxConcurrentServers = maxConcurrentServers > 0 ? maxConcurrentServers : Integer.MAX_VALUE;
     }
 
     @Override
     public void execute() {
         final Map<ServerIdentity, ServerUpdateTask> outstanding = new HashMap<>();
+        final Deque<ServerUpdateTask> pending = new ArrayDeque<>(tasks);
         final ServerTaskExecutor.ServerOperationListener listener = new ServerTaskExecutor.ServerOperationListener();
         int preparedTimeout = 0;
-        for(final ServerUpdateTask task : tasks) {
-            final ServerIdentity identity = task.getServerIdentity();
-            if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
-                // Execute the task
-                int serverTimeout = executor.executeTask(listener, task);
-                if (serverTimeout > -1) {
-                    outstanding.put(task.getServerIdentity(), task);
-                    if (serverTimeout > preparedTimeout) {
-                        preparedTimeout = serverTimeout;
+        long deadline = System.currentTimeMillis();
+        boolean interrupted = false;
+        while (!interrupted) {
+            // Execute the tasks up to the fan-out limit; the others are executed as prepared results come in,
+            // so the update policy can stop the rollout before they get executed
+            while (!pending.isEmpty() && outstanding.size() < maxConcurrentServers) {
+                final ServerUpdateTask task = pending.poll();
+                final ServerIdentity identity = task.getServerIdentity();
+                if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
+                    // Execute the task
+                    int serverTimeout = executor.executeTask(listener, task);
+                    if (serverTimeout > -1) {
+                        outstanding.put(task.getServerIdentity(), task);
+                        if (serverTimeout > preparedTimeout) {
+                            preparedTimeout = serverTimeout;
+                        }
+                        deadline = Math.max(deadline, System.currentTimeMillis() + serverTimeout);
                     }
+                } else {
+                    DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
                 }
-            } else {
-                DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
             }
-        }
-        boolean interrupted = false;
-        long deadline = System.currentTimeMillis() + preparedTimeout;
-        long remaining = preparedTimeout;
-        while (!interrupted && !outstanding.isEmpty() && remaining > 0) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (outstanding.isEmpty() || remaining <= 0) {
+                break;
+            }
             try {
-                // Wait for all prepared results
+                // Wait for the prepared results
                 final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared = listener.retrievePreparedOperation(remaining, TimeUnit.MILLISECONDS);
                 if (prepared == null) {
                     // timed out
@@ -81,7 +110,9 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
             } catch (InterruptedException e) {
                 interrupted = true;
             }
-            remaining = deadline - System.currentTimeMillis();
+        }
+        for (ServerUpdateTask task : pending) {
+            DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", task.getServerIdentity());
         }
 
         if (!outstanding.isEmpty()) {
@@ -103,4 +134,21 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
             Thread.currentThread().interrupt();
         }
     }
+
+    /**
+     * Gets the number of servers of a server group the operation is concurrently sent to.
+     *
+     * @param policyNode the server group's rollout plan
+     * @return the limit, {@code 0} meaning unlimited
+     */
+    static int getMaxConcurrentServers(ModelNode policyNode) {
+        if (policyNode.hasDefined(ModelDescriptionConstants.MAX_CONCURRENT_SERVERS)) {
+            return policyNode.get(ModelDescriptionConstants.MAX_CONCURRENT_SERVERS).asInt();
+        }
+        try {
+            return Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_CONCURRENT_SERVERS, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 }
@@ -142,7 +142,8 @@ public class RolloutPlanController {
                     SecurityIdentity securityIdentity = accessAuditContext != null ?  accessAuditContext.getSecurityIdentity() : null;
                     InetAddress sourceAddress = accessAuditContext != null ?  accessAuditContext.getRemoteAddress() : null;
                     seriesTasks.add(rollingGroup ? new RollingServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout)
-                        : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout));
+                        : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout,
+                                ConcurrentServerGroupUpdateTask.getMaxConcurrentServers(policyNode)));
 
                     updatePolicies.put(serverGroupName, policy);
 
@@ -42,6 +42,8 @@ import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.transform.OperationResultTransformer;
 import org.jboss.as.domain.controller.ServerIdentity;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.as.domain.controller.operations.coordination.OperationPhaseStatistics;
+import org.jboss.as.domain.controller.operations.coordination.OperationPhaseTimes;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 
@@ -180,12 +182,15 @@ public abstract class ServerTaskExecutor {
 
         @Override
         public void operationPrepared(TransactionalProtocolClient.PreparedOperation<ServerOperation> prepared) {
+            prepared.getOperation().getPhaseTimes().prepared();
             super.operationPrepared(prepared);
         }
 
         @Override
         public void operationComplete(ServerOperation operation, OperationResponse result) {
+            operation.getPhaseTimes().completed();
             super.operationComplete(operation, result);
+            DomainControllerLogger.HOST_CONTROLLER_LOGGER.debugf("Operation phase times for %s: %s", operation.getIdentity(), operation.getPhaseTimes());
         }
 
         @Override
@@ -199,6 +204,7 @@ public abstract class ServerTaskExecutor {
 
         private final ServerIdentity identity;
         private final OperationResultTransformer transformer;
+        private final OperationPhaseTimes phaseTimes = new OperationPhaseTimes(OperationPhaseStatistics.SERVERS);
         ServerOperation(ServerIdentity identity, ModelNode operation, OperationMessageHandler messageHandler, OperationAttachments attachments, OperationResultTransformer transformer) {
             super(operation, messageHandler, attachments);
             this.identity = identity;
@@ -213,6 +219,10 @@ public abstract class ServerTaskExecutor {
             return transformer.transformResult(result);
         }
 
+        OperationPhaseTimes getPhaseTimes() {
+            return phaseTimes;
+        }
+
     }
 
     /**
@@ -255,9 +265,11 @@ public abstract class ServerTaskExecutor {
                 return false;
             }
             if(commit) {
+                preparedOperation.getOperation().getPhaseTimes().finalized(true);
                 preparedOperation.commit();
             } else {
                 if(!failed) {
+                    preparedOperation.getOperation().getPhaseTimes().finalized(false);
                     preparedOperation.rollback();
                 }
             }
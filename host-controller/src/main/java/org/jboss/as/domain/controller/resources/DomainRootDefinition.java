@@ -25,6 +25,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CON
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_CLIENT_CONTENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_HOSTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ACROSS_GROUPS;
@@ -364,7 +366,8 @@ public class DomainRootDefinition extends SimpleResourceDefinition {
     }
 
     public static class RolloutPlanValidator implements ParameterValidator {
-        private static final List<String> ALLOWED_SERVER_GROUP_CHILDREN = Arrays.asList(ROLLING_TO_SERVERS, MAX_FAILURE_PERCENTAGE, MAX_FAILED_SERVERS);
+        private static final List<String> ALLOWED_ROLLOUT_PLAN_CHILDREN = Arrays.asList(IN_SERIES, ROLLBACK_ACROSS_GROUPS, MAX_CONCURRENT_HOSTS);
+        private static final List<String> ALLOWED_SERVER_GROUP_CHILDREN = Arrays.asList(ROLLING_TO_SERVERS, MAX_FAILURE_PERCENTAGE, MAX_FAILED_SERVERS, MAX_CONCURRENT_SERVERS);
         @Override
         public void validateParameter(String parameterName, ModelNode plan) throws OperationFailedException {
             Assert.assertNotNull(plan);
@@ -382,8 +385,8 @@ public class DomainRootDefinition extends SimpleResourceDefinition {
             if(!keys.contains(IN_SERIES)) {
                 throw new OperationFailedException(DomainControllerLogger.ROOT_LOGGER.requiredChildIsMissing(ROLLOUT_PLAN, IN_SERIES, plan.toString()));
             }
-            if(keys.size() > 2 || keys.size() == 2 && !keys.contains(ROLLBACK_ACROSS_GROUPS)) {
-                throw new OperationFailedException(DomainControllerLogger.ROOT_LOGGER.unrecognizedChildren(ROLLOUT_PLAN, IN_SERIES + ", " + ROLLBACK_ACROSS_GROUPS, plan.toString()));
+            if(!ALLOWED_ROLLOUT_PLAN_CHILDREN.containsAll(keys)) {
+                throw new OperationFailedException(DomainControllerLogger.ROOT_LOGGER.unrecognizedChildren(ROLLOUT_PLAN, IN_SERIES + ", " + ROLLBACK_ACROSS_GROUPS + ", " + MAX_CONCURRENT_HOSTS, plan.toString()));
             }
 
             final ModelNode inSeries = rolloutPlan1.get(IN_SERIES);
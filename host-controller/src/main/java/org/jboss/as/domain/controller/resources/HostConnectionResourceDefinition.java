@@ -43,6 +43,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostRegistrations;
+import org.jboss.as.host.controller.mgmt.PingFailureDetector;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -85,6 +86,21 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeServiceNotRequired()
             .build();
 
+    private static final AttributeDefinition PING_SAMPLES_DEF = runtime(PingFailureDetector.SAMPLES, ModelType.INT, false);
+    private static final AttributeDefinition PING_LAST_DEF = runtime(PingFailureDetector.LAST, ModelType.LONG, true);
+    private static final AttributeDefinition PING_MIN_DEF = runtime(PingFailureDetector.MIN, ModelType.LONG, true);
+    private static final AttributeDefinition PING_MAX_DEF = runtime(PingFailureDetector.MAX, ModelType.LONG, true);
+    private static final AttributeDefinition PING_MEAN_DEF = runtime(PingFailureDetector.MEAN, ModelType.DOUBLE, true);
+    private static final AttributeDefinition PING_STANDARD_DEVIATION_DEF = runtime(PingFailureDetector.STANDARD_DEVIATION, ModelType.DOUBLE, true);
+    private static final AttributeDefinition PING_TIMEOUT_DEF = runtime(PingFailureDetector.TIMEOUT, ModelType.LONG, false);
+
+    private static final ObjectTypeAttributeDefinition PING_STATISTICS = ObjectTypeAttributeDefinition.Builder.of(HostConnectionInfo.PING_STATISTICS,
+            PING_SAMPLES_DEF, PING_LAST_DEF, PING_MIN_DEF, PING_MAX_DEF, PING_MEAN_DEF, PING_STANDARD_DEVIATION_DEF, PING_TIMEOUT_DEF)
+            .setRequired(false)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     private static final OperationDefinition PRUNE_EXPIRED_DEF = new SimpleOperationDefinitionBuilder("prune-expired", RESOLVER)
             .withFlag(OperationEntry.Flag.MASTER_HOST_CONTROLLER_ONLY)
             .build();
@@ -105,6 +121,7 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadOnlyAttribute(CONNECTION_DEF, attributeReadHandler);
         resourceRegistration.registerReadOnlyAttribute(EVENT_LIST, attributeReadHandler);
+        resourceRegistration.registerMetric(PING_STATISTICS, attributeReadHandler);
     }
 
     @Override
@@ -142,11 +159,21 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
                     case HostConnectionInfo.EVENTS:
                         processEvents(info, result.setEmptyList());
                         break;
+                    case HostConnectionInfo.PING_STATISTICS:
+                        result.set(info.getPingStatistics());
+                        break;
                 }
             }
         }
     }
 
+    private static AttributeDefinition runtime(final String name, final ModelType type, final boolean optional) {
+        return SimpleAttributeDefinitionBuilder.create(name, type, optional)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .build();
+    }
+
     static void processEvents(final HostConnectionInfo info, final ModelNode list) {
         for (final HostConnectionInfo.Event event : info.getEvents()) {
             event.toModelNode(list.add());
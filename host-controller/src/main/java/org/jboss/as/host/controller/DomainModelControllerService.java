@@ -1226,6 +1226,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
             getServerInventory().serverUnstable(serverProcessName);
         }
 
+        @Override
+        public void serverStateChanged(String serverProcessName, String state) {
+            getServerInventory().serverStateChanged(serverProcessName, state);
+        }
+
         @Override
         public void serverStarted(String serverProcessName) {
             getServerInventory().serverStarted(serverProcessName);
@@ -1271,6 +1276,16 @@ public class DomainModelControllerService extends AbstractControllerService impl
             return getServerInventory().determineServerStatus(serverName);
         }
 
+        @Override
+        public String getServerState(String serverName) {
+            return getServerInventory().getServerState(serverName);
+        }
+
+        @Override
+        public long getServerBootTime(String serverName) {
+            return getServerInventory().getServerBootTime(serverName);
+        }
+
         @Override
         public ServerStatus startServer(String serverName, ModelNode domainModel) {
             return getServerInventory().startServer(serverName, domainModel);
@@ -1281,6 +1296,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
             return getServerInventory().startServer(serverName, domainModel, blocking, suspend);
         }
 
+        @Override
+        public void startServers(List<String> serverNames, ModelNode domainModel, boolean blocking, boolean suspend) {
+            getServerInventory().startServers(serverNames, domainModel, blocking, suspend);
+        }
+
         @Override
         public void reconnectServer(String serverName, ModelNode domainModel, String authKey, boolean running, boolean stopping) {
             getServerInventory().reconnectServer(serverName, domainModel, authKey, running, stopping);
@@ -1606,6 +1626,16 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 return ServerStatus.STOPPED;
             }
 
+            @Override
+            public String getServerState(String serverName) {
+                return null;
+            }
+
+            @Override
+            public long getServerBootTime(String serverName) {
+                return -1;
+            }
+
             @Override
             public ServerStatus startServer(String serverName, ModelNode domainModel) {
                 return ServerStatus.STOPPED;
@@ -1616,6 +1646,10 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 return ServerStatus.STOPPED;
             }
 
+            @Override
+            public void startServers(List<String> serverNames, ModelNode domainModel, boolean blocking, boolean suspend) {
+            }
+
             @Override
             public ServerStatus restartServer(String serverName, int gracefulTimeout, ModelNode domainModel) {
                 return ServerStatus.STOPPED;
@@ -1710,6 +1744,10 @@ public class DomainModelControllerService extends AbstractControllerService impl
 
             }
 
+            @Override
+            public void serverStateChanged(String serverProcessName, String state) {
+            }
+
             @Override
             public void serverProcessStopped(String serverProcessName) {
             }
@@ -32,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.host.controller.mgmt.SlaveHostPinger;
+import org.jboss.dmr.ModelNode;
 
 /**
  * @author Emanuel Muckenhuber
@@ -198,6 +199,12 @@ public class DomainSlaveHostRegistrations {
             return events;
         }
 
+        @Override
+        public ModelNode getPingStatistics() {
+            final SlaveHostPinger pinger = this.pinger;
+            return pinger != null && connected ? pinger.getPingStatistics() : new ModelNode();
+        }
+
         protected String getAddress() {
             return address;
         }
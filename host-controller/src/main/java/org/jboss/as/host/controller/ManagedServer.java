@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.CurrentOperationIdHolder;
 import org.jboss.as.controller.PathAddress;
@@ -137,6 +138,10 @@ class ManagedServer {
     private volatile int operationID = CurrentOperationIdHolder.getCurrentOperationID();
     private volatile ManagedServerBootConfiguration bootConfiguration;
     private volatile boolean unstable;
+    private volatile long bootStartTime;
+    private volatile long bootTime = -1;
+    private Runnable bootListener;
+    private volatile String serverState;
 
     private final PathAddress address;
 
@@ -218,6 +223,49 @@ class ManagedServer {
         }
     }
 
+    /**
+     * Get the process state last reported by the server over its current connection.
+     *
+     * @return the state, or {@code null} if the server is not started or did not report its state yet
+     */
+    String getServerState() {
+        return internalState == InternalState.SERVER_STARTED ? serverState : null;
+    }
+
+    void serverStateChanged(final String state) {
+        serverState = state;
+    }
+
+    /**
+     * Get the time the last boot of the server took, from the start request until the server reported being started.
+     *
+     * @return the time in ms, or {@code -1} if the server did not start yet
+     */
+    long getBootTime() {
+        return bootTime;
+    }
+
+    /**
+     * Registers a callback to run once the current boot of the server is over, because the server started, failed to
+     * start or is no longer required to start. The callback runs right away if the server is not booting.
+     *
+     * @param listener the callback, run with the lock of the server held
+     */
+    synchronized void whenBooted(final Runnable listener) {
+        bootListener = listener;
+        checkBooted();
+    }
+
+    private void checkBooted() {
+        assert Thread.holdsLock(this); // Call under lock
+        final Runnable listener = bootListener;
+        if (listener != null && (requiredState != InternalState.SERVER_STARTED
+                || internalState == InternalState.SERVER_STARTED || internalState == InternalState.FAILED)) {
+            bootListener = null;
+            listener.run();
+        }
+    }
+
     boolean isRequiresReload() {
         return requiresReload;
     }
@@ -261,6 +309,7 @@ class ManagedServer {
         operationID = CurrentOperationIdHolder.getCurrentOperationID();
         bootConfiguration = factory.createConfiguration();
         requiredState = InternalState.SERVER_STARTED;
+        bootStartTime = System.nanoTime();
         ROOT_LOGGER.startingServer(serverName);
         transition();
     }
@@ -279,6 +328,7 @@ class ManagedServer {
             } else {
                 transition(false);
             }
+            checkBooted();
         }
     }
 
@@ -449,6 +499,13 @@ class ManagedServer {
 
     synchronized void serverStarted(final TransitionTask task) {
         internalSetState(task, InternalState.SERVER_STARTING, InternalState.SERVER_STARTED);
+        final long bootStartTime = this.bootStartTime;
+        if (internalState == InternalState.SERVER_STARTED && bootStartTime != 0) {
+            // Includes launching the process, not only the boot reported by the server itself
+            this.bootStartTime = 0;
+            bootTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - bootStartTime);
+            ROOT_LOGGER.serverBootTime(serverName, bootTime);
+        }
     }
 
     synchronized void serverStartFailed() {
@@ -467,6 +524,8 @@ class ManagedServer {
         // WFCORE-196 Do this out of the sync block to avoid deadlocks where in-flight requests can't
         // be informed that the channel has closed
         protocolClient.disconnected(old);
+        // The state may change unnoticed until the server reconnects
+        serverState = null;
 
         synchronized (this) {
             // If the connection dropped without us stopping the process ask for reconnection
@@ -567,6 +626,7 @@ class ManagedServer {
             }
             this.requiredState = InternalState.FAILED;
             notifyAll();
+            checkBooted();
         }
     }
 
@@ -620,6 +680,7 @@ class ManagedServer {
                 transitionFailed(current, e);
             } finally {
                 notifyAll();
+                checkBooted();
             }
         }
         return false;
@@ -25,9 +25,9 @@ package org.jboss.as.host.controller;
 import java.io.DataInput;
 import java.io.IOException;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -116,6 +116,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
     private final List<DiscoveryOption> discoveryOptions;
     private final RunningMode runningMode;
     private URI uri;
+    /** The uri of the domain controller this host was last connected to. */
+    private volatile URI connectedUri;
+    /** The time the connection to the domain controller was last lost, {@code 0} if it never was. */
+    private volatile long disconnectedTime;
 
     RemoteDomainConnection(final String localHostName, final ProtocolConnectionConfiguration configuration, final AuthenticationContext authenticationContext,
                            final SecurityRealm realm,  final String username, final List<DiscoveryOption> discoveryOptions,
@@ -145,6 +149,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
     protected void connect() throws IOException {
         // Connect to the remote HC
         connectionManager.connect();
+        connectedUri = uri;
     }
 
     /**
@@ -265,25 +270,42 @@ class RemoteDomainConnection extends FutureManagementChannel {
                 final ReconnectPolicy reconnectPolicy = ReconnectPolicy.RECONNECT;
                 int reconnectionCount = 0;
                 for(;;) {
-                    // Try to connect to the remote host controller by looping through all
-                    // discovery options
                     reconnectPolicy.wait(reconnectionCount);
                     HostControllerLogger.ROOT_LOGGER.reconnectingToMaster();
+                    // Try to connect to the remote host controller by looping through all
+                    // discovery options. The domain controller we were last connected to is tried first,
+                    // so that after a standby host controller took over we don't wait for the former master
+                    // to time out again on every reconnect.
+                    final URI preferredURI = connectedUri;
+                    final List<ReconnectCandidate> candidates = new ArrayList<>();
                     for (Iterator<DiscoveryOption> i = discoveryOptions.iterator(); i.hasNext(); ) {
                         DiscoveryOption discoveryOption = i.next();
-                        URI masterURI = null;
                         try {
-                            List<RemoteDomainControllerConnectionConfiguration> remoteDcConfigs = discoveryOption.discover();
-                            for (RemoteDomainControllerConnectionConfiguration remoteDcConfig : remoteDcConfigs) {
-                                try {
-                                    return connect(remoteDcConfig);
-                                } catch (IOException ioe) {
-                                    // If the cause is one of the irrecoverable ones, unwrap and throw it on
-                                    RemoteDomainConnectionService.rethrowIrrecoverableConnectionFailures(ioe);
+                            for (RemoteDomainControllerConnectionConfiguration remoteDcConfig : discoveryOption.discover()) {
+                                final URI candidateURI = new URI(remoteDcConfig.getProtocol(), null, remoteDcConfig.getHost(), remoteDcConfig.getPort(), null, null, null);
+                                final ReconnectCandidate candidate = new ReconnectCandidate(discoveryOption, candidateURI);
+                                if (candidateURI.equals(preferredURI)) {
+                                    candidates.add(0, candidate);
+                                } else {
+                                    candidates.add(candidate);
                                 }
                             }
                         } catch (Exception e) {
-                            RemoteDomainConnectionService.logConnectionException(masterURI, discoveryOption, i.hasNext(), e);
+                            // The discovered candidates are still tried
+                            RemoteDomainConnectionService.logConnectionException(null, discoveryOption, i.hasNext() || !candidates.isEmpty(), e);
+                        }
+                    }
+                    for (Iterator<ReconnectCandidate> i = candidates.iterator(); i.hasNext(); ) {
+                        final ReconnectCandidate candidate = i.next();
+                        try {
+                            try {
+                                return connect(candidate.uri);
+                            } catch (IOException ioe) {
+                                // If the cause is one of the irrecoverable ones, unwrap and throw it on
+                                RemoteDomainConnectionService.rethrowIrrecoverableConnectionFailures(ioe);
+                            }
+                        } catch (Exception e) {
+                            RemoteDomainConnectionService.logConnectionException(candidate.uri, candidate.discoveryOption, i.hasNext(), e);
                         }
                     }
                     reconnectionCount++;
@@ -292,12 +314,26 @@ class RemoteDomainConnection extends FutureManagementChannel {
         });
     }
 
-    private Connection connect(RemoteDomainControllerConnectionConfiguration remoteDcConfig) throws URISyntaxException, IOException, SlaveRegistrationException {
-        URI masterURI = new URI(remoteDcConfig.getProtocol(), null, remoteDcConfig.getHost(), remoteDcConfig.getPort(), null, null, null);
+    /**
+     * A domain controller uri, together with the discovery option it was obtained from.
+     */
+    private static final class ReconnectCandidate {
+
+        private final DiscoveryOption discoveryOption;
+        private final URI uri;
+
+        private ReconnectCandidate(final DiscoveryOption discoveryOption, final URI uri) {
+            this.discoveryOption = discoveryOption;
+            this.uri = uri;
+        }
+    }
+
+    private Connection connect(URI masterURI) throws IOException, SlaveRegistrationException {
         setUri(masterURI);
         HostControllerLogger.ROOT_LOGGER.debugf("trying to reconnect to remote host-controller at %s", masterURI);
         Connection connection = connectionManager.connect();
         HostControllerLogger.ROOT_LOGGER.connectedToMaster(masterURI);
+        connectedUri = masterURI;
         return connection;
     }
 
@@ -325,6 +361,15 @@ class RemoteDomainConnection extends FutureManagementChannel {
         return callback.applyDomainModel(bootOperations);
     }
 
+    /**
+     * Gets the time the connection to the domain controller was last lost.
+     *
+     * @return the time in milliseconds, or {@code 0} if the connection was never lost
+     */
+    long getDisconnectedTime() {
+        return disconnectedTime;
+    }
+
     void registered() {
 //        schedule(new PingTask());
         callback.registrationComplete(channelHandler);
@@ -600,6 +645,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
         @Override
         public ProtocolConnectionManager.ConnectTask connectionClosed() {
             HostControllerLogger.ROOT_LOGGER.lostRemoteDomainConnection();
+            disconnectedTime = System.currentTimeMillis();
             return new ReconnectTaskWrapper(reconnect());
         }
 
@@ -629,6 +675,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
         @Override
         public ProtocolConnectionManager.ConnectTask connectionClosed() {
             HostControllerLogger.ROOT_LOGGER.lostRemoteDomainConnection();
+            disconnectedTime = System.currentTimeMillis();
             return new ReconnectTaskWrapper(reconnect());
         }
 
@@ -42,14 +42,24 @@ import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import javax.net.ssl.SSLHandshakeException;
 import javax.security.sasl.SaslException;
@@ -81,7 +91,9 @@ import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
 import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
+import org.jboss.as.domain.controller.operations.DomainModelDigests;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.controller.operations.SyncDomainModelOperationHandler;
 import org.jboss.as.domain.controller.operations.SyncServerGroupOperationHandler;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
@@ -103,9 +115,12 @@ import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
+import org.jboss.as.repository.ChunkedContentTransfer;
+import org.jboss.as.repository.ContentChunk;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.HostFileRepository;
+import org.jboss.as.repository.PathUtil;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.CannotCreateLocalDirectoryException;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.DidNotReadEntireFileException;
 import org.jboss.as.version.ProductConfig;
@@ -142,6 +157,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private static final int CONNECTION_TIMEOUT_DEFAULT = 30000;
     private static final String CONNECTION_TIMEOUT_PROPERTY = "jboss.host.domain.connection.timeout";
     private static final int CONNECTION_TIMEOUT = getSystemProperty(CONNECTION_TIMEOUT_PROPERTY, CONNECTION_TIMEOUT_DEFAULT);
+    private static final int CONCURRENT_CHUNK_FETCHES_DEFAULT = 4;
+    private static final String CONCURRENT_CHUNK_FETCHES_PROPERTY = "jboss.host.domain.content.concurrent-chunk-fetches";
+    private static final int CONCURRENT_CHUNK_FETCHES = getSystemProperty(CONCURRENT_CHUNK_FETCHES_PROPERTY, CONCURRENT_CHUNK_FETCHES_DEFAULT);
+    private static final int RESYNC_GRACE_PERIOD_DEFAULT = 60000;
+    private static final String RESYNC_GRACE_PERIOD_PROPERTY = "jboss.host.domain.resync.grace-period";
+    private static final int RESYNC_GRACE_PERIOD = getSystemProperty(RESYNC_GRACE_PERIOD_PROPERTY, RESYNC_GRACE_PERIOD_DEFAULT);
 
     //private static final ModelNode APPLY_EXTENSIONS = new ModelNode();
     private static final ModelNode APPLY_DOMAIN_MODEL = new ModelNode();
@@ -196,6 +217,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    /** The domain model the digests sent to the master were computed from, {@code null} if none were sent */
+    private volatile Resource digestedDomainModel;
+    /** The addresses of the resources the digests sent to the master were computed for, {@code null} if none were sent */
+    private volatile Set<String> digestedAddresses;
+    /** Set if the resources the master reported as unchanged could not be resolved, in which case no digests are sent */
+    private volatile boolean completeDomainModelRequired;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -531,7 +558,19 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final Resource domainModel = ReadRootResourceHandler.grabDomainResource(operationExecutor);
+                    final ModelNode info = createLocalHostInfo(domainModel);
+                    if (completeDomainModelRequired) {
+                        digestedDomainModel = null;
+                        digestedAddresses = null;
+                    } else {
+                        // let the master only send the domain resources we do not already have
+                        final ModelNode digests = DomainModelDigests.describe(domainModel);
+                        info.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGESTS).set(digests);
+                        digestedDomainModel = domainModel;
+                        digestedAddresses = new HashSet<>(digests.keys());
+                    }
+                    return info;
                 }
 
                 @Override
@@ -541,9 +580,37 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
                 @Override
                 public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                    // Resolve the resources the master reported as unchanged against the model the digests were computed from
+                    final Resource digested = digestedDomainModel;
+                    final Set<String> addresses = digestedAddresses;
+                    digestedDomainModel = null;
+                    digestedAddresses = null;
+                    // Skip the synchronization if we got back shortly and none of our domain resources changed meanwhile
+                    final RemoteDomainConnection current = RemoteDomainConnectionService.this.connection;
+                    final long disconnected = current == null ? 0 : current.getDisconnectedTime();
+                    final long elapsed = System.currentTimeMillis() - disconnected;
+                    if (disconnected > 0 && elapsed <= RESYNC_GRACE_PERIOD && addresses != null
+                            && ReadMasterDomainModelUtil.isUnchanged(bootOperations, addresses)) {
+                        HostControllerLogger.ROOT_LOGGER.domainModelUnchangedSinceDisconnect(elapsed);
+                        completeDomainModelRequired = false;
+                        return true;
+                    }
+                    if (!ReadMasterDomainModelUtil.resolveUnchangedResources(bootOperations, digested)) {
+                        HostControllerLogger.ROOT_LOGGER.unchangedDomainResourcesMismatch();
+                        completeDomainModelRequired = true;
+                        return false;
+                    }
                     // Apply the model..
-                    final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo());
-                    return applyRemoteDomainModel(bootOperations, info);
+                    final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo(ReadRootResourceHandler.grabDomainResource(operationExecutor)));
+                    final boolean applied = applyRemoteDomainModel(bootOperations, info);
+                    if (applied) {
+                        completeDomainModelRequired = false;
+                    }
+                    return applied;
+                }
+
+                private ModelNode createLocalHostInfo(final Resource domainModel) {
+                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, domainModel.getChildren(HOST).iterator().next());
                 }
 
                 @Override
@@ -703,11 +770,23 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         private final byte rootId;
         private final String filePath;
         private final HostFileRepository localFileRepository;
+        private final File targetPath;
 
         private GetFileRequest(final byte rootId, final String filePath, final HostFileRepository localFileRepository) {
             this.rootId = rootId;
             this.filePath = filePath;
             this.localFileRepository = localFileRepository;
+            this.targetPath = null;
+        }
+
+        /**
+         * Creates a request for a deployment chunk or chunk manifest, written to the given directory.
+         */
+        private GetFileRequest(final byte rootId, final String filePath, final File targetPath) {
+            this.rootId = rootId;
+            this.filePath = filePath;
+            this.localFileRepository = null;
+            this.targetPath = targetPath;
         }
 
         @Override
@@ -739,6 +818,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     localPath = localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
                     break;
                 }
+                case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS:
+                case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNK: {
+                    localPath = targetPath;
+                    break;
+                }
                 default: {
                     localPath = null;
                 }
@@ -804,14 +888,72 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository);
     }
 
-    private final RemoteFileRepositoryExecutor remoteFileRepositoryExecutor = new RemoteFileRepositoryExecutor() {
-        public File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository) {
-            if(connection.isConnected()) {
+    /**
+     * Runs a single request at a time for a file of a repository, concurrent requests of this host for the same file
+     * waiting for the request in progress and receiving its result. Each host still requests the file from the domain
+     * controller itself.
+     */
+    static final class SharedFileRequests {
+
+        /** The file requests currently in progress, keyed by repository id and path */
+        private final ConcurrentMap<String, CompletableFuture<File>> pendingRequests = new ConcurrentHashMap<>();
+
+        File getFile(final String relativePath, final byte repoId, final Callable<File> request) {
+            return getFile(relativePath, repoId, () -> null, request);
+        }
+
+        /**
+         * Gets a file, unless it is available locally.
+         *
+         * @param localFile provides the local file, or {@code null} if it must be requested. It is only called while
+         *                  no request for the file is in progress, so a file received by a request that just completed
+         *                  is never requested again.
+         * @param request requests the file.
+         */
+        File getFile(final String relativePath, final byte repoId, final Supplier<File> localFile, final Callable<File> request) {
+            final String key = repoId + ":" + relativePath;
+            final CompletableFuture<File> result = new CompletableFuture<>();
+            final File[] local = new File[1];
+            final CompletableFuture<File> pending = pendingRequests.computeIfAbsent(key, k -> {
+                local[0] = localFile.get();
+                return local[0] == null ? result : null;
+            });
+            if (pending == null) {
+                return local[0];
+            }
+            if (pending != result) {
                 try {
-                    return handler.executeRequest(new GetFileRequest(repoId, relativePath, localFileRepository), null).getResult().get();
-                } catch (Exception e) {
+                    return pending.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                     throw HostControllerLogger.ROOT_LOGGER.failedToGetFileFromRemoteRepository(e);
+                } catch (ExecutionException e) {
+                    throw HostControllerLogger.ROOT_LOGGER.failedToGetFileFromRemoteRepository(e.getCause());
                 }
+            }
+            try {
+                final File file = request.call();
+                result.complete(file);
+                return file;
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+                throw HostControllerLogger.ROOT_LOGGER.failedToGetFileFromRemoteRepository(e);
+            } finally {
+                pendingRequests.remove(key, result);
+            }
+        }
+    }
+
+    private final RemoteFileRepositoryExecutor remoteFileRepositoryExecutor = new RemoteFileRepositoryExecutor() {
+
+        private final SharedFileRequests fileRequests = new SharedFileRequests();
+
+        public File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository) {
+            if(connection.isConnected()) {
+                // Servers of this host starting concurrently typically request the same content; send a
+                // single request to the domain controller and hand its result to all of them
+                return fileRequests.getFile(relativePath, repoId, () -> getLocalFile(relativePath, repoId, localFileRepository),
+                        () -> fetchFile(relativePath, repoId, localFileRepository));
             } else {
                 final File file = localFileRepository.getFile(relativePath);
                 // using --cached-dc and the DC is unavailable, make sure the content exists locally.
@@ -823,6 +965,63 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 return file;
             }
         }
+
+        /**
+         * Gets deployment content already available locally, other files being requested from the domain controller
+         * every time.
+         */
+        private File getLocalFile(final String relativePath, final byte repoId, final HostFileRepository localFileRepository) {
+            if (repoId == DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT) {
+                final File root = localFileRepository.getDeploymentRoot(new ContentReference(relativePath, HashUtil.hexStringToByteArray(relativePath)));
+                if (root.exists()) {
+                    return root;
+                }
+            }
+            return null;
+        }
+
+        private File fetchFile(final String relativePath, final byte repoId, final HostFileRepository localFileRepository) throws Exception {
+            if (repoId == DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT) {
+                final File root = fetchDeploymentChunks(relativePath, localFileRepository);
+                if (root != null) {
+                    return root;
+                }
+            }
+            return handler.executeRequest(new GetFileRequest(repoId, relativePath, localFileRepository), null).getResult().get();
+        }
+
+        /**
+         * Fetches deployment content as its chunks. The chunks the content repository already holds as part of other
+         * content are copied from it, and the others are fetched as ranges of consecutive chunks, several at a time,
+         * so that an interrupted transfer resumes with the chunks that are still missing rather than from the start.
+         *
+         * @return the deployment root, or {@code null} if the domain controller does not provide the content as chunks
+         */
+        private File fetchDeploymentChunks(final String hexHash, final HostFileRepository localFileRepository) throws Exception {
+            final byte[] hash = HashUtil.hexStringToByteArray(hexHash);
+            final File root = localFileRepository.getDeploymentRoot(new ContentReference(hexHash, hash));
+            final Path manifestDir = Files.createTempDirectory(tempDir.toPath(), ContentChunk.class.getSimpleName());
+            final List<ContentChunk> chunks;
+            try {
+                handler.executeRequest(new GetFileRequest(DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS, hexHash, manifestDir.toFile()), null).getResult().get();
+                chunks = ChunkedContentTransfer.readChunkManifest(manifestDir.resolve(ChunkedContentTransfer.CHUNK_FILE_NAME).toFile());
+            } catch (ExecutionException e) {
+                // a domain controller that does not know about chunks
+                HostControllerLogger.ROOT_LOGGER.debugf(e, "Cannot get the chunks of %s", hexHash);
+                return null;
+            } finally {
+                PathUtil.deleteRecursively(manifestDir);
+            }
+            if (chunks.isEmpty()) {
+                // exploded content, or the domain controller is still computing the chunks
+                return null;
+            }
+            ChunkedContentTransfer.transfer(contentRepository, ChunkedContentTransfer.getStagingDirectory(root), hash, chunks,
+                    (offset, length, directory) -> handler.executeRequest(new GetFileRequest(DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNK,
+                            ChunkedContentTransfer.getRangePath(hexHash, offset, length), directory), null).getResult(),
+                    CONCURRENT_CHUNK_FETCHES);
+            return root;
+        }
     };
 
     private void setupHandler() {
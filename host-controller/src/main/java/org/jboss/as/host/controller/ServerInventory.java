@@ -85,6 +85,26 @@ public interface ServerInventory {
      */
     ServerStatus determineServerStatus(final String serverName);
 
+    /**
+     * Get the process state last reported by the server with the given name, without contacting the server.
+     *
+     * @param serverName  the server name. Cannot be {@code null}
+     *
+     * @return the state, as reported by the server's {@code server-state} attribute, or {@code null} if the server
+     *         is not started or did not report its state over its current connection
+     */
+    String getServerState(final String serverName);
+
+    /**
+     * Get the time the last boot of the server with the given name took, from the request to start it until it
+     * reported being started.
+     *
+     * @param serverName  the server name. Cannot be {@code null}
+     *
+     * @return the time in ms, or {@code -1} if the server was not started by this host controller
+     */
+    long getServerBootTime(final String serverName);
+
     /**
      * Start the server with the given name. Note that returning from this method does not mean the server
      * is completely started; it usually will only be in the process of starting, having received all startup instructions.
@@ -106,6 +126,19 @@ public interface ServerInventory {
      */
     ServerStatus startServer(String serverName, ModelNode domainModel, boolean blocking, boolean suspend);
 
+    /**
+     * Start the servers with the given names. The servers with a {@code start-order} are started first, in ascending
+     * order, followed by the others in the order they are configured. Once the configured number of servers is booting
+     * the next server is only started when one of them has started, failed or exceeded its boot time budget. Failures
+     * to start a server are logged and do not prevent starting the remaining servers.
+     *
+     * @param serverNames the names of the servers, in the order they are configured
+     * @param domainModel the configuration model for the domain
+     * @param blocking whether to block until all the servers are started
+     * @param suspend If the servers should start suspended
+     */
+    void startServers(List<String> serverNames, ModelNode domainModel, boolean blocking, boolean suspend);
+
     /**
      * Restart the server with the given name. Note that returning from this method does not mean the server
      * is completely started; it usually will only be in the process of starting, having received all startup instructions.
@@ -254,6 +287,14 @@ public interface ServerInventory {
      */
     void serverUnstable(String serverProcessName);
 
+    /**
+     * Notification that the process state of a server changed.
+     *
+     * @param serverProcessName the name of the server process
+     * @param state the new state, as reported by the server's {@code server-state} attribute
+     */
+    void serverStateChanged(String serverProcessName, String state);
+
     /**
      * Notification that a server has stopped.
      *
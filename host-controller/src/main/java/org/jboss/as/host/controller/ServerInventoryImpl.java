@@ -24,6 +24,7 @@ package org.jboss.as.host.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
 import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
 
 import java.io.IOException;
@@ -45,6 +46,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -108,6 +110,7 @@ public class ServerInventoryImpl implements ServerInventory {
     private final URI managementURI;
     private final DomainController domainController;
     private final ExtensionRegistry extensionRegistry;
+    private final ServerStartScheduler startScheduler;
 
     private volatile boolean shutdown;
     private volatile boolean connectionFinished;
@@ -119,12 +122,14 @@ public class ServerInventoryImpl implements ServerInventory {
     private final Object shutdownCondition = new Object();
 
     ServerInventoryImpl(final DomainController domainController, final HostControllerEnvironment environment, final URI managementURI,
-                        final ProcessControllerClient processControllerClient, final ExtensionRegistry extensionRegistry) {
+                        final ProcessControllerClient processControllerClient, final ExtensionRegistry extensionRegistry,
+                        final Executor executor) {
         this.domainController = domainController;
         this.environment = environment;
         this.managementURI = managementURI;
         this.processControllerClient = processControllerClient;
         this.extensionRegistry = extensionRegistry;
+        this.startScheduler = new ServerStartScheduler(executor);
     }
 
     @Override
@@ -179,6 +184,18 @@ public class ServerInventoryImpl implements ServerInventory {
         return server.getState();
     }
 
+    @Override
+    public String getServerState(final String serverName) {
+        final ManagedServer server = servers.get(serverName);
+        return server == null ? null : server.getServerState();
+    }
+
+    @Override
+    public long getServerBootTime(final String serverName) {
+        final ManagedServer server = servers.get(serverName);
+        return server == null ? -1 : server.getBootTime();
+    }
+
     @Override
     public ServerStatus startServer(final String serverName, final ModelNode domainModel) {
         return startServer(serverName, domainModel, false, false);
@@ -227,6 +244,30 @@ public class ServerInventoryImpl implements ServerInventory {
         return server.getState();
     }
 
+    @Override
+    public void startServers(final List<String> serverNames, final ModelNode domainModel, final boolean blocking, final boolean suspend) {
+        final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
+        final ModelNode serverConfigs = domainModel.require(HOST).require(hostControllerName).get(SERVER_CONFIG);
+        final List<String> ordered = ServerStartScheduler.order(serverNames, serverConfigs, domainController.getExpressionResolver());
+        startScheduler.startServers(ordered, new ServerStartScheduler.ServerStarter() {
+            @Override
+            public void startServer(final String serverName, final Runnable booted) {
+                ServerInventoryImpl.this.startServer(serverName, domainModel, false, suspend);
+                final ManagedServer server = servers.get(serverName);
+                if (server != null) {
+                    server.whenBooted(booted);
+                } else {
+                    booted.run();
+                }
+            }
+
+            @Override
+            public void awaitServersStarted(final List<String> serverNames) {
+                awaitServersState(serverNames, true);
+            }
+        }, blocking);
+    }
+
     @Override
     public ServerStatus restartServer(final String serverName, final int gracefulTimeout, final ModelNode domainModel) {
         return restartServer(serverName, gracefulTimeout, domainModel, false, false);
@@ -703,6 +744,15 @@ public class ServerInventoryImpl implements ServerInventory {
         }
     }
 
+    @Override
+    public void serverStateChanged(final String serverProcessName, final String state) {
+        final String serverName = ManagedServer.getServerName(serverProcessName);
+        final ManagedServer server = servers.get(serverName);
+        if (server != null) {
+            server.serverStateChanged(state);
+        }
+    }
+
     @Override
     public void serverProcessRemoved(final String serverProcessName) {
         final String serverName = ManagedServer.getServerName(serverProcessName);
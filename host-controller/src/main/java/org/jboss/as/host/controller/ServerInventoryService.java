@@ -109,7 +109,8 @@ class ServerInventoryService implements Service<ServerInventory> {
         try {
             final ProcessControllerConnectionService processControllerConnectionService = client.getValue();
             URI managementURI = new URI(protocol, null, NetworkUtils.formatAddress(getNonWildCardManagementAddress()), port, null, null, null);
-            serverInventory = new ServerInventoryImpl(domainController, environment, managementURI, processControllerConnectionService.getClient(), extensionRegistry);
+            serverInventory = new ServerInventoryImpl(domainController, environment, managementURI, processControllerConnectionService.getClient(), extensionRegistry,
+                    executorService.getValue());
             processControllerConnectionService.setServerInventory(serverInventory);
             serverCallback.getValue().setCallbackHandler(serverInventory.getServerCallbackHandler());
             if (domainServerCallback != null && domainServerCallback.getValue() != null) {
@@ -0,0 +1,235 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.host.controller.operations.StartServersHandler;
+import org.jboss.as.host.controller.resources.ServerConfigResourceDefinition;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Starts servers of this host, bounding the number of servers which are booting at the same time.
+ * <p>
+ * Each booting server holds one of {@link #MAX_CONCURRENT} slots of the host, which it releases as soon as it has
+ * started, has failed or is no longer required to start, or once it has exceeded its {@link #BOOT_BUDGET}. The next
+ * server is admitted as soon as any slot is released, whichever server it belongs to. Without a limit all servers are
+ * started at once, as they always were.
+ */
+final class ServerStartScheduler {
+
+    /** The maximum number of servers booting at the same time, {@code 0} for no limit. */
+    static final String MAX_CONCURRENT = "org.jboss.as.host.start.servers.max-concurrent";
+    /** The time in ms a booting server holds its slot before the next server is admitted anyway. */
+    static final String BOOT_BUDGET = "org.jboss.as.host.start.servers.boot-budget";
+
+    private static final long DEFAULT_BOOT_BUDGET = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Starts the servers admitted by the scheduler.
+     */
+    interface ServerStarter {
+
+        /**
+         * Starts a server.
+         *
+         * @param serverName the name of the server
+         * @param booted to run once the server is done booting, whether it started or not
+         * @throws Exception if the server could not be started, in which case {@code booted} is not run
+         */
+        void startServer(String serverName, Runnable booted) throws Exception;
+
+        /**
+         * Blocks until the given servers are started.
+         *
+         * @param serverNames the names of the servers
+         */
+        void awaitServersStarted(List<String> serverNames);
+    }
+
+    private final Executor executor;
+    private final int maxConcurrent;
+    private final long bootBudget;
+    private final Semaphore slots;
+    private final Queue<Slot> booting = new ConcurrentLinkedQueue<>();
+
+    ServerStartScheduler(final Executor executor) {
+        // Starting servers sequentially is a limit of one booting server
+        this(executor, getProperty(MAX_CONCURRENT, StartServersHandler.START_BLOCKING ? 1 : 0), getProperty(BOOT_BUDGET, DEFAULT_BOOT_BUDGET));
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param executor the executor starting the servers in the background
+     * @param maxConcurrent the maximum number of servers booting at the same time, {@code 0} or less for no limit
+     * @param bootBudget the time in ms a booting server holds its slot, {@code 0} or less to hold it until it booted
+     */
+    ServerStartScheduler(final Executor executor, final int maxConcurrent, final long bootBudget) {
+        this.executor = executor;
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Integer.MAX_VALUE;
+        this.bootBudget = bootBudget;
+        this.slots = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Starts the given servers. Failures to start a server are logged and do not prevent starting the remaining
+     * servers.
+     *
+     * @param serverNames the names of the servers, in the order they are to be started
+     * @param starter starts the servers
+     * @param blocking whether to block until all the servers are started
+     */
+    void startServers(final List<String> serverNames, final ServerStarter starter, final boolean blocking) {
+        if (blocking || serverNames.size() <= slots.availablePermits()) {
+            admit(serverNames, starter, blocking);
+        } else {
+            // Admit the servers in the background rather than holding up the calling operation
+            executor.execute(() -> admit(serverNames, starter, false));
+        }
+    }
+
+    /**
+     * Orders servers by their {@code start-order}, followed by the servers without one in their given order.
+     *
+     * @param serverNames the names of the servers, in the order they are configured
+     * @param serverConfigs the {@code server-config} resources of the host
+     * @param resolver the resolver of the expressions of the {@code start-order} attribute
+     * @return the names of the servers, in the order they are to be started
+     */
+    static List<String> order(final List<String> serverNames, final ModelNode serverConfigs, final ExpressionResolver resolver) {
+        final List<String> ordered = new ArrayList<>(serverNames);
+        // The sort is stable, so servers with the same or no start order keep their configured order
+        ordered.sort(Comparator.comparingInt(serverName -> {
+            if (serverConfigs.hasDefined(serverName)) {
+                try {
+                    final ModelNode startOrder = ServerConfigResourceDefinition.START_ORDER.resolveModelAttribute(resolver, serverConfigs.get(serverName));
+                    if (startOrder.isDefined()) {
+                        return startOrder.asInt();
+                    }
+                } catch (OperationFailedException e) {
+                    ROOT_LOGGER.debugf(e, "Cannot resolve the start order of server %s", serverName);
+                }
+            }
+            return Integer.MAX_VALUE;
+        }));
+        return ordered;
+    }
+
+    private void admit(final List<String> serverNames, final ServerStarter starter, final boolean await) {
+        final List<String> started = new ArrayList<>();
+        for (String serverName : serverNames) {
+            final long waitStart = System.nanoTime();
+            try {
+                acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            ROOT_LOGGER.debugf("Server %s waited %d ms to be admitted to boot", serverName,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart));
+            final Slot slot = new Slot();
+            booting.add(slot);
+            try {
+                starter.startServer(serverName, slot::release);
+                started.add(serverName);
+            } catch (Exception e) {
+                slot.release();
+                ROOT_LOGGER.failedToStartServer(e, serverName);
+            }
+        }
+        if (await) {
+            starter.awaitServersStarted(started);
+        }
+    }
+
+    /**
+     * Acquires a slot, releasing the slots of the servers exceeding their boot budget while waiting.
+     */
+    private void acquire() throws InterruptedException {
+        if (bootBudget <= 0) {
+            slots.acquire();
+            return;
+        }
+        long timeout = bootBudget;
+        while (!slots.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+            timeout = bootBudget;
+            final long now = System.nanoTime();
+            for (Slot slot : booting) {
+                final long remaining = bootBudget - TimeUnit.NANOSECONDS.toMillis(now - slot.admitted);
+                if (remaining <= 0) {
+                    slot.release();
+                } else {
+                    timeout = Math.min(timeout, remaining);
+                }
+            }
+        }
+    }
+
+    private static int getProperty(final String name, final int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long getProperty(final String name, final long defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * The slot held by a booting server, which is released once, whichever of the server booting or its budget
+     * running out comes first.
+     */
+    private final class Slot {
+        private final long admitted = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                booting.remove(this);
+                slots.release();
+            }
+        }
+    }
+}
@@ -1461,4 +1461,18 @@ public interface HostControllerLogger extends BasicLogger {
     @Message(id = 216, value = "The module option %s is not allowed.")
     OperationFailedException moduleOptionNotAllowed(String option);
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 217, value = "The domain resources the master host controller reported as unchanged do not match the local domain model, " +
+            "the complete domain model will be requested")
+    void unchangedDomainResourcesMismatch();
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 218, value = "Server %s started in %d ms")
+    void serverBootTime(String serverName, long time);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 219, value = "The domain model did not change since the connection to the master host controller was lost %d ms ago, " +
+            "skipping its synchronization")
+    void domainModelUnchangedSinceDisconnect(long elapsed);
+
 }
@@ -46,6 +46,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -55,6 +56,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.as.domain.controller.operations.DomainModelDigests;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.host.controller.IgnoredNonAffectedServerGroupsUtil;
 import org.jboss.as.host.controller.IgnoredNonAffectedServerGroupsUtil.ServerConfigInfo;
@@ -73,6 +75,8 @@ import org.jboss.dmr.Property;
  */
 public class HostInfo implements Transformers.ResourceIgnoredTransformationRegistry, Transformers.OperationExcludedTransformationRegistry {
 
+    private static final String DOMAIN_IGNORED_EXTENSIONS_KEY = "domain-ignored-extensions";
+
     /**
      * Create the metadata which gets send to the DC when registering.
      *
@@ -130,6 +134,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final Set<ServerConfigInfo> serverConfigInfos;
     private final Set<String> domainIgnoredExtensions;
     private final boolean hostDeclaredIgnoreUnaffected;
+    private final ModelNode ignoredResourcesKey;
+    private volatile Map<String, String> domainModelDigests;
     // GuardedBy this
     private ReadMasterDomainModelUtil.RequiredConfigurationHolder requiredConfigurationHolder;
 
@@ -163,6 +169,7 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         this.domainIgnoredExtensions = domainIgnoredExtensions;
 
         ignoredResources = createIgnoredRegistry(hostInfo, domainIgnoredExtensions);
+        ignoredResourcesKey = createIgnoredResourcesKey(hostInfo, domainIgnoredExtensions);
 
         hostDeclaredIgnoreUnaffected = hostInfo.hasDefined(IGNORE_UNUSED_CONFIG) && hostInfo.get(IGNORE_UNUSED_CONFIG).asBoolean();
         ignoreUnaffectedConfig = hostDeclaredIgnoreUnaffected || (domainActiveServerGroups != null && !domainActiveServerGroups.isEmpty());
@@ -179,6 +186,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
             serverConfigInfos = Collections.emptySet();
         }
         this.serverConfigInfos = serverConfigInfos;
+        domainModelDigests = hostInfo.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGESTS)
+                ? DomainModelDigests.fromModelNode(hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGESTS)) : Collections.emptyMap();
     }
 
     public String getHostName() {
@@ -217,6 +226,27 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets a description of the resources ignored by the slave, equal for all the hosts ignoring the same resources.
+     *
+     * @return the description
+     */
+    public ModelNode getIgnoredResourcesKey() {
+        return ignoredResourcesKey;
+    }
+
+    /**
+     * Gets the digests of the domain resources the slave already has, and releases them as they are only needed
+     * to describe the domain model the slave registers with.
+     *
+     * @return the digests keyed by the CLI style address of the resources, empty if the slave did not provide any
+     */
+    public Map<String, String> takeDomainModelDigests() {
+        final Map<String, String> digests = domainModelDigests;
+        domainModelDigests = Collections.emptyMap();
+        return digests;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
@@ -341,6 +371,36 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         };
     }
 
+    private static ModelNode createIgnoredResourcesKey(final ModelNode hostInfo, final Set<String> domainIgnoredExtensions) {
+        final ModelNode key = new ModelNode();
+        if (hostInfo.hasDefined(IGNORED_RESOURCES)) {
+            for (Property prop : hostInfo.require(IGNORED_RESOURCES).asPropertyList()) {
+                final ModelNode ignoredModel = prop.getValue();
+                if (ignoredModel.get(WILDCARD).asBoolean(false)) {
+                    key.get(prop.getName()).set(WILDCARD);
+                } else {
+                    final Set<String> names = new TreeSet<>();
+                    if (ignoredModel.hasDefined(NAMES)) {
+                        for (ModelNode name : ignoredModel.get(NAMES).asList()) {
+                            names.add(name.asString());
+                        }
+                    }
+                    final ModelNode list = key.get(prop.getName()).setEmptyList();
+                    for (String name : names) {
+                        list.add(name);
+                    }
+                }
+            }
+        }
+        if (domainIgnoredExtensions != null && !domainIgnoredExtensions.isEmpty()) {
+            final ModelNode list = key.get(DOMAIN_IGNORED_EXTENSIONS_KEY).setEmptyList();
+            for (String extension : new TreeSet<>(domainIgnoredExtensions)) {
+                list.add(extension);
+            }
+        }
+        return key;
+    }
+
     private static Map<String, IgnoredType> processIgnoredResource(final ModelNode model, Set<String> domainIgnoredExtensions) {
         Map<String, IgnoredType> ignoredResources = null;
         if (model.hasDefined(IGNORED_RESOURCES)) {
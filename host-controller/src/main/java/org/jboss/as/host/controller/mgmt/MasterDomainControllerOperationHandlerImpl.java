@@ -23,7 +23,10 @@ import static org.jboss.as.process.protocol.ProtocolUtils.expectHeader;
 import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.jboss.as.controller.HashUtil;
 import org.jboss.as.domain.controller.DomainController;
@@ -39,8 +42,10 @@ import org.jboss.as.protocol.mgmt.ManagementRequestHandlerFactory;
 import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
+import org.jboss.as.repository.ChunkedContentTransfer;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.HostFileRepository;
+import org.jboss.as.repository.RemoteFileRequestAndHandler.FileRange;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.RootFileReader;
 
 /**
@@ -52,6 +57,8 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
 
     private final DomainController domainController;
     private final Executor asyncExecutor;
+    /** The content whose chunk manifest is being computed, keyed by hash */
+    private final Set<String> pendingChunkManifests = ConcurrentHashMap.newKeySet();
 
     public MasterDomainControllerOperationHandlerImpl(final DomainController domainController, final Executor asyncExecutor) {
         this.domainController = domainController;
@@ -115,17 +122,65 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
                             byte[] hash = HashUtil.hexStringToByteArray(filePath);
                             return localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
                         }
+                        case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS:
+                        case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNK: {
+                            // not found, the content is exploded or the chunk is invalid
+                            return null;
+                        }
                         default: {
                             throw HostControllerLogger.ROOT_LOGGER.invalidRootId(rootId);
                         }
                     }
                 }
+
+                @Override
+                public FileRange readRootFileRange(byte rootId, String filePath) throws RequestProcessingException {
+                    final HostFileRepository localFileRepository = domainController.getLocalFileRepository();
+
+                    switch (rootId) {
+                        case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS: {
+                            final FileRange manifest = ChunkedContentTransfer.getChunkManifestRange(localFileRepository, filePath);
+                            if (manifest == null) {
+                                computeChunkManifest(localFileRepository, filePath);
+                            }
+                            return manifest;
+                        }
+                        case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNK: {
+                            return ChunkedContentTransfer.getRange(localFileRepository, filePath);
+                        }
+                        default: {
+                            return null;
+                        }
+                    }
+                }
             };
 
             remoteSupport.handleRequest(input, reader, resultHandler, context);
         }
     }
 
+    /**
+     * Computes the chunk manifest of deployment content in the background. The slave host fetches the content as a
+     * single stream in the meantime, and as chunks once the manifest is available.
+     */
+    private void computeChunkManifest(final HostFileRepository localFileRepository, final String hexHash) {
+        if (pendingChunkManifests.add(hexHash)) {
+            try {
+                asyncExecutor.execute(() -> {
+                    try {
+                        ChunkedContentTransfer.computeChunkManifest(localFileRepository, hexHash);
+                    } catch (IOException e) {
+                        DomainControllerLogger.ROOT_LOGGER.debugf(e, "Cannot compute the chunks of %s", hexHash);
+                    } finally {
+                        pendingChunkManifests.remove(hexHash);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pendingChunkManifests.remove(hexHash);
+            }
+        }
+    }
+
     abstract static class AbstractHostRequestHandler implements ManagementRequestHandler<Void, Void> {
 
         abstract void handleRequest(final String hostId, DataInput input, ActiveOperation.ResultHandler<Void> resultHandler, ManagementRequestContext<Void> context) throws IOException;
@@ -0,0 +1,265 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.host.controller.mgmt;
+
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Phi accrual failure detector deciding how long to wait for the response to a ping request, based on the round trip
+ * times observed for the previous pings of the same connection.
+ * <p>
+ * The round trip times of the last pings are assumed to be normally distributed. The suspicion level {@code phi} of a
+ * pending ping is {@code -log10} of the probability that a response still arrives after the time elapsed so far, and
+ * the ping times out once {@code phi} reaches the configured threshold. A margin for pauses, such as garbage collection
+ * pauses of the remote process, is added to the mean round trip time. The resulting timeout is kept between a lower and
+ * an upper bound, and the fixed timeout is used until enough round trip times were observed.
+ * <p>
+ * Unless configured with {@code jboss.as.domain.ping.min-timeout}, the lower bound is derived from the observed round
+ * trip times: the largest of the last round trip times plus the acceptable pause, but never less than 10 seconds nor
+ * more than the fixed timeout. Steady round trip times thus detect an unresponsive host sooner than the fixed timeout,
+ * while erratic ones extend the time to wait for a response.
+ */
+public final class PingFailureDetector {
+
+    public static final String SAMPLES = "samples";
+    public static final String LAST = "last";
+    public static final String MIN = "min";
+    public static final String MAX = "max";
+    public static final String MEAN = "mean";
+    public static final String STANDARD_DEVIATION = "standard-deviation";
+    public static final String TIMEOUT = "timeout";
+
+    private static final double PHI_THRESHOLD;
+    private static final long ACCEPTABLE_PAUSE;
+    private static final long MIN_TIMEOUT;
+    private static final long MAX_TIMEOUT;
+
+    /** The number of round trip times the distribution is estimated from */
+    private static final int WINDOW_SIZE = 100;
+    /** The number of round trip times required before the timeout is adapted */
+    private static final int MIN_SAMPLES = 5;
+    /** Keeps a steady round trip time from resulting in a timeout barely above the mean */
+    private static final double MIN_STANDARD_DEVIATION = 100;
+    /** The floor of the lower bound derived from the round trip times, the shortest fixed timeout used for pings */
+    static final long DEFAULT_MIN_TIMEOUT = 10000;
+
+    static {
+        double threshold = 8;
+        try {
+            threshold = Double.parseDouble(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.ping.phi-threshold", "8"));
+        } catch (Exception e) {
+            // ignore, use the default
+        } finally {
+            // a threshold of 0 or less disables the adaptive timeout
+            PHI_THRESHOLD = Double.isNaN(threshold) ? 8 : threshold;
+        }
+        long pause = -1;
+        try {
+            pause = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.ping.acceptable-pause", "5000"));
+        } catch (Exception e) {
+            // ignore, use the default
+        } finally {
+            ACCEPTABLE_PAUSE = pause >= 0 ? pause : 5000;
+        }
+        long min = -1;
+        try {
+            min = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.ping.min-timeout", "-1"));
+        } catch (Exception e) {
+            // ignore, use the default
+        } finally {
+            MIN_TIMEOUT = min;
+        }
+        long max = -1;
+        try {
+            max = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.ping.max-timeout", "-1"));
+        } catch (Exception e) {
+            // ignore, use the default
+        } finally {
+            MAX_TIMEOUT = max;
+        }
+    }
+
+    private final double threshold;
+    private final long acceptablePause;
+    private final long minTimeout;
+    private final long maxTimeout;
+
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int count;
+    private int next;
+    private long last = -1;
+    private long min = -1;
+    private long max = -1;
+
+    /**
+     * Creates a failure detector using the configured threshold and bounds.
+     *
+     * @param timeout the standard fixed ping timeout, in milliseconds. Unless configured otherwise the timeout is not
+     *                adapted above twice this
+     */
+    public PingFailureDetector(final long timeout) {
+        this(PHI_THRESHOLD, ACCEPTABLE_PAUSE, MIN_TIMEOUT, MAX_TIMEOUT > 0 ? MAX_TIMEOUT : 2 * timeout);
+    }
+
+    /**
+     * Creates a failure detector.
+     *
+     * @param threshold the suspicion level at which a ping times out, {@code 0} or less to use the fixed timeouts
+     * @param acceptablePause the margin added to the mean round trip time, in milliseconds
+     * @param minTimeout the lower bound of the timeout, in milliseconds, or {@code 0} or less to derive it from the
+     *                   observed round trip times, within {@link #DEFAULT_MIN_TIMEOUT} and the fixed timeout passed to
+     *                   {@link #getTimeout(long)}
+     * @param maxTimeout the upper bound of the timeout, in milliseconds
+     */
+    PingFailureDetector(final double threshold, final long acceptablePause, final long minTimeout, final long maxTimeout) {
+        this.threshold = threshold;
+        this.acceptablePause = acceptablePause;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * Records the round trip time of a ping.
+     *
+     * @param roundTripTime the round trip time, in milliseconds
+     */
+    public synchronized void record(final long roundTripTime) {
+        samples[next] = roundTripTime;
+        next = (next + 1) % WINDOW_SIZE;
+        if (count < WINDOW_SIZE) {
+            count++;
+        }
+        last = roundTripTime;
+        if (min < 0 || roundTripTime < min) {
+            min = roundTripTime;
+        }
+        if (roundTripTime > max) {
+            max = roundTripTime;
+        }
+    }
+
+    /**
+     * Gets the suspicion level of a ping pending since the given time.
+     *
+     * @param elapsed the time elapsed since the ping was sent, in milliseconds
+     * @return the suspicion level, or {@code 0} if not enough round trip times were observed
+     */
+    public synchronized double phi(final long elapsed) {
+        if (count < MIN_SAMPLES) {
+            return 0;
+        }
+        return phi(elapsed, mean() + acceptablePause, Math.max(standardDeviation(), MIN_STANDARD_DEVIATION));
+    }
+
+    /**
+     * Gets the time to wait for the response to a ping.
+     *
+     * @param timeout the fixed timeout, in milliseconds
+     * @return the time after which the suspicion level reaches the threshold, within the bounds, or the fixed timeout
+     *         if the adaptive timeout is disabled or not enough round trip times were observed
+     */
+    public synchronized long getTimeout(final long timeout) {
+        if (threshold <= 0 || count < MIN_SAMPLES) {
+            return timeout;
+        }
+        final long lower = minTimeout > 0 ? minTimeout : Math.min(timeout, Math.max(DEFAULT_MIN_TIMEOUT, windowMax() + acceptablePause));
+        final long upper = Math.max(lower, maxTimeout);
+        final double mean = mean() + acceptablePause;
+        final double deviation = Math.max(standardDeviation(), MIN_STANDARD_DEVIATION);
+        if (phi(upper, mean, deviation) < threshold) {
+            return upper;
+        }
+        // phi increases with the elapsed time, find the first millisecond it reaches the threshold
+        long low = 0;
+        long high = upper;
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            if (phi(mid, mean, deviation) < threshold) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Math.max(lower, low);
+    }
+
+    /**
+     * Describes the observed round trip times.
+     *
+     * @param timeout the fixed timeout, in milliseconds
+     * @return an {@link org.jboss.dmr.ModelType#OBJECT} node
+     */
+    public synchronized ModelNode toModelNode(final long timeout) {
+        final ModelNode node = new ModelNode();
+        node.get(SAMPLES).set(count);
+        if (count > 0) {
+            node.get(LAST).set(last);
+            node.get(MIN).set(min);
+            node.get(MAX).set(max);
+            node.get(MEAN).set(mean());
+            node.get(STANDARD_DEVIATION).set(standardDeviation());
+        }
+        node.get(TIMEOUT).set(getTimeout(timeout));
+        return node;
+    }
+
+    private double mean() {
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += samples[i];
+        }
+        return (double) sum / count;
+    }
+
+    private long windowMax() {
+        long result = 0;
+        for (int i = 0; i < count; i++) {
+            result = Math.max(result, samples[i]);
+        }
+        return result;
+    }
+
+    private double standardDeviation() {
+        final double mean = mean();
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            final double diff = samples[i] - mean;
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum / count);
+    }
+
+    /**
+     * Computes {@code -log10} of the probability of a normally distributed value being greater than the elapsed time,
+     * using a logistic approximation of the cumulative distribution function.
+     */
+    static double phi(final long elapsed, final double mean, final double standardDeviation) {
+        final double y = (elapsed - mean) / standardDeviation;
+        final double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        } else {
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+}
@@ -130,6 +130,9 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
             case DomainServerProtocol.SERVER_INSTABILITY_REQUEST:
                 handlers.registerActiveOperation(header.getBatchId(), serverInventory);
                 return new ServerUnstableHandler(serverProcessName);
+            case DomainServerProtocol.SERVER_STATE_CHANGED_REQUEST:
+                handlers.registerActiveOperation(header.getBatchId(), serverInventory);
+                return new ServerStateChangedHandler(serverProcessName);
 
         }
         return handlers.resolveNext();
@@ -379,6 +382,29 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
         }
     }
 
+    /**
+     * Handler responsible for handling a server state change notification.
+     */
+    private class ServerStateChangedHandler implements ManagementRequestHandler<Void, ServerInventory> {
+
+        private final String serverProcessName;
+        private ServerStateChangedHandler(String serverProcessName) {
+            this.serverProcessName = serverProcessName;
+        }
+
+        @Override
+        public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<Void> resultHandler, final ManagementRequestContext<ServerInventory> context) throws IOException {
+            expectHeader(input, DomainServerProtocol.PARAM_SERVER_STATE);
+            final String state = input.readUTF();
+            try {
+                // Not executed async, so that the notifications of a server are applied in order
+                serverInventory.serverStateChanged(serverProcessName, state);
+            } finally {
+                resultHandler.done(null);
+            }
+        }
+    }
+
     protected static void safeWriteResponse(final ManagementRequestContext<?> context, final Exception error) {
         safeWriteResponse(context.getChannel(), context.getRequestHeader(), error);
     }
@@ -33,6 +33,7 @@ import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementPingRequest;
+import org.jboss.dmr.ModelNode;
 import org.jboss.remoting3.Channel;
 import org.jboss.threads.AsyncFuture;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -71,6 +72,7 @@ public class SlaveHostPinger {
     private final String hostName;
     private final ManagementChannelHandler channelHandler;
     private final ScheduledExecutorService scheduler;
+    private final PingFailureDetector failureDetector = new PingFailureDetector(STD_TIMEOUT);
 
     private volatile Long remoteConnectionID;
     private volatile boolean cancelled;
@@ -91,6 +93,15 @@ public class SlaveHostPinger {
         scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Describes the round trip times observed for the pings of the slave.
+     *
+     * @return an {@link org.jboss.dmr.ModelType#OBJECT} node
+     */
+    public ModelNode getPingStatistics() {
+        return failureDetector.toModelNode(STD_TIMEOUT);
+    }
+
     public boolean isCancelled() {
         return cancelled;
     }
@@ -114,10 +125,13 @@ public class SlaveHostPinger {
             if (!cancelled) {
                 boolean fail = false;
                 AsyncFuture<Long> future = null;
+                final long timeout = failureDetector.getTimeout(this.timeout);
                 try {
                     if (interval < 1 || System.currentTimeMillis() - channelHandler.getLastMessageReceivedTime() > interval) {
+                        final long start = System.nanoTime();
                         future = channelHandler.executeRequest(ManagementPingRequest.INSTANCE, null).getResult();
                         Long id = future.get(timeout, TimeUnit.MILLISECONDS);
+                        failureDetector.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
                         if (!cancelled && remoteConnectionID != null && !remoteConnectionID.equals(id)) {
                             HostControllerLogger.DOMAIN_LOGGER.slaveHostControllerChanged(hostName);
                             fail = true;
@@ -27,6 +27,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOS
 
 import org.jboss.as.controller.BootErrorCollector;
 import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -75,6 +76,7 @@ import static org.jboss.as.controller.services.path.PathResourceDefinition.PATH_
 import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.operations.DomainServerLifecycleHandlers;
 import org.jboss.as.domain.controller.operations.HostProcessReloadHandler;
+import org.jboss.as.domain.controller.operations.coordination.OperationPhaseStatistics;
 import org.jboss.as.domain.management.CoreManagementResourceDefinition;
 import org.jboss.as.domain.management.audit.EnvironmentNameReader;
 import org.jboss.as.host.controller.DirectoryGrouping;
@@ -215,6 +217,11 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
             .setResourceOnly()
             .build();
 
+    static final ObjectTypeAttributeDefinition HOST_OPERATION_PREPARE_TIME = LatencyHistogram.createAttributeDefinition("host-operation-prepare-time");
+    static final ObjectTypeAttributeDefinition HOST_OPERATION_COMPLETION_TIME = LatencyHistogram.createAttributeDefinition("host-operation-completion-time");
+    static final ObjectTypeAttributeDefinition SERVER_OPERATION_PREPARE_TIME = LatencyHistogram.createAttributeDefinition("server-operation-prepare-time");
+    static final ObjectTypeAttributeDefinition SERVER_OPERATION_COMPLETION_TIME = LatencyHistogram.createAttributeDefinition("server-operation-completion-time");
+
     public static final ObjectTypeAttributeDefinition DC_LOCAL = new ObjectTypeAttributeDefinition.Builder(ModelDescriptionConstants.LOCAL)
             .build();
 
@@ -344,6 +351,11 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         hostRegistration.registerReadOnlyAttribute(HostResourceDefinition.HOST_STATE, new ProcessStateAttributeHandler(processState));
         hostRegistration.registerReadOnlyAttribute(ServerRootResourceDefinition.RUNNING_MODE, new RunningModeReadHandler(runningModeControl));
         hostRegistration.registerReadOnlyAttribute(ServerRootResourceDefinition.SUSPEND_STATE, SuspendStateReadHandler.INSTANCE);
+
+        hostRegistration.registerMetric(HOST_OPERATION_PREPARE_TIME, (context, operation) -> context.getResult().set(OperationPhaseStatistics.HOSTS.getPrepareTime()));
+        hostRegistration.registerMetric(HOST_OPERATION_COMPLETION_TIME, (context, operation) -> context.getResult().set(OperationPhaseStatistics.HOSTS.getCompletionTime()));
+        hostRegistration.registerMetric(SERVER_OPERATION_PREPARE_TIME, (context, operation) -> context.getResult().set(OperationPhaseStatistics.SERVERS.getPrepareTime()));
+        hostRegistration.registerMetric(SERVER_OPERATION_COMPLETION_TIME, (context, operation) -> context.getResult().set(OperationPhaseStatistics.SERVERS.getCompletionTime()));
     }
 
 
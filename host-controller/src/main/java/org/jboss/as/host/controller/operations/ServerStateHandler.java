@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.operations;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.host.controller.ServerInventory;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@code OperationHandler} reading the process state of a server from the state cached by the host controller.
+ * <p>
+ * The cache is updated by the notifications the server sends whenever its process state changes, so unlike reading
+ * the {@code server-state} attribute of the {@code server} resource this does not result in a request to the server.
+ */
+public class ServerStateHandler implements OperationStepHandler {
+
+    public static final String ATTRIBUTE_NAME = "server-state";
+
+    private final ServerInventory serverInventory;
+
+    public ServerStateHandler(final ServerInventory serverInventory) {
+        this.serverInventory = serverInventory;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String serverName = context.getCurrentAddressValue();
+        final String state = serverInventory.getServerState(serverName);
+        if (state != null) {
+            context.getResult().set(state);
+        }
+    }
+
+}
@@ -22,8 +22,9 @@ package org.jboss.as.host.controller.operations;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.AUTO_START;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
-import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -120,6 +121,7 @@ public class StartServersHandler implements OperationStepHandler {
 
     private void cleanStartServers(final ModelNode servers, final ModelNode domainModel, OperationContext context) throws OperationFailedException {
         Map<String, ProcessInfo> processInfos = serverInventory.determineRunningProcesses();
+        final List<String> serversToStart = new ArrayList<>();
         for(final Property serverProp : servers.asPropertyList()) {
             String serverName = serverProp.getName();
             if (ServerConfigResourceDefinition.AUTO_START.resolveModelAttribute(context, serverProp.getValue()).asBoolean(true)) {
@@ -127,31 +129,26 @@ public class StartServersHandler implements OperationStepHandler {
                 if ( info != null ){
                     serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
                 } else {
-                    try {
-                        serverInventory.startServer(serverName, domainModel, START_BLOCKING, false);
-                    } catch (Exception e) {
-                        ROOT_LOGGER.failedToStartServer(e, serverName);
-                    }
+                    serversToStart.add(serverName);
                 }
             }
         }
+        serverInventory.startServers(serversToStart, domainModel, START_BLOCKING, false);
     }
 
     private void restartedHcStartOrReconnectServers(final ModelNode servers, final ModelNode domainModel, final OperationContext context, final boolean enabledAutoStart) {
         Map<String, ProcessInfo> processInfos = serverInventory.determineRunningProcesses();
+        final List<String> serversToStart = new ArrayList<>();
         for(final String serverName : servers.keys()) {
             ProcessInfo info = processInfos.get(serverInventory.getServerProcessName(serverName));
             boolean auto = servers.get(serverName, AUTO_START).asBoolean(true);
             if (info == null && auto && enabledAutoStart) {
-                try {
-                    serverInventory.startServer(serverName, domainModel, START_BLOCKING, false);
-                } catch (Exception e) {
-                    ROOT_LOGGER.failedToStartServer(e, serverName);
-                }
+                serversToStart.add(serverName);
             } else if (info != null){
                 // Reconnect the server using the current authKey
                 serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
             }
         }
+        serverInventory.startServers(serversToStart, domainModel, START_BLOCKING, false);
     }
 }
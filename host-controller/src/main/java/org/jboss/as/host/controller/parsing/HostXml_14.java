@@ -1302,6 +1302,10 @@ final class HostXml_14 extends CommonXml implements ManagementXmlDelegate {
                         ServerConfigResourceDefinition.UPDATE_AUTO_START_WITH_SERVER_STATUS.parseAndSetParameter(value, addUpdate, reader);
                         break;
                     }
+                    case START_ORDER: {
+                        ServerConfigResourceDefinition.START_ORDER.parseAndSetParameter(value, addUpdate, reader);
+                        break;
+                    }
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
@@ -1629,6 +1633,7 @@ final class HostXml_14 extends CommonXml implements ManagementXmlDelegate {
             ServerConfigResourceDefinition.GROUP.marshallAsAttribute(server, writer);
             ServerConfigResourceDefinition.AUTO_START.marshallAsAttribute(server, writer);
             ServerConfigResourceDefinition.UPDATE_AUTO_START_WITH_SERVER_STATUS.marshallAsAttribute(server, writer);
+            ServerConfigResourceDefinition.START_ORDER.marshallAsAttribute(server, writer);
             if (server.hasDefined(PATH)) {
                 writePaths(writer, server.get(PATH), false);
             }
@@ -52,6 +52,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.client.helpers.domain.ServerStatus;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.EnumValidator;
@@ -68,6 +69,7 @@ import org.jboss.as.host.controller.ServerInventory;
 import org.jboss.as.host.controller.descriptions.HostResolver;
 import org.jboss.as.host.controller.model.jvm.JvmResourceDefinition;
 import org.jboss.as.host.controller.operations.ServerAddHandler;
+import org.jboss.as.host.controller.operations.ServerBootTimeHandler;
 import org.jboss.as.host.controller.operations.ServerProcessHandlers;
 import org.jboss.as.host.controller.operations.ServerReloadHandler;
 import org.jboss.as.host.controller.operations.ServerRemoveHandler;
@@ -75,6 +77,7 @@ import org.jboss.as.host.controller.operations.ServerRestartHandler;
 import org.jboss.as.host.controller.operations.ServerRestartRequiredServerConfigWriteAttributeHandler;
 import org.jboss.as.host.controller.operations.ServerResumeHandler;
 import org.jboss.as.host.controller.operations.ServerStartHandler;
+import org.jboss.as.host.controller.operations.ServerStateHandler;
 import org.jboss.as.host.controller.operations.ServerStatusHandler;
 import org.jboss.as.host.controller.operations.ServerStopHandler;
 import org.jboss.as.host.controller.operations.ServerSuspendHandler;
@@ -107,6 +110,11 @@ public class ServerConfigResourceDefinition extends SimpleResourceDefinition {
             .setAllowExpression(false)
             .setDefaultValue(ModelNode.FALSE).build();
 
+    public static final SimpleAttributeDefinition START_ORDER = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.START_ORDER, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
     public static final SimpleAttributeDefinition SOCKET_BINDING_GROUP = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.SOCKET_BINDING_GROUP, ModelType.STRING, true)
             .setCapabilityReference(SocketBindingGroupResourceDefinition.SOCKET_BINDING_GROUP_CAPABILITY_NAME, SERVER_CONFIG_CAPABILITY_NAME)
             .build();
@@ -135,6 +143,17 @@ public class ServerConfigResourceDefinition extends SimpleResourceDefinition {
             .setValidator(new EnumValidator<ServerStatus>(ServerStatus.class, false, false))
             .build();
 
+    public static final SimpleAttributeDefinition SERVER_STATE = SimpleAttributeDefinitionBuilder.create(ServerStateHandler.ATTRIBUTE_NAME, ModelType.STRING, true)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition BOOT_TIME = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.BOOT_TIME, ModelType.LONG, true)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
     /**
      * Bogus attribute that we accidentally registered in AS 7.1.2/EAP 6 even though it didn't appear in the
      * resource description. So for compatibility we register it here as well, and include it in the description
@@ -153,7 +172,7 @@ public class ServerConfigResourceDefinition extends SimpleResourceDefinition {
             .build();
 
     /** The attributes that can be written by the {@code add} operation */
-    public static final List<SimpleAttributeDefinition> WRITABLE_ATTRIBUTES = Arrays.asList(AUTO_START, UPDATE_AUTO_START_WITH_SERVER_STATUS, SOCKET_BINDING_GROUP, SOCKET_BINDING_DEFAULT_INTERFACE, SOCKET_BINDING_PORT_OFFSET, GROUP);
+    public static final List<SimpleAttributeDefinition> WRITABLE_ATTRIBUTES = Arrays.asList(AUTO_START, UPDATE_AUTO_START_WITH_SERVER_STATUS, START_ORDER, SOCKET_BINDING_GROUP, SOCKET_BINDING_DEFAULT_INTERFACE, SOCKET_BINDING_PORT_OFFSET, GROUP);
 
     private final ServerInventory serverInventory;
     private final PathManagerService pathManager;
@@ -184,6 +203,7 @@ public class ServerConfigResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(AUTO_START, null, new ModelOnlyWriteAttributeHandler(AUTO_START));
         resourceRegistration.registerReadWriteAttribute(UPDATE_AUTO_START_WITH_SERVER_STATUS, null, new ModelOnlyWriteAttributeHandler(UPDATE_AUTO_START_WITH_SERVER_STATUS));
+        resourceRegistration.registerReadWriteAttribute(START_ORDER, null, new ModelOnlyWriteAttributeHandler(START_ORDER));
         resourceRegistration.registerReadWriteAttribute(SOCKET_BINDING_GROUP, null, ServerRestartRequiredServerConfigWriteAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(SOCKET_BINDING_DEFAULT_INTERFACE, null, ServerRestartRequiredServerConfigWriteAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(SOCKET_BINDING_PORT_OFFSET, null, ServerRestartRequiredServerConfigWriteAttributeHandler.INSTANCE);
@@ -195,6 +215,8 @@ public class ServerConfigResourceDefinition extends SimpleResourceDefinition {
 
         if (serverInventory != null) {
             resourceRegistration.registerMetric(STATUS, new ServerStatusHandler(serverInventory));
+            resourceRegistration.registerMetric(SERVER_STATE, new ServerStateHandler(serverInventory));
+            resourceRegistration.registerMetric(BOOT_TIME, new ServerBootTimeHandler(serverInventory));
         }
     }
 
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.host.controller.util.AbstractControllerTestBase.NoopTransformers;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the description of the domain model for a slave which already has part of it, see {@link DomainModelDigests}.
+ */
+public class DomainModelDigestsTestCase {
+
+    @Test
+    public void testDigestIgnoresAttributeOrder() {
+        final Resource first = Resource.Factory.create();
+        first.getModel().get("a").set("value");
+        first.getModel().get("b").set(1);
+        final Resource second = Resource.Factory.create();
+        second.getModel().get("b").set(1);
+        second.getModel().get("a").set("value");
+        Assert.assertEquals(DomainModelDigests.describe(first), DomainModelDigests.describe(second));
+
+        second.getModel().get("b").set(2);
+        Assert.assertNotEquals(DomainModelDigests.describe(first), DomainModelDigests.describe(second));
+    }
+
+    @Test
+    public void testOnlyChangedResourcesDescribed() throws Exception {
+        final Resource slave = createDomain();
+        final Resource master = createDomain();
+        master.getChild(PathElement.pathElement("profile", "changed")).getChild(PathElement.pathElement("subsystem", "thingy"))
+                .getModel().get("attr").set("new-value");
+        master.registerChild(PathElement.pathElement("profile", "added"), createProfile());
+
+        final Map<String, String> digests = DomainModelDigests.fromModelNode(DomainModelDigests.describe(slave));
+        Assert.assertFalse(digests.containsKey("/host=slave"));
+
+        final List<ModelNode> described = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(new NoopTransformers(),
+                null, null, master, digests).getDescribedResources();
+        for (ModelNode description : described) {
+            final String address = PathAddress.pathAddress(description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS)).toCLIStyleString();
+            final boolean changed = address.equals("/profile=changed/subsystem=thingy") || address.startsWith("/profile=added");
+            Assert.assertEquals(address, changed, description.hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL));
+            Assert.assertEquals(address, !changed, description.hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_UNCHANGED));
+        }
+
+        Assert.assertTrue(ReadMasterDomainModelUtil.resolveUnchangedResources(described, slave));
+        final ModelNode expected = Resource.Tools.readModel(master);
+        expected.remove("host");
+        final ModelNode list = new ModelNode();
+        for (ModelNode description : described) {
+            list.add(description);
+        }
+        Assert.assertEquals(expected, Resource.Tools.readModel(ReadMasterDomainModelUtil.createResourceFromDomainModelOp(list, new HashSet<>())));
+    }
+
+    @Test
+    public void testMismatchRequiresCompleteModel() throws Exception {
+        final Resource slave = createDomain();
+        final Map<String, String> digests = DomainModelDigests.fromModelNode(DomainModelDigests.describe(slave));
+        final List<ModelNode> described = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(new NoopTransformers(),
+                null, null, createDomain(), digests).getDescribedResources();
+
+        slave.getChild(PathElement.pathElement("profile", "changed")).getModel().get("attr").set("other");
+        Assert.assertFalse(ReadMasterDomainModelUtil.resolveUnchangedResources(described, slave));
+        Assert.assertFalse(ReadMasterDomainModelUtil.resolveUnchangedResources(described, null));
+    }
+
+    @Test
+    public void testUnchanged() throws Exception {
+        final Resource slave = createDomain();
+        final ModelNode digests = DomainModelDigests.describe(slave);
+        final Map<String, String> known = DomainModelDigests.fromModelNode(digests);
+        final List<ModelNode> unchanged = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(new NoopTransformers(),
+                null, null, createDomain(), known).getDescribedResources();
+        Assert.assertTrue(ReadMasterDomainModelUtil.isUnchanged(unchanged, new HashSet<>(digests.keys())));
+
+        final Resource changed = createDomain();
+        changed.getChild(PathElement.pathElement("profile", "changed")).getModel().get("attr").set("other");
+        Assert.assertFalse(ReadMasterDomainModelUtil.isUnchanged(ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(new NoopTransformers(),
+                null, null, changed, known).getDescribedResources(), new HashSet<>(digests.keys())));
+
+        final Resource removed = createDomain();
+        removed.removeChild(PathElement.pathElement("profile", "changed"));
+        Assert.assertFalse(ReadMasterDomainModelUtil.isUnchanged(ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(new NoopTransformers(),
+                null, null, removed, known).getDescribedResources(), new HashSet<>(digests.keys())));
+    }
+
+    private static Resource createDomain() {
+        final Resource root = Resource.Factory.create();
+        root.getModel().get("name").set("domain");
+        final Resource extension = Resource.Factory.create();
+        extension.getModel().get("module").set("org.test.extension");
+        root.registerChild(PathElement.pathElement("extension", "org.test.extension"), extension);
+        root.registerChild(PathElement.pathElement("profile", "unchanged"), createProfile());
+        root.registerChild(PathElement.pathElement("profile", "changed"), createProfile());
+        final Resource host = Resource.Factory.create();
+        host.getModel().get("name").set("slave");
+        root.registerChild(PathElement.pathElement("host", "slave"), host);
+        return root;
+    }
+
+    private static Resource createProfile() {
+        final Resource profile = Resource.Factory.create();
+        profile.getModel().setEmptyObject();
+        final Resource subsystem = Resource.Factory.create();
+        subsystem.getModel().get("attr").set("value");
+        subsystem.getModel().get("list").add("a").add("b");
+        profile.registerChild(PathElement.pathElement("subsystem", "thingy"), subsystem);
+        return profile;
+    }
+}
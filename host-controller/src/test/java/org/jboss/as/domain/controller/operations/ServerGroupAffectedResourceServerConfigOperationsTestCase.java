@@ -545,6 +545,16 @@ public class ServerGroupAffectedResourceServerConfigOperationsTestCase extends A
             return ServerStatus.STARTED;
         }
 
+        @Override
+        public String getServerState(String serverName) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
+        @Override
+        public long getServerBootTime(String serverName) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
         @Override
         public ServerStatus startServer(String serverName, ModelNode domainModel) {
             throw new UnsupportedOperationException("Not supported yet.");
@@ -555,6 +565,11 @@ public class ServerGroupAffectedResourceServerConfigOperationsTestCase extends A
             throw new UnsupportedOperationException("Not supported yet.");
         }
 
+        @Override
+        public void startServers(List<String> serverNames, ModelNode domainModel, boolean blocking, boolean suspend) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
         @Override
         public ServerStatus restartServer(String serverName, int gracefulTimeout, ModelNode domainModel) {
             throw new UnsupportedOperationException("Not supported yet.");
@@ -635,6 +650,11 @@ public class ServerGroupAffectedResourceServerConfigOperationsTestCase extends A
             throw new UnsupportedOperationException("Not supported yet.");
         }
 
+        @Override
+        public void serverStateChanged(String serverProcessName, String state) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
         @Override
         public void serverProcessStopped(String serverProcessName) {
             throw new UnsupportedOperationException("Not supported yet.");
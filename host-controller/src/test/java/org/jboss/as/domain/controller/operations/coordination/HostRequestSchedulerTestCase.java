@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_HOSTS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the fan-out of the first phase of domain operations to the slave hosts.
+ */
+public class HostRequestSchedulerTestCase {
+
+    private static final List<String> HOSTS = Arrays.asList("a", "b", "c", "d", "e");
+
+    @Test
+    public void testConcurrentHostsAreLimited() {
+        final List<String> executed = new ArrayList<>();
+        final HostRequestScheduler<String> scheduler = new HostRequestScheduler<>(HOSTS, 2, executed::add);
+
+        scheduler.executePending();
+        Assert.assertEquals(HOSTS.subList(0, 2), executed);
+        // each prepared result lets the next host be sent the operation, in order
+        for (int i = 3; i <= HOSTS.size(); i++) {
+            Assert.assertTrue(scheduler.prepared(false).isEmpty());
+            Assert.assertEquals(HOSTS.subList(0, i), executed);
+        }
+        Assert.assertTrue(scheduler.prepared(false).isEmpty());
+        Assert.assertEquals(HOSTS, executed);
+    }
+
+    @Test
+    public void testConcurrentHostsUnlimited() {
+        final List<String> executed = new ArrayList<>();
+        final HostRequestScheduler<String> scheduler = new HostRequestScheduler<>(HOSTS, 0, executed::add);
+
+        scheduler.executePending();
+        Assert.assertEquals(HOSTS, executed);
+        Assert.assertTrue(scheduler.skipPending().isEmpty());
+    }
+
+    @Test
+    public void testFailureSkipsPendingHosts() {
+        final List<String> executed = new ArrayList<>();
+        final HostRequestScheduler<String> scheduler = new HostRequestScheduler<>(HOSTS, 2, executed::add);
+
+        scheduler.executePending();
+        Assert.assertEquals(HOSTS.subList(2, 5), scheduler.prepared(true));
+        // the prepared result of the host still executing doesn't resume the rollout
+        Assert.assertEquals(Collections.emptyList(), scheduler.prepared(false));
+        Assert.assertEquals(HOSTS.subList(0, 2), executed);
+    }
+
+    @Test
+    public void testTimeoutSkipsPendingHosts() {
+        final List<String> executed = new ArrayList<>();
+        final HostRequestScheduler<String> scheduler = new HostRequestScheduler<>(HOSTS, 3, executed::add);
+
+        scheduler.executePending();
+        Assert.assertEquals(HOSTS.subList(3, 5), scheduler.skipPending());
+        Assert.assertEquals(HOSTS.subList(0, 3), executed);
+    }
+
+    @Test
+    public void testMaxConcurrentHosts() {
+        final ModelNode rolloutPlan = new ModelNode();
+        rolloutPlan.get(MAX_CONCURRENT_HOSTS).set(3);
+        Assert.assertEquals(3, DomainSlaveHandler.getMaxConcurrentHosts(rolloutPlan));
+
+        final String previous = System.setProperty(DomainSlaveHandler.MAX_CONCURRENT_HOSTS, "4");
+        try {
+            Assert.assertEquals(4, DomainSlaveHandler.getMaxConcurrentHosts(new ModelNode()));
+            // the rollout plan takes precedence
+            Assert.assertEquals(3, DomainSlaveHandler.getMaxConcurrentHosts(rolloutPlan));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(DomainSlaveHandler.MAX_CONCURRENT_HOSTS);
+            } else {
+                System.setProperty(DomainSlaveHandler.MAX_CONCURRENT_HOSTS, previous);
+            }
+        }
+    }
+
+    @Test
+    public void testPhaseTimesAreRecorded() {
+        final OperationPhaseStatistics statistics = new OperationPhaseStatistics();
+        final OperationPhaseTimes times = new OperationPhaseTimes(statistics);
+        times.prepared();
+        times.completed();
+        // not finalized, only the prepare time is recorded
+        Assert.assertEquals(1, statistics.getPrepareTime().get("count").asLong());
+        Assert.assertEquals(0, statistics.getCompletionTime().get("count").asLong());
+
+        times.finalized(true);
+        times.completed();
+        Assert.assertEquals(1, statistics.getCompletionTime().get("count").asLong());
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.remote.BlockingQueueOperationListener;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.as.domain.controller.operations.coordination.OperationPhaseStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the fan-out of {@link ConcurrentServerGroupUpdateTask}.
+ */
+public class ConcurrentServerGroupUpdateTaskTestCase {
+
+    private static final String GROUP = "main-server-group";
+
+    @Test
+    public void testConcurrentServersAreLimited() throws Exception {
+        final List<ServerIdentity> servers = createServers(5);
+        final TestServerTaskExecutor executor = new TestServerTaskExecutor();
+        final ServerUpdatePolicy policy = createPolicy(servers, 0);
+        final long prepared = OperationPhaseStatistics.SERVERS.getPrepareTime().get(LatencyHistogram.COUNT).asLong();
+        final Thread rollout = startRollout(servers, policy, executor, 2);
+
+        Assert.assertEquals(servers.get(0), executor.nextSent());
+        Assert.assertEquals(servers.get(1), executor.nextSent());
+        Assert.assertNull(executor.sent.poll(100, TimeUnit.MILLISECONDS));
+        // each prepared result lets the next server be sent the operation, in order
+        for (int i = 0; i < servers.size(); i++) {
+            executor.prepare(servers.get(i), false);
+            if (i + 2 < servers.size()) {
+                Assert.assertEquals(servers.get(i + 2), executor.nextSent());
+            }
+        }
+        rollout.join(5000);
+        Assert.assertFalse(rollout.isAlive());
+        Assert.assertEquals(servers, executor.executed);
+        Assert.assertFalse(policy.isFailed());
+        Assert.assertTrue(OperationPhaseStatistics.SERVERS.getPrepareTime().get(LatencyHistogram.COUNT).asLong() >= prepared + servers.size());
+    }
+
+    @Test
+    public void testConcurrentServersUnlimited() throws Exception {
+        final List<ServerIdentity> servers = createServers(5);
+        final TestServerTaskExecutor executor = new TestServerTaskExecutor();
+        final ServerUpdatePolicy policy = createPolicy(servers, 0);
+        final Thread rollout = startRollout(servers, policy, executor, 0);
+
+        for (ServerIdentity server : servers) {
+            Assert.assertEquals(server, executor.nextSent());
+        }
+        for (ServerIdentity server : servers) {
+            executor.prepare(server, false);
+        }
+        rollout.join(5000);
+        Assert.assertFalse(rollout.isAlive());
+        Assert.assertEquals(servers, executor.executed);
+    }
+
+    @Test
+    public void testFailureStopsRollout() throws Exception {
+        final List<ServerIdentity> servers = createServers(4);
+        final TestServerTaskExecutor executor = new TestServerTaskExecutor();
+        final ServerUpdatePolicy policy = createPolicy(servers, 0);
+        final Thread rollout = startRollout(servers, policy, executor, 2);
+
+        Assert.assertEquals(servers.get(0), executor.nextSent());
+        Assert.assertEquals(servers.get(1), executor.nextSent());
+        executor.prepare(servers.get(0), true);
+        // the group's failure tolerance is exceeded, no other server is sent the operation
+        Assert.assertNull(executor.sent.poll(100, TimeUnit.MILLISECONDS));
+        executor.prepare(servers.get(1), false);
+        rollout.join(5000);
+        Assert.assertFalse(rollout.isAlive());
+        Assert.assertEquals(servers.subList(0, 2), executor.executed);
+        Assert.assertTrue(policy.isFailed());
+    }
+
+    @Test
+    public void testMaxConcurrentServers() {
+        final ModelNode policyNode = new ModelNode();
+        policyNode.get(MAX_CONCURRENT_SERVERS).set(3);
+        Assert.assertEquals(3, ConcurrentServerGroupUpdateTask.getMaxConcurrentServers(policyNode));
+
+        final String previous = System.setProperty(ConcurrentServerGroupUpdateTask.MAX_CONCURRENT_SERVERS, "4");
+        try {
+            Assert.assertEquals(4, ConcurrentServerGroupUpdateTask.getMaxConcurrentServers(new ModelNode()));
+            // the rollout plan takes precedence
+            Assert.assertEquals(3, ConcurrentServerGroupUpdateTask.getMaxConcurrentServers(policyNode));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ConcurrentServerGroupUpdateTask.MAX_CONCURRENT_SERVERS);
+            } else {
+                System.setProperty(ConcurrentServerGroupUpdateTask.MAX_CONCURRENT_SERVERS, previous);
+            }
+        }
+    }
+
+    private static List<ServerIdentity> createServers(int count) {
+        final List<ServerIdentity> servers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            servers.add(new ServerIdentity("host", GROUP, "server-" + i));
+        }
+        return servers;
+    }
+
+    private static ServerUpdatePolicy createPolicy(List<ServerIdentity> servers, int maxFailures) {
+        final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+        return new ServerUpdatePolicy(parent, GROUP, new LinkedHashSet<>(servers), maxFailures);
+    }
+
+    private static Thread startRollout(List<ServerIdentity> servers, ServerUpdatePolicy policy, ServerTaskExecutor executor, int maxConcurrentServers) {
+        final List<ServerUpdateTask> tasks = new ArrayList<>();
+        for (ServerIdentity server : servers) {
+            tasks.add(new RunningServerUpdateTask(server, new ModelNode(), policy));
+        }
+        final ConcurrentServerGroupUpdateTask task = new ConcurrentServerGroupUpdateTask(tasks, policy, executor, null, null, null, maxConcurrentServers);
+        final Thread thread = new Thread(task::execute);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Records the servers the operation is sent to, the test providing their prepared results.
+     */
+    private static class TestServerTaskExecutor extends ServerTaskExecutor {
+
+        private final BlockingQueue<ServerIdentity> sent = new LinkedBlockingQueue<>();
+        private final List<ServerIdentity> executed = Collections.synchronizedList(new ArrayList<>());
+        private volatile TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener;
+
+        TestServerTaskExecutor() {
+            super(null, new HashMap<>(), new ArrayList<>());
+        }
+
+        @Override
+        protected int execute(TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, ServerIdentity identity, ModelNode operation) {
+            this.listener = listener;
+            executed.add(identity);
+            sent.add(identity);
+            return 10000;
+        }
+
+        ServerIdentity nextSent() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+
+        void prepare(ServerIdentity identity, boolean failed) {
+            final ServerOperation operation = new ServerOperation(identity, new ModelNode(), null, null, OperationResultTransformer.ORIGINAL_RESULT);
+            listener.operationPrepared(failed ? BlockingQueueOperationListener.FailedOperation.create(operation, "failed") : new PreparedServerOperation(operation));
+        }
+    }
+
+    private static class PreparedServerOperation implements TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> {
+
+        private final ServerTaskExecutor.ServerOperation operation;
+
+        PreparedServerOperation(ServerTaskExecutor.ServerOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public ServerTaskExecutor.ServerOperation getOperation() {
+            return operation;
+        }
+
+        @Override
+        public ModelNode getPreparedResult() {
+            final ModelNode result = new ModelNode();
+            result.get(OUTCOME).set(SUCCESS);
+            return result;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+
+        @Override
+        public boolean isTimedOut() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> getFinalResult() {
+            return null;
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+    }
+}
@@ -23,6 +23,8 @@ package org.jboss.as.host.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONCURRENT_GROUPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_HOSTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ACROSS_GROUPS;
@@ -285,6 +287,18 @@ public class RolloutPlanValidationUnitTestCase {
         validateRolloutPlanStructure(rolloutPlan);
     }
 
+    @Test
+    public void testMaxConcurrent() throws Exception {
+        final ModelNode rolloutPlan = new ModelNode();
+        final ModelNode inSeries = rolloutPlan.get(ROLLOUT_PLAN, IN_SERIES);
+        final ModelNode group = inSeries.add().get(SERVER_GROUP).get("group1");
+        group.get(MAX_FAILED_SERVERS).set(1);
+        group.get(MAX_CONCURRENT_SERVERS).set(2);
+        rolloutPlan.get(ROLLOUT_PLAN, ROLLBACK_ACROSS_GROUPS).set(true);
+        rolloutPlan.get(ROLLOUT_PLAN, MAX_CONCURRENT_HOSTS).set(3);
+        validateRolloutPlanStructure(rolloutPlan);
+    }
+
     private void validateRolloutPlanStructure(ModelNode rolloutPlan) throws OperationFailedException {
         new DomainRootDefinition.RolloutPlanValidator().validateParameter("plan", rolloutPlan);
     }
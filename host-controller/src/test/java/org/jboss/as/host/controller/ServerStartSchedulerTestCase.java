@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ServerStartScheduler}.
+ */
+public class ServerStartSchedulerTestCase {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final TestStarter starter = new TestStarter();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNoLimit() throws Exception {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(executor, 0, 0);
+        scheduler.startServers(Arrays.asList("a", "b", "c"), starter, false);
+        // all the servers are started by the caller
+        assertThat(starter.started.poll(), is("a"));
+        assertThat(starter.started.poll(), is("b"));
+        assertThat(starter.started.poll(), is("c"));
+    }
+
+    @Test
+    public void testReleaseOnAnyServerBooted() throws Exception {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(executor, 2, 0);
+        scheduler.startServers(Arrays.asList("a", "b", "c", "d"), starter, false);
+        assertThat(starter.nextStarted(), is("a"));
+        assertThat(starter.nextStarted(), is("b"));
+        assertThat(starter.started.poll(100, TimeUnit.MILLISECONDS), nullValue());
+        // the server booted last releases its slot while the first one is still booting
+        starter.booted("b");
+        assertThat(starter.nextStarted(), is("c"));
+        assertThat(starter.started.poll(100, TimeUnit.MILLISECONDS), nullValue());
+        starter.booted("c");
+        assertThat(starter.nextStarted(), is("d"));
+        // a slot is only released once
+        starter.booted("c");
+        starter.booted("a");
+        starter.booted("d");
+    }
+
+    @Test
+    public void testLimitIsSharedByStartRequests() throws Exception {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(executor, 1, 0);
+        scheduler.startServers(Collections.singletonList("a"), starter, false);
+        assertThat(starter.nextStarted(), is("a"));
+        scheduler.startServers(Arrays.asList("b", "c"), starter, false);
+        assertThat(starter.started.poll(100, TimeUnit.MILLISECONDS), nullValue());
+        starter.booted("a");
+        assertThat(starter.nextStarted(), is("b"));
+    }
+
+    @Test
+    public void testBootBudget() throws Exception {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(executor, 1, 200);
+        final long start = System.nanoTime();
+        scheduler.startServers(Arrays.asList("a", "b"), starter, false);
+        assertThat(starter.nextStarted(), is("a"));
+        // a never booting server holds its slot until its budget is exceeded
+        assertThat(starter.nextStarted(), is("b"));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200, is(true));
+    }
+
+    @Test
+    public void testFailureReleasesSlot() throws Exception {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(executor, 1, 0);
+        starter.failing.add("a");
+        starter.bootRightAway = true;
+        scheduler.startServers(Arrays.asList("a", "b", "c"), starter, true);
+        // the blocking start awaits the servers which could be started
+        assertThat(starter.awaited, is(Arrays.asList("b", "c")));
+    }
+
+    @Test
+    public void testOrder() {
+        final ModelNode serverConfigs = new ModelNode();
+        serverConfigs.get("a").setEmptyObject();
+        serverConfigs.get("b", ModelDescriptionConstants.START_ORDER).set(2);
+        serverConfigs.get("c", ModelDescriptionConstants.START_ORDER).set(1);
+        serverConfigs.get("d").setEmptyObject();
+        serverConfigs.get("e", ModelDescriptionConstants.START_ORDER).set(1);
+        assertThat(ServerStartScheduler.order(Arrays.asList("a", "b", "c", "d", "e"), serverConfigs, ExpressionResolver.TEST_RESOLVER),
+                is(Arrays.asList("c", "e", "b", "a", "d")));
+        assertThat(ServerStartScheduler.order(Arrays.asList("a", "d"), serverConfigs, ExpressionResolver.TEST_RESOLVER),
+                is(Arrays.asList("a", "d")));
+    }
+
+    private static class TestStarter implements ServerStartScheduler.ServerStarter {
+
+        private final BlockingQueue<String> started = new LinkedBlockingQueue<>();
+        private final Map<String, Runnable> booting = new ConcurrentHashMap<>();
+        private final List<String> failing = new ArrayList<>();
+        private volatile boolean bootRightAway;
+        private volatile List<String> awaited;
+
+        @Override
+        public void startServer(final String serverName, final Runnable booted) throws Exception {
+            if (failing.contains(serverName)) {
+                throw new IllegalStateException(serverName);
+            }
+            booting.put(serverName, booted);
+            started.add(serverName);
+            if (bootRightAway) {
+                booted.run();
+            }
+        }
+
+        @Override
+        public void awaitServersStarted(final List<String> serverNames) {
+            awaited = new ArrayList<>(serverNames);
+        }
+
+        String nextStarted() throws InterruptedException {
+            return started.poll(10, TimeUnit.SECONDS);
+        }
+
+        void booted(final String serverName) {
+            booting.get(serverName).run();
+        }
+    }
+}
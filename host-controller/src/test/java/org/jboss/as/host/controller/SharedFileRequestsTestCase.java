@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of the deduplication of the concurrent requests of a slave host for the same file.
+ */
+public class SharedFileRequestsTestCase {
+
+    private static final int REQUESTERS = 8;
+    private static final byte REPO_ID = 1;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final RemoteDomainConnectionService.SharedFileRequests fileRequests = new RemoteDomainConnectionService.SharedFileRequests();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch requestStarted = new CountDownLatch(1);
+    private final CountDownLatch requestCompleted = new CountDownLatch(1);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentRequestsShareResult() throws Exception {
+        final File file = new File("content");
+        final List<Future<File>> results = requestConcurrently("a/b", () -> file);
+        for (Future<File> result : results) {
+            assertSame(file, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requests.get());
+
+        // once completed, the file is requested again
+        assertSame(file, fileRequests.getFile("a/b", REPO_ID, () -> {
+            requests.incrementAndGet();
+            return file;
+        }));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareFailure() throws Exception {
+        final List<Future<File>> results = requestConcurrently("a/b", () -> {
+            throw new IOException("failed");
+        });
+        for (Future<File> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                fail("the request should have failed");
+            } catch (ExecutionException e) {
+                // failedToGetFileFromRemoteRepository wrapping the failure of the shared request
+                assertEquals(IOException.class, e.getCause().getCause().getClass());
+            }
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testDistinctFilesAreRequestedSeparately() throws Exception {
+        final File file = new File("content");
+        final Future<File> first = executor.submit(() -> fileRequests.getFile("a/b", REPO_ID, () -> {
+            requests.incrementAndGet();
+            requestStarted.countDown();
+            requestCompleted.await();
+            return file;
+        }));
+        requestStarted.await(10, TimeUnit.SECONDS);
+        // neither another path nor another repository waits for the request in progress
+        assertSame(file, fileRequests.getFile("a/c", REPO_ID, () -> {
+            requests.incrementAndGet();
+            return file;
+        }));
+        assertSame(file, fileRequests.getFile("a/b", (byte) (REPO_ID + 1), () -> {
+            requests.incrementAndGet();
+            return file;
+        }));
+        requestCompleted.countDown();
+        assertSame(file, first.get(10, TimeUnit.SECONDS));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testLocalFileIsNotRequested() throws Exception {
+        final File file = new File("content");
+        final AtomicInteger localChecks = new AtomicInteger();
+        final Future<File> first = executor.submit(() -> fileRequests.getFile("a/b", REPO_ID, () -> null, () -> {
+            requests.incrementAndGet();
+            requestStarted.countDown();
+            requestCompleted.await();
+            return file;
+        }));
+        requestStarted.await(10, TimeUnit.SECONDS);
+        // the local file is not checked while it is being requested, the requester waits for the request instead
+        final FutureTask<File> waiting = new FutureTask<>(() -> fileRequests.getFile("a/b", REPO_ID, () -> {
+            localChecks.incrementAndGet();
+            return null;
+        }, () -> {
+            requests.incrementAndGet();
+            return file;
+        }));
+        final Thread thread = new Thread(waiting);
+        thread.start();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        requestCompleted.countDown();
+        assertSame(file, first.get(10, TimeUnit.SECONDS));
+        assertSame(file, waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(0, localChecks.get());
+
+        // once received, the file is not requested again
+        assertSame(file, fileRequests.getFile("a/b", REPO_ID, () -> file, () -> {
+            requests.incrementAndGet();
+            return file;
+        }));
+        assertEquals(1, requests.get());
+    }
+
+    /**
+     * Requests a file from several threads, completing the request of the first thread once all the others are waiting
+     * for it.
+     */
+    private List<Future<File>> requestConcurrently(final String path, final Callable<File> request) throws Exception {
+        final List<Future<File>> results = new ArrayList<>();
+        results.add(executor.submit(() -> fileRequests.getFile(path, REPO_ID, () -> {
+            requests.incrementAndGet();
+            requestStarted.countDown();
+            requestCompleted.await();
+            return request.call();
+        })));
+        requestStarted.await(10, TimeUnit.SECONDS);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i < REQUESTERS; i++) {
+            final FutureTask<File> task = new FutureTask<>(() -> fileRequests.getFile(path, REPO_ID, () -> {
+                requests.incrementAndGet();
+                return request.call();
+            }));
+            final Thread thread = new Thread(task);
+            thread.start();
+            threads.add(thread);
+            results.add(task);
+        }
+        final long deadline = System.currentTimeMillis() + 10000;
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        requestCompleted.countDown();
+        return results;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.host.controller.mgmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link PingFailureDetector}.
+ */
+public class PingFailureDetectorUnitTestCase {
+
+    @Test
+    public void testFixedTimeoutUntilEnoughSamples() {
+        final PingFailureDetector detector = new PingFailureDetector(8, 1000, 2000, 60000);
+        assertEquals(30000, detector.getTimeout(30000));
+        for (int i = 0; i < 4; i++) {
+            detector.record(10);
+        }
+        assertEquals(30000, detector.getTimeout(30000));
+        detector.record(10);
+        assertTrue(detector.getTimeout(30000) < 30000);
+    }
+
+    @Test
+    public void testDisabled() {
+        final PingFailureDetector detector = new PingFailureDetector(0, 1000, 2000, 60000);
+        for (int i = 0; i < 10; i++) {
+            detector.record(10);
+        }
+        assertEquals(30000, detector.getTimeout(30000));
+    }
+
+    @Test
+    public void testAdaptiveTimeout() {
+        final PingFailureDetector steady = new PingFailureDetector(8, 1000, 2000, 60000);
+        final PingFailureDetector noisy = new PingFailureDetector(8, 1000, 2000, 60000);
+        for (int i = 0; i < 20; i++) {
+            steady.record(10);
+            noisy.record(i % 2 == 0 ? 10 : 4000);
+        }
+        final long steadyTimeout = steady.getTimeout(30000);
+        final long noisyTimeout = noisy.getTimeout(30000);
+        assertTrue(steadyTimeout >= 2000);
+        assertTrue(steadyTimeout < 30000);
+        assertTrue(noisyTimeout > steadyTimeout);
+        assertTrue(noisyTimeout <= 60000);
+
+        // the timeout is the time the threshold is reached
+        assertTrue(steady.phi(steadyTimeout) >= 8);
+        assertTrue(steady.phi(1000) < 8);
+        assertTrue(steady.phi(100) < steady.phi(1000));
+    }
+
+    @Test
+    public void testDefaultConfiguration() {
+        // steady round trip times shorten the fixed timeout, down to the floor of the lower bound
+        final PingFailureDetector steady = new PingFailureDetector(SlaveHostPinger.STD_TIMEOUT);
+        for (int i = 0; i < 20; i++) {
+            steady.record(5);
+        }
+        assertEquals(PingFailureDetector.DEFAULT_MIN_TIMEOUT, steady.getTimeout(SlaveHostPinger.STD_TIMEOUT));
+        assertTrue(steady.getTimeout(SlaveHostPinger.STD_TIMEOUT) < SlaveHostPinger.STD_TIMEOUT);
+        assertEquals(SlaveHostPinger.SHORT_TIMEOUT, steady.getTimeout(SlaveHostPinger.SHORT_TIMEOUT));
+
+        // slower but steady round trip times raise the lower bound
+        final PingFailureDetector slow = new PingFailureDetector(SlaveHostPinger.STD_TIMEOUT);
+        for (int i = 0; i < 20; i++) {
+            slow.record(8000);
+        }
+        final long slowTimeout = slow.getTimeout(SlaveHostPinger.STD_TIMEOUT);
+        assertTrue(slowTimeout >= 8000 + 5000);
+        assertTrue(slowTimeout < SlaveHostPinger.STD_TIMEOUT);
+
+        // erratic round trip times extend it, up to twice the fixed timeout
+        final PingFailureDetector erratic = new PingFailureDetector(SlaveHostPinger.STD_TIMEOUT);
+        for (int i = 0; i < 20; i++) {
+            erratic.record(i % 2 == 0 ? 5 : 15000);
+        }
+        final long timeout = erratic.getTimeout(SlaveHostPinger.STD_TIMEOUT);
+        assertTrue(timeout > SlaveHostPinger.STD_TIMEOUT);
+        assertTrue(timeout <= 2 * SlaveHostPinger.STD_TIMEOUT);
+    }
+
+    @Test
+    public void testBounds() {
+        final PingFailureDetector detector = new PingFailureDetector(8, 0, 5000, 10000);
+        for (int i = 0; i < 10; i++) {
+            detector.record(1);
+        }
+        assertEquals(5000, detector.getTimeout(30000));
+        for (int i = 0; i < 10; i++) {
+            detector.record(50000);
+        }
+        assertEquals(10000, detector.getTimeout(30000));
+    }
+
+    @Test
+    public void testModelNode() {
+        final PingFailureDetector detector = new PingFailureDetector(8, 1000, 2000, 60000);
+        ModelNode node = detector.toModelNode(30000);
+        assertEquals(0, node.get(PingFailureDetector.SAMPLES).asInt());
+        assertFalse(node.hasDefined(PingFailureDetector.MEAN));
+        assertEquals(30000, node.get(PingFailureDetector.TIMEOUT).asLong());
+
+        detector.record(10);
+        detector.record(30);
+        node = detector.toModelNode(30000);
+        assertEquals(2, node.get(PingFailureDetector.SAMPLES).asInt());
+        assertEquals(30, node.get(PingFailureDetector.LAST).asLong());
+        assertEquals(10, node.get(PingFailureDetector.MIN).asLong());
+        assertEquals(30, node.get(PingFailureDetector.MAX).asLong());
+        assertEquals(20, node.get(PingFailureDetector.MEAN).asDouble(), 0.001);
+        assertEquals(10, node.get(PingFailureDetector.STANDARD_DEVIATION).asDouble(), 0.001);
+    }
+}
@@ -24,6 +24,7 @@
 package org.wildfly.extension.io;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -35,26 +36,34 @@ import java.util.function.Supplier;
 import io.undertow.connector.ByteBufferPool;
 import io.undertow.server.XnioByteBufferPool;
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.CapabilityServiceBuilder;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.io.logging.IOLogger;
 import org.xnio.Pool;
 
 /**
@@ -110,13 +119,38 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             .setAllowExpression(true)
             .build();
 
+    static final SimpleAttributeDefinition TIERED = new SimpleAttributeDefinitionBuilder(Constants.TIERED, ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setAllowExpression(true)
+            .build();
+
+    static final SimpleAttributeDefinition LEAK_DETECTION_SAMPLE_RATE = new SimpleAttributeDefinitionBuilder("leak-detection-sample-rate", ModelType.INT, true)
+            .setDefaultValue(ModelNode.ZERO)
+            .setValidator(new IntRangeValidator(0, true))
+            .setStorageRuntime()
+            .build();
+
+    private static final AttributeDefinition ALLOCATED_BYTES = new SimpleAttributeDefinitionBuilder("allocated-bytes", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+    private static final AttributeDefinition IN_USE_BUFFERS = new SimpleAttributeDefinitionBuilder("in-use-buffers", ModelType.LONG).build();
+    private static final AttributeDefinition ALLOCATION_COUNT = new SimpleAttributeDefinitionBuilder("allocation-count", ModelType.LONG).build();
+    private static final AttributeDefinition HIT_RATE = new SimpleAttributeDefinitionBuilder("hit-rate", ModelType.DOUBLE)
+            .setMeasurementUnit(MeasurementUnit.PERCENTAGE)
+            .build();
+    private static final AttributeDefinition LEAKED_BUFFERS = new SimpleAttributeDefinitionBuilder("leaked-buffers", ModelType.LONG).build();
+    private static final AttributeDefinition SIZE_CLASSES = new PrimitiveListAttributeDefinition.Builder("size-classes", ModelType.INT)
+            .setStorageRuntime()
+            .build();
 
     /*<buffer-pool name="default" buffer-size="1024" buffers-per-slice="1024"/>*/
 
     static List<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             BUFFER_SIZE,
             BUFFER_PER_SLICE,
-            DIRECT_BUFFERS
+            DIRECT_BUFFERS,
+            TIERED
     );
 
 
@@ -140,6 +174,101 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerReadWriteAttribute(LEAK_DETECTION_SAMPLE_RATE, new LeakDetectionReadHandler(), new LeakDetectionWriteHandler());
+
+        BufferPoolMetricsHandler metricsHandler = new BufferPoolMetricsHandler();
+        resourceRegistration.registerReadOnlyAttribute(SIZE_CLASSES, metricsHandler);
+        resourceRegistration.registerMetric(ALLOCATED_BYTES, metricsHandler);
+        resourceRegistration.registerMetric(IN_USE_BUFFERS, metricsHandler);
+        resourceRegistration.registerMetric(ALLOCATION_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(HIT_RATE, metricsHandler);
+        resourceRegistration.registerMetric(LEAKED_BUFFERS, metricsHandler);
+    }
+
+    static BufferPoolService getBufferPoolService(OperationContext context) {
+        if (PROFILE.equals(context.getCurrentAddress().getElement(0).getKey())) {
+            return null;
+        }
+        ServiceName serviceName = IO_POOL_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue(), Pool.class);
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        return controller == null ? null : (BufferPoolService) controller.getService();
+    }
+
+    private static ModelNode getMetricValue(String attributeName, TieredBufferPool pool) throws OperationFailedException {
+        if (SIZE_CLASSES.getName().equals(attributeName)) {
+            ModelNode result = new ModelNode().setEmptyList();
+            for (int size : pool.getSizeClasses()) {
+                result.add(size);
+            }
+            return result;
+        } else if (ALLOCATED_BYTES.getName().equals(attributeName)) {
+            return new ModelNode(pool.getAllocatedBytes());
+        } else if (IN_USE_BUFFERS.getName().equals(attributeName)) {
+            return new ModelNode(pool.getInUseBuffers());
+        } else if (ALLOCATION_COUNT.getName().equals(attributeName)) {
+            return new ModelNode(pool.getAllocationCount());
+        } else if (HIT_RATE.getName().equals(attributeName)) {
+            return new ModelNode(pool.getHitRate());
+        } else if (LEAKED_BUFFERS.getName().equals(attributeName)) {
+            return new ModelNode(pool.getLeakedBuffers());
+        } else {
+            throw new OperationFailedException(IOLogger.ROOT_LOGGER.noMetrics());
+        }
+    }
+
+    private static class BufferPoolMetricsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext outContext, ModelNode operation) throws OperationFailedException {
+            outContext.addStep((context, op) -> {
+                BufferPoolService service = getBufferPoolService(context);
+                // the pool is only started on demand, and only tiered pools keep statistics
+                Pool<ByteBuffer> pool = service == null ? null : service.getValue();
+                if (pool instanceof TieredBufferPool) {
+                    context.getResult().set(getMetricValue(op.require(ModelDescriptionConstants.NAME).asString(), (TieredBufferPool) pool));
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+
+    private static class LeakDetectionReadHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext outContext, ModelNode operation) throws OperationFailedException {
+            outContext.getResult().set(LEAK_DETECTION_SAMPLE_RATE.getDefaultValue());
+            outContext.addStep((context, op) -> {
+                BufferPoolService service = getBufferPoolService(context);
+                if (service != null) {
+                    context.getResult().set(service.getLeakDetectionSampleRate());
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+
+    private static class LeakDetectionWriteHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final int sampleRate = LEAK_DETECTION_SAMPLE_RATE.resolveValue(context, operation.get(ModelDescriptionConstants.VALUE)).asInt();
+            final BufferPoolService service = getBufferPoolService(context);
+            if (service != null) {
+                final int previous = service.getLeakDetectionSampleRate();
+                service.setLeakDetectionSampleRate(sampleRate);
+                context.completeStep(new OperationContext.RollbackHandler() {
+                    @Override
+                    public void handleRollback(OperationContext context, ModelNode operation) {
+                        service.setLeakDetectionSampleRate(previous);
+                    }
+                });
+            } else {
+                context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+            }
+        }
+    }
+
     private static class BufferPoolAdd extends AbstractAddStepHandler {
 
         private BufferPoolAdd() {
@@ -152,6 +281,7 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             final ModelNode bufferSizeModel = BUFFER_SIZE.resolveModelAttribute(context, model);
             final ModelNode bufferPerSliceModel = BUFFER_PER_SLICE.resolveModelAttribute(context, model);
             final ModelNode directModel = DIRECT_BUFFERS.resolveModelAttribute(context, model);
+            final boolean tiered = TIERED.resolveModelAttribute(context, model).asBoolean();
 
             final int bufferSize = bufferSizeModel.isDefined() ? bufferSizeModel.asInt() : defaultBufferSize;
             final int bufferPerSlice = bufferPerSliceModel.isDefined() ? bufferPerSliceModel.asInt() : defaultBuffersPerRegion;
@@ -159,7 +289,7 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
 
             CapabilityServiceBuilder<?> builder = context.getCapabilityServiceTarget().addCapability(IO_POOL_RUNTIME_CAPABILITY);
             final Consumer<Pool<ByteBuffer>> byteBufferConsumer = builder.provides(IO_POOL_RUNTIME_CAPABILITY);
-            builder.setInstance(new BufferPoolService(byteBufferConsumer, bufferSize, bufferPerSlice, direct));
+            builder.setInstance(new BufferPoolService(byteBufferConsumer, address.getLastElement().getValue(), bufferSize, bufferPerSlice, direct, tiered));
             builder.setInitialMode(ServiceController.Mode.ON_DEMAND);
             builder.install();
 
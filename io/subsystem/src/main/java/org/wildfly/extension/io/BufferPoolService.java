@@ -42,31 +42,62 @@ import org.xnio.Pool;
 public class BufferPoolService implements Service<Pool<ByteBuffer>> {
     private final Consumer<Pool<ByteBuffer>> byteBufferConsumer;
     private volatile Pool<ByteBuffer> bufferPool;
+    private final String name;
     /*<buffer-pool name="default" buffer-size="2048" buffers-per-slice="512"/>*/
     private final int bufferSize;
     private final int buffersPerSlice;
     private final boolean directBuffers;
+    private final boolean tiered;
+    private volatile int leakDetectionSampleRate;
 
     public BufferPoolService(final Consumer<Pool<ByteBuffer>> byteBufferConsumer, final int bufferSize, final int buffersPerSlice, final boolean directBuffers) {
+        this(byteBufferConsumer, null, bufferSize, buffersPerSlice, directBuffers, false);
+    }
+
+    public BufferPoolService(final Consumer<Pool<ByteBuffer>> byteBufferConsumer, final String name, final int bufferSize, final int buffersPerSlice, final boolean directBuffers, final boolean tiered) {
         this.byteBufferConsumer = byteBufferConsumer;
+        this.name = name;
         this.bufferSize = bufferSize;
         this.buffersPerSlice = buffersPerSlice;
         this.directBuffers = directBuffers;
+        this.tiered = tiered;
     }
 
     @Override
     public void start(final StartContext context) {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        if (tiered) {
+            TieredBufferPool pool = new TieredBufferPool(name, directBuffers, bufferSize, buffersPerSlice);
+            pool.setLeakDetectionSampleRate(leakDetectionSampleRate);
+            bufferPool = pool;
+        } else {
+            bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        }
         byteBufferConsumer.accept(bufferPool);
     }
 
     @Override
     public void stop(final StopContext context) {
         byteBufferConsumer.accept(null);
-        ((ByteBufferSlicePool) bufferPool).clean();
+        if (bufferPool instanceof TieredBufferPool) {
+            ((TieredBufferPool) bufferPool).clean();
+        } else {
+            ((ByteBufferSlicePool) bufferPool).clean();
+        }
         bufferPool = null;
     }
 
+    int getLeakDetectionSampleRate() {
+        return leakDetectionSampleRate;
+    }
+
+    void setLeakDetectionSampleRate(final int sampleRate) {
+        this.leakDetectionSampleRate = sampleRate;
+        final Pool<ByteBuffer> pool = bufferPool;
+        if (pool instanceof TieredBufferPool) {
+            ((TieredBufferPool) pool).setLeakDetectionSampleRate(sampleRate);
+        }
+    }
+
     @Override
     public Pool<ByteBuffer> getValue() throws IllegalStateException, IllegalArgumentException {
         return bufferPool;
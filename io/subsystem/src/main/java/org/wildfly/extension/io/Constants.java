@@ -40,4 +40,6 @@ interface Constants {
     String WORKER_TASK_MAX_THREADS = "task-max-threads";
     String THREAD_DAEMON = "thread-daemon";
     String STACK_SIZE = "stack-size";
+    String STATISTICS_ENABLED = "statistics-enabled";
+    String TIERED = "tiered";
 }
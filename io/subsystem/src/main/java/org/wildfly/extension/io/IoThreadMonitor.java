@@ -0,0 +1,258 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.XnioExecutor;
+import org.xnio.XnioIoThread;
+import org.xnio.XnioWorker;
+
+/**
+ * Samples the load of the IO threads of a worker, and the latency of its task pool.
+ * <p>
+ * Every IO thread runs a probe at a fixed interval. As the probe runs on the IO thread itself, the delay between its
+ * scheduled and its actual run time is the time the thread was too busy to dispatch its queued tasks and timers, and
+ * the CPU time consumed by the thread between two probes gives its busy ratio. The probe also submits a timestamped
+ * task to its IO thread, measuring how long the tasks queued on the thread wait to run, and the probe of the first IO
+ * thread submits one to the worker task pool, measuring how long tasks wait in its queue.
+ * <p>
+ * The probes only run while the monitor is started.
+ */
+final class IoThreadMonitor {
+
+    static final long INTERVAL_MILLIS = 1000L;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+
+    private final XnioWorker worker;
+    private final IoThreadStatistics[] statistics;
+    private final XnioExecutor.Key[] keys;
+    private final TaskProbe taskPoolProbe = new TaskProbe();
+    private volatile boolean started;
+
+    IoThreadMonitor(final XnioWorker worker) {
+        this.worker = worker;
+        final int count = worker.getIoThreadCount();
+        this.statistics = new IoThreadStatistics[count];
+        this.keys = new XnioExecutor.Key[count];
+        for (int i = 0; i < count; i++) {
+            statistics[i] = new IoThreadStatistics(worker.getIoThread(i), i == 0);
+        }
+    }
+
+    synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        for (int i = 0; i < statistics.length; i++) {
+            final IoThreadStatistics threadStatistics = statistics[i];
+            threadStatistics.due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS);
+            try {
+                keys[i] = threadStatistics.thread.executeAtInterval(threadStatistics, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                IOLogger.ROOT_LOGGER.debugf(e, "Could not monitor IO thread %s", threadStatistics.thread.getName());
+            }
+        }
+    }
+
+    synchronized void stop() {
+        started = false;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                keys[i].remove();
+                keys[i] = null;
+            }
+        }
+    }
+
+    boolean isStarted() {
+        return started;
+    }
+
+    int getIoThreadCount() {
+        return statistics.length;
+    }
+
+    /**
+     * Gets the statistics of an IO thread.
+     *
+     * @param index the index of the IO thread
+     * @return the statistics, or {@code null} if the worker has no such IO thread
+     */
+    IoThreadStatistics getStatistics(final int index) {
+        return index >= 0 && index < statistics.length ? statistics[index] : null;
+    }
+
+    /**
+     * Returns the time the last sampled task waited in the queue of the worker task pool.
+     *
+     * @return the queue latency in microseconds, or {@code -1} if none was sampled yet
+     */
+    long getTaskQueueLatency() {
+        return taskPoolProbe.latency;
+    }
+
+    /**
+     * Returns the longest time a sampled task waited in the queue of the worker task pool.
+     *
+     * @return the queue latency in microseconds
+     */
+    long getMaxTaskQueueLatency() {
+        return taskPoolProbe.maxLatency.get();
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    final class IoThreadStatistics implements Runnable {
+        private final XnioIoThread thread;
+        private final boolean probeTaskPool;
+        private final TaskProbe taskProbe = new TaskProbe();
+        private final AtomicLong maxDispatchLatency = new AtomicLong();
+        private volatile long dispatchLatency = -1L;
+        private volatile long cpuTime = -1L;
+        private volatile double busyPercentage = -1.0;
+        // only accessed by the IO thread once started
+        private long due;
+        private long lastCpuTime;
+        private long lastSampleTime;
+
+        IoThreadStatistics(final XnioIoThread thread, final boolean probeTaskPool) {
+            this.thread = thread;
+            this.probeTaskPool = probeTaskPool;
+        }
+
+        @Override
+        public void run() {
+            final long now = System.nanoTime();
+            final long latency = TimeUnit.NANOSECONDS.toMicros(Math.max(0L, now - due));
+            dispatchLatency = latency;
+            maxDispatchLatency.accumulateAndGet(latency, Math::max);
+            due = now + TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS);
+            if (CPU_TIME_SUPPORTED) {
+                final long currentCpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+                if (lastSampleTime != 0L && now > lastSampleTime) {
+                    busyPercentage = Math.min(100.0, 100.0 * (currentCpuTime - lastCpuTime) / (now - lastSampleTime));
+                }
+                cpuTime = currentCpuTime;
+                lastCpuTime = currentCpuTime;
+                lastSampleTime = now;
+            }
+            taskProbe.submit(thread);
+            if (probeTaskPool) {
+                taskPoolProbe.submit(worker);
+            }
+        }
+
+        String getThreadName() {
+            return thread.getName();
+        }
+
+        /**
+         * @return the delay of the last probe in microseconds, or {@code -1} if none was sampled yet
+         */
+        long getDispatchLatency() {
+            return dispatchLatency;
+        }
+
+        /**
+         * @return the longest delay of a probe in microseconds
+         */
+        long getMaxDispatchLatency() {
+            return maxDispatchLatency.get();
+        }
+
+        /**
+         * @return the CPU time consumed by the thread in nanoseconds, or {@code -1} if not available
+         */
+        long getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * @return the percentage of the last interval the thread spent on CPU, or {@code -1} if not available
+         */
+        double getBusyPercentage() {
+            return busyPercentage;
+        }
+
+        /**
+         * @return the time the last probe task queued on the thread waited to run in microseconds, or {@code -1} if
+         * none was sampled yet
+         */
+        long getTaskLatency() {
+            return taskProbe.latency;
+        }
+
+        /**
+         * @return the longest time a probe task queued on the thread waited to run in microseconds
+         */
+        long getMaxTaskLatency() {
+            return taskProbe.maxLatency.get();
+        }
+    }
+
+    /**
+     * A timestamped task measuring how long the tasks submitted to an executor wait to run.
+     */
+    private static class TaskProbe implements Runnable {
+        private final AtomicLong maxLatency = new AtomicLong();
+        private volatile long latency = -1L;
+        private volatile long submitted;
+
+        void submit(final Executor executor) {
+            if (submitted != 0L) {
+                // the previous probe is still queued
+                return;
+            }
+            submitted = System.nanoTime();
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                submitted = 0L;
+            }
+        }
+
+        @Override
+        public void run() {
+            final long value = TimeUnit.NANOSECONDS.toMicros(Math.max(0L, System.nanoTime() - submitted));
+            latency = value;
+            maxLatency.accumulateAndGet(value, Math::max);
+            submitted = 0L;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.BufferAllocator;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * A {@link Pool} of byte buffers organized in size classes.
+ * <p>
+ * The largest size class is the configured buffer size, which is what {@link #allocate()} returns; up to two smaller
+ * classes, each a quarter of the next one, are available through {@link #allocate(int)}. Buffers of a size class are
+ * sliced out of slabs of {@code buffersPerSlice} buffers. Every thread keeps a small magazine of free buffers per size
+ * class, so that the common allocate/free cycle of an IO thread does not touch any shared state; full magazines spill
+ * half of their buffers to a shared free list that empty magazines are refilled from.
+ * <p>
+ * Leak detection tracks a random sample of the allocations: the allocation stack of a tracked buffer is captured, and
+ * is logged if the buffer becomes unreachable without having been freed.
+ */
+public final class TieredBufferPool implements Pool<ByteBuffer> {
+
+    static final int MIN_BUFFER_SIZE = 512;
+    static final int MAX_SIZE_CLASSES = 3;
+    static final int MAGAZINE_SIZE = 16;
+
+    private final String name;
+    private final BufferAllocator<ByteBuffer> allocator;
+    private final int buffersPerSlice;
+    private final SizeClass[] sizeClasses;
+    private final ReferenceQueue<PooledBuffer> leakQueue = new ReferenceQueue<>();
+    private final Set<LeakReference> trackedBuffers = ConcurrentHashMap.newKeySet();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder inUse = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder leaked = new LongAdder();
+    private volatile int leakDetectionSampleRate;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param name the name of the pool, used when reporting leaks
+     * @param directBuffers {@code true} to allocate direct buffers, {@code false} for heap buffers
+     * @param bufferSize the size of the buffers of the largest size class
+     * @param buffersPerSlice the number of buffers allocated at once when a size class runs out of free buffers
+     */
+    public TieredBufferPool(final String name, final boolean directBuffers, final int bufferSize, final int buffersPerSlice) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize");
+        }
+        if (buffersPerSlice < 1) {
+            throw new IllegalArgumentException("buffersPerSlice");
+        }
+        this.name = name;
+        this.allocator = directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR;
+        this.buffersPerSlice = buffersPerSlice;
+        int count = 1;
+        while (count < MAX_SIZE_CLASSES && (bufferSize >> (2 * count)) >= MIN_BUFFER_SIZE) {
+            count++;
+        }
+        this.sizeClasses = new SizeClass[count];
+        for (int i = 0; i < count; i++) {
+            sizeClasses[i] = new SizeClass(bufferSize >> (2 * (count - 1 - i)));
+        }
+    }
+
+    /**
+     * Allocates a buffer of the largest size class.
+     *
+     * @return the pooled buffer
+     */
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        return allocate(sizeClasses[sizeClasses.length - 1]);
+    }
+
+    /**
+     * Allocates a buffer of the smallest size class able to hold the given number of bytes. Requests larger than the
+     * largest size class are served by an unpooled buffer of the exact requested size.
+     *
+     * @param minimumSize the minimum capacity of the buffer
+     * @return the pooled buffer
+     */
+    public Pooled<ByteBuffer> allocate(final int minimumSize) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (sizeClass.size >= minimumSize) {
+                return allocate(sizeClass);
+            }
+        }
+        allocations.increment();
+        allocatedBytes.add(minimumSize);
+        return track(new PooledBuffer(null, allocator.allocate(minimumSize)));
+    }
+
+    private Pooled<ByteBuffer> allocate(final SizeClass sizeClass) {
+        allocations.increment();
+        ByteBuffer buffer = sizeClass.take();
+        if (buffer != null) {
+            hits.increment();
+        } else {
+            buffer = sizeClass.slice();
+        }
+        return track(new PooledBuffer(sizeClass, buffer));
+    }
+
+    private Pooled<ByteBuffer> track(final PooledBuffer pooled) {
+        inUse.increment();
+        reportLeaks();
+        final int sampleRate = leakDetectionSampleRate;
+        if (sampleRate > 0 && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0)) {
+            final LeakReference reference = new LeakReference(pooled, leakQueue);
+            trackedBuffers.add(reference);
+            pooled.leakReference = reference;
+        }
+        return pooled;
+    }
+
+    private void reportLeaks() {
+        LeakReference reference;
+        while ((reference = (LeakReference) leakQueue.poll()) != null) {
+            if (trackedBuffers.remove(reference)) {
+                leaked.increment();
+                inUse.decrement();
+                IOLogger.ROOT_LOGGER.bufferLeaked(reference.allocationSite, name, reference.size);
+            }
+        }
+    }
+
+    /**
+     * Releases the free buffers held by this pool. Buffers freed afterwards are discarded.
+     */
+    public void clean() {
+        closed = true;
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.shared.clear();
+        }
+        trackedBuffers.clear();
+    }
+
+    /**
+     * Returns the capacities of the size classes of this pool, in ascending order.
+     *
+     * @return the buffer sizes
+     */
+    public int[] getSizeClasses() {
+        final int[] sizes = new int[sizeClasses.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = sizeClasses[i].size;
+        }
+        return sizes;
+    }
+
+    /**
+     * Returns the 1 in {@code N} sampling rate of the allocations tracked for leaks.
+     *
+     * @return the sampling rate, {@code 0} if leak detection is disabled
+     */
+    public int getLeakDetectionSampleRate() {
+        return leakDetectionSampleRate;
+    }
+
+    /**
+     * Sets the 1 in {@code N} sampling rate of the allocations tracked for leaks. Tracking an allocation captures its
+     * stack, so low rates should only be used while diagnosing a leak.
+     *
+     * @param sampleRate the sampling rate, {@code 0} to disable leak detection
+     */
+    public void setLeakDetectionSampleRate(final int sampleRate) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException("sampleRate");
+        }
+        this.leakDetectionSampleRate = sampleRate;
+    }
+
+    /**
+     * Returns the number of bytes allocated by this pool, including the free buffers it holds.
+     *
+     * @return the allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * Returns the number of buffers that have been allocated and not freed yet.
+     *
+     * @return the buffers in use
+     */
+    public long getInUseBuffers() {
+        return Math.max(0L, inUse.sum());
+    }
+
+    /**
+     * Returns the number of allocations since this pool was created.
+     *
+     * @return the allocation count
+     */
+    public long getAllocationCount() {
+        return allocations.sum();
+    }
+
+    /**
+     * Returns the percentage of the allocations served by a previously freed buffer.
+     *
+     * @return the hit rate, between {@code 0} and {@code 100}
+     */
+    public double getHitRate() {
+        final long count = allocations.sum();
+        return count == 0L ? 0.0 : 100.0 * hits.sum() / count;
+    }
+
+    /**
+     * Returns the number of tracked buffers which became unreachable without having been freed.
+     *
+     * @return the leaked buffer count
+     */
+    public long getLeakedBuffers() {
+        reportLeaks();
+        return leaked.sum();
+    }
+
+    private final class SizeClass {
+        private final int size;
+        private final Queue<ByteBuffer> shared = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Magazine> magazines = ThreadLocal.withInitial(Magazine::new);
+        private ByteBuffer slab;
+
+        SizeClass(final int size) {
+            this.size = size;
+        }
+
+        ByteBuffer take() {
+            final Magazine magazine = magazines.get();
+            if (magazine.count > 0) {
+                final ByteBuffer buffer = magazine.buffers[--magazine.count];
+                magazine.buffers[magazine.count] = null;
+                return buffer;
+            }
+            return shared.poll();
+        }
+
+        void free(final ByteBuffer buffer) {
+            if (closed) {
+                return;
+            }
+            buffer.clear();
+            final Magazine magazine = magazines.get();
+            final ByteBuffer[] buffers = magazine.buffers;
+            if (magazine.count == MAGAZINE_SIZE) {
+                // spill the older half so that other threads can reuse it
+                final int spilled = MAGAZINE_SIZE / 2;
+                for (int i = 0; i < spilled; i++) {
+                    shared.add(buffers[i]);
+                }
+                System.arraycopy(buffers, spilled, buffers, 0, MAGAZINE_SIZE - spilled);
+                magazine.count -= spilled;
+                for (int i = magazine.count; i < MAGAZINE_SIZE; i++) {
+                    buffers[i] = null;
+                }
+            }
+            buffers[magazine.count++] = buffer;
+        }
+
+        synchronized ByteBuffer slice() {
+            if (slab == null || slab.remaining() < size) {
+                slab = allocator.allocate(size * buffersPerSlice);
+                allocatedBytes.add(slab.capacity());
+            }
+            final int position = slab.position();
+            slab.limit(position + size);
+            final ByteBuffer buffer = slab.slice();
+            slab.position(position + size);
+            slab.limit(slab.capacity());
+            return buffer;
+        }
+    }
+
+    private static final class Magazine {
+        private final ByteBuffer[] buffers = new ByteBuffer[MAGAZINE_SIZE];
+        private int count;
+    }
+
+    private final class PooledBuffer implements Pooled<ByteBuffer> {
+        private final SizeClass sizeClass;
+        volatile ByteBuffer buffer;
+        LeakReference leakReference;
+
+        PooledBuffer(final SizeClass sizeClass, final ByteBuffer buffer) {
+            this.sizeClass = sizeClass;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void discard() {
+            release(false);
+        }
+
+        @Override
+        public void free() {
+            release(true);
+        }
+
+        private void release(final boolean reuse) {
+            final ByteBuffer released = BUFFER_UPDATER.getAndSet(this, null);
+            if (released == null) {
+                return;
+            }
+            inUse.decrement();
+            final LeakReference reference = leakReference;
+            if (reference != null) {
+                trackedBuffers.remove(reference);
+                reference.clear();
+            }
+            if (reuse && sizeClass != null) {
+                sizeClass.free(released);
+            }
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            final ByteBuffer resource = buffer;
+            if (resource == null) {
+                throw IOLogger.ROOT_LOGGER.bufferFreed();
+            }
+            return resource;
+        }
+
+        @Override
+        public void close() {
+            free();
+        }
+    }
+
+    private static final AtomicReferenceFieldUpdater<PooledBuffer, ByteBuffer> BUFFER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(PooledBuffer.class, ByteBuffer.class, "buffer");
+
+    private static final class LeakReference extends PhantomReference<PooledBuffer> {
+        private final Throwable allocationSite = new AllocationSite();
+        private final int size;
+
+        LeakReference(final PooledBuffer pooled, final ReferenceQueue<PooledBuffer> queue) {
+            super(pooled, queue);
+            this.size = pooled.buffer.capacity();
+        }
+    }
+
+    private static final class AllocationSite extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        AllocationSite() {
+            super("Buffer allocation site");
+        }
+    }
+}
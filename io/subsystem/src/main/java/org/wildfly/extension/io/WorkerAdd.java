@@ -26,7 +26,7 @@ package org.wildfly.extension.io;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
-import static org.wildfly.extension.io.WorkerResourceDefinition.ATTRIBUTES;
+import static org.wildfly.extension.io.WorkerResourceDefinition.CONFIGURATION_ATTRIBUTES;
 import static org.wildfly.extension.io.WorkerResourceDefinition.IO_WORKER_RUNTIME_CAPABILITY;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_IO_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_CORE_THREADS;
@@ -66,7 +66,7 @@ class WorkerAdd extends AbstractAddStepHandler {
     static final WorkerAdd INSTANCE = new WorkerAdd();
 
     private WorkerAdd() {
-        super(ATTRIBUTES);
+        super(CONFIGURATION_ATTRIBUTES);
     }
 
     private static int getMaxDescriptorCount() {
@@ -223,7 +223,9 @@ class WorkerAdd extends AbstractAddStepHandler {
         final CapabilityServiceBuilder<?> capBuilder = context.getCapabilityServiceTarget().addCapability(IO_WORKER_RUNTIME_CAPABILITY);
         final Consumer<XnioWorker> workerConsumer = capBuilder.provides(IO_WORKER_RUNTIME_CAPABILITY);
         final Supplier<ExecutorService> executorSupplier = capBuilder.requiresCapability("org.wildfly.management.executor", ExecutorService.class);
-        capBuilder.setInstance(new WorkerService(workerConsumer, executorSupplier, builder));
+        final WorkerService workerService = new WorkerService(workerConsumer, executorSupplier, builder);
+        workerService.setStatisticsEnabled(WorkerResourceDefinition.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+        capBuilder.setInstance(workerService);
         capBuilder.setInitialMode(ServiceController.Mode.ON_DEMAND);
         capBuilder.install();
     }
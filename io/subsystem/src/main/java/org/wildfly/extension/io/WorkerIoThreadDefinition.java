@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime resource exposing the load of a single IO thread of a worker.
+ */
+class WorkerIoThreadDefinition extends SimpleResourceDefinition {
+
+    static final String IO_THREAD = "io-thread";
+
+    private static final SimpleAttributeDefinition THREAD_NAME = new SimpleAttributeDefinitionBuilder("thread-name", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition DISPATCH_LATENCY = new SimpleAttributeDefinitionBuilder("dispatch-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition MAX_DISPATCH_LATENCY = new SimpleAttributeDefinitionBuilder("max-dispatch-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition CPU_TIME = new SimpleAttributeDefinitionBuilder("cpu-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition BUSY_PERCENTAGE = new SimpleAttributeDefinitionBuilder("busy-percentage", ModelType.DOUBLE)
+            .setMeasurementUnit(MeasurementUnit.PERCENTAGE)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition TASK_LATENCY = new SimpleAttributeDefinitionBuilder("task-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition MAX_TASK_LATENCY = new SimpleAttributeDefinitionBuilder("max-task-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    WorkerIoThreadDefinition() {
+        super(new Parameters(PathElement.pathElement(IO_THREAD), IOExtension.getResolver("worker", IO_THREAD))
+                .setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerReadOnlyAttribute(THREAD_NAME, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                return new ModelNode(statistics.getThreadName());
+            }
+        });
+        resourceRegistration.registerMetric(DISPATCH_LATENCY, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                return definedIfPositive(statistics.getDispatchLatency());
+            }
+        });
+        resourceRegistration.registerMetric(MAX_DISPATCH_LATENCY, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                return new ModelNode(statistics.getMaxDispatchLatency());
+            }
+        });
+        resourceRegistration.registerMetric(CPU_TIME, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                return definedIfPositive(statistics.getCpuTime());
+            }
+        });
+        resourceRegistration.registerMetric(BUSY_PERCENTAGE, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                double busy = statistics.getBusyPercentage();
+                return busy < 0 ? new ModelNode() : new ModelNode(busy);
+            }
+        });
+        resourceRegistration.registerMetric(TASK_LATENCY, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                return definedIfPositive(statistics.getTaskLatency());
+            }
+        });
+        resourceRegistration.registerMetric(MAX_TASK_LATENCY, new IoThreadMetricsHandler() {
+            @Override
+            ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics) {
+                return new ModelNode(statistics.getMaxTaskLatency());
+            }
+        });
+    }
+
+    private static ModelNode definedIfPositive(long value) {
+        return value < 0 ? new ModelNode() : new ModelNode(value);
+    }
+
+    private abstract static class IoThreadMetricsHandler implements OperationStepHandler {
+
+        abstract ModelNode getMetricValue(IoThreadMonitor.IoThreadStatistics statistics);
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            IoThreadMonitor monitor = WorkerResourceDefinition.getIoThreadMonitor(context);
+            IoThreadMonitor.IoThreadStatistics statistics = null;
+            if (monitor != null) {
+                try {
+                    statistics = monitor.getStatistics(Integer.parseInt(context.getCurrentAddressValue()));
+                } catch (NumberFormatException ignored) {
+                    // not an IO thread index
+                }
+            }
+            if (statistics != null) {
+                context.getResult().set(getMetricValue(statistics));
+            } else {
+                context.getResult().set(IOExtension.NO_METRICS);
+            }
+        }
+    }
+}
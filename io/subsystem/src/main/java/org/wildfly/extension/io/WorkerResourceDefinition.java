@@ -27,6 +27,8 @@ package org.wildfly.extension.io;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,9 +45,11 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
@@ -113,12 +117,25 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             STACK_SIZE
     };
 
+    static final SimpleAttributeDefinition STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(Constants.STATISTICS_ENABLED, ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(true)
+            .build();
+
+    static final Collection<AttributeDefinition> CONFIGURATION_ATTRIBUTES;
+
     private static final AttributeDefinition SHUTDOWN_REQUESTED = new SimpleAttributeDefinitionBuilder("shutdown-requested", ModelType.BOOLEAN).setStorageRuntime().build();
     private static final AttributeDefinition CORE_WORKER_POOL_SIZE = new SimpleAttributeDefinitionBuilder("core-pool-size", ModelType.INT).build();
     private static final AttributeDefinition MAX_WORKER_POOL_SIZE = new SimpleAttributeDefinitionBuilder("max-pool-size", ModelType.INT).build();
     private static final AttributeDefinition IO_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("io-thread-count", ModelType.INT).build();
     private static final AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("queue-size", ModelType.INT).build();
     private static final AttributeDefinition BUSY_WORKER_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("busy-task-thread-count", ModelType.INT).build();
+    private static final AttributeDefinition TASK_QUEUE_LATENCY = new SimpleAttributeDefinitionBuilder("task-queue-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    private static final AttributeDefinition MAX_TASK_QUEUE_LATENCY = new SimpleAttributeDefinitionBuilder("max-task-queue-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
 
     static final Map<String, OptionAttributeDefinition> ATTRIBUTES_BY_XMLNAME;
 
@@ -128,6 +145,9 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             attrs.put(attr.getXmlName(), (OptionAttributeDefinition) attr);
         }
         ATTRIBUTES_BY_XMLNAME = Collections.unmodifiableMap(attrs);
+        Collection<AttributeDefinition> configuration = new ArrayList<>(Arrays.asList(ATTRIBUTES));
+        configuration.add(STATISTICS_ENABLED);
+        CONFIGURATION_ATTRIBUTES = Collections.unmodifiableCollection(configuration);
     }
 
 
@@ -141,10 +161,9 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
                 .addCapabilities(IO_WORKER_RUNTIME_CAPABILITY));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<AttributeDefinition> getAttributes() {
-        return (Collection) ATTRIBUTES_BY_XMLNAME.values();
+        return CONFIGURATION_ATTRIBUTES;
     }
 
     @Override
@@ -190,6 +209,8 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
                     }
                 });
 
+        resourceRegistration.registerReadWriteAttribute(STATISTICS_ENABLED, null, new StatisticsEnabledWriteHandler());
+
         WorkerMetricsHandler metricsHandler = new WorkerMetricsHandler();
         resourceRegistration.registerReadOnlyAttribute(SHUTDOWN_REQUESTED, metricsHandler);
 
@@ -198,6 +219,19 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         resourceRegistration.registerMetric(IO_THREAD_COUNT, metricsHandler);
         resourceRegistration.registerMetric(QUEUE_SIZE, metricsHandler);
         resourceRegistration.registerMetric(BUSY_WORKER_THREAD_COUNT, metricsHandler);
+
+        resourceRegistration.registerMetric(TASK_QUEUE_LATENCY, (context, operation) -> {
+            IoThreadMonitor monitor = getIoThreadMonitor(context);
+            if (monitor != null && monitor.getTaskQueueLatency() >= 0) {
+                context.getResult().set(monitor.getTaskQueueLatency());
+            }
+        });
+        resourceRegistration.registerMetric(MAX_TASK_QUEUE_LATENCY, (context, operation) -> {
+            IoThreadMonitor monitor = getIoThreadMonitor(context);
+            if (monitor != null) {
+                context.getResult().set(monitor.getMaxTaskQueueLatency());
+            }
+        });
     }
 
     @Override
@@ -210,6 +244,7 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         // by doing it this way it will still behave correctly.
         if (!PROFILE.equals(resourceRegistration.getPathAddress().getElement(0).getKey())) {
             resourceRegistration.registerSubModel(new WorkerServerDefinition());
+            resourceRegistration.registerSubModel(new WorkerIoThreadDefinition());
         }
     }
 
@@ -275,6 +310,34 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
 
     }
 
+    /**
+     * Starts or stops the sampling of the IO threads and task pool of the worker.
+     */
+    private static class StatisticsEnabledWriteHandler extends AbstractWriteAttributeHandler<Void> {
+
+        StatisticsEnabledWriteHandler() {
+            super(STATISTICS_ENABLED);
+        }
+
+        @Override
+        protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode resolvedValue, ModelNode currentValue, HandbackHolder<Void> handbackHolder) {
+            setStatisticsEnabled(context, resolvedValue.asBoolean());
+            return false;
+        }
+
+        @Override
+        protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
+            setStatisticsEnabled(context, STATISTICS_ENABLED.resolveValue(context, valueToRestore).asBoolean());
+        }
+
+        private static void setStatisticsEnabled(OperationContext context, boolean enabled) {
+            WorkerService service = getWorkerService(context.getServiceRegistry(true), context.getCurrentAddressValue());
+            if (service != null) {
+                service.setStatisticsEnabled(enabled);
+            }
+        }
+    }
+
     private static class WorkerReadAttributeHandler extends AbstractWorkerAttributeHandler {
         final Option<?> option;
 
@@ -327,6 +390,38 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         return controller.getValue();
     }
 
+    static IoThreadMonitor getIoThreadMonitor(OperationContext context) {
+        PathAddress address = context.getCurrentAddress();
+        if (PROFILE.equals(address.getElement(0).getKey())) {
+            return null;
+        }
+        String name = null;
+        for (PathElement pe : address) {
+            if (pe.getKey().equals(IOExtension.WORKER_PATH.getKey())) {
+                name = pe.getValue();
+                break;
+            }
+        }
+        IoThreadMonitor monitor = getIoThreadMonitor(context.getServiceRegistry(false), name);
+        // no statistics are sampled unless enabled
+        return monitor != null && monitor.isStarted() ? monitor : null;
+    }
+
+    private static IoThreadMonitor getIoThreadMonitor(ServiceRegistry serviceRegistry, String name) {
+        ServiceName serviceName = IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(name, XnioWorker.class);
+        ServiceController<?> controller = serviceRegistry.getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        return ((WorkerService) controller.getService()).getIoThreadMonitor();
+    }
+
+    private static WorkerService getWorkerService(ServiceRegistry serviceRegistry, String name) {
+        ServiceName serviceName = IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(name, XnioWorker.class);
+        ServiceController<?> controller = serviceRegistry.getService(serviceName);
+        return controller == null ? null : (WorkerService) controller.getService();
+    }
+
     private static XnioWorkerMXBean getMetrics(ServiceRegistry serviceRegistry, String name) {
         XnioWorker worker = getXnioWorker(serviceRegistry, name);
         if (worker != null && worker.getMXBean() != null) {
@@ -406,6 +501,55 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
                     return null;
                 }
 
+                @Override
+                public ResourceProvider clone() {
+                    return this;
+                }
+            });
+            super.registerResourceProvider(WorkerIoThreadDefinition.IO_THREAD, new ResourceProvider() {
+                @Override
+                public boolean has(String name) {
+                    return children().contains(name);
+                }
+
+                @Override
+                public Resource get(String name) {
+                    return PlaceholderResource.INSTANCE;
+                }
+
+                @Override
+                public boolean hasChildren() {
+                    return !children().isEmpty();
+                }
+
+                @Override
+                public Set<String> children() {
+                    IoThreadMonitor monitor = getIoThreadMonitor(serviceRegistry, pathAddress.getLastElement().getValue());
+                    if (monitor == null) {
+                        return Collections.emptySet();
+                    }
+                    Set<String> res = new LinkedHashSet<>();
+                    for (int i = 0; i < monitor.getIoThreadCount(); i++) {
+                        res.add(Integer.toString(i));
+                    }
+                    return res;
+                }
+
+                @Override
+                public void register(String name, Resource resource) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void register(String value, int index, Resource resource) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Resource remove(String name) {
+                    return null;
+                }
+
                 @Override
                 public ResourceProvider clone() {
                     return this;
@@ -417,6 +561,7 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         public Set<String> getChildTypes() {
             LinkedHashSet<String> result = new LinkedHashSet<>(super.getChildTypes());
             result.add("server");
+            result.add(WorkerIoThreadDefinition.IO_THREAD);
             return result;
         }
 
@@ -49,6 +49,8 @@ public final class WorkerService implements Service<XnioWorker> {
     private final Supplier<ExecutorService> executorSupplier;
     private final Object stopLock = new Object();
     private XnioWorker worker;
+    private volatile IoThreadMonitor ioThreadMonitor;
+    private boolean statisticsEnabled;
     private volatile StopContext stopContext;
 
     public WorkerService(final Consumer<XnioWorker> workerConsumer, final Supplier<ExecutorService> executorSupplier, final XnioWorker.Builder builder) {
@@ -61,12 +63,22 @@ public final class WorkerService implements Service<XnioWorker> {
     public void start(final StartContext startContext) {
         builder.setTerminationTask(this::stopDone);
         worker = builder.build();
+        synchronized (this) {
+            ioThreadMonitor = new IoThreadMonitor(worker);
+            if (statisticsEnabled) {
+                ioThreadMonitor.start();
+            }
+        }
         workerConsumer.accept(worker);
     }
 
     @Override
     public void stop(final StopContext context) {
         this.stopContext = context;
+        synchronized (this) {
+            ioThreadMonitor.stop();
+            ioThreadMonitor = null;
+        }
         final ExecutorService executorService = executorSupplier.get();
         Runnable asyncStop = () -> {
             XnioWorker localWorker = worker;
@@ -133,6 +145,27 @@ public final class WorkerService implements Service<XnioWorker> {
         }
     }
 
+    /**
+     * Switches the sampling of the IO threads and task pool of the worker.
+     *
+     * @param statisticsEnabled whether the IO thread monitor runs
+     */
+    synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final IoThreadMonitor ioThreadMonitor = this.ioThreadMonitor;
+        if (ioThreadMonitor != null) {
+            if (statisticsEnabled) {
+                ioThreadMonitor.start();
+            } else {
+                ioThreadMonitor.stop();
+            }
+        }
+    }
+
+    IoThreadMonitor getIoThreadMonitor() {
+        return ioThreadMonitor;
+    }
+
     CidrAddressTable<InetSocketAddress> getBindingsTable() {
         return builder.getBindAddressConfigurations();
     }
@@ -33,6 +33,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
@@ -75,4 +76,11 @@ public interface IOLogger extends BasicLogger {
 
     @Message(id = 7, value = "Unexpected bind address conflict in resource \"%s\" when attempting to establish binding for destination %s to %s: a binding of %s already existed")
     OperationFailedException unexpectedBindAddressConflict(PathAddress currentAddress, CidrAddress cidrAddress, InetSocketAddress bindAddress, InetSocketAddress existing);
+
+    @LogMessage(level = WARN)
+    @Message(id = 8, value = "Buffer pool '%s' leaked a buffer of %d bytes which became unreachable without having been freed")
+    void bufferLeaked(@Cause Throwable allocationSite, String poolName, int size);
+
+    @Message(id = 9, value = "Buffer has already been freed")
+    IllegalStateException bufferFreed();
 }
@@ -43,6 +43,7 @@ import org.jboss.msc.service.ServiceController;
 import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.common.cpu.ProcessorInfo;
+import org.xnio.ByteBufferSlicePool;
 import org.xnio.OptionMap;
 import org.xnio.Options;
 import org.xnio.Sequence;
@@ -60,12 +61,12 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("io-3.0.xml");
+        return readResource("io-4.0.xml");
     }
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-io_3_0.xsd";
+        return "schema/wildfly-io_4_0.xsd";
     }
 
     @Override
@@ -149,6 +150,76 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
         Assert.assertEquals(keepAliveMillis / 1000, (long) mbs.getAttribute(threadPoolName, "KeepAliveTimeSeconds"));
     }
 
+    @Test
+    public void testIoThreadMetrics() throws Exception {
+        KernelServices kernelServices = startKernelServices(getSubsystemXml());
+        XnioWorker worker = startXnioWorker(kernelServices);
+        PathAddress addr = PathAddress.parseCLIStyleAddress("/subsystem=io/worker=default");
+        ModelNode op = Util.createOperation("read-children-names", addr);
+        op.get("child-type").set("io-thread");
+        Assert.assertEquals(worker.getIoThreadCount(), kernelServices.executeForResult(op).asList().size());
+
+        // nothing is sampled until the statistics are enabled
+        PathAddress threadAddr = addr.append("io-thread", "0");
+        ModelNode result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "task-queue-latency"));
+        Assert.assertFalse(result.isDefined());
+
+        kernelServices.executeForResult(Util.getWriteAttributeOperation(addr, Constants.STATISTICS_ENABLED, true));
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(threadAddr, "thread-name"));
+        Assert.assertEquals(worker.getIoThread(0).getName(), result.asString());
+        long deadline = System.currentTimeMillis() + 5000L;
+        do {
+            Thread.sleep(100);
+            result = kernelServices.executeForResult(Util.getReadAttributeOperation(threadAddr, "task-latency"));
+        } while (!result.isDefined() && System.currentTimeMillis() < deadline);
+        Assert.assertTrue(result.asLong() >= 0L);
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "task-queue-latency"));
+        Assert.assertTrue(result.asLong() >= 0L);
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(threadAddr, "dispatch-latency"));
+        Assert.assertTrue(result.asLong() >= 0L);
+
+        kernelServices.executeForResult(Util.getWriteAttributeOperation(addr, Constants.STATISTICS_ENABLED, false));
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "task-queue-latency"));
+        Assert.assertFalse(result.isDefined());
+    }
+
+    @Test
+    public void testBufferPoolMetrics() throws Exception {
+        KernelServices kernelServices = startKernelServices(getSubsystemXml());
+        ServiceController<?> poolServiceController = kernelServices.getContainer().getService(IOServices.BUFFER_POOL.append("default"));
+        poolServiceController.setMode(ServiceController.Mode.ACTIVE);
+        TieredBufferPool pool = (TieredBufferPool) poolServiceController.awaitValue();
+        pool.allocate().free();
+        pool.allocate();
+
+        PathAddress addr = PathAddress.parseCLIStyleAddress("/subsystem=io/buffer-pool=default");
+        ModelNode result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "in-use-buffers"));
+        Assert.assertEquals(1L, result.asLong());
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "hit-rate"));
+        Assert.assertEquals(50.0, result.asDouble(), 0.0);
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "size-classes"));
+        Assert.assertEquals(2, result.asList().size());
+
+        kernelServices.executeForResult(Util.getWriteAttributeOperation(addr, "leak-detection-sample-rate", 10));
+        Assert.assertEquals(10, pool.getLeakDetectionSampleRate());
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "leak-detection-sample-rate"));
+        Assert.assertEquals(10, result.asInt());
+    }
+
+    @Test
+    public void testUntieredBufferPool() throws Exception {
+        KernelServices kernelServices = startKernelServices(getSubsystemXml().replace(" tiered=\"true\"", ""));
+        ServiceController<?> poolServiceController = kernelServices.getContainer().getService(IOServices.BUFFER_POOL.append("default"));
+        poolServiceController.setMode(ServiceController.Mode.ACTIVE);
+        Assert.assertTrue(poolServiceController.awaitValue() instanceof ByteBufferSlicePool);
+
+        PathAddress addr = PathAddress.parseCLIStyleAddress("/subsystem=io/buffer-pool=default");
+        ModelNode result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "tiered"));
+        Assert.assertFalse(result.asBoolean());
+        result = kernelServices.executeForResult(Util.getReadAttributeOperation(addr, "in-use-buffers"));
+        Assert.assertFalse(result.isDefined());
+    }
+
     protected KernelServices startKernelServices(String subsystemXml) throws Exception {
         KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
                 .setSubsystemXml(subsystemXml);
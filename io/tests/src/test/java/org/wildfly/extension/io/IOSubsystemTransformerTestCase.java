@@ -21,9 +21,12 @@ package org.wildfly.extension.io;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_0_0;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_1_0;
 import static org.junit.Assert.assertTrue;
+import static org.wildfly.extension.io.BufferPoolResourceDefinition.TIERED;
+import static org.wildfly.extension.io.IOExtension.BUFFER_POOL_PATH;
 import static org.wildfly.extension.io.IOExtension.SUBSYSTEM_PATH;
 import static org.wildfly.extension.io.IOExtension.WORKER_PATH;
 import static org.wildfly.extension.io.WorkerResourceDefinition.STACK_SIZE;
+import static org.wildfly.extension.io.WorkerResourceDefinition.STATISTICS_ENABLED;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_IO_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_CORE_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_KEEPALIVE;
@@ -62,6 +65,12 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
         return readResource("io-3.0-transformer.xml");
     }
 
+    @Override
+    protected void standardSubsystemTest(final String configId) throws Exception {
+        // the legacy 3.0 document is marshalled back using the current schema
+        standardSubsystemTest(configId, false);
+    }
+
 
     @Test
     public void testTransformerEAP700() throws Exception {
@@ -110,7 +119,7 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
         PathAddress subsystemAddress = PathAddress.pathAddress(SUBSYSTEM_PATH);
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig()
                 .addFailedAttribute(subsystemAddress.append(WORKER_PATH),
-                        ChainedConfig.createBuilder(STACK_SIZE, WORKER_IO_THREADS, WORKER_TASK_KEEPALIVE, WORKER_TASK_MAX_THREADS, WORKER_TASK_CORE_THREADS)
+                        ChainedConfig.createBuilder(STACK_SIZE, WORKER_IO_THREADS, WORKER_TASK_KEEPALIVE, WORKER_TASK_MAX_THREADS, WORKER_TASK_CORE_THREADS, STATISTICS_ENABLED)
                             .addConfig(
                                     new FailedOperationTransformationConfig.RejectExpressionsConfig(
                                             STACK_SIZE,
@@ -119,11 +128,14 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
                                             WORKER_TASK_MAX_THREADS
                                     )
                             )
-                            .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(WORKER_TASK_CORE_THREADS))
+                            .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(WORKER_TASK_CORE_THREADS, STATISTICS_ENABLED))
                             .build()
                 )
                 .addFailedAttribute(subsystemAddress.append(PathElement.pathElement(WORKER_PATH.getKey(), "fourth-worker"), PathElement.pathElement("outbound-bind-address")),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE
+                )
+                .addFailedAttribute(subsystemAddress.append(BUFFER_POOL_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(TIERED)
                 );
         testRejectingTransformers(EAP_7_0_0, config);
     }
@@ -134,8 +146,12 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig()
                 .addFailedAttribute(subsystemAddress.append(WORKER_PATH),
                         new FailedOperationTransformationConfig.NewAttributesConfig(
-                                WORKER_TASK_CORE_THREADS
+                                WORKER_TASK_CORE_THREADS,
+                                STATISTICS_ENABLED
                         )
+                )
+                .addFailedAttribute(subsystemAddress.append(BUFFER_POOL_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(TIERED)
                 );
         testRejectingTransformers(EAP_7_1_0, config);
     }
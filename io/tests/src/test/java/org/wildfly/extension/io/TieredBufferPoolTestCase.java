@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.xnio.Pooled;
+
+/**
+ * Unit tests of {@link TieredBufferPool}.
+ */
+public class TieredBufferPoolTestCase {
+
+    @Test
+    public void testSizeClasses() {
+        assertArrayEquals(new int[] {1024, 4096, 16384}, new TieredBufferPool("test", false, 16384, 4).getSizeClasses());
+        assertArrayEquals(new int[] {512, 2048}, new TieredBufferPool("test", false, 2048, 4).getSizeClasses());
+        assertArrayEquals(new int[] {256}, new TieredBufferPool("test", false, 256, 4).getSizeClasses());
+
+        TieredBufferPool pool = new TieredBufferPool("test", true, 16384, 4);
+        assertEquals(16384, pool.allocate().getResource().capacity());
+        assertEquals(1024, pool.allocate(100).getResource().capacity());
+        assertEquals(4096, pool.allocate(2000).getResource().capacity());
+        assertEquals(20000, pool.allocate(20000).getResource().capacity());
+        assertTrue(pool.allocate().getResource().isDirect());
+    }
+
+    @Test
+    public void testReuse() {
+        TieredBufferPool pool = new TieredBufferPool("test", false, 1024, 4);
+        Pooled<ByteBuffer> first = pool.allocate();
+        ByteBuffer buffer = first.getResource();
+        buffer.put((byte) 1);
+        assertEquals(1L, pool.getInUseBuffers());
+        assertEquals(4096L, pool.getAllocatedBytes());
+
+        first.free();
+        first.free();
+        assertEquals(0L, pool.getInUseBuffers());
+        try {
+            first.getResource();
+            fail("freed buffer returned");
+        } catch (IllegalStateException expected) {
+        }
+
+        Pooled<ByteBuffer> second = pool.allocate();
+        assertSame(buffer, second.getResource());
+        assertEquals(0, second.getResource().position());
+        assertEquals(50.0, pool.getHitRate(), 0.0);
+        assertEquals(2L, pool.getAllocationCount());
+
+        // a discarded buffer is not reused
+        second.discard();
+        assertTrue(buffer != pool.allocate().getResource());
+    }
+
+    @Test
+    public void testSharedFreeList() throws Exception {
+        TieredBufferPool pool = new TieredBufferPool("test", false, 1024, 64);
+        Pooled<?>[] pooled = new Pooled<?>[TieredBufferPool.MAGAZINE_SIZE + 1];
+        for (int i = 0; i < pooled.length; i++) {
+            pooled[i] = pool.allocate();
+        }
+        // overflows the magazine of this thread, spilling buffers to the shared free list
+        for (Pooled<?> p : pooled) {
+            p.free();
+        }
+        Thread thread = new Thread(() -> pool.allocate());
+        thread.start();
+        thread.join();
+        assertEquals(100.0 / (pooled.length + 1), pool.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void testLeakDetection() throws Exception {
+        TieredBufferPool pool = new TieredBufferPool("test", false, 1024, 4);
+        pool.setLeakDetectionSampleRate(1);
+        pool.allocate().free();
+        pool.allocate();
+        for (int i = 0; i < 100 && pool.getLeakedBuffers() == 0L; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1L, pool.getLeakedBuffers());
+        assertEquals(0L, pool.getInUseBuffers());
+    }
+}
@@ -32,7 +32,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -212,12 +211,12 @@ final class ManagedProcess {
         final OutputStream stdin = process.getOutputStream();
         final InputStream stderr = process.getErrorStream();
         final InputStream stdout = process.getInputStream();
-        final Thread stderrThread = new Thread(new ReadTask(stderr, processController.getStderr()));
-        stderrThread.setName(String.format("stderr for %s", processName));
-        stderrThread.start();
-        final Thread stdoutThread = new Thread(new ReadTask(stdout, processController.getStdout()));
-        stdoutThread.setName(String.format("stdout for %s", processName));
-        stdoutThread.start();
+        final ProcessOutputBuffer outputBuffer = new ProcessOutputBuffer(2);
+        startReadThread("stderr", stderr, outputBuffer, processController.getStderr());
+        startReadThread("stdout", stdout, outputBuffer, processController.getStdout());
+        final Thread writeThread = new Thread(new WriteTask(outputBuffer));
+        writeThread.setName(String.format("output writer for %s", processName));
+        writeThread.start();
 
         joinThread = new Thread(new JoinTask(startTime));
         joinThread.setName(String.format("reaper for %s", processName));
@@ -444,12 +443,20 @@ final class ManagedProcess {
         }
     }
 
+    private void startReadThread(final String streamName, final InputStream source, final ProcessOutputBuffer buffer, final PrintStream target) {
+        final Thread readThread = new Thread(new ReadTask(source, buffer, target));
+        readThread.setName(String.format("%s for %s", streamName, processName));
+        readThread.start();
+    }
+
     private final class ReadTask implements Runnable {
         private final InputStream source;
+        private final ProcessOutputBuffer buffer;
         private final PrintStream target;
 
-        private ReadTask(final InputStream source, final PrintStream target) {
+        private ReadTask(final InputStream source, final ProcessOutputBuffer buffer, final PrintStream target) {
             this.source = source;
+            this.buffer = buffer;
             this.target = target;
         }
 
@@ -458,7 +465,7 @@ final class ManagedProcess {
             final String processName = ManagedProcess.this.processName;
             try {
                 final BufferedReader reader = new BufferedReader(new InputStreamReader(new BufferedInputStream(source), StandardCharsets.UTF_8));
-                final OutputStreamWriter writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+                final StringBuilder builder = new StringBuilder();
                 String s;
                 String prevEscape = "";
                 while ((s = reader.readLine()) != null) {
@@ -466,20 +473,14 @@ final class ManagedProcess {
                     int i = s.lastIndexOf('\033');
                     int j = i != -1 ? s.indexOf('m', i) : 0;
 
-                    synchronized (target) {
-                        writer.write('[');
-                        writer.write(processName);
-                        writer.write("] ");
-                        writer.write(prevEscape);
-                        writer.write(s);
-
-                        // Reset if there was ANSI
-                        if (j != 0 || prevEscape != "") {
-                            writer.write("\033[0m");
-                        }
-                        writer.write('\n');
-                        writer.flush();
+                    builder.setLength(0);
+                    builder.append('[').append(processName).append("] ").append(prevEscape).append(s);
+                    // Reset if there was ANSI
+                    if (j != 0 || prevEscape != "") {
+                        builder.append("\033[0m");
                     }
+                    builder.append('\n');
+                    buffer.add(target, builder.toString());
 
 
                     // Remember escape code for the next line
@@ -495,9 +496,65 @@ final class ManagedProcess {
                 source.close();
             } catch (IOException e) {
                 log.streamProcessingFailed(processName, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             } finally {
+                buffer.close();
                 StreamUtils.safeClose(source);
             }
         }
     }
+
+    /**
+     * Writes the buffered output of all streams of a process in batches, with a single flush per stream and batch.
+     */
+    private final class WriteTask implements Runnable {
+        private final ProcessOutputBuffer buffer;
+        private final StringBuilder builder = new StringBuilder();
+        private long forwarded;
+
+        private WriteTask(final ProcessOutputBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public void run() {
+            final List<ProcessOutputBuffer.Line> batch = new ArrayList<>();
+            try {
+                long dropped;
+                while ((dropped = buffer.drainTo(batch)) >= 0) {
+                    if (dropped > 0) {
+                        log.droppedProcessOutput(dropped, processName);
+                    }
+                    // keep the order of the lines, writing each run of lines of the same stream at once
+                    PrintStream target = null;
+                    for (ProcessOutputBuffer.Line line : batch) {
+                        if (line.getTarget() != target) {
+                            write(target);
+                            target = line.getTarget();
+                        }
+                        builder.append(line.getText());
+                    }
+                    write(target);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                log.debugf("Process '%s' forwarded %d bytes of output and dropped %d lines", processName, forwarded, buffer.getDropped());
+            }
+        }
+
+        private void write(final PrintStream target) {
+            if (builder.length() == 0) {
+                return;
+            }
+            final byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+            builder.setLength(0);
+            synchronized (target) {
+                target.write(bytes, 0, bytes.length);
+                target.flush();
+            }
+            forwarded += bytes.length;
+        }
+    }
 }
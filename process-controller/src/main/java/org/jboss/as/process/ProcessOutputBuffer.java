@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Locale;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Bounded buffer of the lines a managed process wrote to its output streams, decoupling reading the output of the
+ * process from writing it to the output of the process controller. Each line is tagged with the stream it is written
+ * to, so that a single thread can write the output of all streams of a process.
+ * <p>
+ * The buffer holds at most {@link #CAPACITY} characters. What happens to a line which does not fit is determined by
+ * the {@link OverflowPolicy}: by default the reading thread waits until the line fits, which applies back-pressure to
+ * the process as before.
+ */
+final class ProcessOutputBuffer {
+
+    /** The maximum number of characters buffered per process. */
+    static final String CAPACITY = "jboss.process.output.buffer-size";
+    /** The {@link OverflowPolicy} applied when the buffer is full. */
+    static final String OVERFLOW_POLICY = "jboss.process.output.overflow-policy";
+    /** The rate at which lines are sampled by {@link OverflowPolicy#SAMPLE}. */
+    static final String SAMPLE_RATE = "jboss.process.output.sample-rate";
+
+    private static final int DEFAULT_CAPACITY = 256 * 1024;
+    private static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /**
+     * What to do with a line which does not fit into a full buffer.
+     */
+    enum OverflowPolicy {
+        /** Wait until the line fits. */
+        BLOCK,
+        /** Drop the line. */
+        DROP,
+        /** Keep one line out of {@link #SAMPLE_RATE}, replacing the oldest buffered lines, and drop the others. */
+        SAMPLE
+    }
+
+    private final ArrayDeque<Line> lines = new ArrayDeque<>();
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final int sampleRate;
+
+    private int size;
+    private int overflowed;
+    private long dropped;
+    private long pendingDropped;
+    private int openSources;
+
+    /**
+     * Creates a buffer configured by the system properties.
+     *
+     * @param sources the number of sources adding lines, each of which {@linkplain #close() closes} the buffer once
+     */
+    ProcessOutputBuffer(final int sources) {
+        this(sources, getProperty(CAPACITY, DEFAULT_CAPACITY), getPolicy(), getProperty(SAMPLE_RATE, DEFAULT_SAMPLE_RATE));
+    }
+
+    ProcessOutputBuffer(final int sources, final int capacity, final OverflowPolicy policy, final int sampleRate) {
+        this.openSources = sources;
+        this.capacity = capacity > 0 ? capacity : DEFAULT_CAPACITY;
+        this.policy = policy;
+        this.sampleRate = sampleRate > 0 ? sampleRate : DEFAULT_SAMPLE_RATE;
+    }
+
+    /**
+     * Adds a line, applying the overflow policy if it does not fit.
+     *
+     * @param target the stream the line is written to
+     * @param text the text of the line
+     * @throws InterruptedException if interrupted while waiting for the line to fit
+     */
+    synchronized void add(final PrintStream target, final String text) throws InterruptedException {
+        final Line line = new Line(target, text);
+        // A line larger than the capacity is accepted into an empty buffer
+        if (size > 0 && size + line.length() > capacity) {
+            switch (policy) {
+                case DROP:
+                    drop(1);
+                    return;
+                case SAMPLE:
+                    if (overflowed++ % sampleRate != 0) {
+                        drop(1);
+                        return;
+                    }
+                    while (size > 0 && size + line.length() > capacity) {
+                        size -= lines.removeFirst().length();
+                        drop(1);
+                    }
+                    break;
+                default:
+                    while (size > 0 && size + line.length() > capacity) {
+                        wait();
+                    }
+            }
+        } else {
+            overflowed = 0;
+        }
+        lines.addLast(line);
+        size += line.length();
+        notifyAll();
+    }
+
+    /**
+     * Moves all buffered lines to the given collection, waiting for lines to be added if the buffer is empty.
+     *
+     * @param batch the collection to add the lines to
+     * @return the number of lines dropped since the previous call, or {@code -1} if every source is closed and the buffer is empty
+     * @throws InterruptedException if interrupted while waiting for lines
+     */
+    synchronized long drainTo(final Collection<Line> batch) throws InterruptedException {
+        while (lines.isEmpty() && openSources > 0) {
+            wait();
+        }
+        if (lines.isEmpty() && pendingDropped == 0) {
+            return -1;
+        }
+        batch.addAll(lines);
+        lines.clear();
+        size = 0;
+        final long dropped = pendingDropped;
+        pendingDropped = 0;
+        notifyAll();
+        return dropped;
+    }
+
+    /**
+     * Marks the end of the output of one source. Once every source is closed, the lines still buffered can be drained.
+     */
+    synchronized void close() {
+        if (--openSources == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Gets the total number of dropped lines.
+     *
+     * @return the number of dropped lines
+     */
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    private void drop(final long count) {
+        dropped += count;
+        pendingDropped += count;
+    }
+
+    private static int getProperty(final String name, final int defaultValue) {
+        try {
+            return Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(name, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * A buffered line and the stream it is written to.
+     */
+    static final class Line {
+        private final PrintStream target;
+        private final String text;
+
+        Line(final PrintStream target, final String text) {
+            this.target = target;
+            this.text = text;
+        }
+
+        PrintStream getTarget() {
+            return target;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        int length() {
+            return text.length();
+        }
+    }
+
+    private static OverflowPolicy getPolicy() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(OVERFLOW_POLICY, OverflowPolicy.BLOCK.name());
+        try {
+            return OverflowPolicy.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return OverflowPolicy.BLOCK;
+        }
+    }
+}
@@ -821,4 +821,8 @@ public interface ProcessLogger extends BasicLogger {
             "using java.lang.Process.destroyForcibly()")
     void destroyingProcess(String process, long timeout);
 
+    @LogMessage(level = WARN)
+    @Message(id = 68, value = "Dropped %d lines of output of process '%s' as the output buffer was full")
+    void droppedProcessOutput(long lines, String process);
+
 }
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.process.ProcessOutputBuffer.Line;
+import org.jboss.as.process.ProcessOutputBuffer.OverflowPolicy;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ProcessOutputBuffer}.
+ */
+public class ProcessOutputBufferTestCase {
+
+    private static final PrintStream OUT = new PrintStream(new ByteArrayOutputStream());
+    private static final PrintStream ERR = new PrintStream(new ByteArrayOutputStream());
+
+    @Test
+    public void testDrop() throws Exception {
+        final ProcessOutputBuffer buffer = new ProcessOutputBuffer(1, 4, OverflowPolicy.DROP, 1);
+        buffer.add(OUT, "a\n");
+        buffer.add(OUT, "b\n");
+        buffer.add(OUT, "c\n");
+        final List<Line> batch = new ArrayList<>();
+        assertEquals(1L, buffer.drainTo(batch));
+        assertEquals(Arrays.asList("a\n", "b\n"), texts(batch));
+
+        batch.clear();
+        buffer.add(OUT, "d\n");
+        buffer.close();
+        assertEquals(0L, buffer.drainTo(batch));
+        assertEquals(Arrays.asList("d\n"), texts(batch));
+        assertEquals(-1L, buffer.drainTo(batch));
+        assertEquals(1L, buffer.getDropped());
+    }
+
+    @Test
+    public void testSample() throws Exception {
+        final ProcessOutputBuffer buffer = new ProcessOutputBuffer(1, 4, OverflowPolicy.SAMPLE, 2);
+        for (String line : new String[] {"a\n", "b\n", "c\n", "d\n", "e\n", "f\n"}) {
+            buffer.add(OUT, line);
+        }
+        final List<Line> batch = new ArrayList<>();
+        // c and e are sampled and replace a and b, d and f are dropped
+        assertEquals(4L, buffer.drainTo(batch));
+        assertEquals(Arrays.asList("c\n", "e\n"), texts(batch));
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        final ProcessOutputBuffer buffer = new ProcessOutputBuffer(1, 2, OverflowPolicy.BLOCK, 1);
+        buffer.add(OUT, "a\n");
+        final Thread writer = new Thread(() -> {
+            try {
+                buffer.add(OUT, "b\n");
+                buffer.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.start();
+        final List<Line> batch = new ArrayList<>();
+        while (buffer.drainTo(batch) >= 0) {
+            // drain until closed
+        }
+        writer.join();
+        assertEquals(Arrays.asList("a\n", "b\n"), texts(batch));
+        assertEquals(0L, buffer.getDropped());
+    }
+
+    @Test
+    public void testSources() throws Exception {
+        final ProcessOutputBuffer buffer = new ProcessOutputBuffer(2, 16, OverflowPolicy.BLOCK, 1);
+        buffer.add(OUT, "a\n");
+        buffer.add(ERR, "b\n");
+        buffer.close();
+        final List<Line> batch = new ArrayList<>();
+        assertEquals(0L, buffer.drainTo(batch));
+        assertEquals(Arrays.asList("a\n", "b\n"), texts(batch));
+        assertSame(OUT, batch.get(0).getTarget());
+        assertSame(ERR, batch.get(1).getTarget());
+
+        // the buffer stays open until every source is closed
+        batch.clear();
+        buffer.add(ERR, "c\n");
+        buffer.close();
+        assertEquals(0L, buffer.drainTo(batch));
+        assertEquals(Arrays.asList("c\n"), texts(batch));
+        assertEquals(-1L, buffer.drainTo(batch));
+    }
+
+    private static List<String> texts(final List<Line> batch) {
+        final List<String> texts = new ArrayList<>();
+        for (Line line : batch) {
+            texts.add(line.getText());
+        }
+        return texts;
+    }
+}
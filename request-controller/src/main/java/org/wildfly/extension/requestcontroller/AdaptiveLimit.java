@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrency limit that adapts to the observed request latency.
+ * <p/>
+ * The mean latency is derived from Little's law rather than by timing individual requests, as requests are often
+ * started and completed on different threads: the number of requests in flight is integrated over time, and dividing
+ * that integral by the number of requests completed in the same window gives their mean latency.
+ * <p/>
+ * Windows last at least {@value #WINDOW_MILLIS} milliseconds and {@value #MIN_WINDOW_SAMPLES} completions. At the end of
+ * every window the mean latency of the window is compared to a long term baseline: while latency stays at the baseline
+ * the limit grows by the square root of the current limit, when latency rises above the baseline the limit shrinks
+ * proportionally, as the additional latency means requests are queueing somewhere in the server. The limit does not
+ * change while less than half of it is in use, so that a lightly loaded server does not end up with a meaningless
+ * limit. Until the first window completes the limit is its upper bound, which is where the static limit would be.
+ */
+final class AdaptiveLimit {
+
+    static final int MIN_LIMIT = 1;
+    static final int DEFAULT_MAX_LIMIT = 1000;
+
+    private static final long WINDOW_MILLIS = 100;
+    static final int MIN_WINDOW_SAMPLES = 10;
+    /**
+     * The weight of a window in the baseline, which roughly covers the last 50 windows
+     */
+    private static final double BASELINE_WEIGHT = 2.0 / 51;
+    /**
+     * The weight of a new estimation in the limit, which avoids oscillations
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * The integral of the number of requests in flight over time, in request nanoseconds
+     */
+    private final LongAdder inFlightTime = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+    private final AtomicLong lastEvent;
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private final long windowNanos;
+
+    private volatile long windowStart;
+    private volatile boolean calibrated;
+    private volatile int maxLimit;
+    private volatile int limit;
+    private volatile double estimatedLatency;
+    private volatile double baselineLatency;
+
+    AdaptiveLimit(int maxLimit) {
+        this(maxLimit, TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS), System.nanoTime());
+    }
+
+    AdaptiveLimit(int maxLimit, long windowNanos, long now) {
+        this.windowNanos = windowNanos;
+        this.lastEvent = new AtomicLong(now);
+        this.windowStart = now;
+        setMaxLimit(maxLimit);
+    }
+
+    /**
+     * @return The current limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the upper bound of the limit.
+     *
+     * @param maxLimit The upper bound, or a value lower than one to use the default upper bound
+     */
+    void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit > 0 ? maxLimit : DEFAULT_MAX_LIMIT;
+        if (!calibrated || limit > this.maxLimit) {
+            limit = this.maxLimit;
+        }
+    }
+
+    /**
+     * @return The mean latency of the last window, in nanoseconds
+     */
+    long getEstimatedLatency() {
+        return (long) estimatedLatency;
+    }
+
+    /**
+     * @return The long term latency baseline, in nanoseconds
+     */
+    long getBaselineLatency() {
+        return (long) baselineLatency;
+    }
+
+    /**
+     * Records the start of a request.
+     *
+     * @param inFlight The number of requests that were in flight before this one started
+     */
+    void onRequestStart(int inFlight) {
+        onRequestStart(inFlight, System.nanoTime());
+    }
+
+    void onRequestStart(int inFlight, long now) {
+        accumulate(inFlight, now);
+        maxInFlight.accumulate(inFlight + 1);
+        checkWindow(now);
+    }
+
+    /**
+     * Records the completion of a request, on any thread.
+     *
+     * @param inFlight The number of requests that were in flight until this one completed, including it
+     */
+    void onRequestComplete(int inFlight) {
+        onRequestComplete(inFlight, System.nanoTime());
+    }
+
+    void onRequestComplete(int inFlight, long now) {
+        accumulate(inFlight, now);
+        completions.increment();
+        checkWindow(now);
+    }
+
+    /**
+     * Adds the time since the previous event, during which {@code inFlight} requests were in flight. Concurrent events
+     * may see a slightly different number of requests in flight, which only affects the short time between them.
+     */
+    private void accumulate(int inFlight, long now) {
+        long elapsed = now - lastEvent.getAndSet(now);
+        if (elapsed > 0 && inFlight > 0) {
+            inFlightTime.add(elapsed * inFlight);
+        }
+    }
+
+    private void checkWindow(long now) {
+        if (now - windowStart >= windowNanos && completions.sum() >= MIN_WINDOW_SAMPLES && updating.compareAndSet(false, true)) {
+            try {
+                update(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    private void update(long now) {
+        if (now - windowStart < windowNanos) {
+            // another thread already closed this window
+            return;
+        }
+        windowStart = now;
+        long count = completions.sumThenReset();
+        long total = inFlightTime.sumThenReset();
+        long inFlight = maxInFlight.getThenReset();
+        // Little's law: the mean number of requests in flight is the throughput times the mean latency
+        double latency = Math.max((double) total / count, 1);
+        double baseline = baselineLatency == 0 ? latency : baselineLatency * (1 - BASELINE_WEIGHT) + latency * BASELINE_WEIGHT;
+        if (baseline / latency > 2) {
+            // latency dropped a lot, let the baseline catch up faster
+            baseline *= 0.95;
+        }
+        estimatedLatency = latency;
+        baselineLatency = baseline;
+        calibrated = true;
+
+        int current = limit;
+        if (inFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, baseline / latency));
+        double estimated = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - SMOOTHING) + estimated * SMOOTHING;
+        // round away from the current limit, so that small limits can still move
+        long rounded = (long) (smoothed >= current ? Math.ceil(smoothed) : Math.floor(smoothed));
+        limit = (int) Math.max(MIN_LIMIT, Math.min(maxLimit, rounded));
+    }
+}
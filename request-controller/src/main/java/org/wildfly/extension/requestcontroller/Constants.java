@@ -31,4 +31,17 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String QUEUED_REQUESTS = "queued-requests";
+    String QUEUE_WAIT_TIME = "queue-wait-time";
+    String ADAPTIVE_LIMIT = "adaptive-limit";
+    String REQUEST_LIMIT = "request-limit";
+    String ESTIMATED_LATENCY = "estimated-latency";
+    String BASELINE_LATENCY = "baseline-latency";
+    String DEPLOYMENT = "deployment";
+    String ENTRY_POINT = "entry-point";
+    String PAUSED = "paused";
+    String STATISTICS_ENABLED = "statistics-enabled";
+    String REQUEST_LATENCY = "request-latency";
+    String REQUEST_COUNT = "request-count";
+    String REJECTED_REQUEST_COUNT = "rejected-request-count";
 }
@@ -23,8 +23,12 @@ package org.wildfly.extension.requestcontroller;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.suspend.ServerActivityCallback;
+import org.jboss.dmr.ModelNode;
 import java.util.concurrent.Executor;
 
 /**
@@ -44,12 +48,32 @@ public class ControlPoint {
 
     private static final AtomicIntegerFieldUpdater<ControlPoint> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "activeRequestCount");
     private static final AtomicReferenceFieldUpdater<ControlPoint, ServerActivityCallback> listenerUpdater = AtomicReferenceFieldUpdater.newUpdater(ControlPoint.class, ServerActivityCallback.class, "listener");
+    private static final AtomicReferenceFieldUpdater<ControlPoint, LatencyHistogram> latencyUpdater = AtomicReferenceFieldUpdater.newUpdater(ControlPoint.class, LatencyHistogram.class, "latencyHistogram");
+
+    /**
+     * The start of the request running on the current thread, used to record the request latency histogram
+     */
+    private static final ThreadLocal<RequestStart> REQUEST_START = ThreadLocal.withInitial(RequestStart::new);
 
     private final RequestController controller;
     private final String deployment;
     private final String entryPoint;
     private final boolean trackIndividualControlPoints;
 
+    /**
+     * The adaptive limit of this entry point, or null if adaptive limiting is disabled
+     */
+    private final AdaptiveLimit limit;
+
+    /**
+     * The latency of the requests that completed through this entry point, created once statistics are enabled
+     */
+    private volatile LatencyHistogram latencyHistogram;
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder rejectedRequestCount = new LongAdder();
+
     /**
      * The number of active requests that are using this entry point
      */
@@ -61,6 +85,11 @@ public class ControlPoint {
      */
     private volatile boolean paused = false;
 
+    /**
+     * The priority class of the tasks queued through this entry point
+     */
+    private volatile RequestPriority priority = RequestPriority.NORMAL;
+
     @SuppressWarnings("unused")
     private volatile ServerActivityCallback listener = null;
 
@@ -70,11 +99,13 @@ public class ControlPoint {
      */
     private int referenceCount = 0;
 
-    ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
+    ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints, AdaptiveLimit limit) {
         this.controller = controller;
         this.deployment = deployment;
         this.entryPoint = entryPoint;
-        this.trackIndividualControlPoints = trackIndividualControlPoints;
+        // the adaptive limit needs the number of active requests of the entry point
+        this.trackIndividualControlPoints = trackIndividualControlPoints || limit != null;
+        this.limit = limit;
     }
 
     public String getEntryPoint() {
@@ -85,6 +116,20 @@ public class ControlPoint {
         return deployment;
     }
 
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority class of the tasks queued through this entry point. Entry points that must stay responsive
+     * when the request limit has been hit, such as health checks, should use {@link RequestPriority#HIGH}.
+     *
+     * @param priority The priority class
+     */
+    public void setPriority(RequestPriority priority) {
+        this.priority = priority;
+    }
+
     /**
      * Pause the current entry point, and invoke the provided listener when all current requests have finished.
      *
@@ -126,14 +171,21 @@ public class ControlPoint {
      */
     public RunResult beginRequest() throws Exception {
         if (paused) {
-            return RunResult.REJECTED;
+            return rejected();
         }
         if(trackIndividualControlPoints) {
-            activeRequestCountUpdater.incrementAndGet(this);
+            int active = activeRequestCountUpdater.incrementAndGet(this);
+            if (limit != null && active > limit.getLimit()) {
+                decreaseRequestCount();
+                return rejected();
+            }
         }
         RunResult runResult = controller.beginRequest(false);
         if (runResult == RunResult.REJECTED) {
             decreaseRequestCount();
+            return rejected();
+        } else {
+            requestStarted();
         }
         return runResult;
     }
@@ -153,7 +205,11 @@ public class ControlPoint {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
-        return controller.beginRequest(true);
+        RunResult runResult = controller.beginRequest(true);
+        if (runResult == RunResult.RUN) {
+            requestStarted();
+        }
+        return runResult;
     }
 
     /**
@@ -163,6 +219,7 @@ public class ControlPoint {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
+        requestStarted();
     }
 
     /**
@@ -171,10 +228,71 @@ public class ControlPoint {
      * This cannot be done automatically when the handleRequest method completes, as some
      */
     public void requestComplete() {
+        if (limit != null) {
+            limit.onRequestComplete(activeRequestCountUpdater.get(this));
+            controller.onRequestComplete();
+        }
+        long latency = stopTiming();
+        if (latency >= 0 && controller.isStatisticsEnabled()) {
+            getLatencyHistogram().record(latency);
+        }
+        if (controller.isStatisticsEnabled()) {
+            requestCount.increment();
+        }
         decreaseRequestCount();
         controller.requestComplete();
     }
 
+    private RunResult rejected() {
+        if (controller.isStatisticsEnabled()) {
+            rejectedRequestCount.increment();
+        }
+        return RunResult.REJECTED;
+    }
+
+    private LatencyHistogram getLatencyHistogram() {
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram == null) {
+            // the histogram is fairly large, so it is only created for the entry points that are actually used
+            latencyUpdater.compareAndSet(this, null, new LatencyHistogram());
+            histogram = latencyHistogram;
+        }
+        return histogram;
+    }
+
+    private void requestStarted() {
+        if (limit != null) {
+            // the adaptive limits do not need to correlate the start and completion of a request
+            limit.onRequestStart(activeRequestCountUpdater.get(this) - 1);
+            controller.onRequestStart();
+        }
+        startTiming();
+    }
+
+    private void startTiming() {
+        if (controller.isStatisticsEnabled()) {
+            RequestStart start = REQUEST_START.get();
+            start.controlPoint = this;
+            start.time = System.nanoTime();
+        }
+    }
+
+    /**
+     * Only requests that complete on the thread they were started on are measured, as there is no way to
+     * correlate the calls otherwise. If a nested request was started on the same thread the outer request is
+     * not measured either.
+     *
+     * @return The latency of the request that completes, or -1 if it was not measured
+     */
+    private long stopTiming() {
+        RequestStart start = REQUEST_START.get();
+        if (start.controlPoint != this) {
+            return -1;
+        }
+        start.controlPoint = null;
+        return System.nanoTime() - start.time;
+    }
+
     private void decreaseRequestCount() {
         if (trackIndividualControlPoints) {
             int result = activeRequestCountUpdater.decrementAndGet(this);
@@ -236,6 +354,35 @@ public class ControlPoint {
         return activeRequestCountUpdater.get(this);
     }
 
+    /**
+     * @return The adaptive limit of this entry point, or null if adaptive limiting is disabled
+     */
+    AdaptiveLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The latency of the requests that completed through this entry point, in microseconds
+     */
+    ModelNode getRequestLatency() {
+        LatencyHistogram histogram = latencyHistogram;
+        return histogram != null ? histogram.toModelNode() : new LatencyHistogram().toModelNode();
+    }
+
+    /**
+     * @return The number of requests that completed through this entry point while statistics were enabled
+     */
+    long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return The number of requests that were rejected by this entry point while statistics were enabled
+     */
+    long getRejectedRequestCount() {
+        return rejectedRequestCount.sum();
+    }
+
     synchronized int increaseReferenceCount() {
         return ++referenceCount;
     }
@@ -243,4 +390,9 @@ public class ControlPoint {
     synchronized int decreaseReferenceCount() {
         return --referenceCount;
     }
+
+    private static final class RequestStart {
+        private ControlPoint controlPoint;
+        private long time;
+    }
 }
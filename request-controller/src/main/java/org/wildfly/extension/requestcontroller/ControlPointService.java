@@ -42,12 +42,14 @@ public class ControlPointService implements Service<ControlPoint>{
     private static final ServiceName SERVICE_NAME = RequestController.SERVICE_NAME.append("control-point");
     private final String deployment;
     private final String entryPoint;
+    private final RequestPriority priority;
     private volatile ControlPoint value;
     private final InjectedValue<RequestController> globalRequestControllerInjectedValue = new InjectedValue<>();
 
-    ControlPointService(String deployment, String entryPoint) {
+    ControlPointService(String deployment, String entryPoint, RequestPriority priority) {
         this.deployment = deployment;
         this.entryPoint = entryPoint;
+        this.priority = priority;
     }
 
     public static ServiceName serviceName(final String deployment, final String entryPoint) {
@@ -55,7 +57,11 @@ public class ControlPointService implements Service<ControlPoint>{
     }
 
     public static void install(final ServiceTarget target, final String deployment, final String entryPoint) {
-        ControlPointService service = new ControlPointService(deployment, entryPoint);
+        install(target, deployment, entryPoint, null);
+    }
+
+    public static void install(final ServiceTarget target, final String deployment, final String entryPoint, final RequestPriority priority) {
+        ControlPointService service = new ControlPointService(deployment, entryPoint, priority);
         target.addService(serviceName(deployment, entryPoint), service)
                 .addDependency(RequestController.SERVICE_NAME, RequestController.class, service.globalRequestControllerInjectedValue)
                 .install();
@@ -63,7 +69,7 @@ public class ControlPointService implements Service<ControlPoint>{
 
     @Override
     public void start(StartContext startContext) throws StartException {
-        value = globalRequestControllerInjectedValue.getValue().getControlPoint(deployment, entryPoint);
+        value = globalRequestControllerInjectedValue.getValue().getControlPoint(deployment, entryPoint, priority);
     }
 
     @Override
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime resource representing a {@link ControlPoint}.
+ * <p/>
+ * The latency and throughput metrics are only recorded while the statistics of the subsystem are enabled.
+ */
+class EntryPointResourceDefinition extends SimpleResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement(Constants.ENTRY_POINT);
+
+    static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition PAUSED = SimpleAttributeDefinitionBuilder.create(Constants.PAUSED, ModelType.BOOLEAN, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REQUEST_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_LIMIT, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition ESTIMATED_LATENCY = SimpleAttributeDefinitionBuilder.create(Constants.ESTIMATED_LATENCY, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition BASELINE_LATENCY = SimpleAttributeDefinitionBuilder.create(Constants.BASELINE_LATENCY, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final ObjectTypeAttributeDefinition REQUEST_LATENCY = LatencyHistogram.createAttributeDefinition(Constants.REQUEST_LATENCY);
+
+    static final SimpleAttributeDefinition REQUEST_COUNT = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REJECTED_REQUEST_COUNT = SimpleAttributeDefinitionBuilder.create(Constants.REJECTED_REQUEST_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    EntryPointResourceDefinition() {
+        super(new Parameters(PATH, RequestControllerExtension.getResolver(Constants.DEPLOYMENT, Constants.ENTRY_POINT))
+                .setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        RequestControllerMetricsHandler handler = new RequestControllerMetricsHandler();
+        resourceRegistration.registerReadOnlyAttribute(PAUSED, handler);
+        resourceRegistration.registerMetric(ACTIVE_REQUESTS, handler);
+        resourceRegistration.registerMetric(REQUEST_LIMIT, handler);
+        resourceRegistration.registerMetric(ESTIMATED_LATENCY, handler);
+        resourceRegistration.registerMetric(BASELINE_LATENCY, handler);
+        resourceRegistration.registerMetric(REQUEST_LATENCY, handler);
+        resourceRegistration.registerMetric(REQUEST_COUNT, handler);
+        resourceRegistration.registerMetric(REJECTED_REQUEST_COUNT, handler);
+    }
+}
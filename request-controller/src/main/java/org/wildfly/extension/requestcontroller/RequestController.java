@@ -22,22 +22,24 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.as.server.suspend.CountingRequestCountCallback;
 import org.jboss.as.server.suspend.ServerActivity;
 import org.jboss.as.server.suspend.ServerActivityCallback;
 import org.jboss.as.server.suspend.SuspendController;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
@@ -54,6 +56,13 @@ import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
  * 1) Graceful shutdown - When the number of active request reaches zero then the container can be gracefully shut down
  * 2) Request limiting - This allows the total number of requests that are active to be limited.
  * <p/>
+ * Requests that are queued once the limit has been hit are held in lock free queues, one per {@link RequestPriority}
+ * class, and are dispatched using weighted round robin between the classes.
+ * <p/>
+ * If adaptive limiting is enabled the number of requests that can be active at a time is not fixed, but derived
+ * from the observed request latency by an {@link AdaptiveLimit}, both globally and for every control point. The
+ * maximum request count is then the upper bound of the limits.
+ * <p/>
  *
  * @author Stuart Douglas
  */
@@ -71,7 +80,9 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private volatile boolean statisticsEnabled = false;
+
+    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     private final InjectedValue<SuspendController> shutdownControllerInjectedValue = new InjectedValue<>();
 
@@ -80,8 +91,18 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private final boolean trackIndividualControlPoints;
 
+    /**
+     * The global adaptive limit, or null if adaptive limiting is disabled
+     */
+    private final AdaptiveLimit adaptiveLimit;
+
     public RequestController(boolean trackIndividualControlPoints) {
+        this(trackIndividualControlPoints, false);
+    }
+
+    public RequestController(boolean trackIndividualControlPoints, boolean adaptiveLimit) {
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.adaptiveLimit = adaptiveLimit ? new AdaptiveLimit(-1) : null;
     }
 
     @Override
@@ -89,9 +110,37 @@ public class RequestController implements Service<RequestController>, ServerActi
         listener.done();
     }
 
-    private Timer timer;
+    private volatile TimingWheel timer;
+
+    private final Map<RequestPriority, Queue<QueuedTask>> taskQueues = new EnumMap<>(RequestPriority.class);
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * Tasks that must run even while the container is suspended, they are kept apart so that they can be found
+     * without going through the whole queue.
+     */
+    private final Queue<QueuedTask> forcedTaskQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The dispatch schedule of the weighted round robin, each priority class appears as many times as its weight.
+     */
+    private final RequestPriority[] dispatchSchedule;
+
+    private final AtomicInteger dispatchCount = new AtomicInteger();
+
+    private final AtomicInteger queuedTaskCount = new AtomicInteger();
+
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+
+    {
+        List<RequestPriority> schedule = new ArrayList<>();
+        for (RequestPriority priority : RequestPriority.values()) {
+            taskQueues.put(priority, new ConcurrentLinkedQueue<>());
+            for (int i = 0; i < priority.getWeight(); i++) {
+                schedule.add(priority);
+            }
+        }
+        dispatchSchedule = schedule.toArray(new RequestPriority[0]);
+    }
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -122,8 +171,10 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            runQueuedTask(false);
+        while (queuedTaskCount.get() > 0 && hasAvailablePermits()) {
+            if (!runQueuedTask(false)) {
+                break;
+            }
         }
     }
 
@@ -133,7 +184,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param deployment The deployment to pause
      * @param listener The listener that will be notified when the pause is complete
      */
-    public synchronized void pauseDeployment(final String deployment, ServerActivityCallback listener) {
+    public void pauseDeployment(final String deployment, ServerActivityCallback listener) {
         final List<ControlPoint> eps = new ArrayList<ControlPoint>();
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getDeployment().equals(deployment)) {
@@ -153,7 +204,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param deployment The deployment to resume
      */
-    public synchronized void resumeDeployment(final String deployment) {
+    public void resumeDeployment(final String deployment) {
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getDeployment().equals(deployment)) {
                 ep.resume();
@@ -167,7 +218,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param controlPoint The control point
      * @param listener   The listener
      */
-    public synchronized void pauseControlPoint(final String controlPoint, ServerActivityCallback listener) {
+    public void pauseControlPoint(final String controlPoint, ServerActivityCallback listener) {
         final List<ControlPoint> eps = new ArrayList<ControlPoint>();
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getEntryPoint().equals(controlPoint)) {
@@ -192,7 +243,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param entryPoint The entry point
      */
-    public synchronized void resumeControlPoint(final String entryPoint) {
+    public void resumeControlPoint(final String entryPoint) {
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getEntryPoint().equals(entryPoint)) {
                 ep.resume();
@@ -200,7 +251,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
@@ -209,7 +260,7 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     RunResult beginRequest(boolean force) {
-        int maxRequests = maxRequestCount;
+        int maxRequests = getRequestLimit();
         int active = activeRequestCountUpdater.get(this);
         boolean success = false;
         while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
@@ -264,15 +315,35 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+        return getControlPoint(deploymentName, entryPointName, null);
+    }
+
+    /**
+     * Gets an entry point for the given deployment, and sets the priority class of its queued tasks. If one does not exist
+     * it will be created.
+     *
+     * Entry points are reference counted. If this method is called n times then {@link #removeControlPoint(ControlPoint)}
+     * must also be called n times to clean up the entry points.
+     *
+     * @param deploymentName The top level deployment name
+     * @param entryPointName The entry point name
+     * @param priority       The priority class, or {@code null} to keep the current one
+     * @return The entry point
+     */
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName, final RequestPriority priority) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        return entryPoints.compute(id, (key, ep) -> {
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints,
+                        adaptiveLimit != null ? new AdaptiveLimit(maxRequestCount) : null);
+            }
+            if (priority != null) {
+                ep.setPriority(priority);
+            }
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -280,11 +351,25 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        entryPoints.computeIfPresent(id, (key, ep) -> ep.decreaseReferenceCount() == 0 ? null : ep);
+    }
+
+    /**
+     * @return The control points that currently exist
+     */
+    Collection<ControlPoint> getControlPoints() {
+        return entryPoints.values();
+    }
+
+    /**
+     * Finds an existing control point, without affecting its reference count.
+     *
+     * @return The control point, or null if it does not exist
+     */
+    ControlPoint findControlPoint(final String deploymentName, final String entryPointName) {
+        return entryPoints.get(new ControlPointIdentifier(deploymentName, entryPointName));
     }
 
     /**
@@ -304,13 +389,69 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        if (adaptiveLimit != null) {
+            adaptiveLimit.setMaxLimit(maxRequestCount);
+            for (ControlPoint controlPoint : entryPoints.values()) {
+                controlPoint.getLimit().setMaxLimit(maxRequestCount);
+            }
+        }
+        while (queuedTaskCount.get() > 0 && hasAvailablePermits()) {
             if(!runQueuedTask(false)) {
                 break;
             }
         }
     }
 
+    /**
+     * @return The number of requests that can currently be active at a time, or a negative value if this is not limited
+     */
+    public int getRequestLimit() {
+        return adaptiveLimit != null ? adaptiveLimit.getLimit() : maxRequestCount;
+    }
+
+    /**
+     * @return The global adaptive limit, or null if adaptive limiting is disabled
+     */
+    AdaptiveLimit getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    private boolean hasAvailablePermits() {
+        int limit = getRequestLimit();
+        return limit <= 0 || activeRequestCount < limit;
+    }
+
+    /**
+     * Feeds the start of a request, which already holds its permit, to the global adaptive limit.
+     */
+    void onRequestStart() {
+        adaptiveLimit.onRequestStart(activeRequestCount - 1);
+    }
+
+    /**
+     * Feeds the completion of a request, which still holds its permit, to the global adaptive limit.
+     */
+    void onRequestComplete() {
+        adaptiveLimit.onRequestComplete(activeRequestCount);
+    }
+
+    /**
+     * @return <code>true</code> If the latency and throughput of the control points are recorded
+     */
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Enables or disables the recording of the latency and throughput of the control points. The statistics
+     * recorded so far are kept when this is disabled.
+     *
+     * @param statisticsEnabled If statistics are recorded
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
     /**
      * @return <code>true</code> If the server is currently pause
      */
@@ -321,19 +462,17 @@ public class RequestController implements Service<RequestController>, ServerActi
     @Override
     public void start(StartContext startContext) throws StartException {
         shutdownControllerInjectedValue.getValue().registerActivity(this);
-        timer = new Timer();
+        timer = new TimingWheel("request-controller-timer");
     }
 
     @Override
     public void stop(StopContext stopContext) {
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
-        timer.cancel();
+        timer.stop();
         timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
-                t.run();
-            }
+        QueuedTask t;
+        while ((t = pollTask(true)) != null) {
+            t.run();
         }
     }
 
@@ -350,6 +489,20 @@ public class RequestController implements Service<RequestController>, ServerActi
         return activeRequestCount;
     }
 
+    /**
+     * @return The number of tasks that are queued waiting for the request limit to allow them to run
+     */
+    public int getQueuedTaskCount() {
+        return queuedTaskCount.get();
+    }
+
+    /**
+     * @return The time spent in the queue by the queued tasks that were run, in microseconds
+     */
+    ModelNode getQueueWaitTime() {
+        return queueWaitTime.toModelNode();
+    }
+
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
@@ -357,12 +510,17 @@ public class RequestController implements Service<RequestController>, ServerActi
                 return;
             }
         }
-        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint);
+        queuedTaskCount.incrementAndGet();
+        if (forceRun) {
+            forcedTaskQueue.add(queuedTask);
+        } else {
+            taskQueues.get(controlPoint.getPriority()).add(queuedTask);
+        }
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
-                timer.schedule(queuedTask, timeout);
+                queuedTask.timeout = timer.schedule(queuedTask, timeout);
             }
         }
     }
@@ -378,38 +536,38 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
             return false;
         }
-        QueuedTask task = null;
-        if (!paused) {
-            task = taskQueue.poll();
-        } else {
-            //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
-        }
-        if (task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
+        //if the container is suspended we still need to run any force queued tasks
+        QueuedTask task;
+        while ((task = pollTask(!paused)) != null) {
+            //tasks that have timed out are still in the queue, skip them
+            if (task.runRequest()) {
+                return true;
             }
-            return true;
-        } else {
-            decrementRequestCount();
-            return false;
         }
+        decrementRequestCount();
+        return false;
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask task = null;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (task == null && !taskQueue.isEmpty()) {
-            QueuedTask tmp = taskQueue.poll();
-            if(tmp.forceRun) {
-                task = tmp;
-            } else {
-                storage.add(tmp);
+    /**
+     * Polls the next task to run. Forced tasks are run first, the other priority classes are visited in the order
+     * given by the weighted round robin schedule, falling back to the other classes when the scheduled one is empty.
+     *
+     * @param includeUnforced If tasks that were not force queued can be returned
+     */
+    private QueuedTask pollTask(boolean includeUnforced) {
+        QueuedTask task = forcedTaskQueue.poll();
+        if (task != null || !includeUnforced) {
+            return task;
+        }
+        RequestPriority scheduled = dispatchSchedule[Math.floorMod(dispatchCount.getAndIncrement(), dispatchSchedule.length)];
+        task = taskQueues.get(scheduled).poll();
+        if (task == null) {
+            for (RequestPriority priority : RequestPriority.values()) {
+                if (priority != scheduled && (task = taskQueues.get(priority).poll()) != null) {
+                    break;
+                }
             }
         }
-        //this screws the order somewhat, but the container is suspending anyway, and the order
-        //was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
         return task;
     }
 
@@ -448,30 +606,31 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    private final class QueuedTask implements Runnable {
 
         private final Executor executor;
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
-        private final boolean forceRun;
+        private final long queuedTime = System.nanoTime();
+        private volatile TimingWheel.Timeout timeout;
 
         //0 == queued
         //1 == run
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint) {
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
             this.controlPoint = controlPoint;
-            this.forceRun = forceRun;
         }
 
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                queuedTaskCount.decrementAndGet();
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -485,7 +644,12 @@ public class RequestController implements Service<RequestController>, ServerActi
 
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
-                cancel();
+                queuedTaskCount.decrementAndGet();
+                queueWaitTime.record(System.nanoTime() - queuedTime);
+                TimingWheel.Timeout timeout = this.timeout;
+                if (timeout != null) {
+                    timeout.cancel();
+                }
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
             } else {
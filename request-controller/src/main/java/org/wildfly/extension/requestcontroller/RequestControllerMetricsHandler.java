@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads handler for the runtime metrics of the request controller and of its control points
+ */
+class RequestControllerMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service == null) {
+            return;
+        }
+        RequestController requestController = (RequestController) service.getService().getValue();
+        PathAddress address = context.getCurrentAddress();
+        if (Constants.ENTRY_POINT.equals(address.getLastElement().getKey())) {
+            ControlPoint controlPoint = requestController.findControlPoint(address.getParent().getLastElement().getValue(), address.getLastElement().getValue());
+            if (controlPoint != null) {
+                readControlPointMetric(context, attributeName, controlPoint);
+            }
+            return;
+        }
+        switch (attributeName) {
+            case Constants.QUEUED_REQUESTS:
+                context.getResult().set(requestController.getQueuedTaskCount());
+                break;
+            case Constants.QUEUE_WAIT_TIME:
+                context.getResult().set(requestController.getQueueWaitTime());
+                break;
+            case Constants.REQUEST_LIMIT:
+                context.getResult().set(requestController.getRequestLimit());
+                break;
+            default:
+                readLatencyEstimate(context, attributeName, requestController.getAdaptiveLimit());
+        }
+    }
+
+    private static void readControlPointMetric(OperationContext context, String attributeName, ControlPoint controlPoint) {
+        switch (attributeName) {
+            case Constants.ACTIVE_REQUESTS:
+                context.getResult().set(controlPoint.getActiveRequestCount());
+                break;
+            case Constants.PAUSED:
+                context.getResult().set(controlPoint.isPaused());
+                break;
+            case Constants.REQUEST_LATENCY:
+                context.getResult().set(controlPoint.getRequestLatency());
+                break;
+            case Constants.REQUEST_COUNT:
+                context.getResult().set(controlPoint.getRequestCount());
+                break;
+            case Constants.REJECTED_REQUEST_COUNT:
+                context.getResult().set(controlPoint.getRejectedRequestCount());
+                break;
+            case Constants.REQUEST_LIMIT:
+                if (controlPoint.getLimit() != null) {
+                    context.getResult().set(controlPoint.getLimit().getLimit());
+                }
+                break;
+            default:
+                readLatencyEstimate(context, attributeName, controlPoint.getLimit());
+        }
+    }
+
+    private static void readLatencyEstimate(OperationContext context, String attributeName, AdaptiveLimit limit) {
+        if (limit == null) {
+            return;
+        }
+        switch (attributeName) {
+            case Constants.ESTIMATED_LATENCY:
+                context.getResult().set(TimeUnit.NANOSECONDS.toMicros(limit.getEstimatedLatency()));
+                break;
+            case Constants.BASELINE_LATENCY:
+                context.getResult().set(TimeUnit.NANOSECONDS.toMicros(limit.getBaselineLatency()));
+                break;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.DelegatingResource;
+import org.jboss.as.controller.registry.PlaceholderResource;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * The {@link Resource} of the subsystem. The model is held by the delegate, the {@code deployment} and
+ * {@code entry-point} children are runtime resources representing the control points that currently exist.
+ */
+class RequestControllerResource extends DelegatingResource {
+
+    private volatile RequestController requestController;
+
+    RequestControllerResource(Resource delegate) {
+        super(delegate);
+    }
+
+    void setRequestController(RequestController requestController) {
+        this.requestController = requestController;
+    }
+
+    @Override
+    public Set<String> getChildTypes() {
+        Set<String> types = new LinkedHashSet<>(super.getChildTypes());
+        types.add(Constants.DEPLOYMENT);
+        return types;
+    }
+
+    @Override
+    public boolean hasChildren(String childType) {
+        if (Constants.DEPLOYMENT.equals(childType)) {
+            return !getChildrenNames(childType).isEmpty();
+        }
+        return super.hasChildren(childType);
+    }
+
+    @Override
+    public boolean hasChild(PathElement element) {
+        if (Constants.DEPLOYMENT.equals(element.getKey())) {
+            return getChildrenNames(Constants.DEPLOYMENT).contains(element.getValue());
+        }
+        return super.hasChild(element);
+    }
+
+    @Override
+    public Resource getChild(PathElement element) {
+        if (Constants.DEPLOYMENT.equals(element.getKey())) {
+            return hasChild(element) ? new DeploymentResource(requestController, element.getValue()) : null;
+        }
+        return super.getChild(element);
+    }
+
+    @Override
+    public Resource requireChild(PathElement element) {
+        if (Constants.DEPLOYMENT.equals(element.getKey())) {
+            Resource resource = getChild(element);
+            if (resource == null) {
+                throw new NoSuchResourceException(element);
+            }
+            return resource;
+        }
+        return super.requireChild(element);
+    }
+
+    @Override
+    public Set<String> getChildrenNames(String childType) {
+        if (Constants.DEPLOYMENT.equals(childType)) {
+            RequestController requestController = this.requestController;
+            if (requestController == null) {
+                return Collections.emptySet();
+            }
+            Set<String> names = new HashSet<>();
+            for (ControlPoint controlPoint : requestController.getControlPoints()) {
+                names.add(controlPoint.getDeployment());
+            }
+            return names;
+        }
+        return super.getChildrenNames(childType);
+    }
+
+    @Override
+    public Set<ResourceEntry> getChildren(String childType) {
+        if (Constants.DEPLOYMENT.equals(childType)) {
+            Set<ResourceEntry> children = new HashSet<>();
+            for (String name : getChildrenNames(childType)) {
+                children.add(new DeploymentResource(requestController, name));
+            }
+            return children;
+        }
+        return super.getChildren(childType);
+    }
+
+    @Override
+    public Resource navigate(PathAddress address) {
+        return Resource.Tools.navigate(this, address);
+    }
+
+    @Override
+    public Resource clone() {
+        RequestControllerResource clone = new RequestControllerResource(super.clone());
+        clone.setRequestController(requestController);
+        return clone;
+    }
+
+    /**
+     * The runtime resource grouping the control points of a deployment.
+     */
+    private static final class DeploymentResource extends DelegatingResource implements Resource.ResourceEntry {
+
+        private final RequestController requestController;
+        private final PathElement path;
+
+        DeploymentResource(RequestController requestController, String deployment) {
+            super(PlaceholderResource.INSTANCE);
+            this.requestController = requestController;
+            this.path = PathElement.pathElement(Constants.DEPLOYMENT, deployment);
+        }
+
+        @Override
+        public String getName() {
+            return path.getValue();
+        }
+
+        @Override
+        public PathElement getPathElement() {
+            return path;
+        }
+
+        @Override
+        public Set<String> getChildTypes() {
+            return Collections.singleton(Constants.ENTRY_POINT);
+        }
+
+        @Override
+        public boolean hasChildren(String childType) {
+            return !getChildrenNames(childType).isEmpty();
+        }
+
+        @Override
+        public boolean hasChild(PathElement element) {
+            return Constants.ENTRY_POINT.equals(element.getKey())
+                    && requestController.findControlPoint(path.getValue(), element.getValue()) != null;
+        }
+
+        @Override
+        public Resource getChild(PathElement element) {
+            return hasChild(element) ? PlaceholderResource.INSTANCE : null;
+        }
+
+        @Override
+        public Resource requireChild(PathElement element) {
+            Resource resource = getChild(element);
+            if (resource == null) {
+                throw new NoSuchResourceException(element);
+            }
+            return resource;
+        }
+
+        @Override
+        public Set<String> getChildrenNames(String childType) {
+            if (!Constants.ENTRY_POINT.equals(childType)) {
+                return Collections.emptySet();
+            }
+            Set<String> names = new HashSet<>();
+            for (ControlPoint controlPoint : requestController.getControlPoints()) {
+                if (path.getValue().equals(controlPoint.getDeployment())) {
+                    names.add(controlPoint.getEntryPoint());
+                }
+            }
+            return names;
+        }
+
+        @Override
+        public Set<ResourceEntry> getChildren(String childType) {
+            Set<ResourceEntry> children = new HashSet<>();
+            for (String name : getChildrenNames(childType)) {
+                children.add(new PlaceholderResource.PlaceholderResourceEntry(Constants.ENTRY_POINT, name));
+            }
+            return children;
+        }
+
+        @Override
+        public Resource navigate(PathAddress address) {
+            return Resource.Tools.navigate(this, address);
+        }
+
+        @Override
+        public DeploymentResource clone() {
+            return this;
+        }
+    }
+}
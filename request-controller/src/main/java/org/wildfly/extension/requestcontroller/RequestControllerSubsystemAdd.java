@@ -30,6 +30,7 @@ import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
@@ -51,6 +52,13 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
         super(RequestControllerRootDefinition.REQUEST_CONTROLLER_CAPABILITY, attributeDefinitions);
     }
 
+    @Override
+    protected Resource createResource(OperationContext context) {
+        RequestControllerResource resource = new RequestControllerResource(Resource.Factory.create());
+        context.addResource(PathAddress.EMPTY_ADDRESS, resource);
+        return resource;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -68,10 +76,15 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        boolean adaptiveLimit = RequestControllerRootDefinition.ADAPTIVE_LIMIT.resolveModelAttribute(context, resource.getModel()).asBoolean();
 
-        RequestController requestController = new RequestController(trackIndividual);
+        RequestController requestController = new RequestController(trackIndividual, adaptiveLimit);
+        if (resource instanceof RequestControllerResource) {
+            ((RequestControllerResource) resource).setRequestController(requestController);
+        }
 
         requestController.setMaxRequestCount(maxRequests);
+        requestController.setStatisticsEnabled(RequestControllerRootDefinition.STATISTICS_ENABLED.resolveModelAttribute(context, resource.getModel()).asBoolean());
 
         context.getServiceTarget().addService(RequestController.SERVICE_NAME, requestController)
                 .addDependency(JBOSS_SUSPEND_CONTROLLER, SuspendController.class, requestController.getShutdownControllerInjectedValue())
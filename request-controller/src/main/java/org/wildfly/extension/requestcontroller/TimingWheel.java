@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
+
+/**
+ * A hashed timing wheel used to time out queued tasks.
+ * <p/>
+ * Scheduling a timeout only appends it to a lock free queue, the timeouts are distributed to the wheel buckets
+ * by the timer thread on every tick. Timeouts further away than one revolution of the wheel carry the number of
+ * remaining revolutions, so that scheduling and expiring a timeout is a constant time operation whatever its delay.
+ * Timeouts are expired with a precision of one tick.
+ */
+final class TimingWheel {
+
+    static final long DEFAULT_TICK_MILLIS = 10;
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final Deque<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private final long startTime;
+    private volatile boolean running = true;
+    private long tick;
+
+    TimingWheel(String name) {
+        this(name, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(String name, long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException();
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.buckets = new Deque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        this.thread = new Thread(this::runWheel, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Schedules a task to run once the given delay has elapsed. The task is run by the timer thread, and so
+     * must not block.
+     *
+     * @param task        The task
+     * @param delayMillis The delay in milliseconds
+     * @return The timeout, that can be used to cancel the task
+     */
+    Timeout schedule(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer thread. Timeouts that have not expired yet are discarded.
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void runWheel() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long now = System.nanoTime() - startTime;
+            while (now < deadline && running) {
+                LockSupport.parkNanos(this, deadline - now);
+                now = System.nanoTime() - startTime;
+            }
+            if (!running) {
+                break;
+            }
+            transferPending();
+            expire(buckets[(int) (tick & mask)], now);
+            tick++;
+        }
+        pending.clear();
+        for (Deque<Timeout> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // a timeout that is already due is expired on the current tick
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Deque<Timeout> bucket, long now) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                it.remove();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    RequestControllerLogger.ROOT_LOGGER.failedToRunTimeoutTask(timeout.task, e);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+        // only accessed by the timer thread
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout. The task will not be run, and the timeout is dropped from the wheel when its bucket
+         * is next visited.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.io.IOException;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.notification.NotificationFilter;
 import org.jboss.as.controller.notification.NotificationHandler;
 import org.jboss.as.controller.notification.NotificationHandlerRegistry;
@@ -38,6 +39,7 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.msc.value.ImmediateValue;
@@ -56,7 +58,17 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-1.1.xml");
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/wildfly-request-controller_1_1.xsd";
+    }
+
+    @Test
+    public void testParse_1_0() throws Exception {
+        standardSubsystemTest("request-controller-1.0.xml", false);
     }
 
     @Test
@@ -72,6 +84,19 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
         workerServiceController.awaitValue();
         RequestController controller = workerServiceController.getService().getValue();
         Assert.assertEquals(100, controller.getMaxRequestCount());
+        // until the latency is known the adaptive limits are max-requests
+        Assert.assertEquals(100, controller.getRequestLimit());
+
+        controller.getControlPoint("test.war", "web");
+        PathAddress address = PathAddress.pathAddress(RequestControllerExtension.SUBSYSTEM_PATH)
+                .append(Constants.DEPLOYMENT, "test.war")
+                .append(Constants.ENTRY_POINT, "web");
+        ModelNode result = mainServices.executeForResult(Util.getReadAttributeOperation(address, Constants.REQUEST_LIMIT));
+        Assert.assertEquals(100, result.asInt());
+        result = mainServices.executeForResult(Util.getReadAttributeOperation(address, Constants.PAUSED));
+        Assert.assertFalse(result.asBoolean());
+        result = mainServices.executeForResult(Util.getReadAttributeOperation(address, Constants.REQUEST_LATENCY));
+        Assert.assertEquals(0, result.get("count").asLong());
     }
 
     @Override
@@ -0,0 +1,247 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.server.suspend.SuspendController;
+import org.jboss.msc.value.ImmediateValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the queueing of tasks by the {@link RequestController}.
+ */
+public class RequestControllerTestCase {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private RequestController controller;
+
+    @Before
+    public void setup() throws Exception {
+        controller = new RequestController(true);
+        controller.getShutdownControllerInjectedValue().setValue(new ImmediateValue<>(new SuspendController()));
+        controller.start(null);
+        controller.resume();
+        controller.setMaxRequestCount(1);
+    }
+
+    @After
+    public void cleanup() {
+        controller.stop(null);
+    }
+
+    @Test
+    public void testHighPriorityTasksRunFirst() throws Exception {
+        ControlPoint bulk = controller.getControlPoint("test.war", "bulk");
+        ControlPoint health = controller.getControlPoint("test.war", "health", RequestPriority.HIGH);
+        Assert.assertEquals(RunResult.RUN, bulk.beginRequest());
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bulk.queueTask(() -> order.add("bulk"), DIRECT, -1, null, false);
+        }
+        health.queueTask(() -> order.add("health"), DIRECT, -1, null, false);
+        health.queueTask(() -> order.add("health"), DIRECT, -1, null, false);
+        Assert.assertEquals(12, controller.getQueuedTaskCount());
+
+        bulk.requestComplete();
+        Assert.assertEquals(12, order.size());
+        Assert.assertEquals("health", order.get(0));
+        Assert.assertEquals("health", order.get(1));
+        Assert.assertEquals(0, controller.getQueuedTaskCount());
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+        Assert.assertEquals(12, controller.getQueueWaitTime().get(LatencyHistogram.COUNT).asLong());
+    }
+
+    @Test
+    public void testQueuedTaskTimeout() throws Exception {
+        ControlPoint controlPoint = controller.getControlPoint("test.war", "web");
+        Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+
+        CountDownLatch timedOut = new CountDownLatch(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        controlPoint.queueTask(() -> ran.add("task"), DIRECT, 50, timedOut::countDown, false);
+        Assert.assertTrue(timedOut.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, controller.getQueuedTaskCount());
+
+        controlPoint.requestComplete();
+        Assert.assertTrue(ran.isEmpty());
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+    }
+
+    @Test
+    public void testForcedTaskRunsWhileSuspended() throws Exception {
+        ControlPoint controlPoint = controller.getControlPoint("test.war", "timer");
+        Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        controller.suspended(() -> { });
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        controlPoint.queueTask(() -> order.add("queued"), DIRECT, -1, null, false);
+        controlPoint.forceQueueTask(() -> order.add("forced"), DIRECT);
+        controlPoint.requestComplete();
+        Assert.assertEquals(1, order.size());
+        Assert.assertEquals("forced", order.get(0));
+
+        controller.resume();
+        Assert.assertEquals(2, order.size());
+        Assert.assertEquals("queued", order.get(1));
+    }
+
+    @Test
+    public void testControlPointStatistics() throws Exception {
+        ControlPoint controlPoint = controller.getControlPoint("test.war", "web");
+        Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        controlPoint.requestComplete();
+        Assert.assertEquals(0, controlPoint.getRequestCount());
+
+        controller.setStatisticsEnabled(true);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+            Thread.sleep(1);
+            controlPoint.requestComplete();
+        }
+        Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        Assert.assertEquals(RunResult.REJECTED, controlPoint.beginRequest());
+        controlPoint.requestComplete();
+
+        Assert.assertEquals(11, controlPoint.getRequestCount());
+        Assert.assertEquals(1, controlPoint.getRejectedRequestCount());
+        Assert.assertEquals(11, controlPoint.getRequestLatency().get(LatencyHistogram.COUNT).asLong());
+        Assert.assertTrue(controlPoint.getRequestLatency().get(LatencyHistogram.MAX).asLong() >= 1000);
+    }
+
+    @Test
+    public void testAdaptiveLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(-1, 0, 0);
+        // until the latency is known the limit is its upper bound
+        Assert.assertEquals(AdaptiveLimit.DEFAULT_MAX_LIMIT, limit.getLimit());
+        limit.setMaxLimit(100);
+        Assert.assertEquals(100, limit.getLimit());
+
+        // stable latency with the limit in use, the limit stays at its upper bound
+        long now = simulate(limit, 0, 100, TimeUnit.MILLISECONDS.toNanos(10), 1000);
+        Assert.assertEquals(100, limit.getLimit());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(10), limit.getEstimatedLatency());
+
+        // latency rises, the limit shrinks
+        now = simulate(limit, now, 100, TimeUnit.MILLISECONDS.toNanos(40), 100);
+        Assert.assertTrue(String.valueOf(limit.getLimit()), limit.getLimit() < 100);
+        Assert.assertTrue(limit.getBaselineLatency() < limit.getEstimatedLatency());
+
+        // light load does not change the limit, once the requests of the previous load have completed
+        now = simulate(limit, now, 1, TimeUnit.MILLISECONDS.toNanos(1), AdaptiveLimit.MIN_WINDOW_SAMPLES);
+        int current = limit.getLimit();
+        now = simulate(limit, now, 1, TimeUnit.MILLISECONDS.toNanos(1), 1000);
+        Assert.assertEquals(current, limit.getLimit());
+
+        // latency back at the baseline with the limit in use, the limit grows back
+        for (int i = 0; i < 100; i++) {
+            now = simulate(limit, now, limit.getLimit(), TimeUnit.MILLISECONDS.toNanos(1), AdaptiveLimit.MIN_WINDOW_SAMPLES);
+        }
+        Assert.assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    public void testAdaptiveLimitRejectsRequests() throws Exception {
+        RequestController adaptive = new RequestController(false, true);
+        adaptive.getShutdownControllerInjectedValue().setValue(new ImmediateValue<>(new SuspendController()));
+        adaptive.start(null);
+        try {
+            adaptive.resume();
+            adaptive.setMaxRequestCount(5);
+            ControlPoint controlPoint = adaptive.getControlPoint("test.war", "web");
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+            }
+            Assert.assertEquals(RunResult.REJECTED, controlPoint.beginRequest());
+            Assert.assertEquals(5, controlPoint.getActiveRequestCount());
+            controlPoint.requestComplete();
+            Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        } finally {
+            adaptive.stop(null);
+        }
+    }
+
+    @Test
+    public void testAdaptiveLimitWithRequestsCompletedOnOtherThreads() throws Exception {
+        RequestController adaptive = new RequestController(false, true);
+        adaptive.getShutdownControllerInjectedValue().setValue(new ImmediateValue<>(new SuspendController()));
+        adaptive.start(null);
+        ExecutorService completer = Executors.newSingleThreadExecutor();
+        try {
+            adaptive.resume();
+            adaptive.setMaxRequestCount(100);
+            ControlPoint controlPoint = adaptive.getControlPoint("test.war", "web");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (controlPoint.getLimit().getEstimatedLatency() == 0 || adaptive.getAdaptiveLimit().getEstimatedLatency() == 0) {
+                Assert.assertTrue("No latency estimated", System.nanoTime() < deadline);
+                for (int i = 0; i < AdaptiveLimit.MIN_WINDOW_SAMPLES; i++) {
+                    Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+                }
+                Thread.sleep(20);
+                // like requests that begin on an IO thread and complete on a worker thread
+                completer.submit(() -> {
+                    for (int i = 0; i < AdaptiveLimit.MIN_WINDOW_SAMPLES; i++) {
+                        controlPoint.requestComplete();
+                    }
+                }).get();
+            }
+            // every request was in flight for at least 20ms
+            Assert.assertTrue(controlPoint.getLimit().getEstimatedLatency() >= TimeUnit.MILLISECONDS.toNanos(20));
+            Assert.assertTrue(adaptive.getAdaptiveLimit().getEstimatedLatency() >= TimeUnit.MILLISECONDS.toNanos(20));
+            // the server is lightly loaded, so the limits stay at max-requests
+            Assert.assertEquals(100, controlPoint.getLimit().getLimit());
+            Assert.assertEquals(100, adaptive.getRequestLimit());
+        } finally {
+            completer.shutdownNow();
+            adaptive.stop(null);
+        }
+    }
+
+    /**
+     * Simulates requests of the given latency with a constant number of requests in flight, one request completing and
+     * another one starting at regular intervals.
+     *
+     * @return The time at the end of the simulation
+     */
+    private static long simulate(AdaptiveLimit limit, long now, int concurrency, long latency, int requests) {
+        long interval = latency / concurrency;
+        for (int i = 0; i < requests; i++) {
+            now += interval;
+            limit.onRequestComplete(concurrency, now);
+            limit.onRequestStart(concurrency - 1, now);
+        }
+        return now;
+    }
+}
@@ -68,6 +68,7 @@ import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.OperationEntry.Flag;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.AbstractDeploymentUnitService;
+import org.jboss.as.server.deployment.DeploymentProcessorStatistics;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -153,6 +154,27 @@ public class DeploymentAttributes {
             .addFlag(AttributeAccess.Flag.RUNTIME_SERVICE_NOT_REQUIRED)
             .build();
 
+    /** Timing statistics of the deployment unit processors run for a deployment */
+    public static final ObjectListAttributeDefinition PROCESSOR_STATISTICS = ObjectListAttributeDefinition.Builder.of(ModelDescriptionConstants.PROCESSOR_STATISTICS,
+                ObjectTypeAttributeDefinition.Builder.of(ModelDescriptionConstants.PROCESSOR_STATISTICS,
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.PHASE, ModelType.STRING, false).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.PRIORITY, ModelType.INT, false).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.PROCESSOR, ModelType.STRING, false).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.SUBSYSTEM, ModelType.STRING, true).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.INVOCATIONS, ModelType.LONG, false).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.WALL_TIME, ModelType.LONG, false)
+                                .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.MAX_WALL_TIME, ModelType.LONG, false)
+                                .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.CPU_TIME, ModelType.LONG, true)
+                                .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.ALLOCATED_BYTES, ModelType.LONG, true)
+                                .setMeasurementUnit(MeasurementUnit.BYTES).build())
+                        .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     //Managed content value attributes
     public static final AttributeDefinition EMPTY =
             createContentValueTypeAttribute(ModelDescriptionConstants.EMPTY, ModelType.BOOLEAN, new ModelTypeValidator(ModelType.BOOLEAN, true), false,
@@ -31,6 +31,7 @@ import org.jboss.as.server.deployment.ExplodedDeploymentAddContentHandler;
 import org.jboss.as.server.deployment.DeploymentAddHandler;
 import org.jboss.as.server.deployment.DeploymentDeployHandler;
 import org.jboss.as.server.deployment.DeploymentExplodeHandler;
+import org.jboss.as.server.deployment.DeploymentProcessorStatisticsHandler;
 import org.jboss.as.server.deployment.DeploymentRedeployHandler;
 import org.jboss.as.server.deployment.DeploymentRemoveHandler;
 import org.jboss.as.server.deployment.DeploymentUndeployHandler;
@@ -64,6 +65,12 @@ public class ServerDeploymentResourceDefinition extends DeploymentResourceDefini
                 new DeploymentRemoveHandler(contentRepository, vaultReader));
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(DeploymentAttributes.PROCESSOR_STATISTICS, DeploymentProcessorStatisticsHandler.INSTANCE);
+    }
+
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
@@ -101,6 +101,7 @@ import org.jboss.as.server.Services;
 import org.jboss.as.server.controller.descriptions.ServerDescriptionConstants;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.DeploymentFullReplaceHandler;
+import org.jboss.as.server.deployment.DeploymentProcessorReportHandler;
 import org.jboss.as.server.deployment.DeploymentReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentUploadBytesHandler;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
@@ -368,6 +369,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         DeploymentUploadStreamAttachmentHandler.register(resourceRegistration, contentRepository);
         resourceRegistration.registerOperationHandler(DeploymentAttributes.REPLACE_DEPLOYMENT_DEFINITION, DeploymentReplaceHandler.create(contentRepository, vaultReader));
         resourceRegistration.registerOperationHandler(DeploymentAttributes.FULL_REPLACE_DEPLOYMENT_DEFINITION, DeploymentFullReplaceHandler.create(contentRepository, vaultReader));
+        resourceRegistration.registerOperationHandler(DeploymentProcessorReportHandler.DEFINITION, DeploymentProcessorReportHandler.INSTANCE);
 
         if (!isDomain) {
             if(serverEnvironment.useGit()) {
@@ -80,6 +80,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<Set<String>> REGISTERED_SUBSYSTEMS = AttachmentKey.create(Set.class);
 
+    /**
+     * Timing statistics of the deployment unit processors run for a top level deployment and its sub deployments.
+     */
+    public static final AttachmentKey<DeploymentProcessorStatistics> DEPLOYMENT_PROCESSOR_STATISTICS = AttachmentKey.create(DeploymentProcessorStatistics.class);
+
     /**
      * The deployments runtime name
      *
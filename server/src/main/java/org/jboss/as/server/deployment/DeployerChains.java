@@ -32,6 +32,7 @@ import java.util.List;
  */
 final class DeployerChains {
     private final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases;
+    private final DeploymentProcessorStatistics processorStatistics = new DeploymentProcessorStatistics();
 
     DeployerChains(final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases) {
         this.phases = phases;
@@ -40,4 +41,13 @@ final class DeployerChains {
     List<RegisteredDeploymentUnitProcessor> getChain(Phase phase) {
         return phases.get(phase);
     }
+
+    /**
+     * Gets the statistics of all processor invocations since the chains were installed.
+     *
+     * @return the statistics. Will not be {@code null}
+     */
+    DeploymentProcessorStatistics getProcessorStatistics() {
+        return processorStatistics;
+    }
 }
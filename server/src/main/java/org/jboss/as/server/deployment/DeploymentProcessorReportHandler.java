@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESSOR_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_DEPLOYMENT_PROCESSOR_REPORT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Dumps a ranked report of the slowest deployment unit processors, aggregated over all the deployments processed
+ * since the server was started.
+ */
+public class DeploymentProcessorReportHandler implements OperationStepHandler {
+
+    private static final String LIMIT = "limit";
+    private static final String SUBSYSTEM_STATISTICS_NAME = "subsystem-statistics";
+
+    private static final SimpleAttributeDefinition SUBSYSTEM_PARAM = SimpleAttributeDefinitionBuilder.create(SUBSYSTEM, ModelType.STRING, true)
+            .build();
+    private static final SimpleAttributeDefinition LIMIT_PARAM = SimpleAttributeDefinitionBuilder.create(LIMIT, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+
+    private static final ObjectListAttributeDefinition SUBSYSTEM_STATISTICS = ObjectListAttributeDefinition.Builder.of(SUBSYSTEM_STATISTICS_NAME,
+                ObjectTypeAttributeDefinition.Builder.of(SUBSYSTEM_STATISTICS_NAME,
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.SUBSYSTEM, ModelType.STRING, false).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.INVOCATIONS, ModelType.LONG, false).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.WALL_TIME, ModelType.LONG, false)
+                                .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.CPU_TIME, ModelType.LONG, true)
+                                .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build(),
+                        SimpleAttributeDefinitionBuilder.create(DeploymentProcessorStatistics.ALLOCATED_BYTES, ModelType.LONG, true)
+                                .setMeasurementUnit(MeasurementUnit.BYTES).build())
+                        .build())
+            .setRequired(false)
+            .build();
+
+    public static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_DEPLOYMENT_PROCESSOR_REPORT,
+                ServerDescriptions.getResourceDescriptionResolver(DEPLOYMENT))
+            .setParameters(SUBSYSTEM_PARAM, LIMIT_PARAM)
+            .setReplyParameters(SUBSYSTEM_STATISTICS, DeploymentAttributes.PROCESSOR_STATISTICS)
+            .withFlags(OperationEntry.Flag.READ_ONLY, OperationEntry.Flag.RUNTIME_ONLY)
+            .build();
+
+    public static final OperationStepHandler INSTANCE = new DeploymentProcessorReportHandler();
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode subsystemNode = SUBSYSTEM_PARAM.resolveModelAttribute(context, operation);
+        final String subsystem = subsystemNode.isDefined() ? subsystemNode.asString() : null;
+        final ModelNode limitNode = LIMIT_PARAM.resolveModelAttribute(context, operation);
+        final int limit = limitNode.isDefined() ? limitNode.asInt() : -1;
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.JBOSS_DEPLOYMENT_CHAINS);
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    final DeploymentProcessorStatistics statistics = ((DeployerChains) controller.getValue()).getProcessorStatistics();
+                    final ModelNode result = context.getResult();
+                    result.get(SUBSYSTEM_STATISTICS_NAME).set(statistics.toSubsystemModelNode(subsystem));
+                    result.get(PROCESSOR_STATISTICS).set(statistics.toModelNode(subsystem, limit));
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+}
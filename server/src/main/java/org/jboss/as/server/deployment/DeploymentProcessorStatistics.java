@@ -0,0 +1,249 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Aggregated timing statistics for {@link DeploymentUnitProcessor} invocations.
+ * <p>
+ * One instance is attached to every top level deployment unit (covering its sub deployments as well) and one is held by
+ * the {@link DeployerChains}, aggregating every deployment processed since the server was started.
+ */
+public final class DeploymentProcessorStatistics {
+
+    public static final String PHASE = "phase";
+    public static final String PRIORITY = "priority";
+    public static final String PROCESSOR = "processor";
+    public static final String SUBSYSTEM = "subsystem";
+    public static final String INVOCATIONS = "invocations";
+    public static final String WALL_TIME = "wall-time";
+    public static final String MAX_WALL_TIME = "max-wall-time";
+    public static final String CPU_TIME = "cpu-time";
+    public static final String ALLOCATED_BYTES = "allocated-bytes";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+    private final ConcurrentMap<RegisteredDeploymentUnitProcessor, ProcessorStatistics> processors = new ConcurrentHashMap<>();
+
+    /**
+     * Records a single invocation of a deployment unit processor.
+     *
+     * @param phase the phase the processor was invoked in
+     * @param processor the registered processor
+     * @param wallTime the elapsed time, in nanoseconds
+     * @param cpuTime the CPU time consumed by the invoking thread, in nanoseconds, or {@code -1} if unavailable
+     * @param allocatedBytes the bytes allocated by the invoking thread, or {@code -1} if unavailable
+     */
+    void record(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final long wallTime, final long cpuTime, final long allocatedBytes) {
+        ProcessorStatistics statistics = processors.get(processor);
+        if (statistics == null) {
+            final ProcessorStatistics created = new ProcessorStatistics(phase, processor);
+            statistics = processors.putIfAbsent(processor, created);
+            if (statistics == null) {
+                statistics = created;
+            }
+        }
+        statistics.record(wallTime, cpuTime, allocatedBytes);
+    }
+
+    /**
+     * Returns the statistics of the processors, ranked by descending total wall time.
+     *
+     * @param subsystem the name of the subsystem whose processors should be reported, or {@code null} for all subsystems
+     * @param limit the maximum number of entries to return, or a negative value for no limit
+     * @return a list of {@link org.jboss.dmr.ModelType#OBJECT} nodes
+     */
+    public ModelNode toModelNode(final String subsystem, final int limit) {
+        final List<ProcessorStatistics> ranked = new ArrayList<>();
+        for (ProcessorStatistics statistics : processors.values()) {
+            if (subsystem == null || subsystem.equals(statistics.processor.getSubsystemName())) {
+                ranked.add(statistics);
+            }
+        }
+        ranked.sort(Comparator.comparingLong(ProcessorStatistics::getWallTime).reversed());
+        final ModelNode result = new ModelNode().setEmptyList();
+        int count = 0;
+        for (ProcessorStatistics statistics : ranked) {
+            if (limit >= 0 && count++ >= limit) {
+                break;
+            }
+            result.add(statistics.toModelNode());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the statistics summed up per subsystem, ranked by descending total wall time.
+     *
+     * @param subsystem the name of the subsystem to report, or {@code null} for all subsystems
+     * @return a list of {@link org.jboss.dmr.ModelType#OBJECT} nodes
+     */
+    public ModelNode toSubsystemModelNode(final String subsystem) {
+        final Map<String, long[]> totals = new HashMap<>();
+        for (ProcessorStatistics statistics : processors.values()) {
+            final String name = statistics.processor.getSubsystemName();
+            if (name == null || (subsystem != null && !subsystem.equals(name))) {
+                continue;
+            }
+            final long[] total = totals.computeIfAbsent(name, k -> new long[4]);
+            total[0] += statistics.invocations.sum();
+            total[1] += statistics.wallTime.sum();
+            total[2] += statistics.cpuTime.sum();
+            total[3] += statistics.allocatedBytes.sum();
+        }
+        final List<Map.Entry<String, long[]>> ranked = new ArrayList<>(totals.entrySet());
+        ranked.sort(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed());
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Map.Entry<String, long[]> entry : ranked) {
+            final ModelNode node = new ModelNode();
+            node.get(SUBSYSTEM).set(entry.getKey());
+            node.get(INVOCATIONS).set(entry.getValue()[0]);
+            node.get(WALL_TIME).set(entry.getValue()[1]);
+            if (CPU_TIME_SUPPORTED) {
+                node.get(CPU_TIME).set(entry.getValue()[2]);
+            }
+            if (ALLOCATION_SUPPORTED) {
+                node.get(ALLOCATED_BYTES).set(entry.getValue()[3]);
+            }
+            result.add(node);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the CPU time consumed so far by the current thread.
+     *
+     * @return the CPU time in nanoseconds, or {@code -1} if CPU time measurement is not supported
+     */
+    static long currentThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1L;
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread.
+     *
+     * @return the allocated bytes, or {@code -1} if allocation measurement is not supported
+     */
+    static long currentThreadAllocatedBytes() {
+        return ALLOCATION_SUPPORTED ? AllocationCounter.currentThreadAllocatedBytes() : -1L;
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return AllocationCounter.isSupported();
+        } catch (LinkageError | RuntimeException e) {
+            // com.sun.management is not visible to this module or not provided by this JVM
+            return false;
+        }
+    }
+
+    private static final class ProcessorStatistics {
+        private final Phase phase;
+        private final RegisteredDeploymentUnitProcessor processor;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder wallTime = new LongAdder();
+        private final AtomicLong maxWallTime = new AtomicLong();
+        private final LongAdder cpuTime = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        ProcessorStatistics(final Phase phase, final RegisteredDeploymentUnitProcessor processor) {
+            this.phase = phase;
+            this.processor = processor;
+        }
+
+        void record(final long wallTime, final long cpuTime, final long allocatedBytes) {
+            this.invocations.increment();
+            this.wallTime.add(wallTime);
+            this.maxWallTime.accumulateAndGet(wallTime, Math::max);
+            if (cpuTime > 0) {
+                this.cpuTime.add(cpuTime);
+            }
+            if (allocatedBytes > 0) {
+                this.allocatedBytes.add(allocatedBytes);
+            }
+        }
+
+        long getWallTime() {
+            return wallTime.sum();
+        }
+
+        ModelNode toModelNode() {
+            final ModelNode node = new ModelNode();
+            node.get(PHASE).set(phase.name());
+            node.get(PRIORITY).set(processor.getPriority());
+            node.get(PROCESSOR).set(processor.getProcessor().getClass().getName());
+            if (processor.getSubsystemName() != null) {
+                node.get(SUBSYSTEM).set(processor.getSubsystemName());
+            }
+            node.get(INVOCATIONS).set(invocations.sum());
+            node.get(WALL_TIME).set(wallTime.sum());
+            node.get(MAX_WALL_TIME).set(maxWallTime.get());
+            if (CPU_TIME_SUPPORTED) {
+                node.get(CPU_TIME).set(cpuTime.sum());
+            }
+            if (ALLOCATION_SUPPORTED) {
+                node.get(ALLOCATED_BYTES).set(allocatedBytes.sum());
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Isolates the references to {@code com.sun.management}, which may not be available.
+     */
+    private static final class AllocationCounter {
+        private static final com.sun.management.ThreadMXBean BEAN = THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) THREAD_MX_BEAN : null;
+
+        static boolean isSupported() {
+            return BEAN != null && BEAN.isThreadAllocatedMemorySupported() && BEAN.isThreadAllocatedMemoryEnabled();
+        }
+
+        static long currentThreadAllocatedBytes() {
+            return BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -152,6 +152,13 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             registeredSubSystems.add(dupRegistration.getSubsystemName());
         }
 
+        // processor statistics are aggregated on the top level deployment unit
+        if (phase == Phase.STRUCTURE && parent == null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_PROCESSOR_STATISTICS, new DeploymentProcessorStatistics());
+        }
+        final DeploymentProcessorStatistics deploymentStatistics = (parent == null ? deploymentUnit : parent).getAttachment(Attachments.DEPLOYMENT_PROCESSOR_STATISTICS);
+        final DeploymentProcessorStatistics chainStatistics = chains.getProcessorStatistics();
+
         if (phase == Phase.CLEANUP) {
             // WFCORE-4233 check all excluded subsystems via jboss-deployment-structure.xml are valid in last Phase.CLEANUP
             Set<String> excludedSubSystems = deploymentUnit.getAttachment(Attachments.EXCLUDED_SUBSYSTEMS);
@@ -179,7 +186,20 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    final long startCpuTime = DeploymentProcessorStatistics.currentThreadCpuTime();
+                    final long startAllocatedBytes = DeploymentProcessorStatistics.currentThreadAllocatedBytes();
+                    final long start = System.nanoTime();
+                    try {
+                        processor.getProcessor().deploy(processorContext);
+                    } finally {
+                        final long wallTime = System.nanoTime() - start;
+                        final long cpuTime = startCpuTime < 0 ? -1L : DeploymentProcessorStatistics.currentThreadCpuTime() - startCpuTime;
+                        final long allocatedBytes = startAllocatedBytes < 0 ? -1L : DeploymentProcessorStatistics.currentThreadAllocatedBytes() - startAllocatedBytes;
+                        if (deploymentStatistics != null) {
+                            deploymentStatistics.record(phase, processor, wallTime, cpuTime, allocatedBytes);
+                        }
+                        chainStatistics.record(phase, processor, wallTime, cpuTime, allocatedBytes);
+                    }
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Cache of the annotation indexes generated for resource roots, keyed by a fingerprint of the indexed class files.
+ * <p>
+ * The fingerprint covers the relative path and the content of every indexed class file, so that a resource root whose
+ * classes did not change between two deployments (typically an unchanged sub deployment or library of a redeployed ear)
+ * reuses the index generated for the previous deployment instead of parsing every class file again. Sizes and
+ * modification times are not used, as reproducible builds produce recompiled classes with unchanged timestamps, and the
+ * CRCs of archive entries are not available through VFS. The class files are instead read only once, their bytes being
+ * retained while the fingerprint is computed so that they can be indexed if no index is cached.
+ * <p>
+ * Only the most recently used indexes are kept, and they are softly referenced and therefore also discarded under
+ * memory pressure.
+ */
+final class ResourceRootIndexCache {
+
+    static final String DISABLE_PROPERTY = "org.jboss.as.server.deployment.annotation.disable-index-cache";
+    static final String SIZE_PROPERTY = "org.jboss.as.server.deployment.annotation.index-cache-size";
+
+    private static final boolean ENABLED = !Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(DISABLE_PROPERTY, "false"));
+    static final int MAX_ENTRIES = getMaxEntries();
+    /** The bytes of class files retained while computing a fingerprint, bounding the memory used for a large resource root */
+    static final long MAX_RETAINED_BYTES = 16 * 1024 * 1024;
+
+    private static final Map<String, SoftReference<Index>> INDEXES = new LinkedHashMap<String, SoftReference<Index>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<Index>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private ResourceRootIndexCache() {
+    }
+
+    /**
+     * Computes the fingerprint of the given class files.
+     *
+     * @param root the resource root the class files belong to
+     * @param classFiles the class files that are going to be indexed
+     * @return the fingerprint, or {@code null} if the cache is disabled or a class file cannot be read
+     */
+    static String fingerprint(final VirtualFile root, final List<VirtualFile> classFiles) {
+        return fingerprint(root, classFiles, null);
+    }
+
+    /**
+     * Computes the fingerprint of the given class files, retaining the bytes read so that the class files do not have
+     * to be read again to be indexed if no index is cached for the fingerprint.
+     *
+     * @param root the resource root the class files belong to
+     * @param classFiles the class files that are going to be indexed
+     * @param contents receives the bytes of the class file at the same position in {@code classFiles}, up to
+     *                 {@link #MAX_RETAINED_BYTES} in total, may be {@code null}
+     * @return the fingerprint, or {@code null} if the cache is disabled or a class file cannot be read
+     */
+    static String fingerprint(final VirtualFile root, final List<VirtualFile> classFiles, final byte[][] contents) {
+        if (!ENABLED || MAX_ENTRIES <= 0) {
+            return null;
+        }
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        final Integer[] sorted = new Integer[classFiles.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparing(i -> classFiles.get(i).getPathName()));
+        final byte[] buffer = new byte[8192];
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        long retained = 0;
+        for (int i : sorted) {
+            final VirtualFile classFile = classFiles.get(i);
+            digest.update(classFile.getPathNameRelativeTo(root).getBytes(StandardCharsets.UTF_8));
+            // separate the path from the content
+            digest.update((byte) 0);
+            final boolean retain = contents != null && retained < MAX_RETAINED_BYTES;
+            content.reset();
+            long length = 0;
+            InputStream in = null;
+            try {
+                in = classFile.openStream();
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    if (retain) {
+                        content.write(buffer, 0, read);
+                    }
+                    length += read;
+                }
+            } catch (IOException e) {
+                // the class is reported when indexing it, don't cache an index missing it
+                return null;
+            } finally {
+                VFSUtils.safeClose(in);
+            }
+            if (retain) {
+                contents[i] = content.toByteArray();
+                retained += length;
+            }
+            // separate the content from the next path
+            writeLong(buffer, 0, length);
+            digest.update(buffer, 0, 8);
+        }
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+
+    /**
+     * Gets a previously generated index.
+     *
+     * @param fingerprint the fingerprint of the class files, may be {@code null}
+     * @return the index, or {@code null} if none is cached
+     */
+    static Index get(final String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        synchronized (INDEXES) {
+            final SoftReference<Index> reference = INDEXES.get(fingerprint);
+            return reference == null ? null : reference.get();
+        }
+    }
+
+    /**
+     * Caches a generated index.
+     *
+     * @param fingerprint the fingerprint of the indexed class files, may be {@code null}
+     * @param index the index
+     */
+    static void put(final String fingerprint, final Index index) {
+        if (fingerprint == null) {
+            return;
+        }
+        synchronized (INDEXES) {
+            // drop the entries whose index was already collected
+            INDEXES.values().removeIf(reference -> reference.get() == null);
+            INDEXES.put(fingerprint, new SoftReference<>(index));
+        }
+    }
+
+    private static int getMaxEntries() {
+        try {
+            return Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(SIZE_PROPERTY, "64"));
+        } catch (NumberFormatException e) {
+            return 64;
+        }
+    }
+
+    private static void writeLong(final byte[] buffer, final int offset, final long value) {
+        for (int i = 0; i < 8; i++) {
+            buffer[offset + i] = (byte) (value >>> (56 - 8 * i));
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
@@ -92,10 +93,22 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-            for (VirtualFile classFile : classChildren) {
+            // reuse the index of a previous deployment if the class files did not change
+            final byte[][] contents = new byte[classChildren.size()][];
+            final String fingerprint = ResourceRootIndexCache.fingerprint(virtualFile, classChildren, contents);
+            final Index cachedIndex = ResourceRootIndexCache.get(fingerprint);
+            if (cachedIndex != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cachedIndex);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Reused index for unchanged archive %s", virtualFile);
+                return;
+            }
+            for (int i = 0; i < contents.length; i++) {
+                final VirtualFile classFile = classChildren.get(i);
                 InputStream inputStream = null;
                 try {
-                    inputStream = classFile.openStream();
+                    // the class files read to compute the fingerprint are not read again
+                    inputStream = contents[i] != null ? new ByteArrayInputStream(contents[i]) : classFile.openStream();
+                    contents[i] = null;
                     indexer.index(inputStream);
                 } catch (Exception e) {
                     ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
@@ -104,6 +117,7 @@ public class ResourceRootIndexer {
                 }
             }
             final Index index = indexer.complete();
+            ResourceRootIndexCache.put(fingerprint, index);
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
         } catch (Throwable t) {
@@ -31,6 +31,7 @@ public interface DomainServerProtocol {
     byte SERVER_STARTED_REQUEST = 0x02;
     byte SERVER_RECONNECT_REQUEST = 0x03;
     byte SERVER_INSTABILITY_REQUEST = 0x04;
+    byte SERVER_STATE_CHANGED_REQUEST = 0x05;
 
 
     byte PARAM_SERVER_NAME = 0x01;
@@ -47,4 +48,5 @@ public interface DomainServerProtocol {
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
     byte PARAM_ROOT_ID = 0x33;
+    byte PARAM_SERVER_STATE = 0x34;
 }
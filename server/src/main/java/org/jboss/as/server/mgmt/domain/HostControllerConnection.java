@@ -38,6 +38,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
@@ -86,6 +87,7 @@ class HostControllerConnection extends FutureManagementChannel {
 
     private volatile ProtocolConnectionConfiguration configuration;
     private volatile ReconnectRunner reconnectRunner;
+    private volatile ControlledProcessState.State processState;
 
     HostControllerConnection(final String serverProcessName, final String userName, final int initialOperationID,
                              final ProtocolConnectionConfiguration configuration,
@@ -208,6 +210,8 @@ class HostControllerConnection extends FutureManagementChannel {
                 boolean inSync = result.getResult().get();
                 ok = true;
                 reconnectRunner = null;
+                // The host controller dropped the state it cached for the previous connection
+                sendStateChanged(processState);
                 return inSync;
             } catch (ExecutionException e) {
                 throw new IOException(e);
@@ -234,6 +238,27 @@ class HostControllerConnection extends FutureManagementChannel {
         }
     }
 
+    /**
+     * Send the server state changed notification
+     *
+     * @param state the new state of the server
+     */
+    synchronized void stateChanged(final ControlledProcessState.State state) {
+        this.processState = state;
+        sendStateChanged(state);
+    }
+
+    private void sendStateChanged(final ControlledProcessState.State state) {
+        try {
+            if(state != null && isConnected()) {
+                // Don't wait for the host controller, the state change must not block on it
+                channelHandler.executeRequest(new ServerStateChangedRequest(state), null);
+            }
+        } catch (Exception e) {
+            ServerLogger.AS_ROOT_LOGGER.debugf(e, "failed to send state changed notification");
+        }
+    }
+
     @Override
     public void connectionOpened(final Connection connection) throws IOException {
         final Channel channel = openChannel(connection, SERVER_CHANNEL_TYPE, configuration.getOptionMap());
@@ -348,6 +373,33 @@ class HostControllerConnection extends FutureManagementChannel {
 
     }
 
+    private static class ServerStateChangedRequest extends AbstractManagementRequest<Void, Void> {
+
+        private final ControlledProcessState.State state;
+
+        private ServerStateChangedRequest(final ControlledProcessState.State state) {
+            this.state = state;
+        }
+
+        @Override
+        public byte getOperationType() {
+            return DomainServerProtocol.SERVER_STATE_CHANGED_REQUEST;
+        }
+
+        @Override
+        protected void sendRequest(ActiveOperation.ResultHandler<Void> resultHandler, ManagementRequestContext<Void> context, FlushableDataOutput output) throws IOException {
+            output.write(DomainServerProtocol.PARAM_SERVER_STATE);
+            output.writeUTF(state.toString());
+            resultHandler.done(null);
+        }
+
+        @Override
+        public void handleRequest(DataInput input, ActiveOperation.ResultHandler<Void> resultHandler, ManagementRequestContext<Void> context) throws IOException {
+            //
+        }
+
+    }
+
     private class ReconnectTask implements ProtocolConnectionManager.ConnectTask {
 
         @Override
@@ -140,6 +140,8 @@ public class HostControllerConnectionService implements Service<HostControllerCl
                 public void propertyChange(final PropertyChangeEvent evt) {
                     final ControlledProcessState.State old = (ControlledProcessState.State) evt.getOldValue();
                     final ControlledProcessState.State current = (ControlledProcessState.State) evt.getNewValue();
+                    // Keep the state cached by the host controller up to date, before it is told the server started
+                    connection.stateChanged(current);
                     if (old == ControlledProcessState.State.STARTING) {
                         // After starting reload has to be cleared, may still require a restart
                         if(current == ControlledProcessState.State.RUNNING
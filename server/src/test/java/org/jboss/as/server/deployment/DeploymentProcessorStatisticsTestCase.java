@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentProcessorStatistics}.
+ */
+public class DeploymentProcessorStatisticsTestCase {
+
+    @Test
+    public void testRanking() {
+        final RegisteredDeploymentUnitProcessor fast = new RegisteredDeploymentUnitProcessor(1, new NoopProcessor(), "fast");
+        final RegisteredDeploymentUnitProcessor slow = new RegisteredDeploymentUnitProcessor(2, new NoopProcessor(), "slow");
+        final DeploymentProcessorStatistics statistics = new DeploymentProcessorStatistics();
+        statistics.record(Phase.STRUCTURE, fast, 10L, -1L, -1L);
+        statistics.record(Phase.STRUCTURE, fast, 20L, -1L, -1L);
+        statistics.record(Phase.INSTALL, slow, 100L, -1L, -1L);
+
+        final List<ModelNode> ranked = statistics.toModelNode(null, -1).asList();
+        assertEquals(2, ranked.size());
+        assertEquals("slow", ranked.get(0).get(DeploymentProcessorStatistics.SUBSYSTEM).asString());
+        assertEquals(Phase.INSTALL.name(), ranked.get(0).get(DeploymentProcessorStatistics.PHASE).asString());
+        assertEquals("fast", ranked.get(1).get(DeploymentProcessorStatistics.SUBSYSTEM).asString());
+        assertEquals(2L, ranked.get(1).get(DeploymentProcessorStatistics.INVOCATIONS).asLong());
+        assertEquals(30L, ranked.get(1).get(DeploymentProcessorStatistics.WALL_TIME).asLong());
+        assertEquals(20L, ranked.get(1).get(DeploymentProcessorStatistics.MAX_WALL_TIME).asLong());
+
+        assertEquals(1, statistics.toModelNode(null, 1).asList().size());
+        assertEquals(1, statistics.toModelNode("fast", -1).asList().size());
+
+        final List<ModelNode> subsystems = statistics.toSubsystemModelNode(null).asList();
+        assertEquals(2, subsystems.size());
+        assertEquals("slow", subsystems.get(0).get(DeploymentProcessorStatistics.SUBSYSTEM).asString());
+        assertEquals(30L, subsystems.get(1).get(DeploymentProcessorStatistics.WALL_TIME).asLong());
+    }
+
+    private static class NoopProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) {
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.util.SuffixMatchFilter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests of {@link ResourceRootIndexCache}.
+ */
+public class ResourceRootIndexCacheTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFingerprint() throws Exception {
+        final File dir = folder.newFolder("root");
+        final File a = new File(dir, "A.class");
+        final File b = new File(dir, "B.class");
+        Files.write(a.toPath(), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(b.toPath(), "b".getBytes(StandardCharsets.UTF_8));
+
+        final VirtualFile root = VFS.getChild(dir.getAbsolutePath());
+        final String fingerprint = ResourceRootIndexCache.fingerprint(root, classes(root));
+        assertEquals(fingerprint, ResourceRootIndexCache.fingerprint(root, classes(root)));
+
+        // a recompiled class of the same size and with the same timestamp, as produced by reproducible builds
+        final long lastModified = b.lastModified();
+        Files.write(b.toPath(), "c".getBytes(StandardCharsets.UTF_8));
+        b.setLastModified(lastModified);
+        assertNotEquals(fingerprint, ResourceRootIndexCache.fingerprint(root, classes(root)));
+    }
+
+    @Test
+    public void testFingerprintRetainsContents() throws Exception {
+        final File dir = folder.newFolder("retained");
+        Files.write(new File(dir, "B.class").toPath(), "b".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(dir, "A.class").toPath(), "a".getBytes(StandardCharsets.UTF_8));
+
+        final VirtualFile root = VFS.getChild(dir.getAbsolutePath());
+        final List<VirtualFile> classes = classes(root);
+        final byte[][] contents = new byte[classes.size()][];
+        // the bytes read while fingerprinting are retained in the order of the class files, rather than sorted
+        assertEquals(ResourceRootIndexCache.fingerprint(root, classes), ResourceRootIndexCache.fingerprint(root, classes, contents));
+        for (int i = 0; i < contents.length; i++) {
+            assertArrayEquals(Files.readAllBytes(classes.get(i).getPhysicalFile().toPath()), contents[i]);
+        }
+    }
+
+    @Test
+    public void testCache() {
+        final Index index = new Indexer().complete();
+        assertNull(ResourceRootIndexCache.get("0000"));
+        ResourceRootIndexCache.put("0000", index);
+        assertSame(index, ResourceRootIndexCache.get("0000"));
+        assertNull(ResourceRootIndexCache.get(null));
+    }
+
+    @Test
+    public void testBounded() {
+        final Index index = new Indexer().complete();
+        for (int i = 0; i <= ResourceRootIndexCache.MAX_ENTRIES; i++) {
+            ResourceRootIndexCache.put("bounded-" + i, index);
+        }
+        assertNull(ResourceRootIndexCache.get("bounded-0"));
+        assertSame(index, ResourceRootIndexCache.get("bounded-" + ResourceRootIndexCache.MAX_ENTRIES));
+    }
+
+    private static List<VirtualFile> classes(final VirtualFile root) throws Exception {
+        return root.getChildrenRecursively(new SuffixMatchFilter(".class"));
+    }
+}
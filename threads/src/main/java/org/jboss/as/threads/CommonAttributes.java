@@ -27,11 +27,13 @@ package org.jboss.as.threads;
 public interface CommonAttributes {
     String ACTIVE_COUNT = "active-count";
     String ALLOW_CORE_TIMEOUT = "allow-core-timeout";
+    String AUTO_SIZING = "auto-sizing";
     String BLOCKING = "blocking";
     String BLOCKING_BOUNDED_QUEUE_THREAD_POOL = "blocking-bounded-queue-thread-pool";
     String BLOCKING_QUEUELESS_THREAD_POOL = "blocking-queueless-thread-pool";
     String BOUNDED_QUEUE_THREAD_POOL = "bounded-queue-thread-pool";
     String COMPLETED_TASK_COUNT = "completed-task-count";
+    String CONCURRENCY_LIMIT = "concurrency-limit";
     String CORE_THREADS = "core-threads";
     String COUNT = "count";
     String CURRENT_THREAD_COUNT = "current-thread-count";
@@ -39,6 +41,9 @@ public interface CommonAttributes {
     String HANDOFF_EXECUTOR = "handoff-executor";
     String LARGEST_THREAD_COUNT = "largest-thread-count";
     String NAME = "name";
+    String EFFECTIVE_MAX_THREADS = "effective-max-threads";
+    String ESTIMATED_QUEUE_WAIT_TIME = "estimated-queue-wait-time";
+    String EXECUTION_TIME = "execution-time";
     String GROUP_NAME = "group-name";
     String KEEPALIVE_TIME = "keepalive-time";
     String MAX_THREADS = "max-threads";
@@ -47,9 +52,13 @@ public interface CommonAttributes {
     String PROPERTY = "property";
     String QUEUELESS_THREAD_POOL = "queueless-thread-pool";
     String QUEUE_LENGTH = "queue-length";
+    String QUEUE_WAIT_TIME = "queue-wait-time";
     String QUEUE_SIZE = "queue-size";
     String REJECTED_COUNT = "rejected-count";
     String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
+    String STATISTICS_ENABLED = "statistics-enabled";
+    String STEAL_COUNT = "steal-count";
+    String SUBMISSION_QUEUE_SIZE = "submission-queue-size";
     String TASK_COUNT = "task-count";
     String THREADS = "threads";
     String TIME = "time";
@@ -57,6 +66,8 @@ public interface CommonAttributes {
     String THREAD_NAME_PATTERN = "thread-name-pattern";
     String UNBOUNDED_QUEUE_THREAD_POOL = "unbounded-queue-thread-pool";
     String ENHANCED_QUEUE_THREAD_POOL = "enhanced-queue-thread-pool";
+    String VIRTUAL_THREAD_EXECUTOR = "virtual-thread-executor";
+    String WORK_STEALING_THREAD_POOL = "work-stealing-thread-pool";
     String UNIT = "unit";
     String VALUE = "value";
 }
@@ -37,10 +37,12 @@ import org.jboss.msc.service.ServiceName;
 class EnhancedQueueExecutorAdd extends AbstractAddStepHandler {
 
     static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{PoolAttributeDefinitions.KEEPALIVE_TIME,
-            PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.CORE_THREADS, PoolAttributeDefinitions.THREAD_FACTORY};
+            PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.CORE_THREADS, PoolAttributeDefinitions.THREAD_FACTORY,
+            PoolAttributeDefinitions.AUTO_SIZING, PoolAttributeDefinitions.STATISTICS_ENABLED};
 
     static final AttributeDefinition[] RW_ATTRIBUTES = new AttributeDefinition[]{PoolAttributeDefinitions.KEEPALIVE_TIME,
-            PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.CORE_THREADS};
+            PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.CORE_THREADS, PoolAttributeDefinitions.AUTO_SIZING,
+            PoolAttributeDefinitions.STATISTICS_ENABLED};
 
     private final ThreadFactoryResolver threadFactoryResolver;
     private final ServiceName serviceNameBase;
@@ -63,7 +65,10 @@ class EnhancedQueueExecutorAdd extends AbstractAddStepHandler {
     protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
         final EnhancedQueueThreadPoolParameters params = ThreadPoolManagementUtils.parseEnhancedQueueThreadPoolParameters(context, operation, model);
 
-        final EnhancedQueueExecutorService service = new EnhancedQueueExecutorService(allowCoreThreadTimeout, params.getMaxThreads(), params.getCoreThreads(), params.getKeepAliveTime());
+        final boolean autoSizing = PoolAttributeDefinitions.AUTO_SIZING.resolveModelAttribute(context, model).asBoolean();
+        final EnhancedQueueExecutorService service = new EnhancedQueueExecutorService(params.getName(), allowCoreThreadTimeout,
+                params.getMaxThreads(), params.getCoreThreads(), params.getKeepAliveTime(), autoSizing);
+        service.setStatisticsEnabled(params.isStatisticsEnabled());
 
         ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), capability, context.getCurrentAddress(),
                 serviceNameBase, params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
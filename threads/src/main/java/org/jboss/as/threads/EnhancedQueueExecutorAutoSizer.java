@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjusts the maximum size of an {@code org.jboss.threads.EnhancedQueueExecutor} between its configured core and
+ * maximum sizes.
+ * <p>
+ * The executor is sampled every {@value #SAMPLE_PERIOD_MILLIS} ms. The queue wait time is estimated from the queue size
+ * and the throughput of the period (Little's law) and the CPU utilization of the system is read from the
+ * {@link OperatingSystemMXBean}. The pool grows as soon as tasks wait while CPU is available, and only shrinks once the
+ * executor was idle, or the CPU saturated, for several consecutive periods, so that it does not oscillate around a
+ * threshold.
+ */
+final class EnhancedQueueExecutorAutoSizer {
+
+    static final long SAMPLE_PERIOD_MILLIS = 1000;
+
+    // grow when tasks wait longer than this while the CPU is not saturated
+    static final long GROW_QUEUE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    // shrink when tasks wait less than this while less than half of the threads are busy
+    static final long SHRINK_QUEUE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    static final double GROW_MAX_CPU = 0.80;
+    static final double SATURATED_CPU = 0.95;
+    static final int SHRINK_IDLE_SAMPLES = 5;
+    static final int SHRINK_SATURATED_SAMPLES = 3;
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final EnhancedQueueExecutorService service;
+    private ScheduledFuture<?> future;
+
+    private long lastCompletedTaskCount = -1;
+    private long lastSampleTime;
+    private int idleSamples;
+    private int saturatedSamples;
+    private volatile long estimatedQueueWait;
+
+    EnhancedQueueExecutorAutoSizer(final EnhancedQueueExecutorService service) {
+        this.service = service;
+    }
+
+    synchronized void start() {
+        if (future == null) {
+            future = TIMER.scheduleWithFixedDelay(this::run, SAMPLE_PERIOD_MILLIS, SAMPLE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void stop() {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+    }
+
+    /**
+     * Returns the queue wait time estimated during the last period.
+     *
+     * @return the estimated queue wait time, in nanoseconds
+     */
+    long getEstimatedQueueWait() {
+        return estimatedQueueWait;
+    }
+
+    private void run() {
+        final ManagedEnhancedQueueExecutor executor = service.getExecutorOrNull();
+        if (executor == null) {
+            return;
+        }
+        final int current = executor.getMaxThreads();
+        final int size = sample(System.nanoTime(), executor.getQueueSize(), executor.getCompletedTaskCount(),
+                executor.getActiveCount(), current, service.getAutoSizingMinThreads(), service.getAutoSizingMaxThreads(),
+                CpuUtilization.get());
+        if (size != current) {
+            ThreadsLogger.ROOT_LOGGER.debugf("Resizing executor %s from %d to %d threads (estimated queue wait %d us)",
+                    service.getName(), current, size, TimeUnit.NANOSECONDS.toMicros(estimatedQueueWait));
+            service.autoSize(size);
+        }
+    }
+
+    /**
+     * Computes the maximum pool size for the next period.
+     *
+     * @param now the current time, in nanoseconds
+     * @param queueSize the number of queued tasks
+     * @param completedTaskCount the total number of completed tasks
+     * @param activeCount the number of threads running tasks
+     * @param current the current maximum pool size
+     * @param min the lower bound of the maximum pool size
+     * @param max the upper bound of the maximum pool size
+     * @param cpu the CPU utilization between {@code 0} and {@code 1}, or a negative value if it is unknown
+     * @return the new maximum pool size
+     */
+    synchronized int sample(final long now, final int queueSize, final long completedTaskCount, final int activeCount,
+                            final int current, final int min, final int max, final double cpu) {
+        final long elapsed = now - lastSampleTime;
+        final long completed = completedTaskCount - lastCompletedTaskCount;
+        final boolean first = lastCompletedTaskCount < 0;
+        lastSampleTime = now;
+        lastCompletedTaskCount = completedTaskCount;
+        final int bounded = Math.max(min, Math.min(max, current));
+        if (first || elapsed <= 0) {
+            return bounded;
+        }
+        final long queueWait;
+        if (queueSize == 0) {
+            queueWait = 0;
+        } else if (completed <= 0) {
+            // nothing completed during the period, the queued tasks waited for at least the whole period
+            queueWait = elapsed;
+        } else {
+            queueWait = (long) ((double) queueSize * elapsed / completed);
+        }
+        estimatedQueueWait = queueWait;
+
+        final boolean cpuKnown = cpu >= 0;
+        if (queueWait > GROW_QUEUE_WAIT_NANOS && (!cpuKnown || cpu < GROW_MAX_CPU)) {
+            idleSamples = 0;
+            saturatedSamples = 0;
+            return Math.min(max, bounded + Math.max(1, bounded / 4));
+        }
+        if (cpuKnown && cpu >= SATURATED_CPU) {
+            // more threads would only compete for the CPU
+            idleSamples = 0;
+            if (++saturatedSamples >= SHRINK_SATURATED_SAMPLES) {
+                saturatedSamples = 0;
+                return shrink(bounded, min);
+            }
+            return bounded;
+        }
+        saturatedSamples = 0;
+        if (queueWait < SHRINK_QUEUE_WAIT_NANOS && activeCount * 2 < bounded) {
+            if (++idleSamples >= SHRINK_IDLE_SAMPLES) {
+                idleSamples = 0;
+                return shrink(bounded, min);
+            }
+            return bounded;
+        }
+        idleSamples = 0;
+        return bounded;
+    }
+
+    private static int shrink(final int current, final int min) {
+        return Math.max(min, current - Math.max(1, current / 8));
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            final Thread thread = new Thread(task, "EnhancedQueueExecutor auto-sizing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Isolates the references to {@code com.sun.management}, which may not be available.
+     */
+    private static final class CpuUtilization {
+        private static final OperatingSystemMXBean BEAN = ManagementFactory.getOperatingSystemMXBean();
+        private static final boolean EXTENDED = isExtended();
+
+        static double get() {
+            if (EXTENDED) {
+                final double load = ((com.sun.management.OperatingSystemMXBean) BEAN).getSystemCpuLoad();
+                if (load >= 0) {
+                    return load;
+                }
+            }
+            // approximate the utilization by the load average of the last minute
+            final double loadAverage = BEAN.getSystemLoadAverage();
+            return loadAverage < 0 ? -1 : Math.min(1, loadAverage / BEAN.getAvailableProcessors());
+        }
+
+        private static boolean isExtended() {
+            try {
+                return BEAN instanceof com.sun.management.OperatingSystemMXBean;
+            } catch (LinkageError e) {
+                return false;
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ package org.jboss.as.threads;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -40,7 +41,8 @@ class EnhancedQueueExecutorMetricsHandler extends ThreadPoolMetricsHandler {
     private static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.ACTIVE_COUNT,
             PoolAttributeDefinitions.COMPLETED_TASK_COUNT, PoolAttributeDefinitions.CURRENT_THREAD_COUNT,
             PoolAttributeDefinitions.LARGEST_THREAD_COUNT, PoolAttributeDefinitions.REJECTED_COUNT,
-            PoolAttributeDefinitions.TASK_COUNT, PoolAttributeDefinitions.QUEUE_SIZE);
+            PoolAttributeDefinitions.TASK_COUNT, PoolAttributeDefinitions.QUEUE_SIZE, PoolAttributeDefinitions.EFFECTIVE_MAX_THREADS,
+            PoolAttributeDefinitions.ESTIMATED_QUEUE_WAIT_TIME);
 
     EnhancedQueueExecutorMetricsHandler(final RuntimeCapability capability, final ServiceName serviceNameBase) {
         super(METRICS, capability, serviceNameBase);
@@ -71,6 +73,12 @@ class EnhancedQueueExecutorMetricsHandler extends ThreadPoolMetricsHandler {
             case CommonAttributes.QUEUE_SIZE:
                 context.getResult().set(pool.getQueueSize());
                 break;
+            case CommonAttributes.EFFECTIVE_MAX_THREADS:
+                context.getResult().set(pool.getEffectiveMaxThreads());
+                break;
+            case CommonAttributes.ESTIMATED_QUEUE_WAIT_TIME:
+                context.getResult().set(TimeUnit.NANOSECONDS.toMicros(pool.getEstimatedQueueWait()));
+                break;
             default:
                 // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
                 throw ThreadsLogger.ROOT_LOGGER.unsupportedEnhancedQueueExecutorMetric(attributeName);
@@ -39,6 +39,8 @@ import org.jboss.msc.service.ServiceName;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for an {@code org.jboss.threads.EnhancedQueueExecutor} resource.
+ *
+ * @see ThreadsTransformers#registerEnhancedQueueExecutorTransformers(org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder)
  */
 public final class EnhancedQueueExecutorResourceDefinition extends PersistentResourceDefinition {
     private final EnhancedQueueExecutorWriteAttributeHandler writeAttributeHandler;
@@ -40,16 +40,28 @@ class EnhancedQueueExecutorService implements Service<ManagedEnhancedQueueExecut
 
     private ManagedEnhancedQueueExecutor executor;
 
+    private final String name;
+    private final EnhancedQueueExecutorAutoSizer autoSizer = new EnhancedQueueExecutorAutoSizer(this);
+
     private int maxThreads;
     private int coreThreads;
     private TimeSpec keepAlive;
     private boolean allowCoreThreadTimeout;
+    private boolean autoSizing;
+    private boolean statisticsEnabled;
 
     EnhancedQueueExecutorService(boolean allowCoreThreadTimeout, int maxThreads, int coreThreads, TimeSpec keepAlive) {
+        this(null, allowCoreThreadTimeout, maxThreads, coreThreads, keepAlive, false);
+    }
+
+    EnhancedQueueExecutorService(String name, boolean allowCoreThreadTimeout, int maxThreads, int coreThreads, TimeSpec keepAlive,
+                                 boolean autoSizing) {
+        this.name = name;
         this.maxThreads = maxThreads;
         this.coreThreads = coreThreads;
         this.keepAlive = keepAlive;
         this.allowCoreThreadTimeout = allowCoreThreadTimeout;
+        this.autoSizing = autoSizing;
     }
 
     public synchronized void start(final StartContext context) {
@@ -64,6 +76,12 @@ class EnhancedQueueExecutorService implements Service<ManagedEnhancedQueueExecut
                 .allowCoreThreadTimeOut(allowCoreThreadTimeout)
                 .build();
         executor = new ManagedEnhancedQueueExecutor(enhancedQueueExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
+        if (autoSizing) {
+            // start small and let the pool grow with the load
+            executor.setMaxThreads(getAutoSizingMinThreads());
+            autoSizer.start();
+        }
     }
 
     public void stop(final StopContext context) {
@@ -72,6 +90,7 @@ class EnhancedQueueExecutorService implements Service<ManagedEnhancedQueueExecut
             executor = this.executor;
             this.executor = null;
         }
+        autoSizer.stop();
         context.asynchronous();
         executor.internalShutdown();
         executor.addShutdownListener(StopContextEventListener.getInstance(), context);
@@ -90,19 +109,86 @@ class EnhancedQueueExecutorService implements Service<ManagedEnhancedQueueExecut
     }
 
     synchronized void setMaxThreads(final int maxThreads) {
+        this.maxThreads = maxThreads;
         final ManagedEnhancedQueueExecutor executor = this.executor;
         if (executor != null) {
-            executor.setMaxThreads(maxThreads);
+            if (autoSizing) {
+                // keep the size picked by the auto sizer, within the new bounds
+                autoSize(executor.getMaxThreads());
+            } else {
+                executor.setMaxThreads(maxThreads);
+            }
         }
-        this.maxThreads = maxThreads;
     }
 
     synchronized void setCoreThreads(final int coreThreads) {
+        this.coreThreads = coreThreads;
         final ManagedEnhancedQueueExecutor executor = this.executor;
         if (executor != null) {
             executor.setCoreThreads(coreThreads);
+            if (autoSizing) {
+                autoSize(executor.getMaxThreads());
+            }
+        }
+    }
+
+    synchronized void setAutoSizing(final boolean autoSizing) {
+        if (this.autoSizing == autoSizing) {
+            return;
+        }
+        this.autoSizing = autoSizing;
+        final ManagedEnhancedQueueExecutor executor = this.executor;
+        if (executor != null) {
+            if (autoSizing) {
+                autoSizer.start();
+            } else {
+                autoSizer.stop();
+                executor.setMaxThreads(maxThreads);
+            }
+        }
+    }
+
+    /**
+     * Applies the maximum pool size computed by the auto sizer, bounded by the configured core and maximum sizes.
+     */
+    synchronized void autoSize(final int size) {
+        final ManagedEnhancedQueueExecutor executor = this.executor;
+        if (executor != null && autoSizing) {
+            executor.setMaxThreads(Math.max(getAutoSizingMinThreads(), Math.min(maxThreads, size)));
+        }
+    }
+
+    synchronized int getAutoSizingMinThreads() {
+        return coreThreads > 0 ? Math.min(coreThreads, maxThreads) : Math.min(1, maxThreads);
+    }
+
+    synchronized int getAutoSizingMaxThreads() {
+        return maxThreads;
+    }
+
+    synchronized ManagedEnhancedQueueExecutor getExecutorOrNull() {
+        return executor;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getEffectiveMaxThreads() {
+        final ManagedEnhancedQueueExecutor executor = getValue();
+        return executor.getMaxThreads();
+    }
+
+    synchronized long getEstimatedQueueWait() {
+        return autoSizing ? autoSizer.getEstimatedQueueWait() : 0L;
+    }
+
+    synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedEnhancedQueueExecutor executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
         }
-        this.coreThreads = coreThreads;
     }
 
     synchronized void setKeepAlive(final TimeSpec keepAlive) {
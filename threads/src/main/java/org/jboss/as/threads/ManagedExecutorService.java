@@ -21,6 +21,7 @@
  */
 package org.jboss.as.threads;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -41,6 +42,7 @@ import org.wildfly.common.Assert;
 public abstract class ManagedExecutorService implements ExecutorService {
 
     private final ExecutorService executor;
+    private volatile TaskStatistics statistics;
 
     public ManagedExecutorService(ExecutorService executor) {
         Assert.checkNotNullParam("executor", executor);
@@ -53,13 +55,72 @@ public abstract class ManagedExecutorService implements ExecutorService {
 
     abstract void internalShutdown();
 
+    /**
+     * Enables or disables the recording of the queue wait and execution times of the submitted tasks. Disabling the
+     * statistics discards the recorded values.
+     *
+     * @param enabled whether the statistics should be recorded
+     */
+    synchronized void setStatisticsEnabled(boolean enabled) {
+        if (enabled != (statistics != null)) {
+            statistics = enabled ? new TaskStatistics() : null;
+        }
+    }
+
+    boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * Gets the task statistics.
+     *
+     * @return the statistics, or {@code null} if they are disabled
+     */
+    TaskStatistics getStatistics() {
+        return statistics;
+    }
+
+    Runnable timed(Runnable task) {
+        return timed(task, 0L);
+    }
+
+    /**
+     * Wraps a task so that its timing is recorded, if statistics are enabled.
+     *
+     * @param task the task
+     * @param delayNanos the delay before the task is due, or {@link TaskStatistics#NO_QUEUE_WAIT} if its queue wait
+     *                   time must not be recorded
+     * @return the task to submit to the underlying executor
+     */
+    Runnable timed(Runnable task, long delayNanos) {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null || task == null ? task : statistics.timed(task, delayNanos);
+    }
+
+    <T> Callable<T> timed(Callable<T> task, long delayNanos) {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null || task == null ? task : statistics.timed(task, delayNanos);
+    }
+
+    private <T> Collection<? extends Callable<T>> timed(Collection<? extends Callable<T>> tasks) {
+        final TaskStatistics statistics = this.statistics;
+        if (statistics == null || tasks == null) {
+            return tasks;
+        }
+        final List<Callable<T>> timed = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            timed.add(task == null ? null : statistics.timed(task, 0L));
+        }
+        return timed;
+    }
+
     /**
      * {@inheritDoc}
      * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
      */
     @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        this.executor.execute(timed(command));
     }
 
     /**
@@ -114,7 +175,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return this.executor.submit(task);
+        return this.executor.submit(timed(task, 0L));
     }
 
     /**
@@ -123,7 +184,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return this.executor.submit(task, result);
+        return this.executor.submit(timed(task), result);
     }
 
     /**
@@ -132,7 +193,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public Future<?> submit(Runnable task) {
-        return this.executor.submit(task);
+        return this.executor.submit(timed(task));
     }
 
     /**
@@ -141,7 +202,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
-        return this.executor.invokeAll(tasks);
+        return this.executor.invokeAll(timed(tasks));
     }
 
     /**
@@ -150,7 +211,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
-        return this.executor.invokeAll(tasks, timeout, unit);
+        return this.executor.invokeAll(timed(tasks), timeout, unit);
     }
 
     /**
@@ -159,7 +220,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
-        return this.executor.invokeAny(tasks);
+        return this.executor.invokeAny(timed(tasks));
     }
 
     /**
@@ -168,6 +229,6 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        return this.executor.invokeAny(tasks, timeout, unit);
+        return this.executor.invokeAny(timed(tasks), timeout, unit);
     }
 }
@@ -23,8 +23,11 @@ package org.jboss.as.threads;
 
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
@@ -50,6 +53,12 @@ public interface PoolAttributeDefinitions {
 
     KeepAliveTimeAttributeDefinition KEEPALIVE_TIME = new KeepAliveTimeAttributeDefinition();
 
+    SimpleAttributeDefinition AUTO_SIZING = new SimpleAttributeDefinitionBuilder(CommonAttributes.AUTO_SIZING, ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.FALSE).setAllowExpression(true).build();
+
+    SimpleAttributeDefinition CONCURRENCY_LIMIT = new SimpleAttributeDefinitionBuilder(CommonAttributes.CONCURRENCY_LIMIT, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true)).setAllowExpression(true).build();
+
     SimpleAttributeDefinition CORE_THREADS = new SimpleAttributeDefinitionBuilder(CommonAttributes.CORE_THREADS, ModelType.INT, true)
             .setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, true)).setAllowExpression(true).build();
 
@@ -99,4 +108,23 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(CommonAttributes.QUEUE_SIZE, ModelType.INT)
             .setUndefinedMetricValue(ModelNode.ZERO)
             .build();
+    AttributeDefinition SUBMISSION_QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(CommonAttributes.SUBMISSION_QUEUE_SIZE, ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
+    AttributeDefinition STEAL_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.STEAL_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+    SimpleAttributeDefinition STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(CommonAttributes.STATISTICS_ENABLED, ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(true)
+            .build();
+    ObjectTypeAttributeDefinition QUEUE_WAIT_TIME = LatencyHistogram.createAttributeDefinition(CommonAttributes.QUEUE_WAIT_TIME);
+    ObjectTypeAttributeDefinition EXECUTION_TIME = LatencyHistogram.createAttributeDefinition(CommonAttributes.EXECUTION_TIME);
+    AttributeDefinition EFFECTIVE_MAX_THREADS = new SimpleAttributeDefinitionBuilder(CommonAttributes.EFFECTIVE_MAX_THREADS, ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
+    AttributeDefinition ESTIMATED_QUEUE_WAIT_TIME = new SimpleAttributeDefinitionBuilder(CommonAttributes.ESTIMATED_QUEUE_WAIT_TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
 }
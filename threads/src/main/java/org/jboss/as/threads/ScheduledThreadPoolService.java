@@ -46,6 +46,7 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
 
     private final int maxThreads;
     private final TimeSpec keepAlive;
+    private boolean statisticsEnabled;
 
     public ScheduledThreadPoolService(final int maxThreads, final TimeSpec keepAlive) {
         this.maxThreads = maxThreads;
@@ -58,6 +59,7 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
         if (keepAlive != null) scheduledExecutor.setKeepAliveTime(keepAlive.getDuration(), keepAlive.getUnit());
         final ManagedScheduledExecutorService executorService = new ManagedScheduledExecutorService(scheduledExecutor);
         synchronized (this) {
+            executorService.setStatisticsEnabled(statisticsEnabled);
             executor = executorService;
         }
     }
@@ -118,6 +120,14 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
         return executor.getQueueSize();
     }
 
+    synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     private class ExecutorImpl extends ScheduledThreadPoolExecutor {
 
         ExecutorImpl(final int corePoolSize, final ThreadFactory threadFactory) {
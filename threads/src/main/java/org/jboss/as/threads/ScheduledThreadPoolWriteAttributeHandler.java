@@ -48,9 +48,12 @@ public class ScheduledThreadPoolWriteAttributeHandler extends ThreadsWriteAttrib
     }
 
     @Override
-    protected void applyOperation(final OperationContext context, ModelNode operation, String attributeName,
-                                  ServiceController<?> service, boolean forRollback) {
-        if (!forRollback) {
+    protected void applyOperation(final OperationContext context, ModelNode model, String attributeName,
+                                  ServiceController<?> service, boolean forRollback) throws OperationFailedException {
+        if (PoolAttributeDefinitions.STATISTICS_ENABLED.getName().equals(attributeName)) {
+            final ScheduledThreadPoolService pool = (ScheduledThreadPoolService) service.getService();
+            pool.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+        } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedScheduledThreadPoolAttribute(attributeName);
         }
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.Callable;
+
+import org.jboss.as.controller.LatencyHistogram;
+
+/**
+ * Queue wait and execution time statistics of the tasks run by a {@link ManagedExecutorService}.
+ * <p>
+ * Tasks are wrapped when they are submitted; the wrapper records how long the task waited between its submission (or,
+ * for a delayed task, the time it was due) and the start of its execution, then how long it ran.
+ */
+final class TaskStatistics {
+
+    /**
+     * The delay to pass for tasks whose queue wait time must not be recorded, such as periodic tasks.
+     */
+    static final long NO_QUEUE_WAIT = -1L;
+
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+
+    Runnable timed(final Runnable task, final long delayNanos) {
+        return new TimedRunnable(task, delayNanos);
+    }
+
+    <T> Callable<T> timed(final Callable<T> task, final long delayNanos) {
+        return new TimedCallable<>(task, delayNanos);
+    }
+
+    LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    private static long dueTime(final long delayNanos) {
+        return System.nanoTime() + Math.max(delayNanos, 0L);
+    }
+
+    private long start(final long dueTime, final boolean recordQueueWait) {
+        final long start = System.nanoTime();
+        if (recordQueueWait) {
+            queueWaitTime.record(start - dueTime);
+        }
+        return start;
+    }
+
+    private final class TimedRunnable implements Runnable {
+        private final Runnable task;
+        private final long dueTime;
+        private final boolean recordQueueWait;
+
+        TimedRunnable(final Runnable task, final long delayNanos) {
+            this.task = task;
+            this.dueTime = dueTime(delayNanos);
+            this.recordQueueWait = delayNanos != NO_QUEUE_WAIT;
+        }
+
+        @Override
+        public void run() {
+            final long start = start(dueTime, recordQueueWait);
+            try {
+                task.run();
+            } finally {
+                executionTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    private final class TimedCallable<T> implements Callable<T> {
+        private final Callable<T> task;
+        private final long dueTime;
+        private final boolean recordQueueWait;
+
+        TimedCallable(final Callable<T> task, final long delayNanos) {
+            this.task = task;
+            this.dueTime = dueTime(delayNanos);
+            this.recordQueueWait = delayNanos != NO_QUEUE_WAIT;
+        }
+
+        @Override
+        public T call() throws Exception {
+            final long start = start(dueTime, recordQueueWait);
+            try {
+                return task.call();
+            } finally {
+                executionTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
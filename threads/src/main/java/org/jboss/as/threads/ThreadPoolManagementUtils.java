@@ -190,6 +190,11 @@ class ThreadPoolManagementUtils {
         return parseBaseThreadPoolOperationParameters(context, operation, model, params);
     }
 
+    static BaseThreadPoolParameters parseWorkStealingThreadPoolParameters(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
+        ThreadPoolParametersImpl params = new ThreadPoolParametersImpl();
+        return parseBaseThreadPoolOperationParameters(context, operation, model, params);
+    }
+
     static QueuelessThreadPoolParameters parseQueuelessThreadPoolParameters(final OperationContext context, final ModelNode operation, final ModelNode model, boolean blocking) throws OperationFailedException {
         ThreadPoolParametersImpl params = new ThreadPoolParametersImpl();
         parseBaseThreadPoolOperationParameters(context, operation, model, params);
@@ -228,6 +233,7 @@ class ThreadPoolManagementUtils {
         ModelNode tfNode = PoolAttributeDefinitions.THREAD_FACTORY.resolveModelAttribute(context, model);
         params.threadFactory = tfNode.isDefined() ? tfNode.asString() : null;
         params.maxThreads = PoolAttributeDefinitions.MAX_THREADS.resolveModelAttribute(context, model).asInt();
+        params.statisticsEnabled = PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean();
 
         if (model.hasDefined(KEEPALIVE_TIME)) {
             ModelNode keepaliveTime = model.get(KEEPALIVE_TIME);
@@ -255,6 +261,8 @@ class ThreadPoolManagementUtils {
         int getMaxThreads();
 
         TimeSpec getKeepAliveTime();
+
+        boolean isStatisticsEnabled();
     }
 
     interface QueuelessThreadPoolParameters extends BaseThreadPoolParameters {
@@ -278,6 +286,7 @@ class ThreadPoolManagementUtils {
         String threadFactory;
         int maxThreads;
         TimeSpec keepAliveTime;
+        boolean statisticsEnabled;
         String handoffExecutor;
         boolean allowCoreTimeout;
         int coreThreads;
@@ -308,6 +317,11 @@ class ThreadPoolManagementUtils {
             return keepAliveTime;
         }
 
+        @Override
+        public boolean isStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
         @Override
         public String getHandoffExecutor() {
             return handoffExecutor;
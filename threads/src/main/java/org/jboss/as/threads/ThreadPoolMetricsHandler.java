@@ -60,6 +60,9 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         for (AttributeDefinition metric : metrics) {
             registration.registerMetric(metric, this);
         }
+        // task timing statistics are common to every managed executor
+        registration.registerMetric(PoolAttributeDefinitions.QUEUE_WAIT_TIME, this);
+        registration.registerMetric(PoolAttributeDefinitions.EXECUTION_TIME, this);
     }
 
     @Override
@@ -68,12 +71,33 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         if (context.getRunningMode() == RunningMode.NORMAL) {
             ServiceController<?> serviceController = getService(context, operation);
             final Service<?> service = serviceController.getService();
-            setResult(context, attributeName, service);
+            switch (attributeName) {
+                case CommonAttributes.QUEUE_WAIT_TIME: {
+                    final TaskStatistics statistics = getExecutor(service).getStatistics();
+                    if (statistics != null) {
+                        context.getResult().set(statistics.getQueueWaitTime().toModelNode());
+                    }
+                    break;
+                }
+                case CommonAttributes.EXECUTION_TIME: {
+                    final TaskStatistics statistics = getExecutor(service).getStatistics();
+                    if (statistics != null) {
+                        context.getResult().set(statistics.getExecutionTime().toModelNode());
+                    }
+                    break;
+                }
+                default:
+                    setResult(context, attributeName, service);
+            }
         }
 
         context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
     }
 
+    private static ManagedExecutorService getExecutor(final Service<?> service) {
+        return (ManagedExecutorService) service.getValue();
+    }
+
     protected abstract void setResult(OperationContext context, String attributeName, Service<?> service) throws OperationFailedException;
 
     protected ServiceController<?> getService(final OperationContext context, final ModelNode operation)
@@ -97,5 +121,4 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         }
         return controller;
     }
-
 }
@@ -157,4 +157,32 @@ interface ThreadsLogger extends BasicLogger {
     IllegalStateException unsupportedEnhancedQueueExecutorMetric(String attributeName);
 
     // id = 35; redundant parameter null check message
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 36, value = "Virtual threads are not supported by this JVM; executor '%s' will create a platform thread per task instead")
+    void virtualThreadsNotSupported(String name);
+
+    @Message(id = 37, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorAttribute(String attributeName);
+
+    @Message(id = 38, value = "Unsupported metric '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorMetric(String attributeName);
+
+    @Message(id = 39, value = "Service '%s' not found.")
+    OperationFailedException virtualThreadExecutorServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 40, value = "The executor service hasn't been initialized.")
+    IllegalStateException virtualThreadExecutorUninitialized();
+
+    @Message(id = 41, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedWorkStealingThreadPoolAttribute(String attributeName);
+
+    @Message(id = 42, value = "Unsupported metric '%s'")
+    IllegalStateException unsupportedWorkStealingThreadPoolMetric(String attributeName);
+
+    @Message(id = 43, value = "Service '%s' not found.")
+    OperationFailedException workStealingThreadPoolServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 44, value = "The executor service hasn't been initialized.")
+    IllegalStateException workStealingThreadPoolUninitialized();
 }
@@ -59,20 +59,23 @@ public class ThreadsParser2_0 extends PersistentResourceXMLParser {
     public static PersistentResourceXMLBuilder getUnboundedQueueThreadPoolParser(UnboundedQueueThreadPoolResourceDefinition resourceDefinition) {
         return builder(resourceDefinition.getPathElement())
                 .addAttributes(PoolAttributeDefinitions.KEEPALIVE_TIME,
-                        PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY);
+                        PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY,
+                        PoolAttributeDefinitions.STATISTICS_ENABLED);
 
     }
 
     public static PersistentResourceXMLBuilder getScheduledThreadPoolParser(ScheduledThreadPoolResourceDefinition resourceDefinition) {
         return builder(resourceDefinition.getPathElement())
                 .addAttributes(PoolAttributeDefinitions.KEEPALIVE_TIME,
-                        PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY);
+                        PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY,
+                        PoolAttributeDefinitions.STATISTICS_ENABLED);
 
     }
 
     public static PersistentResourceXMLBuilder getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition definition) {
         PersistentResourceXMLBuilder builder = builder(definition.getPathElement())
-                .addAttributes(PoolAttributeDefinitions.KEEPALIVE_TIME, PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY);
+                .addAttributes(PoolAttributeDefinitions.KEEPALIVE_TIME, PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY,
+                        PoolAttributeDefinitions.STATISTICS_ENABLED);
 
         if (!definition.isBlocking()) {
             builder.addAttribute(PoolAttributeDefinitions.HANDOFF_EXECUTOR);
@@ -86,7 +89,7 @@ public class ThreadsParser2_0 extends PersistentResourceXMLParser {
                         PoolAttributeDefinitions.KEEPALIVE_TIME,
                         PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY,
                         PoolAttributeDefinitions.CORE_THREADS, PoolAttributeDefinitions.QUEUE_LENGTH,
-                        PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT);
+                        PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT, PoolAttributeDefinitions.STATISTICS_ENABLED);
 
         if (!definition.isBlocking()) {
             builder.addAttribute(PoolAttributeDefinitions.HANDOFF_EXECUTOR);
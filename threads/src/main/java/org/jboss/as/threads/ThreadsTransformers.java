@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+
+/**
+ * Registers the transformers of the threads subsystem for hosts running an earlier model version.
+ * <p>
+ * The thread pool resources of this module are also registered by other subsystems, which transform them with
+ * {@link #registerThreadPoolTransformers(ResourceTransformationDescriptionBuilder)} and
+ * {@link #registerEnhancedQueueExecutorTransformers(ResourceTransformationDescriptionBuilder)}.
+ */
+public class ThreadsTransformers implements ExtensionTransformerRegistration {
+    static final ModelVersion VERSION_2_0 = ModelVersion.create(2, 0);
+
+    private static final String[] THREAD_POOLS = {
+            CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL, CommonAttributes.BOUNDED_QUEUE_THREAD_POOL,
+            CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL, CommonAttributes.QUEUELESS_THREAD_POOL,
+            CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL, CommonAttributes.SCHEDULED_THREAD_POOL
+    };
+
+    @Override
+    public String getSubsystemName() {
+        return ThreadsExtension.SUBSYSTEM_NAME;
+    }
+
+    /**
+     * Registers the transformers for model version 2.0, which predates the statistics of the thread pools.
+     *
+     * @param registration contains data about the subsystem registration
+     */
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration registration) {
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        for (String pool : THREAD_POOLS) {
+            registerThreadPoolTransformers(builder.addChildResource(PathElement.pathElement(pool)));
+        }
+        TransformationDescription.Tools.register(builder.build(), registration, VERSION_2_0);
+    }
+
+    /**
+     * Transforms a thread pool resource for a model version of the threads subsystem earlier than 2.1. Its statistics
+     * are discarded while left disabled, and rejected otherwise.
+     *
+     * @param builder the builder of the thread pool resource
+     */
+    public static void registerThreadPoolTransformers(ResourceTransformationDescriptionBuilder builder) {
+        builder.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PoolAttributeDefinitions.STATISTICS_ENABLED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PoolAttributeDefinitions.STATISTICS_ENABLED);
+    }
+
+    /**
+     * Transforms an enhanced queue executor resource for a model version of the threads subsystem earlier than 2.1.
+     * Its auto-sizing mode and its statistics are discarded while left disabled, and rejected otherwise.
+     *
+     * @param builder the builder of the enhanced queue executor resource
+     */
+    public static void registerEnhancedQueueExecutorTransformers(ResourceTransformationDescriptionBuilder builder) {
+        builder.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PoolAttributeDefinitions.AUTO_SIZING,
+                        PoolAttributeDefinitions.STATISTICS_ENABLED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PoolAttributeDefinitions.AUTO_SIZING,
+                        PoolAttributeDefinitions.STATISTICS_ENABLED);
+    }
+}
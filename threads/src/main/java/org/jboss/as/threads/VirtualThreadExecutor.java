@@ -0,0 +1,458 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.common.Assert;
+
+/**
+ * An executor that starts a new virtual thread for every submitted task.
+ * <p>
+ * Virtual threads are cheap to create and to block, so rather than bounding the number of threads the executor bounds
+ * the number of tasks that may run concurrently: each task acquires a permit from a fair semaphore before it runs, and
+ * tasks waiting for a permit are reported as queued. Virtual threads are created reflectively as this code is compiled
+ * against a Java release that does not provide them. On a JVM without virtual threads a blocked platform thread is far
+ * too expensive to create per task, so tasks are queued instead and at most one platform thread per permit drains the
+ * queue.
+ */
+final class VirtualThreadExecutor extends AbstractExecutorService {
+
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+    private static final AtomicInteger EXECUTOR_SEQUENCE = new AtomicInteger(1);
+    private static final AtomicInteger GLOBAL_THREAD_SEQUENCE = new AtomicInteger(1);
+
+    private final int executorId = EXECUTOR_SEQUENCE.getAndIncrement();
+    private final AtomicInteger threadSequence = new AtomicInteger(1);
+    private final ResizableSemaphore permits;
+    private final Runnable terminationTask;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    // threads that have not exited, queued tasks and submissions in progress; the executor terminates when it reaches zero
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger largestThreadCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final LongAdder taskCount = new LongAdder();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final CountDownLatch terminationLatch = new CountDownLatch(1);
+
+    private volatile String threadNamePattern;
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+    private int concurrencyLimit;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param concurrencyLimit the maximum number of tasks running concurrently, or {@link #UNLIMITED}
+     * @param threadNamePattern the pattern used to name the threads, using the thread factory pattern syntax
+     * @param terminationTask a task run once the executor is shut down and all its threads have exited, may be {@code null}
+     */
+    VirtualThreadExecutor(final int concurrencyLimit, final String threadNamePattern, final Runnable terminationTask) {
+        Assert.checkMinimumParameter("concurrencyLimit", 1, concurrencyLimit);
+        Assert.checkNotNullParam("threadNamePattern", threadNamePattern);
+        this.permits = new ResizableSemaphore(concurrencyLimit);
+        this.concurrencyLimit = concurrencyLimit;
+        this.threadNamePattern = threadNamePattern;
+        this.terminationTask = terminationTask;
+    }
+
+    /**
+     * Indicates whether this JVM provides virtual threads.
+     *
+     * @return {@code true} if tasks run on virtual threads, {@code false} if they run on platform threads
+     */
+    static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Assert.checkNotNullParam("command", command);
+        // register the submission before checking the shutdown flag, so a concurrent shutdown cannot terminate the
+        // executor while a task is being handed over
+        outstanding.incrementAndGet();
+        if (shutdown) {
+            release();
+            rejectedCount.increment();
+            throw new RejectedExecutionException();
+        }
+        taskCount.increment();
+        final Task task = new Task(command);
+        if (VIRTUAL_THREAD_FACTORY != null) {
+            // the submission becomes the thread's registration
+            try {
+                startThread(task);
+            } catch (RuntimeException | Error e) {
+                release();
+                rejectedCount.increment();
+                throw e;
+            }
+            return;
+        }
+        // the queued task keeps the submission's registration until a worker takes it
+        waitingCount.incrementAndGet();
+        queue.add(task);
+        try {
+            startWorkers(1);
+        } catch (RuntimeException | Error e) {
+            // reject the task unless a running worker already took it
+            if (queue.remove(task)) {
+                waitingCount.decrementAndGet();
+                release();
+                rejectedCount.increment();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (outstanding.get() == 0) {
+            terminate();
+        }
+    }
+
+    /**
+     * Shuts the executor down and interrupts every running or waiting task. Tasks queued for a platform worker are
+     * returned; tasks waiting for a permit on a virtual thread are discarded, as they are not held in a queue.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        // set before interrupting, so a thread started concurrently is interrupted either here or by its starter
+        stopped = true;
+        shutdown();
+        // drain the queue first, so an interrupted worker does not go on to run the queued tasks
+        final List<Runnable> discarded = new ArrayList<>();
+        Task task;
+        while ((task = queue.poll()) != null) {
+            waitingCount.decrementAndGet();
+            discarded.add(task.command);
+            release();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        return discarded;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.get();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminationLatch.await(timeout, unit);
+    }
+
+    synchronized int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    synchronized void setConcurrencyLimit(final int concurrencyLimit) {
+        Assert.checkMinimumParameter("concurrencyLimit", 1, concurrencyLimit);
+        final int delta = concurrencyLimit - this.concurrencyLimit;
+        if (delta > 0) {
+            permits.release(delta);
+            if (VIRTUAL_THREAD_FACTORY == null) {
+                startWorkers(Math.min(delta, queue.size()));
+            }
+        } else if (delta < 0) {
+            // running tasks keep their permits; the limit applies as they complete
+            permits.reducePermits(-delta);
+        }
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    String getThreadNamePattern() {
+        return threadNamePattern;
+    }
+
+    void setThreadNamePattern(final String threadNamePattern) {
+        Assert.checkNotNullParam("threadNamePattern", threadNamePattern);
+        this.threadNamePattern = threadNamePattern;
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    long getCompletedTaskCount() {
+        return completedTaskCount.sum();
+    }
+
+    int getCurrentThreadCount() {
+        return threadCount.get();
+    }
+
+    int getLargestThreadCount() {
+        return largestThreadCount.get();
+    }
+
+    int getRejectedCount() {
+        return (int) rejectedCount.sum();
+    }
+
+    long getTaskCount() {
+        return taskCount.sum();
+    }
+
+    int getQueueSize() {
+        return waitingCount.get();
+    }
+
+    /**
+     * Starts up to {@code count} platform worker threads while permits are available. A worker that finds the queue
+     * empty returns its permit and checks the queue again, so a task queued while every permit is held is never left
+     * without a worker.
+     */
+    private void startWorkers(final int count) {
+        for (int i = 0; i < count && permits.tryAcquire(); i++) {
+            outstanding.incrementAndGet();
+            try {
+                startThread(new Worker());
+            } catch (RuntimeException | Error e) {
+                permits.release();
+                release();
+                throw e;
+            }
+        }
+    }
+
+    private void startThread(final Runnable task) {
+        final Thread thread;
+        if (VIRTUAL_THREAD_FACTORY != null) {
+            thread = VIRTUAL_THREAD_FACTORY.newThread(task);
+        } else {
+            thread = new Thread(task);
+            thread.setDaemon(true);
+        }
+        thread.setName(formatThreadName(thread));
+        // track the thread before it starts, so shutdownNow() cannot miss it
+        threads.add(thread);
+        largestThreadCount.accumulateAndGet(threadCount.incrementAndGet(), Math::max);
+        try {
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            threads.remove(thread);
+            threadCount.decrementAndGet();
+            throw e;
+        }
+        if (stopped) {
+            // interrupting a thread that has not started has no effect, so repeat the interrupt of shutdownNow()
+            thread.interrupt();
+        }
+    }
+
+    private void threadExited(final Thread thread) {
+        threads.remove(thread);
+        threadCount.decrementAndGet();
+        release();
+    }
+
+    /**
+     * Formats a thread name following the conventions of the {@code thread-factory} resource's
+     * {@code thread-name-pattern}.
+     */
+    private String formatThreadName(final Thread thread) {
+        final String pattern = threadNamePattern;
+        final StringBuilder builder = new StringBuilder(pattern.length() + 8);
+        final int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            final char c = pattern.charAt(i);
+            if (c != '%' || i + 1 == length) {
+                builder.append(c);
+                continue;
+            }
+            final char specifier = pattern.charAt(++i);
+            switch (specifier) {
+                case '%':
+                    builder.append('%');
+                    break;
+                case 't':
+                    builder.append(threadSequence.getAndIncrement());
+                    break;
+                case 'g':
+                    builder.append(GLOBAL_THREAD_SEQUENCE.getAndIncrement());
+                    break;
+                case 'f':
+                    builder.append(executorId);
+                    break;
+                case 'i':
+                    builder.append(thread.getId());
+                    break;
+                case 'G':
+                    // the group the platform thread inherited from its creator, or the group of all virtual threads
+                    final ThreadGroup group = thread.getThreadGroup();
+                    if (group != null) {
+                        builder.append(group.getName());
+                    }
+                    break;
+                default:
+                    builder.append('%').append(specifier);
+            }
+        }
+        return builder.toString();
+    }
+
+    private void release() {
+        if (outstanding.decrementAndGet() == 0 && shutdown) {
+            terminate();
+        }
+    }
+
+    private void terminate() {
+        if (terminated.compareAndSet(false, true)) {
+            terminationLatch.countDown();
+            if (terminationTask != null) {
+                terminationTask.run();
+            }
+        }
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private final class Task implements Runnable {
+        private final Runnable command;
+
+        Task(final Runnable command) {
+            this.command = command;
+        }
+
+        /**
+         * Runs the task on its own virtual thread once a permit is available.
+         */
+        @Override
+        public void run() {
+            try {
+                waitingCount.incrementAndGet();
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // the executor was shut down while the task was waiting for a permit
+                    return;
+                } finally {
+                    waitingCount.decrementAndGet();
+                }
+                try {
+                    runCommand();
+                } finally {
+                    permits.release();
+                }
+            } finally {
+                threadExited(Thread.currentThread());
+            }
+        }
+
+        void runCommand() {
+            activeCount.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                activeCount.decrementAndGet();
+                completedTaskCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Drains the task queue on a platform thread while holding one permit.
+     */
+    private final class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            final Thread thread = Thread.currentThread();
+            try {
+                do {
+                    Task task;
+                    while ((task = queue.poll()) != null) {
+                        waitingCount.decrementAndGet();
+                        // the worker's own registration keeps the executor alive from here on
+                        release();
+                        // clear an interrupt left over from the previous task, unless the executor is stopping
+                        if (Thread.interrupted() && stopped) {
+                            thread.interrupt();
+                        }
+                        try {
+                            task.runCommand();
+                        } catch (Throwable t) {
+                            // keep the worker, and its permit, for the remaining tasks
+                            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                        }
+                    }
+                    permits.release();
+                } while (!queue.isEmpty() && permits.tryAcquire());
+            } finally {
+                threadExited(thread);
+            }
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(final int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
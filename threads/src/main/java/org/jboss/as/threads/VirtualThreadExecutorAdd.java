@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Adds a {@link VirtualThreadExecutor}.
+ */
+class VirtualThreadExecutorAdd extends AbstractAddStepHandler {
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{PoolAttributeDefinitions.CONCURRENCY_LIMIT,
+            PoolAttributeDefinitions.THREAD_NAME_PATTERN, PoolAttributeDefinitions.STATISTICS_ENABLED};
+
+    static final AttributeDefinition[] RW_ATTRIBUTES = ATTRIBUTES;
+
+    private final ServiceName serviceNameBase;
+    private final RuntimeCapability<Void> capability;
+
+    VirtualThreadExecutorAdd(ServiceName serviceNameBase, RuntimeCapability<Void> capability) {
+        super(ATTRIBUTES);
+        this.serviceNameBase = serviceNameBase;
+        this.capability = capability;
+    }
+
+    @Override
+    protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
+        final String name = context.getCurrentAddressValue();
+        final VirtualThreadExecutorService service = new VirtualThreadExecutorService(name,
+                resolveConcurrencyLimit(context, model), resolveThreadNamePattern(context, model));
+        service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+
+        final ServiceName serviceName;
+        final ServiceName aliasServiceName;
+        if (capability != null) {
+            serviceName = capability.getCapabilityServiceName(context.getCurrentAddress());
+            aliasServiceName = serviceNameBase != null ? serviceNameBase.append(name) : null;
+        } else {
+            serviceName = serviceNameBase.append(name);
+            aliasServiceName = null;
+        }
+        final ServiceBuilder<?> serviceBuilder = context.getServiceTarget().addService(serviceName, service);
+        if (aliasServiceName != null) {
+            serviceBuilder.addAliases(aliasServiceName);
+        }
+        serviceBuilder.install();
+    }
+
+    static int resolveConcurrencyLimit(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        final ModelNode limit = PoolAttributeDefinitions.CONCURRENCY_LIMIT.resolveModelAttribute(context, model);
+        return limit.isDefined() ? limit.asInt() : VirtualThreadExecutor.UNLIMITED;
+    }
+
+    static String resolveThreadNamePattern(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        final ModelNode pattern = PoolAttributeDefinitions.THREAD_NAME_PATTERN.resolveModelAttribute(context, model);
+        // default to naming the threads after the executor, as the thread-factory resource does with its group name
+        return pattern.isDefined() ? pattern.asString() : context.getCurrentAddressValue() + "-%t";
+    }
+
+    ServiceName getServiceNameBase() {
+        return serviceNameBase;
+    }
+
+    RuntimeCapability<Void> getCapability() {
+        return capability;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.SimpleShutdownListenable;
+
+/**
+ * Service responsible for creating, starting and stopping a {@link VirtualThreadExecutor}.
+ */
+class VirtualThreadExecutorService implements Service<ManagedVirtualThreadExecutor> {
+
+    private final String name;
+    private ManagedVirtualThreadExecutor executor;
+
+    private int concurrencyLimit;
+    private String threadNamePattern;
+    private boolean statisticsEnabled;
+
+    VirtualThreadExecutorService(String name, int concurrencyLimit, String threadNamePattern) {
+        this.name = name;
+        this.concurrencyLimit = concurrencyLimit;
+        this.threadNamePattern = threadNamePattern;
+    }
+
+    public synchronized void start(final StartContext context) {
+        if (!VirtualThreadExecutor.isVirtualThreadSupported()) {
+            ThreadsLogger.ROOT_LOGGER.virtualThreadsNotSupported(name);
+        }
+        final SimpleShutdownListenable shutdownListenable = new SimpleShutdownListenable();
+        final VirtualThreadExecutor virtualThreadExecutor = new VirtualThreadExecutor(concurrencyLimit, threadNamePattern,
+                shutdownListenable::shutdown);
+        executor = new ManagedVirtualThreadExecutor(virtualThreadExecutor, shutdownListenable);
+        executor.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedVirtualThreadExecutor executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedVirtualThreadExecutor getValue() throws IllegalStateException {
+        final ManagedVirtualThreadExecutor value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.virtualThreadExecutorUninitialized();
+        }
+        return value;
+    }
+
+    synchronized void setConcurrencyLimit(final int concurrencyLimit) {
+        final ManagedVirtualThreadExecutor executor = this.executor;
+        if (executor != null) {
+            executor.setConcurrencyLimit(concurrencyLimit);
+        }
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    synchronized void setThreadNamePattern(final String threadNamePattern) {
+        final ManagedVirtualThreadExecutor executor = this.executor;
+        if (executor != null) {
+            executor.setThreadNamePattern(threadNamePattern);
+        }
+        this.threadNamePattern = threadNamePattern;
+    }
+
+    int getActiveCount() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getActiveCount();
+    }
+
+    long getCompletedTaskCount() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getCompletedTaskCount();
+    }
+
+    int getCurrentThreadCount() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getCurrentThreadCount();
+    }
+
+    int getLargestThreadCount() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getLargestThreadCount();
+    }
+
+    int getRejectedCount() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getRejectedCount();
+    }
+
+    long getTaskCount() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getTaskCount();
+    }
+
+    int getQueueSize() {
+        final ManagedVirtualThreadExecutor executor = getValue();
+        return executor.getQueueSize();
+    }
+
+    synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedVirtualThreadExecutor executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.common.Assert;
+
+/**
+ * An executor backed by a {@link ForkJoinPool} in asynchronous mode.
+ * <p>
+ * Every worker thread owns a task deque and idle workers steal from the deques of busy ones, so short tasks submitted at
+ * a high rate do not all contend on the single queue of a classic thread pool. Tasks are wrapped so that the executor
+ * can report the same task counts as the other pools.
+ */
+final class WorkStealingExecutor extends AbstractExecutorService {
+
+    private static final Runnable NOOP = () -> { };
+
+    private final ForkJoinPool pool;
+    private final ThreadFactory threadFactory;
+    private final AtomicInteger largestThreadCount = new AtomicInteger();
+    private final LongAdder taskCount = new LongAdder();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * Creates a new executor.
+     *
+     * @param parallelism the number of worker threads, or {@code 0} to use the number of available processors
+     * @param threadFactory the factory whose threads provide the name, priority, daemon status and context class loader
+     *                      of the worker threads
+     */
+    WorkStealingExecutor(final int parallelism, final ThreadFactory threadFactory) {
+        Assert.checkMinimumParameter("parallelism", 0, parallelism);
+        Assert.checkNotNullParam("threadFactory", threadFactory);
+        this.threadFactory = threadFactory;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                this::newWorkerThread, null, true);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Assert.checkNotNullParam("command", command);
+        taskCount.increment();
+        try {
+            pool.execute(new Task(command));
+        } catch (RejectedExecutionException e) {
+            taskCount.decrement();
+            rejectedCount.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return pool.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return pool.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    int getMaxThreads() {
+        return pool.getParallelism();
+    }
+
+    int getActiveCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    long getCompletedTaskCount() {
+        return completedTaskCount.sum();
+    }
+
+    int getCurrentThreadCount() {
+        return pool.getPoolSize();
+    }
+
+    int getLargestThreadCount() {
+        return largestThreadCount.get();
+    }
+
+    int getRejectedCount() {
+        return (int) rejectedCount.sum();
+    }
+
+    long getTaskCount() {
+        return taskCount.sum();
+    }
+
+    /**
+     * Returns the number of tasks waiting to run, whether they are still in the submission queues or were already taken
+     * into the deque of a worker.
+     */
+    int getQueueSize() {
+        return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+    }
+
+    int getSubmissionQueueSize() {
+        return pool.getQueuedSubmissionCount();
+    }
+
+    long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    private ForkJoinWorkerThread newWorkerThread(final ForkJoinPool pool) {
+        // the configured thread factory creates plain threads, so use an unstarted one as the template of the worker
+        final Thread template = threadFactory.newThread(NOOP);
+        final ForkJoinWorkerThread worker = new WorkerThread(pool);
+        if (template != null) {
+            worker.setName(template.getName());
+            worker.setPriority(template.getPriority());
+            worker.setDaemon(template.isDaemon());
+            worker.setContextClassLoader(template.getContextClassLoader());
+        }
+        // the pool already counts the worker being created
+        largestThreadCount.accumulateAndGet(pool.getPoolSize(), Math::max);
+        return worker;
+    }
+
+    private final class Task implements Runnable {
+        private final Runnable command;
+
+        Task(final Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            try {
+                command.run();
+            } finally {
+                completedTaskCount.increment();
+            }
+        }
+    }
+
+    private static final class WorkerThread extends ForkJoinWorkerThread {
+        WorkerThread(final ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
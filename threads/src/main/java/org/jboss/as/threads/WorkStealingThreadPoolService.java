@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service responsible for creating, starting and stopping a {@link WorkStealingExecutor}.
+ */
+class WorkStealingThreadPoolService implements Service<ManagedWorkStealingExecutor> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+
+    private final int maxThreads;
+    private ManagedWorkStealingExecutor executor;
+    private boolean statisticsEnabled;
+
+    WorkStealingThreadPoolService(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public synchronized void start(final StartContext context) {
+        executor = new ManagedWorkStealingExecutor(new WorkStealingExecutor(maxThreads, threadFactoryValue.getValue()));
+        executor.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedWorkStealingExecutor executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedWorkStealingExecutor getValue() throws IllegalStateException {
+        final ManagedWorkStealingExecutor value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.workStealingThreadPoolUninitialized();
+        }
+        return value;
+    }
+
+    Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    int getActiveCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getActiveCount();
+    }
+
+    long getCompletedTaskCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getCompletedTaskCount();
+    }
+
+    int getCurrentThreadCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getCurrentThreadCount();
+    }
+
+    int getLargestThreadCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getLargestThreadCount();
+    }
+
+    int getRejectedCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getRejectedCount();
+    }
+
+    long getTaskCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getTaskCount();
+    }
+
+    int getQueueSize() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getQueueSize();
+    }
+
+    int getSubmissionQueueSize() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getSubmissionQueueSize();
+    }
+
+    long getStealCount() {
+        final ManagedWorkStealingExecutor executor = getValue();
+        return executor.getStealCount();
+    }
+
+    synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedWorkStealingExecutor executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of the sizing decisions of {@link EnhancedQueueExecutorAutoSizer}.
+ */
+public class EnhancedQueueExecutorAutoSizerTestCase {
+
+    private static final long PERIOD = TimeUnit.MILLISECONDS.toNanos(EnhancedQueueExecutorAutoSizer.SAMPLE_PERIOD_MILLIS);
+
+    private final EnhancedQueueExecutorAutoSizer sizer = new EnhancedQueueExecutorAutoSizer(null);
+    private long now;
+    private long completed;
+
+    @Test
+    public void testGrowWhenTasksWait() {
+        assertEquals(4, sample(0, 0, 4, 0.1));
+        // 100 queued tasks, 100 completed per second: tasks wait about one second
+        assertEquals(5, sample(100, 100, 4, 0.1));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), sizer.getEstimatedQueueWait());
+        assertEquals(6, sample(100, 100, 5, 0.1));
+        // bounded by the maximum
+        assertEquals(6, sample(100, 100, 6, 0.1));
+    }
+
+    @Test
+    public void testNoGrowthWhenCpuSaturated() {
+        sample(0, 0, 4, 0.1);
+        assertEquals(4, sample(100, 100, 4, 0.9));
+        assertEquals(4, sample(100, 100, 4, 0.9));
+    }
+
+    @Test
+    public void testShrinkWithHysteresis() {
+        sample(0, 0, 6, 0.1);
+        for (int i = 1; i < EnhancedQueueExecutorAutoSizer.SHRINK_IDLE_SAMPLES; i++) {
+            assertEquals(6, sample(0, 10, 6, 0.1));
+        }
+        assertEquals(5, sample(0, 10, 6, 0.1));
+        // a single busy period resets the idle streak
+        assertEquals(6, sample(100, 100, 5, 0.1));
+        for (int i = 1; i < EnhancedQueueExecutorAutoSizer.SHRINK_IDLE_SAMPLES; i++) {
+            assertEquals(6, sample(0, 10, 6, 0.1));
+        }
+    }
+
+    @Test
+    public void testShrinkWhenCpuSaturated() {
+        sample(0, 0, 6, 0.1);
+        for (int i = 1; i < EnhancedQueueExecutorAutoSizer.SHRINK_SATURATED_SAMPLES; i++) {
+            assertEquals(6, sample(1, 1000, 6, 0.99));
+        }
+        assertEquals(5, sample(1, 1000, 6, 0.99));
+    }
+
+    @Test
+    public void testBounds() {
+        sample(0, 0, 2, 0.1);
+        for (int i = 0; i < 10 * EnhancedQueueExecutorAutoSizer.SHRINK_IDLE_SAMPLES; i++) {
+            assertEquals(2, sample(0, 10, 2, 0.1));
+        }
+        // a size outside of the bounds, e.g. after the bounds were changed, is brought back within them
+        assertEquals(6, sample(0, 10, 8, 0.1));
+    }
+
+    private int sample(int queueSize, int completedDuringPeriod, int current, double cpu) {
+        now += PERIOD;
+        completed += completedDuringPeriod;
+        return sizer.sample(now, queueSize, completed, 0, current, 2, 6, cpu);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.EnhancedQueueExecutor;
+import org.junit.Test;
+
+/**
+ * Unit tests of the task statistics recorded by {@link ManagedExecutorService}.
+ */
+public class ManagedExecutorStatisticsTestCase {
+
+    @Test
+    public void testEnhancedQueueExecutor() throws Exception {
+        final ManagedEnhancedQueueExecutor executor = new ManagedEnhancedQueueExecutor(new EnhancedQueueExecutor.Builder()
+                .setCorePoolSize(1).setMaximumPoolSize(1).build());
+        try {
+            assertFalse(executor.isStatisticsEnabled());
+            assertNull(executor.getStatistics());
+            runTasks(executor, 5);
+
+            executor.setStatisticsEnabled(true);
+            runTasks(executor, 10);
+            executor.submit(() -> {
+                Thread.sleep(20);
+                return null;
+            }).get(10, TimeUnit.SECONDS);
+            final ModelNode executionTime = executor.getStatistics().getExecutionTime().toModelNode();
+            assertEquals(11L, executionTime.get(LatencyHistogram.COUNT).asLong());
+            assertTrue(executionTime.get(LatencyHistogram.MAX).asLong() >= TimeUnit.MILLISECONDS.toMicros(20));
+            assertEquals(11L, executor.getStatistics().getQueueWaitTime().toModelNode().get(LatencyHistogram.COUNT).asLong());
+
+            // disabling discards the recorded values
+            executor.setStatisticsEnabled(false);
+            assertNull(executor.getStatistics());
+            executor.setStatisticsEnabled(true);
+            assertEquals(0L, executor.getStatistics().getExecutionTime().getCount());
+        } finally {
+            executor.internalShutdown();
+        }
+    }
+
+    @Test
+    public void testScheduledExecutor() throws Exception {
+        final ManagedScheduledExecutorService executor = new ManagedScheduledExecutorService(new ScheduledThreadPoolExecutor(1));
+        try {
+            executor.setStatisticsEnabled(true);
+            executor.schedule(() -> { }, 50, TimeUnit.MILLISECONDS).get(10, TimeUnit.SECONDS);
+            final TaskStatistics statistics = executor.getStatistics();
+            assertEquals(1L, statistics.getExecutionTime().getCount());
+            // the wait is measured from the time the task was due, not from its submission
+            assertEquals(1L, statistics.getQueueWaitTime().getCount());
+            assertTrue(statistics.getQueueWaitTime().toModelNode().get(LatencyHistogram.MAX).asLong() < TimeUnit.MILLISECONDS.toMicros(50));
+
+            final CountDownLatch runs = new CountDownLatch(3);
+            executor.scheduleAtFixedRate(runs::countDown, 0, 1, TimeUnit.MILLISECONDS);
+            assertTrue(runs.await(10, TimeUnit.SECONDS));
+            assertTrue(statistics.getExecutionTime().getCount() >= 4L);
+            assertEquals(1L, statistics.getQueueWaitTime().getCount());
+        } finally {
+            executor.internalShutdown();
+        }
+    }
+
+    private static void runTasks(final ManagedExecutorService executor, final int count) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            executor.execute(done::countDown);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+}
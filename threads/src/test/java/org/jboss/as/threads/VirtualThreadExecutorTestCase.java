@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link VirtualThreadExecutor}.
+ */
+public class VirtualThreadExecutorTestCase {
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(2, "test-%t", null);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    completed.countDown();
+                });
+            }
+            waitFor(() -> executor.getActiveCount() == 2 && executor.getQueueSize() == 2);
+            // queued tasks wait on virtual threads, whereas platform threads are only started for running tasks
+            assertEquals(VirtualThreadExecutor.isVirtualThreadSupported() ? 4 : 2, executor.getCurrentThreadCount());
+            assertEquals(4L, executor.getTaskCount());
+
+            // raising the limit lets the waiting tasks run
+            executor.setConcurrencyLimit(4);
+            waitFor(() -> executor.getActiveCount() == 4 && executor.getQueueSize() == 0);
+
+            release.countDown();
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+            waitFor(() -> executor.getCompletedTaskCount() == 4L && executor.getCurrentThreadCount() == 0);
+            assertEquals(4, executor.getLargestThreadCount());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testThreadNamePattern() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(VirtualThreadExecutor.UNLIMITED, "worker-%t-%%", null);
+        try {
+            assertEquals("worker-1-%", runAndGetThreadName(executor));
+            // the new pattern applies to threads started later, so let a platform worker exit rather than be reused
+            waitFor(() -> executor.getCurrentThreadCount() == 0);
+            executor.setThreadNamePattern("renamed-%t");
+            assertEquals("renamed-2", runAndGetThreadName(executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testThreadGroupNamePattern() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(VirtualThreadExecutor.UNLIMITED, "%G - %t", null);
+        try {
+            final AtomicReference<String> name = new AtomicReference<>();
+            final AtomicReference<String> groupName = new AtomicReference<>();
+            final CountDownLatch done = new CountDownLatch(1);
+            executor.execute(() -> {
+                name.set(Thread.currentThread().getName());
+                groupName.set(Thread.currentThread().getThreadGroup().getName());
+                done.countDown();
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(groupName.get() + " - 1", name.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(1, "test-%t", terminated::countDown);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertFalse(executor.isTerminated());
+        try {
+            executor.execute(() -> { });
+            fail("Task accepted after shutdown");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, executor.getRejectedCount());
+        }
+
+        release.countDown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(terminated.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(1, "test-%t", null);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        final Runnable waiting = () -> { };
+        executor.execute(waiting);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        final List<Runnable> discarded = executor.shutdownNow();
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        if (!VirtualThreadExecutor.isVirtualThreadSupported()) {
+            // the waiting task is still queued, rather than blocked on a thread of its own
+            assertEquals(Collections.singletonList(waiting), discarded);
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, executor.getCurrentThreadCount());
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void testPlatformThreadsBounded() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(2, "test-%t", null);
+        final CountDownLatch completed = new CountDownLatch(100);
+        try {
+            for (int i = 0; i < 100; i++) {
+                executor.execute(completed::countDown);
+            }
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+            waitFor(() -> executor.getCompletedTaskCount() == 100L && executor.getCurrentThreadCount() == 0);
+            if (!VirtualThreadExecutor.isVirtualThreadSupported()) {
+                assertTrue(executor.getLargestThreadCount() <= 2);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String runAndGetThreadName(final VirtualThreadExecutor executor) throws Exception {
+        final AtomicReference<String> name = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            name.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return name.get();
+    }
+
+    private static void waitFor(final Condition condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.isMet()) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Timed out waiting for the executor state");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+}
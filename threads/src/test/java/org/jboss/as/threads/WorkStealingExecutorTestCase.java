@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link WorkStealingExecutor}.
+ */
+public class WorkStealingExecutorTestCase {
+
+    @Test
+    public void testExecute() throws Exception {
+        final JBossThreadFactory threadFactory = new JBossThreadFactory(null, Boolean.TRUE, null, "stealing-%t", null, null);
+        final WorkStealingExecutor executor = new WorkStealingExecutor(2, threadFactory);
+        final int tasks = 1000;
+        final CountDownLatch done = new CountDownLatch(tasks);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        try {
+            assertEquals(2, executor.getMaxThreads());
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(tasks, executor.getTaskCount());
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (executor.getCompletedTaskCount() < tasks && System.nanoTime() - deadline < 0) {
+                Thread.sleep(10);
+            }
+            assertEquals(tasks, executor.getCompletedTaskCount());
+            assertTrue(executor.getLargestThreadCount() <= 2);
+            for (String name : threadNames) {
+                assertTrue(name, name.startsWith("stealing-"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        try {
+            executor.execute(() -> { });
+            fail("Task accepted after shutdown");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, executor.getRejectedCount());
+            assertEquals(tasks, executor.getTaskCount());
+        }
+    }
+}